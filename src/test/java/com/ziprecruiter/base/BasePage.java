@@ -8,6 +8,9 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.interactions.Actions;
+import com.ziprecruiter.utils.AdaptiveLocatorCache;
+import com.ziprecruiter.utils.MutationWaitUtils;
+import com.ziprecruiter.utils.ScreenshotTrail;
 import java.time.Duration;
 
 /**
@@ -15,6 +18,9 @@ import java.time.Duration;
  * 
  * This class provides shared methods and utilities that all page objects
  * can use, including element interactions, waits, and common operations.
+ * Element waits switch to MutationWaitUtils when -Dwait.engine=mutation.
+ * Fallback selectors can be narrowed through the page's AdaptiveLocatorCache.
+ * Clicks, typing and navigation record a ScreenshotTrail frame when enabled.
  */
 public abstract class BasePage {
     
@@ -22,6 +28,7 @@ public abstract class BasePage {
     protected WebDriverWait wait;
     protected JavascriptExecutor js;
     protected Actions actions;
+    protected final AdaptiveLocatorCache locatorCache;
     
     // Default timeout values
     protected static final int DEFAULT_TIMEOUT = 10;
@@ -33,12 +40,30 @@ public abstract class BasePage {
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
         this.js = (JavascriptExecutor) driver;
         this.actions = new Actions(driver);
+        this.locatorCache = AdaptiveLocatorCache.forPage(getClass());
+    }
+    
+    /**
+     * Narrow a comma-joined fallback locator to the alternative that matches on this page
+     */
+    protected By adaptive(By locator) {
+        return locatorCache.narrow(driver, locator);
+    }
+    
+    /**
+     * Check if waits on this locator should go through the MutationObserver engine
+     */
+    protected boolean useMutationEngine(By locator) {
+        return MutationWaitUtils.isEnabled() && MutationWaitUtils.supports(locator);
     }
     
     /**
      * Wait for element to be visible
      */
     protected WebElement waitForElement(By locator) {
+        if (useMutationEngine(locator)) {
+            return MutationWaitUtils.visibleElement(driver, locator, DEFAULT_TIMEOUT);
+        }
         return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
     }
     
@@ -46,6 +71,9 @@ public abstract class BasePage {
      * Wait for element to be clickable
      */
     protected WebElement waitForClickable(By locator) {
+        if (useMutationEngine(locator)) {
+            return MutationWaitUtils.clickableElement(driver, locator, DEFAULT_TIMEOUT);
+        }
         return wait.until(ExpectedConditions.elementToBeClickable(locator));
     }
     
@@ -53,6 +81,9 @@ public abstract class BasePage {
      * Wait for element to be present in DOM
      */
     protected WebElement waitForPresence(By locator) {
+        if (useMutationEngine(locator)) {
+            return MutationWaitUtils.presentElement(driver, locator, DEFAULT_TIMEOUT);
+        }
         return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
     }
     
@@ -84,6 +115,7 @@ public abstract class BasePage {
      */
     protected void clickElement(By locator) {
         WebElement element = waitForClickable(locator);
+        ScreenshotTrail.record(driver, "click " + locator);
         try {
             element.click();
         } catch (Exception e) {
@@ -97,6 +129,7 @@ public abstract class BasePage {
      */
     protected void typeText(By locator, String text) {
         WebElement element = waitForElement(locator);
+        ScreenshotTrail.record(driver, "type into " + locator);
         element.clear();
         element.sendKeys(text);
     }
@@ -172,6 +205,7 @@ public abstract class BasePage {
     protected void navigateTo(String url) {
         driver.get(url);
         waitForPageLoad();
+        ScreenshotTrail.record(driver, "navigate " + url);
     }
     
     /**
@@ -263,6 +297,9 @@ public abstract class BasePage {
      * Wait for element to disappear
      */
     protected boolean waitForElementToDisappear(By locator) {
+        if (useMutationEngine(locator)) {
+            return MutationWaitUtils.waitForInvisibility(driver, locator, DEFAULT_TIMEOUT);
+        }
         try {
             wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
             return true;
@@ -275,6 +312,9 @@ public abstract class BasePage {
      * Wait for text to be present in element
      */
     protected boolean waitForTextToBePresent(By locator, String text) {
+        if (useMutationEngine(locator)) {
+            return MutationWaitUtils.waitForTextToBePresent(driver, locator, text, DEFAULT_TIMEOUT);
+        }
         try {
             wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
             return true;
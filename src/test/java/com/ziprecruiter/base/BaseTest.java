@@ -1,46 +1,63 @@
 package com.ziprecruiter.base;
 
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.edge.EdgeOptions;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Parameters;
+import com.ziprecruiter.config.ConfigManager;
+import com.ziprecruiter.data.TestRandom;
+import com.ziprecruiter.metrics.Metric;
+import com.ziprecruiter.metrics.Metrics;
+import com.ziprecruiter.metrics.PageMetrics;
+import com.ziprecruiter.metrics.PagePerformance;
+import com.ziprecruiter.network.BlockedTraffic;
+import com.ziprecruiter.network.NetworkPolicy;
+import com.ziprecruiter.utils.ScreenshotTrail;
 import com.ziprecruiter.utils.ScreenshotUtils;
+import com.ziprecruiter.utils.ScreenshotWriter;
 import com.ziprecruiter.utils.PopupUtils;
+import com.ziprecruiter.utils.Settle;
 import java.io.File;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * BaseTest - Common test setup and teardown functionality
  * 
  * This class provides shared setup and teardown methods for all test classes,
- * including WebDriver initialization, browser configuration, and cleanup.
+ * including leasing a WebDriver from the shared DriverPool and returning it.
+ * Drivers are held per thread, so parallel methods of the same test class
+ * instance never share a browser. Failed tests get a screenshot that is
+ * written in the background; the writes are flushed when the suite ends.
+ * Failed tests also flush their ScreenshotTrail; passing tests discard it.
+ * Each test runs against the site from its @SiteProfile or "site" parameter,
+ * so one suite can drive several sites in parallel. The NetworkPolicy is
+ * applied on every lease, and what it blocked is reported per test, as are
+ * the pages the test loaded (see PagePerformance). Latencies recorded while
+ * a test runs are attributed to its groups in Metrics.
  */
 public abstract class BaseTest {
     
-    protected WebDriver driver;
-    protected ScreenshotUtils screenshotUtils;
-    protected PopupUtils popupUtils;
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+    private static final ThreadLocal<ScreenshotUtils> SCREENSHOT_UTILS = new ThreadLocal<>();
+    private static final ThreadLocal<PopupUtils> POPUP_UTILS = new ThreadLocal<>();
+    private static final ThreadLocal<BlockedTraffic> NETWORK_AT_START = new ThreadLocal<>();
     
     // Browser types
-    protected static final String CHROME = "chrome";
-    protected static final String FIREFOX = "firefox";
-    protected static final String EDGE = "edge";
+    protected static final String CHROME = DriverFactory.CHROME;
+    protected static final String FIREFOX = DriverFactory.FIREFOX;
+    protected static final String EDGE = DriverFactory.EDGE;
     
     static {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             try {
-                // Attempt to close any lingering WebDriver instances
-                // This is a best-effort cleanup for parallel/abrupt shutdowns
-                // If you use a driver manager or pool, close all here
-                // For static/shared drivers, close them here as well
-                System.out.println("JVM shutdown: Attempting to close WebDriver");
-                // If you use a static driver, close it here
-                // Example: if (staticDriver != null) staticDriver.quit();
+                // Best-effort cleanup for parallel/abrupt shutdowns
+                System.out.println("JVM shutdown: Closing pooled WebDriver instances");
+                DriverPool.getInstance().shutdown();
             } catch (Exception e) {
                 System.out.println("Error in JVM shutdown hook: " + e.getMessage());
             }
@@ -49,152 +66,118 @@ public abstract class BaseTest {
     
     @BeforeMethod
     @Parameters({"browser"})
-    public void setUp(String browser) {
+    public void setUp(String browser, Method method, ITestContext context, ITestResult testResult) {
         if (browser == null || browser.isEmpty()) {
             browser = CHROME; // Default to Chrome
         }
         
-        driver = initializeDriver(browser);
-        screenshotUtils = new ScreenshotUtils(driver);
-        popupUtils = new PopupUtils(driver);
+        // Bind this thread to the test's site before anything reads configuration
+        String site = ConfigManager.resolveSite(method, context.getCurrentXmlTest().getParameter("site"));
+        ConfigManager.bindSite(site);
         
-        // Maximize window
+        // Attribute latencies recorded on this thread (driver startup, waits, ...) to the test's groups
+        Metrics.bindGroups(testResult.getMethod().getGroups());
+        
+        WebDriver driver = DriverPool.getInstance().borrow(browser);
+        DRIVER.set(driver);
+        SCREENSHOT_UTILS.set(new ScreenshotUtils(driver));
+        POPUP_UTILS.set(new PopupUtils(driver));
+        ScreenshotTrail.current().clear();
+        
+        // Maximize window (a previous test may have resized it)
         driver.manage().window().maximize();
         
         // Set implicit wait
         driver.manage().timeouts().implicitlyWait(java.time.Duration.ofSeconds(10));
         
-        System.out.println("WebDriver initialized for browser: " + browser);
-    }
-    
-    @AfterMethod
-    public void tearDown() {
-        if (driver != null) {
-            try {
-                driver.quit();
-                System.out.println("WebDriver closed successfully");
-            } catch (Exception e) {
-                System.out.println("Error closing WebDriver: " + e.getMessage());
-            }
-        }
-    }
-    
-    /**
-     * Initialize WebDriver based on browser type
-     */
-    private WebDriver initializeDriver(String browser) {
-        WebDriver webDriver = null;
-        
-        switch (browser.toLowerCase()) {
-            case CHROME:
-                webDriver = initializeChromeDriver();
-                break;
-            case FIREFOX:
-                webDriver = initializeFirefoxDriver();
-                break;
-            case EDGE:
-                webDriver = initializeEdgeDriver();
-                break;
-            default:
-                System.out.println("Unknown browser: " + browser + ". Defaulting to Chrome.");
-                webDriver = initializeChromeDriver();
-        }
-        
-        return webDriver;
-    }
-    
-    /**
-     * Initialize Chrome WebDriver
-     */
-    private WebDriver initializeChromeDriver() {
-        ChromeOptions options = new ChromeOptions();
-        
-        // Add Chrome options for better performance and stability
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--disable-extensions");
-        options.addArguments("--disable-plugins");
-        options.addArguments("--disable-images");
-        options.addArguments("--disable-javascript");
-        options.addArguments("--disable-web-security");
-        options.addArguments("--allow-running-insecure-content");
-        options.addArguments("--disable-blink-features=AutomationControlled");
-        options.addArguments("--disable-infobars");
-        options.addArguments("--start-maximized");
+        // Block trackers and other configured resources for this test's site
+        NETWORK_AT_START.set(NetworkPolicy.startTest(driver));
         
-        // Add user agent to avoid detection
-        options.addArguments("--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
+        // Measure only the pages this test loads
+        PagePerformance.startTest(driver);
         
-        // Set headless mode for CI/CD environments
-        String headless = System.getProperty("headless", "false");
-        if ("true".equalsIgnoreCase(headless)) {
-            options.addArguments("--headless");
+        // Dismiss popups the moment they appear, if enabled for the run
+        if ("true".equalsIgnoreCase(System.getProperty("popup.autodismiss", "false"))) {
+            PopupUtils.enableAutoDismiss(driver);
         }
         
-        return new ChromeDriver(options);
+        System.out.println("WebDriver leased for browser: " + browser + " (site: " + ConfigManager.snapshot().getSite() + ")");
     }
     
-    /**
-     * Initialize Firefox WebDriver
-     */
-    private WebDriver initializeFirefoxDriver() {
-        FirefoxOptions options = new FirefoxOptions();
-        
-        // Add Firefox options
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--disable-extensions");
-        options.addArguments("--disable-plugins");
-        options.addArguments("--disable-images");
-        options.addArguments("--disable-javascript");
-        options.addArguments("--disable-web-security");
-        options.addArguments("--allow-running-insecure-content");
-        options.addArguments("--start-maximized");
-        
-        // Set headless mode for CI/CD environments
-        String headless = System.getProperty("headless", "false");
-        if ("true".equalsIgnoreCase(headless)) {
-            options.addArguments("--headless");
+    // alwaysRun: also after a setUp that failed once the driver was leased
+    @AfterMethod(alwaysRun = true)
+    public void tearDown(ITestResult result) {
+        WebDriver driver = DRIVER.get();
+        try {
+            if (driver != null && result.getStatus() == ITestResult.FAILURE && ConfigManager.isScreenshotOnFailure()) {
+                // Capture now, write in the background so the browser goes back to the pool sooner
+                SCREENSHOT_UTILS.get().takeFailureScreenshotAsync(result.getMethod().getMethodName());
+            }
+            if (result.getStatus() == ITestResult.FAILURE) {
+                System.out.println("Replay test data with -Dtest.seed=" + TestRandom.getRunSeed());
+            }
+            if (result.getStatus() == ITestResult.FAILURE && ScreenshotTrail.isEnabled()) {
+                int frames = ScreenshotTrail.current().flush(ConfigManager.getScreenshotDirectory(),
+                    result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName());
+                System.out.println("Flushed " + frames + " trail frames for failed test");
+            } else {
+                ScreenshotTrail.current().clear();
+            }
+            if (driver != null && NETWORK_AT_START.get() != null) {
+                BlockedTraffic blocked = NetworkPolicy.finishTest(driver, NETWORK_AT_START.get());
+                if (blocked.getBlockedRequests() > 0) {
+                    result.setAttribute("network.blocked.requests", blocked.getBlockedRequests());
+                    result.setAttribute("network.bytes.saved", blocked.getEstimatedBytesSaved());
+                    System.out.println("Network policy: " + blocked.summary());
+                }
+            }
+            if (driver != null) {
+                List<PageMetrics> pages = PagePerformance.finishTest(driver);
+                if (!pages.isEmpty()) {
+                    result.setAttribute(PagePerformance.RESULT_ATTRIBUTE, pages);
+                    PagePerformance.export(result.getTestClass().getRealClass().getSimpleName() + "."
+                        + result.getMethod().getMethodName(), pages);
+                    for (PageMetrics page : pages) {
+                        System.out.println("Page performance: " + page.summary());
+                        if (page.getLoad() > 0) {
+                            Metrics.recordMillis(Metric.NAVIGATION, page.getLoad());
+                        }
+                    }
+                }
+            }
+        } finally {
+            // Always unbind and return the browser, even if reporting failed
+            DRIVER.remove();
+            SCREENSHOT_UTILS.remove();
+            POPUP_UTILS.remove();
+            NETWORK_AT_START.remove();
+            Metrics.unbindGroups();
+            ConfigManager.unbindSite();
+            if (driver != null) {
+                try {
+                    DriverPool.getInstance().release(driver);
+                    System.out.println("WebDriver returned to pool");
+                } catch (Exception e) {
+                    System.out.println("Error returning WebDriver: " + e.getMessage());
+                }
+            }
         }
-        
-        return new FirefoxDriver(options);
     }
     
-    /**
-     * Initialize Edge WebDriver
-     */
-    private WebDriver initializeEdgeDriver() {
-        EdgeOptions options = new EdgeOptions();
-        
-        // Add Edge options
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--disable-extensions");
-        options.addArguments("--disable-plugins");
-        options.addArguments("--disable-images");
-        options.addArguments("--disable-javascript");
-        options.addArguments("--disable-web-security");
-        options.addArguments("--allow-running-insecure-content");
-        options.addArguments("--start-maximized");
-        
-        // Set headless mode for CI/CD environments
-        String headless = System.getProperty("headless", "false");
-        if ("true".equalsIgnoreCase(headless)) {
-            options.addArguments("--headless");
+    @AfterSuite(alwaysRun = true)
+    public void flushScreenshots() {
+        // Barrier: every queued screenshot is on disk before reporting picks them up
+        if (!ScreenshotWriter.getInstance().flush(30, TimeUnit.SECONDS)) {
+            System.out.println("Some screenshots were not written: " + ScreenshotWriter.getInstance().getStatistics());
         }
-        
-        return new EdgeDriver(options);
     }
     
     /**
      * Navigate to base URL
      */
     protected void navigateToBaseUrl() {
-        String baseUrl = System.getProperty("baseUrl", "https://www.ziprecruiter.com");
-        driver.get(baseUrl);
+        String baseUrl = System.getProperty("baseUrl", ConfigManager.getBaseUrl());
+        getDriver().get(baseUrl);
         System.out.println("Navigated to: " + baseUrl);
     }
     
@@ -202,32 +185,28 @@ public abstract class BaseTest {
      * Get WebDriver instance
      */
     protected WebDriver getDriver() {
-        return driver;
+        return DRIVER.get();
     }
     
     /**
      * Get ScreenshotUtils instance
      */
     protected ScreenshotUtils getScreenshotUtils() {
-        return screenshotUtils;
+        return SCREENSHOT_UTILS.get();
     }
     
     /**
      * Get PopupUtils instance
      */
     protected PopupUtils getPopupUtils() {
-        return popupUtils;
+        return POPUP_UTILS.get();
     }
     
     /**
-     * Wait for page to load
+     * Wait for page to load (document complete, network idle, DOM quiet), at most the 2 s it used to sleep
      */
     protected void waitForPageLoad() {
-        try {
-            Thread.sleep(2000); // Simple wait for page load
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        Settle.replacingSleep("BaseTest.waitForPageLoad", 2000, () -> Settle.forPage(getDriver(), 2));
     }
     
     /**
@@ -0,0 +1,196 @@
+package com.ziprecruiter.base;
+
+import com.ziprecruiter.metrics.Metric;
+import com.ziprecruiter.metrics.Metrics;
+import com.ziprecruiter.metrics.PagePerformance;
+import com.ziprecruiter.network.HttpCache;
+import com.ziprecruiter.network.NetworkPolicy;
+import com.ziprecruiter.utils.Settle;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import java.time.Duration;
+
+/**
+ * DriverFactory - Builds browser options and launches WebDriver instances
+ *
+ * This class holds the browser-specific option setup that used to live in
+ * BaseTest, so that both the driver pool and ad-hoc callers can create
+ * identically configured browsers.
+ */
+public class DriverFactory {
+
+    // Browser types
+    public static final String CHROME = "chrome";
+    public static final String FIREFOX = "firefox";
+    public static final String EDGE = "edge";
+
+    private DriverFactory() {
+    }
+
+    /**
+     * Normalize a browser name, defaulting to Chrome for unknown values
+     */
+    public static String normalizeBrowser(String browser) {
+        if (browser == null || browser.isEmpty()) {
+            return CHROME;
+        }
+        switch (browser.toLowerCase()) {
+            case CHROME:
+            case FIREFOX:
+            case EDGE:
+                return browser.toLowerCase();
+            default:
+                System.out.println("Unknown browser: " + browser + ". Defaulting to Chrome.");
+                return CHROME;
+        }
+    }
+
+    /**
+     * Build the options (capabilities) used to launch the given browser
+     */
+    public static MutableCapabilities buildOptions(String browser) {
+        switch (normalizeBrowser(browser)) {
+            case FIREFOX:
+                return buildFirefoxOptions();
+            case EDGE:
+                return buildEdgeOptions();
+            default:
+                return buildChromeOptions();
+        }
+    }
+
+    /**
+     * Launch a new WebDriver for the given browser and options
+     */
+    public static WebDriver createDriver(String browser, MutableCapabilities options) {
+        WebDriver webDriver;
+        long start = System.nanoTime();
+
+        switch (normalizeBrowser(browser)) {
+            case FIREFOX:
+                webDriver = new FirefoxDriver((FirefoxOptions) options);
+                break;
+            case EDGE:
+                webDriver = new EdgeDriver((EdgeOptions) options);
+                break;
+            default:
+                webDriver = new ChromeDriver((ChromeOptions) options);
+        }
+        Metrics.record(Metric.DRIVER_STARTUP, System.nanoTime() - start);
+
+        // Set implicit wait once at launch; BaseTest re-applies it on every lease
+        webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+
+        // Count network activity from the first byte of every page for Settle
+        Settle.install(webDriver);
+
+        // Remember every origin the browser visits, so a pooled reset can clear them all
+        SessionReset.track(webDriver);
+
+        // Measure every page the browser loads, from its first script on
+        PagePerformance.install(webDriver);
+
+        // Record or replay page loads when -Dhttp.cache is set
+        HttpCache.attach(webDriver);
+        return webDriver;
+    }
+
+    /**
+     * Launch a new WebDriver for the given browser with default options
+     */
+    public static WebDriver createDriver(String browser) {
+        return createDriver(browser, buildOptions(browser));
+    }
+
+    /**
+     * Build Chrome options
+     */
+    private static ChromeOptions buildChromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+
+        // Add Chrome options for better performance and stability
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--disable-plugins");
+        options.addArguments("--disable-web-security");
+        options.addArguments("--allow-running-insecure-content");
+        options.addArguments("--disable-blink-features=AutomationControlled");
+        options.addArguments("--disable-infobars");
+        options.addArguments("--start-maximized");
+
+        // Add user agent to avoid detection
+        options.addArguments("--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
+
+        // Set headless mode for CI/CD environments
+        if (isHeadless()) {
+            options.addArguments("--headless");
+        }
+
+        return options;
+    }
+
+    /**
+     * Build Firefox options
+     */
+    private static FirefoxOptions buildFirefoxOptions() {
+        FirefoxOptions options = new FirefoxOptions();
+
+        // Add Firefox options
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--disable-plugins");
+        options.addArguments("--disable-web-security");
+        options.addArguments("--allow-running-insecure-content");
+        options.addArguments("--start-maximized");
+
+        // No DevTools network policy in Firefox: block images with its own preference instead
+        if (NetworkPolicy.fromConfig().blocksType("image")) {
+            options.addPreference("permissions.default.image", 2);
+        }
+
+        // Set headless mode for CI/CD environments
+        if (isHeadless()) {
+            options.addArguments("--headless");
+        }
+
+        return options;
+    }
+
+    /**
+     * Build Edge options
+     */
+    private static EdgeOptions buildEdgeOptions() {
+        EdgeOptions options = new EdgeOptions();
+
+        // Add Edge options
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--disable-plugins");
+        options.addArguments("--disable-web-security");
+        options.addArguments("--allow-running-insecure-content");
+        options.addArguments("--start-maximized");
+
+        // Set headless mode for CI/CD environments
+        if (isHeadless()) {
+            options.addArguments("--headless");
+        }
+
+        return options;
+    }
+
+    private static boolean isHeadless() {
+        return "true".equalsIgnoreCase(System.getProperty("headless", "false"));
+    }
+}
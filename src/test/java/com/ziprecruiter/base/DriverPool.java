@@ -0,0 +1,590 @@
+package com.ziprecruiter.base;
+
+import com.ziprecruiter.metrics.PagePerformance;
+import com.ziprecruiter.network.HttpCache;
+import com.ziprecruiter.network.NetworkPolicy;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * DriverPool - Bounded, thread-safe pool of reusable WebDriver sessions
+ *
+ * Tests borrow a driver keyed by browser type and capabilities and return it
+ * when they are done, so a browser is launched once and reused across many
+ * test methods instead of being started and quit around every method.
+ * Drivers are soft-reset by SessionReset when returned, health-checked before
+ * each lease, retired after a maximum number of uses, and quit by a
+ * background evictor once idle for too long. Drivers can also be launched
+ * ahead of demand with prewarm().
+ *
+ * Pool behaviour is tuned with system properties:
+ * driver.pool.maxSize, driver.pool.maxReuse, driver.pool.idleTimeoutSeconds
+ * and driver.pool.borrowTimeoutSeconds. Unless driver.pool.maxSize is set,
+ * the size is a default that ensureCapacity() may raise to fit the suite.
+ */
+public class DriverPool {
+
+    private static final DriverPool INSTANCE = new DriverPool(
+        Integer.getInteger("driver.pool.maxSize", 4),
+        Integer.getInteger("driver.pool.maxReuse", 50),
+        Integer.getInteger("driver.pool.idleTimeoutSeconds", 120),
+        Integer.getInteger("driver.pool.borrowTimeoutSeconds", 300)
+    );
+
+    private static final boolean MAX_SIZE_CONFIGURED = System.getProperty("driver.pool.maxSize") != null;
+
+    private int maxSize;
+    private final int maxReuse;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Map<DriverKey, Deque<PooledDriver>> idle = new HashMap<>();
+    private final Map<WebDriver, PooledDriver> leased = new ConcurrentHashMap<>();
+    private final Map<DriverKey, Integer> warming = new HashMap<>();
+    private final Map<DriverKey, Integer> waiting = new HashMap<>();
+    private final ScheduledExecutorService evictor;
+    private int liveCount;
+    private boolean shutdown;
+
+    private final AtomicInteger createdCount = new AtomicInteger(0);
+    private final AtomicInteger reusedCount = new AtomicInteger(0);
+    private final AtomicInteger discardedCount = new AtomicInteger(0);
+    private final AtomicLong timeToFirstReadyMillis = new AtomicLong(-1);
+
+    public DriverPool(int maxSize, int maxReuse, int idleTimeoutSeconds, int borrowTimeoutSeconds) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.maxReuse = Math.max(1, maxReuse);
+        this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+        this.borrowTimeoutMillis = TimeUnit.SECONDS.toMillis(borrowTimeoutSeconds);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "driver-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000L, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdleDrivers, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the shared pool instance
+     */
+    public static DriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Borrow a driver for the given browser with default options
+     */
+    public WebDriver borrow(String browser) {
+        String browserName = DriverFactory.normalizeBrowser(browser);
+        return borrow(browserName, DriverFactory.buildOptions(browserName));
+    }
+
+    /**
+     * Borrow a driver for the given browser and options, launching one if
+     * no healthy idle driver with the same key is available. Blocks while
+     * the pool is at capacity.
+     */
+    public WebDriver borrow(String browser, MutableCapabilities options) {
+        String browserName = DriverFactory.normalizeBrowser(browser);
+        DriverKey key = new DriverKey(browserName, options);
+        long deadline = System.currentTimeMillis() + borrowTimeoutMillis;
+
+        while (true) {
+            PooledDriver candidate = null;
+            PooledDriver victim = null;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (shutdown) {
+                        throw new WebDriverException("Driver pool has been shut down");
+                    }
+                    candidate = pollIdle(key);
+                    if (candidate != null) {
+                        break;
+                    }
+                    // A warm-up launch for this key is in flight - wait for it
+                    // rather than starting yet another browser
+                    if (warming.getOrDefault(key, 0) > waiting.getOrDefault(key, 0)) {
+                        waiting.merge(key, 1, Integer::sum);
+                        try {
+                            awaitUntil(deadline, browserName);
+                        } finally {
+                            waiting.computeIfPresent(key, (k, n) -> n > 1 ? n - 1 : null);
+                        }
+                        continue;
+                    }
+                    if (liveCount < maxSize) {
+                        liveCount++;
+                        break;
+                    }
+                    // At capacity: retire an idle driver of another key and take its slot
+                    victim = pollOldestIdle();
+                    if (victim != null) {
+                        break;
+                    }
+                    awaitUntil(deadline, browserName);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException("Interrupted while waiting for a driver", e);
+            } finally {
+                lock.unlock();
+            }
+
+            if (candidate != null) {
+                if (isHealthy(candidate.driver)) {
+                    reusedCount.incrementAndGet();
+                    return lease(candidate);
+                }
+                System.out.println("Discarding unhealthy " + candidate.key.browser + " driver from pool");
+                discard(candidate);
+                continue;
+            }
+
+            if (victim != null) {
+                quitQuietly(victim.driver);
+                discardedCount.incrementAndGet();
+            }
+
+            try {
+                WebDriver driver = DriverFactory.createDriver(browserName, options);
+                createdCount.incrementAndGet();
+                return lease(new PooledDriver(key, driver));
+            } catch (RuntimeException e) {
+                releaseSlot();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Raise the pool size to at least the given number of drivers, unless
+     * driver.pool.maxSize was set explicitly. Never lowers it. Returns the
+     * resulting size.
+     */
+    public int ensureCapacity(int size) {
+        lock.lock();
+        try {
+            if (size > maxSize) {
+                if (MAX_SIZE_CONFIGURED) {
+                    System.out.println("Driver pool size stays at driver.pool.maxSize=" + maxSize
+                        + " although the suite may run " + size + " tests at once; the rest will wait for a driver");
+                } else {
+                    System.out.println("Driver pool size raised from " + maxSize + " to " + size);
+                    maxSize = size;
+                    available.signalAll();
+                }
+            }
+            return maxSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the largest number of drivers the pool keeps alive at once
+     */
+    public int getMaxSize() {
+        lock.lock();
+        try {
+            return maxSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Launch up to the given number of drivers concurrently in the
+     * background and park them in the pool, so the first tests find a
+     * ready browser instead of waiting on a cold launch. Returns
+     * immediately; borrowers of the same key wait for in-flight launches.
+     */
+    public void prewarm(String browser, int count) {
+        String browserName = DriverFactory.normalizeBrowser(browser);
+        MutableCapabilities options = DriverFactory.buildOptions(browserName);
+        DriverKey key = new DriverKey(browserName, options);
+
+        int launches;
+        lock.lock();
+        try {
+            if (shutdown) {
+                return;
+            }
+            launches = Math.min(count, maxSize - liveCount);
+            if (launches < count) {
+                System.out.println("Pre-warming only " + Math.max(0, launches) + " of " + count + " "
+                    + browserName + " driver(s): pool size is " + maxSize + " with " + liveCount + " alive");
+            }
+            if (launches <= 0) {
+                return;
+            }
+            liveCount += launches;
+            warming.merge(key, launches, Integer::sum);
+        } finally {
+            lock.unlock();
+        }
+
+        System.out.println("Pre-warming " + launches + " " + browserName + " driver(s)");
+        long startNanos = System.nanoTime();
+        ExecutorService launcher = Executors.newFixedThreadPool(launches, runnable -> {
+            Thread thread = new Thread(runnable, "driver-pool-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < launches; i++) {
+            launcher.submit(() -> warmOne(key, browserName, options, startNanos));
+        }
+        launcher.shutdown();
+    }
+
+    /**
+     * Get milliseconds from the first prewarm call until its first driver
+     * was ready, or -1 if no warmed driver has become ready yet
+     */
+    public long getTimeToFirstReadyDriverMillis() {
+        return timeToFirstReadyMillis.get();
+    }
+
+    private void warmOne(DriverKey key, String browserName, MutableCapabilities options, long startNanos) {
+        WebDriver driver = null;
+        try {
+            driver = DriverFactory.createDriver(browserName, options);
+            createdCount.incrementAndGet();
+            timeToFirstReadyMillis.compareAndSet(-1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        } catch (RuntimeException e) {
+            System.out.println("Driver warm-up failed: " + e.getMessage());
+        }
+
+        boolean closed;
+        lock.lock();
+        try {
+            warming.computeIfPresent(key, (k, n) -> n > 1 ? n - 1 : null);
+            closed = shutdown;
+            if (driver == null) {
+                if (!closed) {
+                    liveCount--;
+                }
+            } else if (!closed) {
+                idle.computeIfAbsent(key, k -> new ArrayDeque<>()).addLast(new PooledDriver(key, driver));
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (closed && driver != null) {
+            quitQuietly(driver);
+        }
+    }
+
+    /**
+     * Return a borrowed driver to the pool. The driver is soft-reset for
+     * the next lease, or quit if it has reached its reuse limit, cannot be
+     * fully reset (no DevTools) or the reset fails. A failed reset
+     * verification is rethrown to the caller.
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled == null) {
+            // Not ours - nothing to pool it under
+            quitQuietly(driver);
+            return;
+        }
+        if (pooled.useCount >= maxReuse || !SessionReset.canReset(driver)) {
+            discard(pooled);
+            return;
+        }
+        try {
+            SessionReset.reset(driver);
+        } catch (AssertionError e) {
+            // Verification mode caught leaked state - never hand this browser out again
+            discard(pooled);
+            throw e;
+        } catch (Exception e) {
+            System.out.println("Driver reset failed, discarding: " + e.getMessage());
+            discard(pooled);
+            return;
+        }
+
+        pooled.lastReturnedAt = System.currentTimeMillis();
+        boolean closed;
+        lock.lock();
+        try {
+            closed = shutdown;
+            if (!closed) {
+                // LIFO keeps recently used browsers hot and lets the rest idle out
+                idle.computeIfAbsent(pooled.key, k -> new ArrayDeque<>()).addFirst(pooled);
+                available.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (closed) {
+            quitQuietly(driver);
+        }
+    }
+
+    /**
+     * Quit a borrowed driver instead of returning it, e.g. after a crash
+     */
+    public void invalidate(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled != null) {
+            discard(pooled);
+        } else {
+            quitQuietly(driver);
+        }
+    }
+
+    /**
+     * Quit every pooled and leased driver and stop the evictor
+     */
+    public void shutdown() {
+        List<PooledDriver> toQuit = new ArrayList<>();
+        lock.lock();
+        try {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            for (Deque<PooledDriver> deque : idle.values()) {
+                toQuit.addAll(deque);
+            }
+            idle.clear();
+            toQuit.addAll(leased.values());
+            leased.clear();
+            liveCount = 0;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        evictor.shutdownNow();
+
+        for (PooledDriver pooled : toQuit) {
+            quitQuietly(pooled.driver);
+        }
+        System.out.println("Driver pool shut down: " + getStatistics());
+    }
+
+    /**
+     * Quit drivers that have been idle longer than the idle timeout
+     */
+    void evictIdleDrivers() {
+        List<PooledDriver> expired = new ArrayList<>();
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+
+        lock.lock();
+        try {
+            for (Iterator<Deque<PooledDriver>> it = idle.values().iterator(); it.hasNext(); ) {
+                Deque<PooledDriver> deque = it.next();
+                deque.removeIf(pooled -> {
+                    if (pooled.lastReturnedAt < cutoff) {
+                        expired.add(pooled);
+                        return true;
+                    }
+                    return false;
+                });
+                if (deque.isEmpty()) {
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (PooledDriver pooled : expired) {
+            System.out.println("Evicting idle " + pooled.key.browser + " driver from pool");
+            discard(pooled);
+        }
+    }
+
+    /**
+     * Get number of drivers currently alive (idle plus leased)
+     */
+    public int getLiveCount() {
+        lock.lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get number of drivers currently leased to tests
+     */
+    public int getLeasedCount() {
+        return leased.size();
+    }
+
+    /**
+     * Get pool statistics as a printable summary
+     */
+    public String getStatistics() {
+        return "created=" + createdCount.get()
+            + ", reused=" + reusedCount.get()
+            + ", discarded=" + discardedCount.get()
+            + ", live=" + getLiveCount()
+            + ", leased=" + getLeasedCount();
+    }
+
+    private void awaitUntil(long deadline, String browserName) throws InterruptedException {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            throw new WebDriverException("Timed out waiting for a " + browserName
+                + " driver; pool size is " + maxSize);
+        }
+        available.await(remaining, TimeUnit.MILLISECONDS);
+    }
+
+    private WebDriver lease(PooledDriver pooled) {
+        pooled.useCount++;
+        leased.put(pooled.driver, pooled);
+        return pooled.driver;
+    }
+
+    private PooledDriver pollIdle(DriverKey key) {
+        Deque<PooledDriver> deque = idle.get(key);
+        if (deque == null) {
+            return null;
+        }
+        PooledDriver pooled = deque.pollFirst();
+        if (deque.isEmpty()) {
+            idle.remove(key);
+        }
+        return pooled;
+    }
+
+    private PooledDriver pollOldestIdle() {
+        Deque<PooledDriver> oldestDeque = null;
+        for (Deque<PooledDriver> deque : idle.values()) {
+            if (oldestDeque == null || deque.peekLast().lastReturnedAt < oldestDeque.peekLast().lastReturnedAt) {
+                oldestDeque = deque;
+            }
+        }
+        if (oldestDeque == null) {
+            return null;
+        }
+        PooledDriver pooled = oldestDeque.pollLast();
+        if (oldestDeque.isEmpty()) {
+            idle.values().remove(oldestDeque);
+        }
+        return pooled;
+    }
+
+    private void discard(PooledDriver pooled) {
+        quitQuietly(pooled.driver);
+        discardedCount.incrementAndGet();
+        releaseSlot();
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            if (liveCount > 0) {
+                liveCount--;
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            HttpCache.detach(driver);
+            NetworkPolicy.detach(driver);
+            PagePerformance.detach(driver);
+            SessionReset.detach(driver);
+            driver.quit();
+        } catch (Exception e) {
+            System.out.println("Error closing WebDriver: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Pool key - browser name plus the capabilities it was launched with
+     */
+    static final class DriverKey {
+        private final String browser;
+        private final Map<String, Object> capabilities;
+
+        DriverKey(String browser, MutableCapabilities options) {
+            this.browser = browser;
+            this.capabilities = new HashMap<>(options.asMap());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DriverKey)) {
+                return false;
+            }
+            DriverKey other = (DriverKey) o;
+            return browser.equals(other.browser) && capabilities.equals(other.capabilities);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(browser, capabilities);
+        }
+    }
+
+    /**
+     * Pool entry tracking a driver's key, use count and idle time
+     */
+    private static final class PooledDriver {
+        private final DriverKey key;
+        private final WebDriver driver;
+        private int useCount;
+        private long lastReturnedAt;
+
+        PooledDriver(DriverKey key, WebDriver driver) {
+            this.key = key;
+            this.driver = driver;
+            this.lastReturnedAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.ziprecruiter.base;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.xml.XmlTest;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DriverPoolWarmupListener - Starts browsers before the first test needs one
+ *
+ * When the suite starts, raises the pool size to the most tests the suite can
+ * run at once (thread-count, times threadPoolSize for methods that declare
+ * one) and launches as many drivers as the largest thread-count in the suite
+ * XML concurrently in the background, so the first tests of each block lease
+ * a warm browser instead of queueing on cold launches. The time
+ * until the first warmed driver was ready is printed and stored as the suite
+ * attribute "driverPool.timeToFirstReadyMillis". The pool is shut down when
+ * the suite finishes.
+ *
+ * Disable the warm-up with -Ddriver.pool.warmup=false; the pool is sized
+ * either way.
+ */
+public class DriverPoolWarmupListener implements ISuiteListener {
+
+    public static final String TIME_TO_FIRST_READY_ATTRIBUTE = "driverPool.timeToFirstReadyMillis";
+
+    @Override
+    public void onStart(ISuite suite) {
+        DriverPool.getInstance().ensureCapacity(getMaxConcurrency(suite));
+        if ("false".equalsIgnoreCase(System.getProperty("driver.pool.warmup", "true"))) {
+            return;
+        }
+        int warmCount = getMaxThreadCount(suite);
+        String browser = suite.getParameter("browser");
+        DriverPool.getInstance().prewarm(browser, warmCount);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        long timeToFirstReady = DriverPool.getInstance().getTimeToFirstReadyDriverMillis();
+        if (timeToFirstReady >= 0) {
+            suite.setAttribute(TIME_TO_FIRST_READY_ATTRIBUTE, timeToFirstReady);
+            System.out.println("Time to first ready driver: " + timeToFirstReady + "ms");
+        }
+        DriverPool.getInstance().shutdown();
+    }
+
+    /**
+     * Get the largest thread-count declared on the suite or any of its tests
+     */
+    static int getMaxThreadCount(ISuite suite) {
+        int max = suite.getXmlSuite().getThreadCount();
+        for (XmlTest test : suite.getXmlSuite().getTests()) {
+            max = Math.max(max, test.getThreadCount());
+        }
+        return Math.max(1, max);
+    }
+
+    /**
+     * Get the most test methods any one test of the suite can run at once:
+     * its thread-count, times the largest threadPoolSize among its methods
+     */
+    static int getMaxConcurrency(ISuite suite) {
+        Map<XmlTest, Integer> threadPoolSizes = new HashMap<>();
+        for (ITestNGMethod method : suite.getAllMethods()) {
+            threadPoolSizes.merge(method.getXmlTest(), Math.max(1, method.getThreadPoolSize()), Math::max);
+        }
+        int max = getMaxThreadCount(suite);
+        for (XmlTest test : suite.getXmlSuite().getTests()) {
+            max = Math.max(max, Math.max(1, test.getThreadCount()) * threadPoolSizes.getOrDefault(test, 1));
+        }
+        return max;
+    }
+}
@@ -0,0 +1,309 @@
+package com.ziprecruiter.base;
+
+import com.ziprecruiter.utils.PopupUtils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.testng.Assert;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SessionReset - Soft reset of a live browser session between tests
+ *
+ * Brings a reused WebDriver back to a "fresh browser" state without quitting
+ * it: extra windows are closed, cookies, localStorage, sessionStorage,
+ * IndexedDB, service workers and caches are cleared, and the remaining window
+ * is parked on about:blank. Popup auto-dismiss registered by the previous
+ * test is removed. On Chrome and Edge the clearing is done with a
+ * short batch of DevTools commands (Storage.clearDataForOrigin,
+ * Network.clearBrowserCookies and Network.clearBrowserCache).
+ *
+ * Storage is per origin, so track() (called at driver launch) records the
+ * origin of every document the browser loads, iframes included, and the
+ * reset clears each of them, not just the page open at the end of the test.
+ * Other browsers can only be cleared for the current origin, with one
+ * in-page script plus WebDriver cookie deletion for the current domain, so
+ * DriverPool quits them instead of resetting them (see canReset()).
+ *
+ * Verification mode (system property session.reset.verify=true) checks after
+ * the reset that no state from the previous test survived, in any origin it
+ * visited, and fails loudly if it did.
+ */
+public class SessionReset {
+
+    private static final String BLANK_PAGE = "about:blank";
+
+    // Clears every per-origin store reachable from the page in one round trip
+    private static final String CLEAR_ORIGIN_SCRIPT =
+        "var done = arguments[arguments.length - 1];" +
+        "var tasks = [];" +
+        "try { localStorage.clear(); } catch (e) {}" +
+        "try { sessionStorage.clear(); } catch (e) {}" +
+        "try {" +
+        "  if (window.indexedDB && indexedDB.databases) {" +
+        "    tasks.push(indexedDB.databases().then(function (dbs) {" +
+        "      return Promise.all(dbs.map(function (db) {" +
+        "        return new Promise(function (resolve) {" +
+        "          var req = indexedDB.deleteDatabase(db.name);" +
+        "          req.onsuccess = req.onerror = req.onblocked = function () { resolve(); };" +
+        "        });" +
+        "      }));" +
+        "    }));" +
+        "  }" +
+        "  if (navigator.serviceWorker) {" +
+        "    tasks.push(navigator.serviceWorker.getRegistrations().then(function (regs) {" +
+        "      return Promise.all(regs.map(function (reg) { return reg.unregister(); }));" +
+        "    }));" +
+        "  }" +
+        "  if (window.caches) {" +
+        "    tasks.push(caches.keys().then(function (keys) {" +
+        "      return Promise.all(keys.map(function (key) { return caches.delete(key); }));" +
+        "    }));" +
+        "  }" +
+        "} catch (e) {}" +
+        "Promise.all(tasks.map(function (t) { return t.catch(function () {}); }))" +
+        "  .then(function () { done(true); }, function () { done(false); });";
+
+    // Reports how much state is still visible to the page, in one round trip
+    private static final String INSPECT_ORIGIN_SCRIPT =
+        "var done = arguments[arguments.length - 1];" +
+        "var state = { localStorage: 0, sessionStorage: 0, cookies: 0, indexedDB: 0, serviceWorkers: 0, caches: 0 };" +
+        "try { state.localStorage = localStorage.length; } catch (e) {}" +
+        "try { state.sessionStorage = sessionStorage.length; } catch (e) {}" +
+        "try { state.cookies = document.cookie ? document.cookie.split(';').length : 0; } catch (e) {}" +
+        "var tasks = [];" +
+        "try {" +
+        "  if (window.indexedDB && indexedDB.databases) {" +
+        "    tasks.push(indexedDB.databases().then(function (dbs) { state.indexedDB = dbs.length; }));" +
+        "  }" +
+        "  if (navigator.serviceWorker) {" +
+        "    tasks.push(navigator.serviceWorker.getRegistrations().then(function (regs) { state.serviceWorkers = regs.length; }));" +
+        "  }" +
+        "  if (window.caches) {" +
+        "    tasks.push(caches.keys().then(function (keys) { state.caches = keys.length; }));" +
+        "  }" +
+        "} catch (e) {}" +
+        "Promise.all(tasks.map(function (t) { return t.catch(function () {}); }))" +
+        "  .then(function () { done(state); });";
+
+    private static final Map<WebDriver, Set<String>> VISITED = new ConcurrentHashMap<>();
+
+    private SessionReset() {
+    }
+
+    /**
+     * Record the origin of every document the driver loads from now on (Chrome and Edge only)
+     */
+    public static void track(WebDriver driver) {
+        if (!(driver instanceof HasCdp) || !(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            Set<String> origins = ConcurrentHashMap.newKeySet();
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.send(new Command<Void>("Network.enable", Collections.emptyMap()));
+            // Document requests cover main frames, iframes (also out-of-process ones) and redirects
+            devTools.addListener(new Event<>("Network.requestWillBeSent", SessionReset::readMap), event -> {
+                if ("Document".equals(event.get("type")) && event.get("request") instanceof Map) {
+                    String origin = originOf(String.valueOf(((Map<?, ?>) event.get("request")).get("url")));
+                    if (origin != null) {
+                        origins.add(origin);
+                    }
+                }
+            });
+            VISITED.put(driver, origins);
+        } catch (RuntimeException e) {
+            System.out.println("Could not track visited origins: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Whether a reset can reach every origin the driver visited; if not, quit the driver instead
+     */
+    public static boolean canReset(WebDriver driver) {
+        return VISITED.containsKey(driver);
+    }
+
+    /**
+     * Forget a driver, before it quits
+     */
+    public static void detach(WebDriver driver) {
+        VISITED.remove(driver);
+    }
+
+    /**
+     * Reset the session, verifying if session.reset.verify is enabled
+     */
+    public static void reset(WebDriver driver) {
+        reset(driver, isVerifyEnabled());
+    }
+
+    /**
+     * Reset the session and optionally verify that nothing leaked
+     */
+    public static void reset(WebDriver driver, boolean verify) {
+        Set<String> origins = new LinkedHashSet<>();
+        closeExtraWindows(driver, origins);
+
+        if (PopupUtils.isAutoDismissEnabled(driver)) {
+            PopupUtils.disableAutoDismiss(driver);
+        }
+
+        String currentUrl = driver.getCurrentUrl();
+        boolean onBlankPage = BLANK_PAGE.equals(currentUrl);
+
+        if (driver instanceof HasCdp) {
+            // sessionStorage is per tab and not covered by the Storage domain
+            if (!onBlankPage) {
+                ((JavascriptExecutor) driver).executeScript("try { sessionStorage.clear(); } catch (e) {}");
+            }
+            HasCdp cdp = (HasCdp) driver;
+            addOrigin(origins, currentUrl);
+            Set<String> visited = VISITED.get(driver);
+            if (visited != null) {
+                origins.addAll(visited);
+                visited.removeAll(origins);
+            }
+            for (String origin : origins) {
+                cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+            }
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            cdp.executeCdpCommand("Network.clearBrowserCache", Collections.emptyMap());
+        } else {
+            // No DevTools: clear what the current page can reach, then cookies
+            if (!onBlankPage) {
+                ((JavascriptExecutor) driver).executeAsyncScript(CLEAR_ORIGIN_SCRIPT);
+            }
+            driver.manage().deleteAllCookies();
+        }
+
+        if (verify) {
+            verifyClean(driver, onBlankPage, origins);
+        }
+
+        if (!onBlankPage) {
+            driver.get(BLANK_PAGE);
+        }
+    }
+
+    /**
+     * Close every window except the first one and switch back to it
+     */
+    public static void closeExtraWindows(WebDriver driver) {
+        closeExtraWindows(driver, new LinkedHashSet<>());
+    }
+
+    /**
+     * Close every window except the first one, collecting the origins the closed ones were on
+     */
+    private static void closeExtraWindows(WebDriver driver, Set<String> origins) {
+        Set<String> handles = driver.getWindowHandles();
+        if (handles.size() <= 1) {
+            if (handles.size() == 1) {
+                driver.switchTo().window(handles.iterator().next());
+            }
+            return;
+        }
+
+        List<String> ordered = new ArrayList<>(handles);
+        String keep = ordered.get(0);
+        for (String handle : ordered.subList(1, ordered.size())) {
+            driver.switchTo().window(handle);
+            addOrigin(origins, driver.getCurrentUrl());
+            driver.close();
+        }
+        driver.switchTo().window(keep);
+    }
+
+    /**
+     * Check that the reset left no state behind
+     */
+    @SuppressWarnings("unchecked")
+    private static void verifyClean(WebDriver driver, boolean onBlankPage, Set<String> origins) {
+        List<String> leaks = new ArrayList<>();
+
+        int windows = driver.getWindowHandles().size();
+        if (windows != 1) {
+            leaks.add("windows=" + windows);
+        }
+
+        if (!onBlankPage) {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(INSPECT_ORIGIN_SCRIPT);
+            if (result instanceof Map) {
+                for (Map.Entry<String, Object> entry : ((Map<String, Object>) result).entrySet()) {
+                    if (entry.getValue() instanceof Number && ((Number) entry.getValue()).longValue() > 0) {
+                        leaks.add(entry.getKey() + "=" + entry.getValue());
+                    }
+                }
+            }
+        }
+
+        if (driver instanceof HasCdp) {
+            // Origins other than the current page's are only reachable through DevTools
+            for (String origin : origins) {
+                Object usage = ((HasCdp) driver).executeCdpCommand("Storage.getUsageAndQuota", Map.of("origin", origin)).get("usage");
+                if (usage instanceof Number && ((Number) usage).longValue() > 0) {
+                    leaks.add("storage[" + origin + "]=" + usage);
+                }
+            }
+        }
+
+        int cookies;
+        if (driver instanceof HasCdp) {
+            Map<String, Object> response = ((HasCdp) driver).executeCdpCommand("Storage.getCookies", Collections.emptyMap());
+            Object all = response.get("cookies");
+            cookies = all instanceof List ? ((List<?>) all).size() : 0;
+        } else {
+            cookies = driver.manage().getCookies().size();
+        }
+        if (cookies > 0) {
+            leaks.add("browserCookies=" + cookies);
+        }
+
+        Assert.assertTrue(leaks.isEmpty(), "Session state leaked across reset: " + leaks);
+    }
+
+    private static void addOrigin(Set<String> origins, String url) {
+        String origin = originOf(url);
+        if (origin != null) {
+            origins.add(origin);
+        }
+    }
+
+    private static Map<String, Object> readMap(JsonInput input) {
+        return input.read(Json.MAP_TYPE);
+    }
+
+    /**
+     * Get the scheme://host[:port] origin of a URL, or null if it has none
+     */
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return null;
+            }
+            return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() != -1 ? ":" + uri.getPort() : "");
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isVerifyEnabled() {
+        return "true".equalsIgnoreCase(System.getProperty("session.reset.verify", "false"));
+    }
+}
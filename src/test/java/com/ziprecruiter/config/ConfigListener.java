@@ -0,0 +1,19 @@
+package com.ziprecruiter.config;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * ConfigListener - Adds the suite's testng.xml parameters as the top config layer
+ *
+ * Registered first in testng.xml, so ConfigManager publishes the final
+ * snapshot before other listeners and the first test read it.
+ */
+public class ConfigListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        ConfigManager.applySuiteParameters(suite.getXmlSuite().getParameters());
+        System.out.println("Configuration: " + ConfigManager.snapshot());
+    }
+}
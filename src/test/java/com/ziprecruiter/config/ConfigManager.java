@@ -2,87 +2,311 @@ package com.ziprecruiter.config;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * ConfigManager - Layered configuration resolved into immutable snapshots
+ *
+ * Values are resolved in layers, each overriding the previous one:
+ * defaults (built-in, then config.properties), the site profile file
+ * (config-<site>.properties, chosen with -Dconfig.site or CONFIG_SITE, or
+ * loadConfig), environment variables (base.url as BASE_URL), system
+ * properties (-Dbase.url=...) and finally the suite's testng.xml parameters
+ * (baseUrl, implicitWait, ..., or the dotted key itself).
+ *
+ * The result is one ConfigSnapshot, published through a volatile field:
+ * readers never see a half-loaded configuration, and the typed getters are
+ * plain field reads. Reloading builds a new snapshot and swaps it in.
+ *
+ * Several sites can run in one JVM: bindSite() gives the current thread the
+ * snapshot of another site profile (resolved once per site and cached), and
+ * every getter reads the thread's bound snapshot before the global one.
+ * BaseTest binds the site of each test from @SiteProfile or the "site"
+ * parameter.
+ */
 public class ConfigManager {
-    private static Properties properties;
     private static final String CONFIG_FILE = "src/test/resources/config.properties";
+    private static final String RESOURCES_DIRECTORY = "src/test/resources";
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
 
     static {
-        loadProperties();
+        DEFAULTS.put("base.url", "https://www.ziprecruiter.com");
+        DEFAULTS.put("login.url", "https://www.ziprecruiter.com/login");
+        DEFAULTS.put("search.url", "https://www.ziprecruiter.com");
+        DEFAULTS.put("implicit.wait", "10");
+        DEFAULTS.put("explicit.wait", "20");
+        DEFAULTS.put("page.load.timeout", "30");
+        DEFAULTS.put("default.browser", "chrome");
+        DEFAULTS.put("headless", "false");
+        DEFAULTS.put("test.email", "test@example.com");
+        DEFAULTS.put("test.password", "testpassword");
+        DEFAULTS.put("screenshot.on.failure", "true");
+        DEFAULTS.put("screenshot.directory", "screenshots");
+        DEFAULTS.put("network.policy", "true");
+        DEFAULTS.put("network.block.hosts", String.join(",",
+            "google-analytics.com", "googletagmanager.com", "googleadservices.com", "googlesyndication.com",
+            "doubleclick.net", "facebook.net", "hotjar.com", "segment.com", "segment.io", "mixpanel.com",
+            "amplitude.com", "optimizely.com", "quantserve.com", "scorecardresearch.com", "adnxs.com",
+            "criteo.com", "taboola.com", "outbrain.com", "clarity.ms", "nr-data.net", "bat.bing.com",
+            "ads.linkedin.com", "snap.licdn.com", "analytics.tiktok.com"));
+        DEFAULTS.put("network.allow.hosts", "");
+        DEFAULTS.put("network.block.types", "");
     }
 
-    private static void loadProperties() {
-        properties = new Properties();
-        try (FileInputStream fis = new FileInputStream(CONFIG_FILE)) {
-            properties.load(fis);
-        } catch (IOException e) {
-            System.err.println("Error loading config.properties: " + e.getMessage());
+    // testng.xml parameter names that do not follow the camelCase-to-dotted rule
+    private static final Map<String, String> PARAMETER_ALIASES = Collections.singletonMap("browser", "default.browser");
+
+    public static final String DEFAULT_SITE = "default";
+
+    private static volatile ConfigSnapshot snapshot;
+    private static final Map<String, ConfigSnapshot> SITE_SNAPSHOTS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ConfigSnapshot> BOUND = new ThreadLocal<>();
+    private static String profileFile;
+    private static volatile Map<String, String> suiteParameters = Collections.emptyMap();
+
+    static {
+        String site = System.getProperty("config.site", System.getenv("CONFIG_SITE"));
+        profileFile = site == null || site.trim().isEmpty() ? null : siteProfileFile(site.trim());
+        publish();
+    }
+
+    /**
+     * Get the configuration snapshot of the current thread: its bound site, else the global one
+     */
+    public static ConfigSnapshot snapshot() {
+        ConfigSnapshot bound = BOUND.get();
+        return bound != null ? bound : snapshot;
+    }
+
+    /**
+     * Get the snapshot of a site profile, resolved on first use and cached until the next reload
+     */
+    public static ConfigSnapshot forSite(String site) {
+        if (site == null || DEFAULT_SITE.equals(site)) {
+            return snapshot;
         }
+        return SITE_SNAPSHOTS.computeIfAbsent(site.toLowerCase(Locale.ROOT),
+            name -> resolve(siteProfileFile(name), suiteParameters));
+    }
+
+    /**
+     * Bind the current thread to a site profile until unbindSite(); null or "default" uses the global one
+     */
+    public static ConfigSnapshot bindSite(String site) {
+        ConfigSnapshot bound = forSite(site);
+        BOUND.set(bound);
+        return bound;
+    }
+
+    /**
+     * Release the current thread's site binding
+     */
+    public static void unbindSite() {
+        BOUND.remove();
+    }
+
+    /**
+     * Get the site a test method runs against: method or class @SiteProfile,
+     * else the "site" parameter, else null for the global configuration
+     */
+    public static String resolveSite(Method testMethod, String siteParameter) {
+        SiteProfile profile = testMethod == null ? null : testMethod.getAnnotation(SiteProfile.class);
+        if (profile == null && testMethod != null) {
+            profile = testMethod.getDeclaringClass().getAnnotation(SiteProfile.class);
+        }
+        if (profile != null) {
+            return profile.value();
+        }
+        return siteParameter == null || siteParameter.trim().isEmpty() ? null : siteParameter.trim();
     }
 
     public static String getBaseUrl() {
-        return properties.getProperty("base.url", "https://www.ziprecruiter.com");
+        return snapshot().getBaseUrl();
     }
 
     public static String getLoginUrl() {
-        return properties.getProperty("login.url", "https://www.ziprecruiter.com/login");
+        return snapshot().getLoginUrl();
     }
 
     public static String getSearchUrl() {
-        return properties.getProperty("search.url", "https://www.ziprecruiter.com");
+        return snapshot().getSearchUrl();
     }
 
     public static int getImplicitWait() {
-        return Integer.parseInt(properties.getProperty("implicit.wait", "10"));
+        return snapshot().getImplicitWait();
     }
 
     public static int getExplicitWait() {
-        return Integer.parseInt(properties.getProperty("explicit.wait", "20"));
+        return snapshot().getExplicitWait();
     }
 
     public static int getPageLoadTimeout() {
-        return Integer.parseInt(properties.getProperty("page.load.timeout", "30"));
+        return snapshot().getPageLoadTimeout();
     }
 
     public static String getDefaultBrowser() {
-        return properties.getProperty("default.browser", "chrome");
+        return snapshot().getDefaultBrowser();
     }
 
     public static boolean isHeadless() {
-        return Boolean.parseBoolean(properties.getProperty("headless", "false"));
+        return snapshot().isHeadless();
     }
 
     public static String getTestEmail() {
-        return properties.getProperty("test.email", "test@example.com");
+        return snapshot().getTestEmail();
     }
 
     public static String getTestPassword() {
-        return properties.getProperty("test.password", "testpassword");
+        return snapshot().getTestPassword();
     }
 
     public static boolean isScreenshotOnFailure() {
-        return Boolean.parseBoolean(properties.getProperty("screenshot.on.failure", "true"));
+        return snapshot().isScreenshotOnFailure();
     }
 
     public static String getScreenshotDirectory() {
-        return properties.getProperty("screenshot.directory", "screenshots");
+        return snapshot().getScreenshotDirectory();
     }
-    
-    public static void loadConfig(String configFile) {
-        properties = new Properties();
-        try (FileInputStream fis = new FileInputStream(configFile)) {
-            properties.load(fis);
-        } catch (IOException e) {
-            System.err.println("Error loading config file: " + e.getMessage());
-        }
+
+    /**
+     * Use a properties file as the site profile layer and publish a new snapshot
+     */
+    public static synchronized void loadConfig(String configFile) {
+        profileFile = configFile;
+        publish();
     }
-    
+
+    /**
+     * Use testng.xml parameters as the top layer and publish a new snapshot
+     */
+    public static synchronized void applySuiteParameters(Map<String, String> parameters) {
+        suiteParameters = new LinkedHashMap<>(parameters);
+        publish();
+    }
+
+    /**
+     * Resolve all layers again and publish a new snapshot, e.g. after system properties changed
+     */
+    public static synchronized void reload() {
+        publish();
+    }
+
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return snapshot().get(key);
     }
-    
+
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return snapshot().get(key, defaultValue);
+    }
+
+    /**
+     * Get the profile file of a site name, e.g. "indeed" -> config-indeed.properties
+     */
+    static String siteProfileFile(String site) {
+        return RESOURCES_DIRECTORY + "/config-" + site.toLowerCase(Locale.ROOT) + ".properties";
+    }
+
+    private static synchronized void publish() {
+        snapshot = resolve(profileFile, suiteParameters);
+        SITE_SNAPSHOTS.clear();
+    }
+
+    /**
+     * Resolve all layers into a snapshot, with the given profile file and testng parameters
+     */
+    static ConfigSnapshot resolve(String profile, Map<String, String> parameters) {
+        Map<String, String> values = new LinkedHashMap<>();
+        Map<String, String> sources = new LinkedHashMap<>();
+
+        apply(values, sources, DEFAULTS, "defaults");
+        apply(values, sources, readProperties(CONFIG_FILE, false), "defaults");
+
+        String site = DEFAULT_SITE;
+        if (profile != null) {
+            site = siteName(profile);
+            apply(values, sources, readProperties(profile, true), "site:" + site);
+        }
+
+        Map<String, String> environment = new LinkedHashMap<>();
+        Map<String, String> system = new LinkedHashMap<>();
+        for (String key : values.keySet()) {
+            String fromEnvironment = System.getenv(key.toUpperCase(Locale.ROOT).replace('.', '_'));
+            if (fromEnvironment != null) {
+                environment.put(key, fromEnvironment);
+            }
+            String fromSystem = System.getProperty(key);
+            if (fromSystem != null) {
+                system.put(key, fromSystem);
+            }
+        }
+        apply(values, sources, environment, "environment");
+        apply(values, sources, system, "system");
+
+        Map<String, String> fromParameters = new LinkedHashMap<>();
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            fromParameters.put(parameterKey(parameter.getKey()), parameter.getValue());
+        }
+        apply(values, sources, fromParameters, "testng");
+
+        return new ConfigSnapshot(site, values, sources);
+    }
+
+    private static void apply(Map<String, String> values, Map<String, String> sources,
+                              Map<String, String> layer, String source) {
+        for (Map.Entry<String, String> entry : layer.entrySet()) {
+            values.put(entry.getKey(), entry.getValue());
+            sources.put(entry.getKey(), source);
+        }
+    }
+
+    /**
+     * Map a testng.xml parameter name to a config key: pageLoadTimeout -> page.load.timeout
+     */
+    private static String parameterKey(String name) {
+        if (PARAMETER_ALIASES.containsKey(name) || name.contains(".")) {
+            return PARAMETER_ALIASES.getOrDefault(name, name);
+        }
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1.$2").toLowerCase(Locale.ROOT);
+    }
+
+    private static String siteName(String profile) {
+        String fileName = Paths.get(profile).getFileName().toString();
+        return fileName.replaceFirst("^config-", "").replaceFirst("\\.properties$", "");
+    }
+
+    /**
+     * Read a properties file from disk, or else from the classpath
+     */
+    private static Map<String, String> readProperties(String file, boolean required) {
+        Properties properties = new Properties();
+        Path path = Paths.get(file);
+        try (InputStream input = Files.exists(path) ? new FileInputStream(file)
+                : ConfigManager.class.getClassLoader().getResourceAsStream(path.getFileName().toString())) {
+            if (input == null) {
+                if (required) {
+                    System.err.println("Config file not found: " + file);
+                }
+                return Collections.emptyMap();
+            }
+            properties.load(input);
+        } catch (IOException e) {
+            System.err.println("Error loading config file " + file + ": " + e.getMessage());
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key).trim());
+        }
+        return values;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package com.ziprecruiter.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ConfigSnapshot - One fully resolved, immutable view of the configuration
+ *
+ * Built by ConfigManager from its layers and never changed afterwards, so
+ * any number of threads can read it without locking. The common settings are
+ * parsed once into typed fields; reading them allocates nothing. Every raw
+ * value remembers which layer it came from (see getSource).
+ */
+public final class ConfigSnapshot {
+
+    private final String site;
+    private final Map<String, String> values;
+    private final Map<String, String> sources;
+
+    private final String baseUrl;
+    private final String loginUrl;
+    private final String searchUrl;
+    private final int implicitWait;
+    private final int explicitWait;
+    private final int pageLoadTimeout;
+    private final String defaultBrowser;
+    private final boolean headless;
+    private final String testEmail;
+    private final String testPassword;
+    private final boolean screenshotOnFailure;
+    private final String screenshotDirectory;
+
+    ConfigSnapshot(String site, Map<String, String> values, Map<String, String> sources) {
+        this.site = site;
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+        this.sources = Collections.unmodifiableMap(new LinkedHashMap<>(sources));
+
+        this.baseUrl = get("base.url");
+        this.loginUrl = get("login.url");
+        this.searchUrl = get("search.url");
+        this.implicitWait = parseInt("implicit.wait");
+        this.explicitWait = parseInt("explicit.wait");
+        this.pageLoadTimeout = parseInt("page.load.timeout");
+        this.defaultBrowser = get("default.browser");
+        this.headless = parseBoolean("headless");
+        this.testEmail = get("test.email");
+        this.testPassword = get("test.password");
+        this.screenshotOnFailure = parseBoolean("screenshot.on.failure");
+        this.screenshotDirectory = get("screenshot.directory");
+    }
+
+    /**
+     * Get the site profile this snapshot was resolved for ("default" without one)
+     */
+    public String getSite() { return site; }
+
+    public String getBaseUrl() { return baseUrl; }
+
+    public String getLoginUrl() { return loginUrl; }
+
+    public String getSearchUrl() { return searchUrl; }
+
+    public int getImplicitWait() { return implicitWait; }
+
+    public int getExplicitWait() { return explicitWait; }
+
+    public int getPageLoadTimeout() { return pageLoadTimeout; }
+
+    public String getDefaultBrowser() { return defaultBrowser; }
+
+    public boolean isHeadless() { return headless; }
+
+    public String getTestEmail() { return testEmail; }
+
+    public String getTestPassword() { return testPassword; }
+
+    public boolean isScreenshotOnFailure() { return screenshotOnFailure; }
+
+    public String getScreenshotDirectory() { return screenshotDirectory; }
+
+    /**
+     * Get a raw value, or null if no layer sets it
+     */
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Get a raw value, or the default if no layer sets it
+     */
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * Get the layer a value came from, e.g. "defaults", "site:indeed", "system", or null
+     */
+    public String getSource(String key) {
+        return sources.get(key);
+    }
+
+    /**
+     * Get all resolved values
+     */
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    private int parseInt(String key) {
+        String value = get(key);
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Invalid integer for " + key + " from " + getSource(key) + ": " + value, e);
+        }
+    }
+
+    private boolean parseBoolean(String key) {
+        String value = get(key);
+        return value != null && Boolean.parseBoolean(value.trim());
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigSnapshot{" +
+                "site='" + site + '\'' +
+                ", baseUrl='" + baseUrl + '\'' +
+                ", defaultBrowser='" + defaultBrowser + '\'' +
+                ", headless=" + headless +
+                ", implicitWait=" + implicitWait +
+                ", explicitWait=" + explicitWait +
+                ", pageLoadTimeout=" + pageLoadTimeout +
+                ", sources=" + sources +
+                '}';
+    }
+}
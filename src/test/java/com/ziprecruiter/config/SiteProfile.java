@@ -0,0 +1,19 @@
+package com.ziprecruiter.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * SiteProfile - Binds a test class or method to a site's configuration
+ *
+ * The value names the profile file, e.g. @SiteProfile("indeed") reads
+ * config-indeed.properties. A method annotation wins over the class one;
+ * without either, the "site" testng.xml parameter and then -Dconfig.site apply.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface SiteProfile {
+    String value();
+}
@@ -0,0 +1,70 @@
+package com.ziprecruiter.config;
+
+import io.qameta.allure.Allure;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * SiteProfileListener - Reports results per site profile
+ *
+ * Tags every test with the site its thread is bound to (BaseTest binds it
+ * before the test runs): as the "site" Allure label and the "site" TestNG
+ * result attribute. At the end of the suite prints passed/failed/skipped
+ * counts per site and stores them as the suite attribute "site.results".
+ */
+public class SiteProfileListener implements IInvokedMethodListener, ISuiteListener {
+
+    public static final String SITE_ATTRIBUTE = "site";
+    public static final String RESULTS_ATTRIBUTE = "site.results";
+
+    // passed, failed, skipped per site
+    private final Map<String, AtomicIntegerArray> results = new ConcurrentHashMap<>();
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            String site = ConfigManager.snapshot().getSite();
+            testResult.setAttribute(SITE_ATTRIBUTE, site);
+            Allure.label(SITE_ATTRIBUTE, site);
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        Object site = testResult.getAttribute(SITE_ATTRIBUTE);
+        AtomicIntegerArray counts = results.computeIfAbsent(
+            site != null ? site.toString() : ConfigManager.DEFAULT_SITE, name -> new AtomicIntegerArray(3));
+        switch (testResult.getStatus()) {
+            case ITestResult.SUCCESS:
+                counts.incrementAndGet(0);
+                break;
+            case ITestResult.FAILURE:
+                counts.incrementAndGet(1);
+                break;
+            default:
+                counts.incrementAndGet(2);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Map<String, String> summary = new TreeMap<>();
+        for (Map.Entry<String, AtomicIntegerArray> site : results.entrySet()) {
+            AtomicIntegerArray counts = site.getValue();
+            summary.put(site.getKey(), counts.get(0) + " passed, " + counts.get(1) + " failed, "
+                + counts.get(2) + " skipped");
+        }
+        suite.setAttribute(RESULTS_ATTRIBUTE, summary);
+        summary.forEach((site, line) -> System.out.println("Site " + site + ": " + line));
+    }
+}
@@ -0,0 +1,338 @@
+package com.ziprecruiter.data;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * CompiledTable - Columnar, memory-mapped test data compiled once from CSV
+ *
+ * compile() turns a CSV file into a binary table: a header with the row
+ * count and column names, then one block per column holding an offset index
+ * (rowCount + 1 ints) followed by the column's UTF-8 values back to back.
+ * Reading row r of a column is two index reads and one slice: O(1), no
+ * parsing.
+ *
+ * open() memory-maps the table read-only. With shardIndex/shardCount a worker
+ * maps only its own contiguous slice of rows (shard i of n gets rows
+ * [i * rows / n, (i + 1) * rows / n)), so loading is a handful of mmap calls
+ * whatever the table size. Readers use absolute buffer reads and are
+ * thread-safe.
+ *
+ * Compile once per data change, e.g.
+ * java -cp ... com.ziprecruiter.data.CompiledTable search_data.csv search_data.ztd,
+ * or let compileIfStale() do it before the first shard opens the table.
+ */
+public final class CompiledTable {
+
+    public static final String EXTENSION = ".ztd";
+
+    private static final int MAGIC = 0x5A525444; // "ZRTD"
+    private static final int VERSION = 1;
+
+    private final Path path;
+    private final CsvSchema schema;
+    private final int totalRows;
+    private final int firstRow;
+    private final int rowCount;
+    // Per column: offsets of rows firstRow..firstRow+rowCount, relative to the mapped data slice
+    private final ByteBuffer[] offsets;
+    private final ByteBuffer[] data;
+    private final int[] dataBase;
+
+    private CompiledTable(Path path, CsvSchema schema, int totalRows, int firstRow, int rowCount,
+                          ByteBuffer[] offsets, ByteBuffer[] data, int[] dataBase) {
+        this.path = path;
+        this.schema = schema;
+        this.totalRows = totalRows;
+        this.firstRow = firstRow;
+        this.rowCount = rowCount;
+        this.offsets = offsets;
+        this.data = data;
+        this.dataBase = dataBase;
+    }
+
+    /**
+     * Compile a CSV file into a table file. Written to a temp file and moved into place,
+     * so concurrent workers never open a half-written table.
+     */
+    public static void compile(String csvFile, String tableFile) throws IOException {
+        CsvSchema schema = CsvSchema.of(csvFile);
+        int columns = schema.getColumnCount();
+        Path target = Paths.get(tableFile).toAbsolutePath();
+        Path parent = target.getParent();
+        Files.createDirectories(parent);
+
+        // Columns are spooled to temp files so compiling never holds the whole table in memory
+        Path[] dataFiles = new Path[columns];
+        Path[] offsetFiles = new Path[columns];
+        DataOutputStream[] dataOut = new DataOutputStream[columns];
+        DataOutputStream[] offsetOut = new DataOutputStream[columns];
+        long[] written = new long[columns];
+        int rows = 0;
+        Path temp = Files.createTempFile(parent, "table-", ".tmp");
+        try {
+            for (int c = 0; c < columns; c++) {
+                dataFiles[c] = Files.createTempFile(parent, "column-data-", ".tmp");
+                offsetFiles[c] = Files.createTempFile(parent, "column-index-", ".tmp");
+                dataOut[c] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dataFiles[c])));
+                offsetOut[c] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(offsetFiles[c])));
+                offsetOut[c].writeInt(0);
+            }
+
+            Iterator<Object[]> source = CsvDataProvider.stream(csvFile);
+            while (source.hasNext()) {
+                CsvRow row = (CsvRow) source.next()[0];
+                for (int c = 0; c < columns; c++) {
+                    byte[] value = row.get(c).getBytes(StandardCharsets.UTF_8);
+                    dataOut[c].write(value);
+                    written[c] += value.length;
+                    if (written[c] > Integer.MAX_VALUE) {
+                        throw new IOException("Column '" + schema.getColumns().get(c) + "' exceeds 2 GB");
+                    }
+                    offsetOut[c].writeInt((int) written[c]);
+                }
+                rows++;
+            }
+            for (int c = 0; c < columns; c++) {
+                dataOut[c].close();
+                offsetOut[c].close();
+            }
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(rows);
+                out.writeInt(columns);
+                for (String name : schema.getColumns()) {
+                    out.writeUTF(name);
+                }
+                // Column block positions follow the header; compute them from the block sizes
+                long position = out.size() + 8L * columns;
+                for (int c = 0; c < columns; c++) {
+                    out.writeLong(position);
+                    position += 4L * (rows + 1) + written[c];
+                }
+                for (int c = 0; c < columns; c++) {
+                    copy(offsetFiles[c], out);
+                    copy(dataFiles[c], out);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            for (int c = 0; c < columns; c++) {
+                closeQuietly(dataOut[c]);
+                closeQuietly(offsetOut[c]);
+                if (dataFiles[c] != null) {
+                    Files.deleteIfExists(dataFiles[c]);
+                }
+                if (offsetFiles[c] != null) {
+                    Files.deleteIfExists(offsetFiles[c]);
+                }
+            }
+            Files.deleteIfExists(temp);
+        }
+        System.out.println("Compiled " + rows + " rows x " + columns + " columns from " + csvFile + " to " + target);
+    }
+
+    /**
+     * Compile the table unless it exists and is newer than the CSV file
+     */
+    public static synchronized void compileIfStale(String csvFile, String tableFile) throws IOException {
+        Path table = Paths.get(tableFile);
+        if (Files.exists(table)
+                && Files.getLastModifiedTime(table).compareTo(Files.getLastModifiedTime(Paths.get(csvFile))) >= 0) {
+            return;
+        }
+        compile(csvFile, tableFile);
+    }
+
+    /**
+     * Map the whole table
+     */
+    public static CompiledTable open(String tableFile) throws IOException {
+        return open(tableFile, 0, 1);
+    }
+
+    /**
+     * Map only the rows of one shard
+     */
+    public static CompiledTable open(String tableFile, int shardIndex, int shardCount) throws IOException {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("Invalid shard " + shardIndex + " of " + shardCount);
+        }
+        Path path = Paths.get(tableFile).toAbsolutePath();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int totalRows;
+            String[] columns;
+            long[] blocks;
+            try (DataInputStream header = new DataInputStream(Files.newInputStream(path))) {
+                if (header.readInt() != MAGIC) {
+                    throw new IOException("Not a compiled test data table: " + path);
+                }
+                int version = header.readInt();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported table version " + version + ": " + path);
+                }
+                totalRows = header.readInt();
+                columns = new String[header.readInt()];
+                for (int c = 0; c < columns.length; c++) {
+                    columns[c] = header.readUTF();
+                }
+                blocks = new long[columns.length];
+                for (int c = 0; c < columns.length; c++) {
+                    blocks[c] = header.readLong();
+                }
+            }
+
+            int firstRow = (int) ((long) totalRows * shardIndex / shardCount);
+            int endRow = (int) ((long) totalRows * (shardIndex + 1) / shardCount);
+            int rowCount = endRow - firstRow;
+
+            ByteBuffer[] offsets = new ByteBuffer[columns.length];
+            ByteBuffer[] data = new ByteBuffer[columns.length];
+            int[] dataBase = new int[columns.length];
+            for (int c = 0; c < columns.length; c++) {
+                offsets[c] = channel.map(FileChannel.MapMode.READ_ONLY, blocks[c] + 4L * firstRow, 4L * (rowCount + 1));
+                int start = offsets[c].getInt(0);
+                int end = offsets[c].getInt(4 * rowCount);
+                long dataStart = blocks[c] + 4L * (totalRows + 1);
+                data[c] = channel.map(FileChannel.MapMode.READ_ONLY, dataStart + start, end - start);
+                dataBase[c] = start;
+            }
+            // Mappings stay valid after the channel is closed
+            return new CompiledTable(path, CsvSchema.of(path, columns), totalRows, firstRow, rowCount,
+                offsets, data, dataBase);
+        }
+    }
+
+    public Path getPath() { return path; }
+
+    public CsvSchema getSchema() { return schema; }
+
+    /**
+     * Get number of rows in this shard
+     */
+    public int getRowCount() { return rowCount; }
+
+    /**
+     * Get number of rows in the whole table
+     */
+    public int getTotalRowCount() { return totalRows; }
+
+    /**
+     * Get the table row number of this shard's first row
+     */
+    public int getFirstRow() { return firstRow; }
+
+    /**
+     * Get one value by shard-relative row and column position
+     */
+    public String get(int row, int column) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + rowCount);
+        }
+        ByteBuffer index = offsets[column];
+        int start = index.getInt(4 * row) - dataBase[column];
+        int end = index.getInt(4 * (row + 1)) - dataBase[column];
+        byte[] bytes = new byte[end - start];
+        ByteBuffer values = data[column];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = values.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get one value by shard-relative row and column name
+     */
+    public String get(int row, String column) {
+        return get(row, schema.indexOf(column));
+    }
+
+    /**
+     * Get a shard-relative row as a CsvRow, numbered by its table position
+     */
+    public CsvRow getRow(int row) {
+        String[] values = new String[schema.getColumnCount()];
+        for (int c = 0; c < values.length; c++) {
+            values[c] = get(row, c);
+        }
+        return new CsvRow(schema, values, firstRow + row + 1L);
+    }
+
+    /**
+     * Stream this shard's rows as data provider rows of mapped records, in row order,
+     * for a sequential data provider (see CsvDataProvider)
+     */
+    public <T> Iterator<Object[]> rows(Function<CsvRow, T> mapper) {
+        return new Iterator<Object[]>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < rowCount;
+            }
+
+            @Override
+            public Object[] next() {
+                int row = next++;
+                if (row >= rowCount) {
+                    throw new NoSuchElementException("No more rows in shard of " + path);
+                }
+                return new Object[] {mapper.apply(getRow(row))};
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledTable{" +
+                "path=" + path +
+                ", columns=" + schema.getColumns() +
+                ", rows=" + firstRow + ".." + (firstRow + rowCount) + " of " + totalRows +
+                '}';
+    }
+
+    /**
+     * Compile a table: CompiledTable <input.csv> [output.ztd]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: CompiledTable <input.csv> [output" + EXTENSION + "]");
+            System.exit(2);
+        }
+        String output = args.length > 1 ? args[1] : args[0].replaceFirst("\\.csv$", "") + EXTENSION;
+        compile(args[0], output);
+    }
+
+    private static void copy(Path from, OutputStream to) throws IOException {
+        try (InputStream in = Files.newInputStream(from)) {
+            in.transferTo(to);
+        }
+    }
+
+    private static void closeQuietly(DataOutputStream stream) {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // Already reported through the write that failed
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.ziprecruiter.data;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * CompiledTableTest - Splitting a compiled table into shards, no browser needed
+ */
+public class CompiledTableTest {
+
+    @DataProvider(name = "shardSplits")
+    public Object[][] shardSplits() {
+        return new Object[][] {
+            {10, 3},
+            {7, 7},
+            {2, 3},
+            {1, 1},
+            {0, 2},
+            {1000, 4}
+        };
+    }
+
+    @Test(groups = {"unit"}, dataProvider = "shardSplits")
+    public void shardsCoverEveryRowOnceInOrder(int rows, int shards) throws IOException {
+        Path directory = Files.createTempDirectory("compiled-table-test");
+        try {
+            String table = compile(directory, rows);
+            List<String> seen = new ArrayList<>();
+            int expectedFirst = 0;
+            for (int shard = 0; shard < shards; shard++) {
+                CompiledTable part = CompiledTable.open(table, shard, shards);
+                Assert.assertEquals(part.getTotalRowCount(), rows);
+                Assert.assertEquals(part.getFirstRow(), expectedFirst);
+                // Shard sizes differ by at most one row
+                Assert.assertTrue(part.getRowCount() == rows / shards || part.getRowCount() == rows / shards + 1,
+                    "shard " + shard + " of " + shards + " has " + part.getRowCount() + " rows");
+
+                Iterator<Object[]> iterator = part.rows(row -> row);
+                while (iterator.hasNext()) {
+                    CsvRow row = (CsvRow) iterator.next()[0];
+                    Assert.assertEquals(row.getRowNumber(), seen.size() + 1L);
+                    seen.add(row.get("id") + "," + row.get("keyword"));
+                }
+                expectedFirst += part.getRowCount();
+            }
+            Assert.assertEquals(expectedFirst, rows);
+            for (int i = 0; i < rows; i++) {
+                Assert.assertEquals(seen.get(i), i + "," + keyword(i));
+            }
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void tenRowsInThreeShards() throws IOException {
+        Path directory = Files.createTempDirectory("compiled-table-test");
+        try {
+            String table = compile(directory, 10);
+            int[] firstRows = {0, 3, 6};
+            int[] rowCounts = {3, 3, 4};
+            for (int shard = 0; shard < 3; shard++) {
+                CompiledTable part = CompiledTable.open(table, shard, 3);
+                Assert.assertEquals(part.getFirstRow(), firstRows[shard]);
+                Assert.assertEquals(part.getRowCount(), rowCounts[shard]);
+                Assert.assertEquals(part.get(0, "id"), String.valueOf(firstRows[shard]));
+                Assert.assertEquals(part.get(part.getRowCount() - 1, 1), keyword(firstRows[shard] + rowCounts[shard] - 1));
+            }
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void moreShardsThanRowsLeavesSomeEmpty() throws IOException {
+        Path directory = Files.createTempDirectory("compiled-table-test");
+        try {
+            String table = compile(directory, 2);
+            CompiledTable empty = CompiledTable.open(table, 0, 3);
+            Assert.assertEquals(empty.getRowCount(), 0);
+            Assert.assertFalse(empty.rows(row -> row).hasNext());
+            Assert.assertEquals(CompiledTable.open(table, 1, 3).getRowCount(), 1);
+            Assert.assertEquals(CompiledTable.open(table, 2, 3).getRowCount(), 1);
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void invalidShardsAreRejected() throws IOException {
+        Path directory = Files.createTempDirectory("compiled-table-test");
+        try {
+            String table = compile(directory, 3);
+            assertInvalidShard(table, 3, 3);
+            assertInvalidShard(table, -1, 3);
+            assertInvalidShard(table, 0, 0);
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void rowsOutsideTheShardAreRejected() throws IOException {
+        Path directory = Files.createTempDirectory("compiled-table-test");
+        try {
+            CompiledTable part = CompiledTable.open(compile(directory, 10), 1, 3);
+            try {
+                part.get(part.getRowCount(), 0);
+                Assert.fail("expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException expected) {
+                // the next shard's first row is not visible here
+            }
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    private static void assertInvalidShard(String table, int shardIndex, int shardCount) throws IOException {
+        try {
+            CompiledTable.open(table, shardIndex, shardCount);
+            Assert.fail("expected shard " + shardIndex + " of " + shardCount + " to be rejected");
+        } catch (IllegalArgumentException expected) {
+            // rejected before the file is read
+        }
+    }
+
+    private static String compile(Path directory, int rows) throws IOException {
+        StringBuilder csv = new StringBuilder("id,keyword").append(System.lineSeparator());
+        for (int i = 0; i < rows; i++) {
+            csv.append(i).append(',').append(keyword(i)).append(System.lineSeparator());
+        }
+        Path source = directory.resolve("rows.csv");
+        Files.write(source, csv.toString().getBytes(StandardCharsets.UTF_8));
+        String table = directory.resolve("rows" + CompiledTable.EXTENSION).toString();
+        CompiledTable.compile(source.toString(), table);
+        return table;
+    }
+
+    // Values of varying length, some multi-byte, so offsets are not a fixed stride
+    private static String keyword(int row) {
+        return row % 3 == 0 ? "qa" + row : row % 3 == 1 ? "d\u00e9veloppeur " + row : "";
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.ziprecruiter.data;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * CsvDataProvider - Streams CSV rows into TestNG data provider parameters
+ *
+ * Rows are parsed one at a time as TestNG asks for them, mapped to a typed
+ * record and handed over as a one-element Object[]; nothing is collected, so
+ * heap use does not grow with the file. The file is opened on the first
+ * request and closed after the last row.
+ *
+ * Use it from a sequential data provider: for parallel = true TestNG reads
+ * the whole iterator before starting any test, which keeps every row on the
+ * heap. Spread the rows over threads with the suite's parallel setting or
+ * over JVMs with CompiledTable shards instead.
+ *
+ * Blank lines are skipped. A row with more fields than the header (an
+ * unquoted comma in the last column, e.g. New York, NY) has its extra
+ * fields joined back into the last column.
+ */
+public class CsvDataProvider {
+
+    private CsvDataProvider() {
+    }
+
+    /**
+     * Stream a CSV file as data provider rows of mapped records
+     */
+    public static <T> Iterator<Object[]> stream(String file, Function<CsvRow, T> mapper) {
+        return new RowIterator<>(file, mapper);
+    }
+
+    /**
+     * Stream a CSV file as data provider rows of raw CsvRow objects
+     */
+    public static Iterator<Object[]> stream(String file) {
+        return stream(file, row -> row);
+    }
+
+    private static final class RowIterator<T> implements Iterator<Object[]> {
+        private final String file;
+        private final Function<CsvRow, T> mapper;
+        private CsvSchema schema;
+        private CSVReader reader;
+        private String[] pending;
+        private long rowNumber;
+        private boolean finished;
+
+        RowIterator(String file, Function<CsvRow, T> mapper) {
+            this.file = file;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending == null && !finished) {
+                pending = readRow();
+            }
+            return pending != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more rows in " + file);
+            }
+            String[] values = pending;
+            pending = null;
+            return new Object[] {mapper.apply(new CsvRow(schema, values, ++rowNumber))};
+        }
+
+        private String[] readRow() {
+            try {
+                if (reader == null) {
+                    schema = CsvSchema.of(file);
+                    reader = new CSVReader(Files.newBufferedReader(schema.getPath(), StandardCharsets.UTF_8));
+                    reader.skip(1);
+                }
+                String[] values;
+                while ((values = reader.readNext()) != null) {
+                    if (values.length == 1 && values[0].trim().isEmpty()) {
+                        continue;
+                    }
+                    return fit(values, schema.getColumnCount());
+                }
+                close();
+                return null;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException("Error reading CSV data from " + file, e);
+            } catch (CsvValidationException e) {
+                close();
+                throw new IllegalStateException("Invalid CSV row in " + file + " after row " + rowNumber, e);
+            }
+        }
+
+        private void close() {
+            finished = true;
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing CSV file " + file + ": " + e.getMessage());
+                }
+            }
+        }
+
+        private static String[] fit(String[] values, int columns) {
+            if (values.length <= columns || columns == 0) {
+                return values;
+            }
+            String[] fitted = Arrays.copyOf(values, columns);
+            fitted[columns - 1] = String.join(",", Arrays.copyOfRange(values, columns - 1, values.length));
+            return fitted;
+        }
+    }
+}
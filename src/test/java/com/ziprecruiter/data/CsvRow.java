@@ -0,0 +1,62 @@
+package com.ziprecruiter.data;
+
+/**
+ * CsvRow - One parsed CSV row, read through its file's cached CsvSchema
+ *
+ * Holds only the row's own field array; column names resolve through the
+ * shared schema.
+ */
+public final class CsvRow {
+
+    private final CsvSchema schema;
+    private final String[] values;
+    private final long rowNumber;
+
+    public CsvRow(CsvSchema schema, String[] values, long rowNumber) {
+        this.schema = schema;
+        this.values = values;
+        this.rowNumber = rowNumber;
+    }
+
+    public CsvSchema getSchema() { return schema; }
+
+    /**
+     * Get the 1-based data row number (the header is row 0)
+     */
+    public long getRowNumber() { return rowNumber; }
+
+    /**
+     * Get a field by position, or "" if the row is shorter
+     */
+    public String get(int column) {
+        return column < values.length ? values[column] : "";
+    }
+
+    /**
+     * Get a field by column name
+     */
+    public String get(String column) {
+        return get(schema.indexOf(column));
+    }
+
+    public int getInt(String column) {
+        String value = get(column).trim();
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Row " + rowNumber + ": '" + column + "' is not an integer: " + value, e);
+        }
+    }
+
+    public boolean getBoolean(String column) {
+        return Boolean.parseBoolean(get(column).trim());
+    }
+
+    @Override
+    public String toString() {
+        return "CsvRow{" +
+                "row=" + rowNumber +
+                ", values=" + String.join("|", values) +
+                '}';
+    }
+}
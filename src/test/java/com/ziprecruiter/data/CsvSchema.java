@@ -0,0 +1,115 @@
+package com.ziprecruiter.data;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CsvSchema - Column layout of a CSV data file, read once and cached
+ *
+ * The header row names the columns; a leading '#' (comment-style header) and
+ * surrounding spaces are ignored. Schemas are cached per file and refreshed
+ * when the file's size or modification time changes, so every data provider
+ * call and every row shares one column index.
+ */
+public final class CsvSchema {
+
+    private static final Map<Path, CsvSchema> CACHE = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private final long size;
+    private final long modifiedMillis;
+    private final List<String> columns;
+    private final Map<String, Integer> index;
+
+    private CsvSchema(Path path, long size, long modifiedMillis, String[] header) {
+        this.path = path;
+        this.size = size;
+        this.modifiedMillis = modifiedMillis;
+        String[] names = new String[header.length];
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            String name = header[i].trim();
+            if (i == 0 && name.startsWith("#")) {
+                name = name.substring(1).trim();
+            }
+            names[i] = name;
+            positions.putIfAbsent(name, i);
+        }
+        this.columns = Collections.unmodifiableList(Arrays.asList(names));
+        this.index = Collections.unmodifiableMap(positions);
+    }
+
+    /**
+     * Get the schema of a CSV file, reading its header only if not cached or changed
+     */
+    public static CsvSchema of(String file) throws IOException {
+        Path path = Paths.get(file).toAbsolutePath().normalize();
+        long size = Files.size(path);
+        long modifiedMillis = Files.getLastModifiedTime(path).toMillis();
+        CsvSchema cached = CACHE.get(path);
+        if (cached != null && cached.size == size && cached.modifiedMillis == modifiedMillis) {
+            return cached;
+        }
+        try (CSVReader reader = new CSVReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+            String[] header = reader.readNext();
+            if (header == null) {
+                throw new IOException("CSV file has no header row: " + file);
+            }
+            CsvSchema schema = new CsvSchema(path, size, modifiedMillis, header);
+            CACHE.put(path, schema);
+            return schema;
+        } catch (CsvValidationException e) {
+            throw new IOException("Invalid CSV header in " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Build a schema from known column names, e.g. those of a compiled table (not cached)
+     */
+    static CsvSchema of(Path path, String[] columns) {
+        return new CsvSchema(path, -1, -1, columns);
+    }
+
+    public Path getPath() { return path; }
+
+    public List<String> getColumns() { return columns; }
+
+    public int getColumnCount() { return columns.size(); }
+
+    /**
+     * Get the position of a column
+     */
+    public int indexOf(String column) {
+        Integer position = index.get(column);
+        if (position == null) {
+            throw new IllegalArgumentException("No column '" + column + "' in " + path + ", columns: " + columns);
+        }
+        return position;
+    }
+
+    /**
+     * Check if the file has a column
+     */
+    public boolean hasColumn(String column) {
+        return index.containsKey(column);
+    }
+
+    @Override
+    public String toString() {
+        return "CsvSchema{" +
+                "path=" + path +
+                ", columns=" + columns +
+                '}';
+    }
+}
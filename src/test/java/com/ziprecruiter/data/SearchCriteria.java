@@ -0,0 +1,32 @@
+package com.ziprecruiter.data;
+
+/**
+ * SearchCriteria - One job search from search_data.csv
+ */
+public class SearchCriteria {
+    private final String searchTerm;
+    private final String location;
+
+    public SearchCriteria(String searchTerm, String location) {
+        this.searchTerm = searchTerm;
+        this.location = location;
+    }
+
+    /**
+     * Map a search_data.csv row (search_term, location)
+     */
+    public static SearchCriteria fromRow(CsvRow row) {
+        return new SearchCriteria(row.get("search_term").trim(), row.get("location").trim());
+    }
+
+    public String getSearchTerm() { return searchTerm; }
+    public String getLocation() { return location; }
+
+    @Override
+    public String toString() {
+        return "SearchCriteria{" +
+                "searchTerm='" + searchTerm + '\'' +
+                ", location='" + location + '\'' +
+                '}';
+    }
+}
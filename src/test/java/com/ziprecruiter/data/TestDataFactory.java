@@ -1,16 +1,22 @@
 package com.ziprecruiter.data;
 
-import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvValidationException;
-import java.io.FileReader;
+import org.testng.annotations.DataProvider;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
+// Random choices come from TestRandom: per-test streams, replayable with -Dtest.seed
 public class TestDataFactory {
     
-    // Generate valid test data
+    // Search matrix for the searchData provider; point -Dsearch.data at a larger file to scale up
+    public static final String SEARCH_DATA_CSV = System.getProperty("search.data", "src/test/resources/search_data.csv");
+    
+    // Compiled copy of the search matrix, rebuilt when the CSV is newer
+    public static final String SEARCH_DATA_TABLE = System.getProperty("search.data.table", "target/test-data/search_data" + CompiledTable.EXTENSION);
+    
+    // Generate valid test data (unique across threads and JVMs)
     public static String generateValidEmail() {
-        return "testuser" + System.currentTimeMillis() + "@example.com";
+        return "testuser" + TestRandom.uniqueId() + "@example.com";
     }
     
     public static String generateValidPassword() {
@@ -22,7 +28,7 @@ public class TestDataFactory {
             "Software Engineer", "QA Analyst", "Data Scientist", 
             "Product Manager", "DevOps Engineer", "Frontend Developer"
         };
-        return jobTitles[new Random().nextInt(jobTitles.length)];
+        return TestRandom.current().pick(jobTitles);
     }
     
     public static String generateLocation() {
@@ -30,7 +36,7 @@ public class TestDataFactory {
             "New York, NY", "San Francisco, CA", "Austin, TX",
             "Seattle, WA", "Boston, MA", "Remote"
         };
-        return locations[new Random().nextInt(locations.length)];
+        return TestRandom.current().pick(locations);
     }
     
     // Generate invalid test data for negative testing
@@ -39,37 +45,59 @@ public class TestDataFactory {
             "invalid-email", "@example.com", "test@", 
             "test@.com", "test..test@example.com"
         };
-        return invalidEmails[new Random().nextInt(invalidEmails.length)];
+        return TestRandom.current().pick(invalidEmails);
     }
     
     public static String generateInvalidPassword() {
         String[] invalidPasswords = {
             "", "123", "password", "PASSWORD", "pass word"
         };
-        return invalidPasswords[new Random().nextInt(invalidPasswords.length)];
+        return TestRandom.current().pick(invalidPasswords);
     }
     
-    // Load data from CSV file
+    // Load data from CSV file (whole file in memory; prefer the streaming data providers for large files)
     public static List<Map<String, String>> loadDataFromCSV(String filePath) {
         List<Map<String, String>> data = new ArrayList<>();
-        try (CSVReader reader = new CSVReader(new FileReader(filePath))) {
-            String[] headers = reader.readNext();
-            if (headers != null) {
-                String[] nextLine;
-                while ((nextLine = reader.readNext()) != null) {
-                    Map<String, String> row = new HashMap<>();
-                    for (int i = 0; i < headers.length && i < nextLine.length; i++) {
-                        row.put(headers[i], nextLine[i]);
-                    }
-                    data.add(row);
+        try {
+            Iterator<Object[]> rows = CsvDataProvider.stream(filePath);
+            while (rows.hasNext()) {
+                CsvRow row = (CsvRow) rows.next()[0];
+                Map<String, String> values = new HashMap<>();
+                List<String> columns = row.getSchema().getColumns();
+                for (int i = 0; i < columns.size(); i++) {
+                    values.put(columns.get(i), row.get(i));
                 }
+                data.add(values);
             }
-        } catch (IOException | CsvValidationException e) {
+        } catch (RuntimeException e) {
             System.err.println("Error loading CSV data: " + e.getMessage());
         }
         return data;
     }
     
+    // Stream search_data.csv rows as SearchCriteria, one row parsed per test invocation.
+    // Not parallel: TestNG drains a parallel provider's iterator up front, holding every row at once;
+    // run rows concurrently with suite threads or shards instead
+    @DataProvider(name = "searchData")
+    public static Iterator<Object[]> searchData() {
+        return CsvDataProvider.stream(SEARCH_DATA_CSV, SearchCriteria::fromRow);
+    }
+    
+    // This worker's shard of the compiled search matrix, chosen with -Dshard.index and -Dshard.count
+    @DataProvider(name = "searchDataShard")
+    public static Iterator<Object[]> searchDataShard() {
+        int shardIndex = Integer.getInteger("shard.index", 0);
+        int shardCount = Integer.getInteger("shard.count", 1);
+        try {
+            CompiledTable.compileIfStale(SEARCH_DATA_CSV, SEARCH_DATA_TABLE);
+            CompiledTable table = CompiledTable.open(SEARCH_DATA_TABLE, shardIndex, shardCount);
+            System.out.println("Search data shard " + shardIndex + "/" + shardCount + ": " + table);
+            return table.rows(SearchCriteria::fromRow);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load search data shard " + shardIndex + "/" + shardCount, e);
+        }
+    }
+    
     // Create test data object
     public static TestData createTestData() {
         return new TestData(
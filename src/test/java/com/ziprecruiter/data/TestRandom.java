@@ -0,0 +1,121 @@
+package com.ziprecruiter.data;
+
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TestRandom - Seedable, per-test random streams and unique identifiers
+ *
+ * One run seed (-Dtest.seed, or chosen at startup and printed) drives every
+ * random choice. Each test gets its own stream, derived from the run seed
+ * and the test's id (Class.method plus its data provider parameters), so a
+ * test draws the same values whatever thread it runs on and whatever ran
+ * before it. Streams live in a ThreadLocal; nothing is shared or locked.
+ *
+ * uniqueId() is deliberately not seeded: it combines a token unique to this
+ * JVM (start time, pid and a random salt) with a counter, so identifiers
+ * never repeat across threads, JVMs or replays of the same seed.
+ */
+public final class TestRandom {
+
+    private static final long RUN_SEED = Long.getLong("test.seed", new SplittableRandom().nextLong());
+    private static final String JVM_TOKEN = jvmToken();
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final ThreadLocal<TestRandom> CURRENT = new ThreadLocal<>();
+
+    static {
+        System.out.println("Test data seed: " + RUN_SEED + " (replay with -Dtest.seed=" + RUN_SEED + ")");
+    }
+
+    private final Object owner;
+    private final SplittableRandom random;
+
+    private TestRandom(Object owner, long seed) {
+        this.owner = owner;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Get the seed of this run
+     */
+    public static long getRunSeed() {
+        return RUN_SEED;
+    }
+
+    /**
+     * Get the random stream of the test running on this thread
+     */
+    public static TestRandom current() {
+        ITestResult result = Reporter.getCurrentTestResult();
+        Object owner = result != null ? result : Thread.currentThread();
+        TestRandom stream = CURRENT.get();
+        if (stream == null || stream.owner != owner) {
+            stream = new TestRandom(owner, seedFor(testId(result)));
+            CURRENT.set(stream);
+        }
+        return stream;
+    }
+
+    /**
+     * Get the seed of one test's stream, e.g. to replay a single test
+     */
+    public static long seedFor(String testId) {
+        return mix(RUN_SEED ^ mix(testId.hashCode()));
+    }
+
+    /**
+     * Get an identifier unique across threads, JVMs and runs, e.g. "k3x9f2a-17"
+     */
+    public static String uniqueId() {
+        return JVM_TOKEN + "-" + Long.toString(SEQUENCE.incrementAndGet(), 36);
+    }
+
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+
+    /**
+     * Pick one of the values
+     */
+    @SafeVarargs
+    public final <T> T pick(T... values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String testId(ITestResult result) {
+        if (result == null || result.getMethod() == null) {
+            return "thread:" + Thread.currentThread().getName();
+        }
+        String id = result.getMethod().getQualifiedName();
+        Object[] parameters = result.getParameters();
+        return parameters == null || parameters.length == 0 ? id : id + Arrays.toString(parameters);
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads nearby seeds into unrelated streams
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String jvmToken() {
+        long start = ManagementFactory.getRuntimeMXBean().getStartTime();
+        long pid = ProcessHandle.current().pid();
+        int salt = new SplittableRandom().nextInt(36 * 36 * 36);
+        return Long.toString(start, 36) + Long.toString(pid, 36) + Integer.toString(salt, 36);
+    }
+}
@@ -1,5 +1,6 @@
 package com.ziprecruiter.demo;
 
+import com.ziprecruiter.config.ConfigManager;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -61,7 +62,7 @@ public class DemoTest {
         System.out.println("\n📋 Test: Homepage Loads Successfully");
         
         // Navigate to ZipRecruiter homepage
-        driver.get("https://www.ziprecruiter.com");
+        driver.get(ConfigManager.getBaseUrl());
         
         // Wait for page to load and verify title
         String pageTitle = wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("title"))).getAttribute("textContent");
@@ -93,7 +94,7 @@ public class DemoTest {
         System.out.println("\n📋 Test: Basic Search Functionality");
         
         // Navigate to ZipRecruiter homepage
-        driver.get("https://www.ziprecruiter.com");
+        driver.get(ConfigManager.getBaseUrl());
         
         // Wait for page to load
         wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
@@ -150,9 +151,9 @@ public class DemoTest {
         
         // Test navigation to different ZipRecruiter pages
         String[] testUrls = {
-            "https://www.ziprecruiter.com",
-            "https://www.ziprecruiter.com/jobs",
-            "https://www.ziprecruiter.com/login"
+            ConfigManager.getBaseUrl(),
+            ConfigManager.getBaseUrl() + "/jobs",
+            ConfigManager.getBaseUrl() + "/login"
         };
         
         for (String url : testUrls) {
@@ -190,7 +191,7 @@ public class DemoTest {
         System.out.println("\n📋 Test: Search Results Page");
         
         // Navigate directly to search results page
-        driver.get("https://www.ziprecruiter.com/jobs?search=software+engineer");
+        driver.get(ConfigManager.getBaseUrl() + "/jobs?search=software+engineer");
         
         // Wait for page to load
         wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
@@ -228,7 +229,7 @@ public class DemoTest {
         System.out.println("\n📋 Test: Framework Capabilities");
         
         // Test basic Selenium capabilities
-        driver.get("https://www.ziprecruiter.com");
+        driver.get(ConfigManager.getBaseUrl());
         
         // Test page source access
         String pageSource = driver.getPageSource();
@@ -271,7 +272,7 @@ public class DemoTest {
         
         // Test navigation to non-existent page (should handle gracefully)
         try {
-            driver.get("https://www.ziprecruiter.com/non-existent-page");
+            driver.get(ConfigManager.getBaseUrl() + "/non-existent-page");
             
             // Should still get a page (even if it's a 404)
             String pageTitle = driver.getTitle();
@@ -296,7 +297,7 @@ public class DemoTest {
         
         // Test element not found handling
         try {
-            driver.get("https://www.ziprecruiter.com");
+            driver.get(ConfigManager.getBaseUrl());
             WebElement nonExistentElement = driver.findElement(By.id("element-that-does-not-exist"));
             Assert.fail("Should not find non-existent element");
         } catch (Exception e) {
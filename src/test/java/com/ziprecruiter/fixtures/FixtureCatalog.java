@@ -0,0 +1,140 @@
+package com.ziprecruiter.fixtures;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * FixtureCatalog - The fixed set of jobs the fixture site serves
+ *
+ * Every title is offered by every company in every location, so the catalog
+ * is the same on each run and job ids are stable (1-based catalog position).
+ * A search matches jobs sharing at least one whole word with the query; an
+ * empty query matches everything, and a query of unknown words matches
+ * nothing, which gives the no-results page.
+ */
+final class FixtureCatalog {
+
+    private static final String[] TITLES = {
+        "Software Engineer", "Senior Software Engineer", "Data Scientist", "Product Manager",
+        "QA Engineer", "DevOps Engineer", "Frontend Developer", "Backend Developer",
+        "UX Designer", "Marketing Manager"
+    };
+    private static final String[] COMPANIES = {
+        "Acme Corp", "Globex", "Initech", "Umbrella Labs", "Stark Industries"
+    };
+    private static final String[] LOCATIONS = {
+        "New York, NY", "San Francisco, CA", "Los Angeles, CA", "Austin, TX",
+        "Chicago, IL", "Seattle, WA", "Boston, MA", "Remote"
+    };
+
+    private static final List<Job> JOBS = build();
+
+    private FixtureCatalog() {
+    }
+
+    /**
+     * Get a job by id, or null if there is none
+     */
+    static Job get(int id) {
+        return id >= 1 && id <= JOBS.size() ? JOBS.get(id - 1) : null;
+    }
+
+    /**
+     * Get the jobs matching a search query, in catalog order
+     */
+    static List<Job> search(String query) {
+        Set<String> words = words(query);
+        if (words.isEmpty()) {
+            return JOBS;
+        }
+        List<Job> matches = new ArrayList<>();
+        for (Job job : JOBS) {
+            if (!Collections.disjoint(words, words(job.getTitle()))) {
+                matches.add(job);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Get a few other jobs with the same title, for the similar jobs section
+     */
+    static List<Job> similar(Job job, int limit) {
+        List<Job> similar = new ArrayList<>();
+        for (Job candidate : JOBS) {
+            if (candidate != job && candidate.getTitle().equals(job.getTitle())) {
+                similar.add(candidate);
+                if (similar.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return similar;
+    }
+
+    private static Set<String> words(String text) {
+        Set<String> words = new HashSet<>();
+        if (text != null) {
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    private static List<Job> build() {
+        List<Job> jobs = new ArrayList<>();
+        for (String title : TITLES) {
+            for (String company : COMPANIES) {
+                for (String location : LOCATIONS) {
+                    int id = jobs.size() + 1;
+                    int salary = 70 + (id * 37) % 90;
+                    jobs.add(new Job(id, title, company, location, "$" + salary + "K - $" + (salary + 30) + "K"));
+                }
+            }
+        }
+        return Collections.unmodifiableList(jobs);
+    }
+
+    static final class Job {
+        private final int id;
+        private final String title;
+        private final String company;
+        private final String location;
+        private final String salary;
+
+        Job(int id, String title, String company, String location, String salary) {
+            this.id = id;
+            this.title = title;
+            this.company = company;
+            this.location = location;
+            this.salary = salary;
+        }
+
+        int getId() { return id; }
+
+        String getTitle() { return title; }
+
+        String getCompany() { return company; }
+
+        String getLocation() { return location; }
+
+        String getSalary() { return salary; }
+
+        @Override
+        public String toString() {
+            return "Job{" +
+                    "id=" + id +
+                    ", title='" + title + '\'' +
+                    ", company='" + company + '\'' +
+                    ", location='" + location + '\'' +
+                    '}';
+        }
+    }
+}
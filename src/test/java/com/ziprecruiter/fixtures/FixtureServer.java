@@ -0,0 +1,505 @@
+package com.ziprecruiter.fixtures;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.ziprecruiter.fixtures.FixtureCatalog.Job;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * FixtureServer - Local stand-in for the site, so the suite runs without the network
+ *
+ * An embedded HTTP server on the loopback interface serving templated copies
+ * of the pages the page objects drive: home, search results with pagination
+ * and filters, job details, apply, login, registration, profile, saved jobs,
+ * notifications and a 404 page. Markup follows the page object locators, and
+ * the login and registration forms validate on the server the way the tests
+ * expect (valid credentials are the configured test.email / test.password).
+ *
+ * Templates are read once from src/test/resources/fixtures (or the classpath)
+ * and filled with {{name}} placeholders; values are HTML-escaped unless they
+ * are fragments built here. Requests are handled on a small thread pool, so
+ * parallel tests never queue behind each other.
+ *
+ * The base URL uses the host www.ziprecruiter.com.localhost: browsers resolve
+ * every *.localhost name to the loopback address, and URL assertions that look
+ * for "ziprecruiter.com" keep passing.
+ */
+public final class FixtureServer {
+
+    public static final String DEFAULT_HOST = "www.ziprecruiter.com.localhost";
+
+    private static final String TEMPLATE_DIRECTORY = "src/test/resources/fixtures";
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\w+)}}");
+    private static final Pattern JOB_PATH = Pattern.compile("/jobs/(\\d+)");
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s<>]+@[^@\\s<>]+\\.[A-Za-z]{2,}");
+    private static final Pattern PHONE = Pattern.compile("[0-9+()\\-. ]{7,20}");
+    private static final int DEFAULT_PER_PAGE = 20;
+    private static final int MIN_PASSWORD_LENGTH = 8;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String host;
+    private final String validEmail;
+    private final String validPassword;
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+
+    private FixtureServer(HttpServer server, ExecutorService executor, String host,
+                          String validEmail, String validPassword) {
+        this.server = server;
+        this.executor = executor;
+        this.host = host;
+        this.validEmail = validEmail;
+        this.validPassword = validPassword;
+    }
+
+    /**
+     * Start a server on the loopback interface; port 0 picks a free port
+     */
+    public static FixtureServer start(int port, String host, String validEmail, String validPassword) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 64);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Integer.getInteger("site.fixtures.threads", 8), task -> {
+            Thread thread = new Thread(task, "fixture-server-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        FixtureServer fixtures = new FixtureServer(server, executor, host, validEmail, validPassword);
+        server.createContext("/", fixtures::handle);
+        server.setExecutor(executor);
+        server.start();
+        return fixtures;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Get the URL tests should use as base.url, e.g. http://www.ziprecruiter.com.localhost:52811
+     */
+    public String getBaseUrl() {
+        return "http://" + host + ":" + getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            URI uri = exchange.getRequestURI();
+            String path = uri.getPath().length() > 1 ? uri.getPath().replaceFirst("/+$", "") : uri.getPath();
+            Map<String, String> query = parseForm(uri.getRawQuery());
+            boolean post = "POST".equalsIgnoreCase(exchange.getRequestMethod());
+            Map<String, String> form = post ? parseForm(readBody(exchange)) : query;
+
+            Matcher jobPath = JOB_PATH.matcher(path);
+            switch (path) {
+                case "/":
+                    send(exchange, 200, page("ZipRecruiter: Job Search - Find Jobs Hiring Near You", "home", values()));
+                    break;
+                case "/jobs":
+                    send(exchange, 200, searchResults(query));
+                    break;
+                case "/jobs/apply":
+                    send(exchange, 200, apply(query, post));
+                    break;
+                case "/login":
+                    login(exchange, form, post);
+                    break;
+                case "/register":
+                    register(exchange, form, post);
+                    break;
+                case "/profile":
+                    send(exchange, 200, profile(form, post));
+                    break;
+                case "/saved-jobs":
+                    send(exchange, 200, page("Saved Jobs | ZipRecruiter", "saved-jobs", values(
+                        "savedJobs", savedJobCards(), "count", "3")));
+                    break;
+                case "/notifications":
+                    send(exchange, 200, page("Notifications | ZipRecruiter", "notifications", values()));
+                    break;
+                default:
+                    Job job = jobPath.matches() ? FixtureCatalog.get(parseInt(jobPath.group(1), 0)) : null;
+                    if (job != null) {
+                        send(exchange, 200, jobDetails(job));
+                    } else {
+                        send(exchange, 404, page("Page Not Found | ZipRecruiter", "not-found", values("path", escape(path))));
+                    }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Fixture server error for " + exchange.getRequestURI() + ": " + e);
+            send(exchange, 500, "<!DOCTYPE html><title>Server error</title><h1>Server error</h1>");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String searchResults(Map<String, String> query) {
+        String search = query.getOrDefault("search", "");
+        List<Job> matches = FixtureCatalog.search(search);
+        int perPage = Math.max(1, parseInt(query.get("perPage"), DEFAULT_PER_PAGE));
+        int pages = Math.max(1, (matches.size() + perPage - 1) / perPage);
+        int current = Math.min(pages, Math.max(1, parseInt(query.get("page"), 1)));
+
+        StringBuilder cards = new StringBuilder();
+        for (Job job : matches.subList((current - 1) * perPage, Math.min(matches.size(), current * perPage))) {
+            cards.append("<article class=\"job_content job-card\" data-testid=\"job-card\" data-job-id=\"")
+                .append(job.getId()).append("\" onclick=\"location.href='/jobs/").append(job.getId()).append("'\">")
+                .append("<h2 class=\"job-title\"><a href=\"/jobs/").append(job.getId()).append("\">")
+                .append(escape(job.getTitle())).append("</a></h2>")
+                .append("<p class=\"company-name\">").append(escape(job.getCompany())).append("</p>")
+                .append("<p class=\"job-location\">").append(escape(job.getLocation())).append("</p>")
+                .append("<p class=\"salary\">").append(escape(job.getSalary())).append("</p>")
+                .append("</article>\n");
+        }
+
+        String results = matches.isEmpty()
+            ? "<div class=\"no-results\" data-testid=\"no-results\">No jobs found for &quot;" + escape(search)
+                + "&quot;. Try a different search.</div>"
+            : "<div class=\"job-results\">\n" + cards + "</div>\n" + pagination(query, current, pages, perPage);
+
+        return page(search.isEmpty() ? "Jobs | ZipRecruiter" : search + " Jobs | ZipRecruiter", "jobs", values(
+            "search", escape(search),
+            "searchQuery", encode(search),
+            "location", escape(query.getOrDefault("location", "")),
+            "resultsCount", String.valueOf(matches.size()),
+            "activeFilters", activeFilters(query),
+            "results", results));
+    }
+
+    private String pagination(Map<String, String> query, int current, int pages, int perPage) {
+        StringBuilder html = new StringBuilder("<nav class=\"pagination\" aria-label=\"Pagination\">\n");
+        html.append(pageLink(query, "first-page", "First", 1, current > 1));
+        html.append(pageLink(query, "prev-page", "Previous", current - 1, current > 1));
+        int first = Math.max(1, Math.min(current - 2, pages - 4));
+        for (int number = first; number <= Math.min(pages, first + 4); number++) {
+            if (number == current) {
+                html.append("<span class=\"page-number current-page\" aria-current=\"page\">").append(number).append("</span>\n");
+            } else {
+                html.append("<a class=\"page-number\" href=\"").append(pageUrl(query, number)).append("\">")
+                    .append(number).append("</a>\n");
+            }
+        }
+        html.append(pageLink(query, "next-page", "Next", current + 1, current < pages));
+        html.append(pageLink(query, "last-page", "Last", pages, current < pages));
+        html.append("<span class=\"page-info\">Page ").append(current).append(" of ").append(pages).append("</span>\n");
+        html.append("<span class=\"total-pages\">").append(pages).append("</span> pages\n");
+        html.append("<label>Per page <select name=\"perPage\" onchange=\"location.href='")
+            .append(pageUrl(withoutKey(query, "perPage"), 1)).append("&amp;perPage=' + this.value\">");
+        for (int option : new int[] {10, 20, 50}) {
+            html.append("<option value=\"").append(option).append('"')
+                .append(option == perPage ? " selected" : "").append('>').append(option).append("</option>");
+        }
+        html.append("</select></label>\n");
+        if (current < pages) {
+            html.append("<button type=\"button\" class=\"load-more\" onclick=\"location.href='")
+                .append(pageUrl(query, current + 1)).append("'\">Load more jobs</button>\n");
+        }
+        return html.append("</nav>\n").toString();
+    }
+
+    private String pageLink(Map<String, String> query, String cssClass, String label, int page, boolean enabled) {
+        if (!enabled) {
+            return "<button type=\"button\" class=\"" + cssClass + "\" disabled>" + label + "</button>\n";
+        }
+        return "<a class=\"" + cssClass + "\" href=\"" + pageUrl(query, page) + "\">" + label + "</a>\n";
+    }
+
+    private String pageUrl(Map<String, String> query, int page) {
+        StringBuilder url = new StringBuilder("/jobs?");
+        for (Map.Entry<String, String> parameter : query.entrySet()) {
+            if (!"page".equals(parameter.getKey())) {
+                url.append(encode(parameter.getKey())).append('=').append(encode(parameter.getValue())).append("&amp;");
+            }
+        }
+        return url.append("page=").append(page).toString();
+    }
+
+    private String activeFilters(Map<String, String> query) {
+        StringBuilder html = new StringBuilder();
+        for (String filter : new String[] {"salaryMin", "salaryMax", "jobType", "experience", "companySize", "remote", "datePosted"}) {
+            String value = query.get(filter);
+            if (value != null && !value.isEmpty()) {
+                html.append("<span class=\"active-filter\">").append(escape(filter)).append(": ").append(escape(value))
+                    .append(" <a class=\"remove-filter\" href=\"").append(pageUrl(withoutKey(query, filter), 1))
+                    .append("\" aria-label=\"Remove filter\">&times;</a></span>\n");
+            }
+        }
+        return html.toString();
+    }
+
+    private String jobDetails(Job job) {
+        StringBuilder similar = new StringBuilder();
+        for (Job other : FixtureCatalog.similar(job, 3)) {
+            similar.append("<div class=\"job-card\"><a href=\"/jobs/").append(other.getId()).append("\">")
+                .append(escape(other.getTitle())).append(" at ").append(escape(other.getCompany()))
+                .append(" in ").append(escape(other.getLocation())).append("</a></div>\n");
+        }
+        return page(job.getTitle() + " at " + job.getCompany() + " | ZipRecruiter", "job", values(
+            "id", String.valueOf(job.getId()),
+            "title", escape(job.getTitle()),
+            "company", escape(job.getCompany()),
+            "location", escape(job.getLocation()),
+            "salary", escape(job.getSalary()),
+            "searchUrl", "/jobs?search=" + encode(job.getTitle()),
+            "similarJobs", similar.toString()));
+    }
+
+    private String apply(Map<String, String> query, boolean post) {
+        Job job = FixtureCatalog.get(parseInt(query.get("id"), 1));
+        if (job == null) {
+            job = FixtureCatalog.get(1);
+        }
+        return page("Apply: " + job.getTitle() + " | ZipRecruiter", "apply", values(
+            "id", String.valueOf(job.getId()),
+            "title", escape(job.getTitle()),
+            "company", escape(job.getCompany()),
+            "message", post ? "<div class=\"success-message application-success\">Application submitted</div>" : ""));
+    }
+
+    private void login(HttpExchange exchange, Map<String, String> form, boolean post) throws IOException {
+        String email = form.getOrDefault("email", "").trim();
+        if (post && email.equalsIgnoreCase(validEmail) && form.getOrDefault("password", "").equals(validPassword)) {
+            redirect(exchange, "/profile");
+            return;
+        }
+        String error = "";
+        if (post) {
+            error = !EMAIL.matcher(email).matches() ? "Please enter a valid email address"
+                : "The email or password you entered is incorrect";
+        }
+        send(exchange, 200, page("Sign In | ZipRecruiter", "login", values(
+            "email", escape(email), "error", errorMessage(error))));
+    }
+
+    private void register(HttpExchange exchange, Map<String, String> form, boolean post) throws IOException {
+        String error = "";
+        if (post) {
+            String email = form.getOrDefault("email", "").trim();
+            String password = form.getOrDefault("password", "");
+            if (email.isEmpty() || password.isEmpty() || form.getOrDefault("firstName", "").trim().isEmpty()
+                    || form.getOrDefault("lastName", "").trim().isEmpty()) {
+                error = "Please fill in all required fields";
+            } else if (!EMAIL.matcher(email).matches()) {
+                error = "Please enter a valid email address";
+            } else if (password.length() < MIN_PASSWORD_LENGTH) {
+                error = "Password must be at least " + MIN_PASSWORD_LENGTH + " characters";
+            } else if (!password.equals(form.getOrDefault("confirmPassword", ""))) {
+                error = "Passwords do not match";
+            } else if (!form.containsKey("terms")) {
+                error = "Please accept the terms of use";
+            } else {
+                redirect(exchange, "/profile?welcome=1");
+                return;
+            }
+        }
+        send(exchange, 200, page("Create Account | ZipRecruiter", "register", values(
+            "email", escape(form.getOrDefault("email", "")),
+            "firstName", escape(form.getOrDefault("firstName", "")),
+            "lastName", escape(form.getOrDefault("lastName", "")),
+            "error", errorMessage(error))));
+    }
+
+    private String profile(Map<String, String> form, boolean post) {
+        String message = "";
+        if (post) {
+            String phone = form.getOrDefault("phone", "").trim();
+            message = phone.isEmpty() || PHONE.matcher(phone).matches()
+                ? "<div class=\"success-message\">Profile saved</div>"
+                : errorMessage("Please enter a valid phone number");
+        }
+        return page("My Profile | ZipRecruiter", "profile", values(
+            "firstName", escape(form.getOrDefault("firstName", "Test")),
+            "lastName", escape(form.getOrDefault("lastName", "User")),
+            "phone", escape(form.getOrDefault("phone", "")),
+            "location", escape(form.getOrDefault("location", "New York, NY")),
+            "bio", escape(form.getOrDefault("bio", "")),
+            "message", message));
+    }
+
+    private String savedJobCards() {
+        StringBuilder html = new StringBuilder();
+        for (int id : new int[] {1, 97, 130}) {
+            Job job = FixtureCatalog.get(id);
+            html.append("<div class=\"saved-job\" data-job-id=\"").append(id).append("\">")
+                .append("<input type=\"checkbox\" class=\"select-job\" aria-label=\"Select job\">")
+                .append("<h3 class=\"job-title\">").append(escape(job.getTitle())).append("</h3>")
+                .append("<p class=\"company-name\">").append(escape(job.getCompany())).append("</p>")
+                .append("<button type=\"button\" class=\"apply-button\" onclick=\"location.href='/jobs/apply?id=")
+                .append(id).append("'\">Apply</button>")
+                .append("<button type=\"button\" class=\"remove-job\">Remove</button>")
+                .append("</div>\n");
+        }
+        return html.toString();
+    }
+
+    private static String errorMessage(String error) {
+        return error.isEmpty() ? "" : "<div class=\"error-message\" role=\"alert\">" + escape(error) + "</div>";
+    }
+
+    /**
+     * Render a page template inside the shared layout
+     */
+    private String page(String title, String template, Map<String, String> values) {
+        return render("layout", values("title", escape(title), "body", render(template, values)));
+    }
+
+    private String render(String template, Map<String, String> values) {
+        Matcher placeholder = PLACEHOLDER.matcher(templates.computeIfAbsent(template, FixtureServer::readTemplate));
+        StringBuilder html = new StringBuilder();
+        while (placeholder.find()) {
+            placeholder.appendReplacement(html, Matcher.quoteReplacement(values.getOrDefault(placeholder.group(1), "")));
+        }
+        placeholder.appendTail(html);
+        return html.toString();
+    }
+
+    /**
+     * Read a template from disk, or else from the classpath
+     */
+    private static String readTemplate(String name) {
+        Path path = Paths.get(TEMPLATE_DIRECTORY, name + ".html");
+        try (InputStream input = Files.exists(path) ? Files.newInputStream(path)
+                : FixtureServer.class.getClassLoader().getResourceAsStream("fixtures/" + name + ".html")) {
+            if (input == null) {
+                throw new IllegalStateException("Fixture template not found: " + path);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading fixture template " + path, e);
+        }
+    }
+
+    private static Map<String, String> values(String... keysAndValues) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keysAndValues.length; i += 2) {
+            values.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return values;
+    }
+
+    private static Map<String, String> withoutKey(Map<String, String> query, String key) {
+        Map<String, String> copy = new LinkedHashMap<>(query);
+        copy.remove(key);
+        return copy;
+    }
+
+    private static void send(HttpExchange exchange, int status, String html) throws IOException {
+        byte[] body = html.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.sendResponseHeaders(303, -1);
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream input = exchange.getRequestBody()) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, String> parseForm(String encoded) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return values;
+        }
+        for (String pair : encoded.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = decode(equals < 0 ? pair : pair.substring(0, equals));
+            String value = equals < 0 ? "" : decode(pair.substring(equals + 1));
+            values.merge(key, value, (first, next) -> first + "," + next);
+        }
+        return values;
+    }
+
+    /**
+     * Decode a form value; malformed escapes (a search for "100%") are kept as typed
+     */
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<': escaped.append("&lt;"); break;
+                case '>': escaped.append("&gt;"); break;
+                case '&': escaped.append("&amp;"); break;
+                case '"': escaped.append("&quot;"); break;
+                case '\'': escaped.append("&#39;"); break;
+                default: escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "FixtureServer{" +
+                "baseUrl='" + getBaseUrl() + '\'' +
+                ", requests=" + requests.get() +
+                '}';
+    }
+}
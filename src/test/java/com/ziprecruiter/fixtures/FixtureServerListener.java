@@ -0,0 +1,79 @@
+package com.ziprecruiter.fixtures;
+
+import com.ziprecruiter.config.ConfigManager;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * FixtureServerListener - Points the suite at the local fixture site
+ *
+ * With -Dsite.fixtures=true (or the suite parameter siteFixtures="true") it
+ * starts FixtureServer before the first test, sets base.url, login.url and
+ * search.url to it as system properties and republishes the configuration,
+ * so every page object and test that builds URLs from ConfigManager runs
+ * against loopback instead of the live site. The port is free-picked unless
+ * -Dsite.fixtures.port is set. Registered after ConfigListener in testng.xml.
+ * When the suite finishes the three properties get their previous values
+ * back (or are cleared) and the configuration is republished again, so a
+ * later suite in the same JVM does not point at the stopped server.
+ */
+public class FixtureServerListener implements ISuiteListener {
+
+    private static final String[] URL_PROPERTIES = {"base.url", "login.url", "search.url"};
+
+    private FixtureServer server;
+    // System property values before onStart replaced them, null where unset
+    private final Map<String, String> previous = new LinkedHashMap<>();
+
+    public static boolean isEnabled(ISuite suite) {
+        return Boolean.getBoolean("site.fixtures")
+            || Boolean.parseBoolean(suite.getXmlSuite().getParameter("siteFixtures"));
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!isEnabled(suite)) {
+            return;
+        }
+        try {
+            server = FixtureServer.start(Integer.getInteger("site.fixtures.port", 0),
+                System.getProperty("site.fixtures.host", FixtureServer.DEFAULT_HOST),
+                ConfigManager.getTestEmail(), ConfigManager.getTestPassword());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the fixture site", e);
+        }
+        String baseUrl = server.getBaseUrl();
+        for (String property : URL_PROPERTIES) {
+            previous.put(property, System.getProperty(property));
+        }
+        System.setProperty("base.url", baseUrl);
+        System.setProperty("login.url", baseUrl + "/login");
+        System.setProperty("search.url", baseUrl);
+        ConfigManager.reload();
+        System.out.println("Fixture site running at " + baseUrl);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (server != null) {
+            server.stop();
+            System.out.println("Fixture site served " + server.getRequestCount() + " requests");
+            server = null;
+        }
+        if (!previous.isEmpty()) {
+            for (Map.Entry<String, String> property : previous.entrySet()) {
+                if (property.getValue() == null) {
+                    System.clearProperty(property.getKey());
+                } else {
+                    System.setProperty(property.getKey(), property.getValue());
+                }
+            }
+            previous.clear();
+            ConfigManager.reload();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.ziprecruiter.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram - Fixed-memory latency histogram with HDR-style log-linear buckets
+ *
+ * Values are microseconds. Values below 128 each have their own bucket;
+ * above that, every power of two is split into 64 linear sub-buckets, so any
+ * recorded value is reported within 1/64 (about 1.6%) of its true value, from
+ * one microsecond up to an hour (larger values land in the top bucket; the
+ * exact maximum is kept separately). That is 1728 counters, whatever the
+ * number of values recorded.
+ *
+ * A histogram has a single writer: Metrics gives each thread its own, so
+ * record() is a few plain array writes with no locks and no CAS. Other
+ * threads may read or merge it at any time and see a consistent-enough
+ * snapshot (each counter is read atomically).
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKETS = SUB_BUCKETS * 2;
+    private static final long HIGHEST_TRACKABLE = (1L << 32) - 1;
+    private static final int BUCKET_COUNT = indexOf(HIGHEST_TRACKABLE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    // Written by the owning thread only
+    private volatile long count;
+    private volatile long sum;
+    private volatile long max;
+
+    /**
+     * Record one value, in microseconds; negative values count as 0
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        int index = indexOf(Math.min(value, HIGHEST_TRACKABLE));
+        counts.lazySet(index, counts.get(index) + 1);
+        count = count + 1;
+        sum = sum + value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Add another histogram's values into this one (this histogram's writer only)
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long n = other.counts.get(i);
+            if (n > 0) {
+                counts.lazySet(i, counts.get(i) + n);
+            }
+        }
+        count = count + other.count;
+        sum = sum + other.sum;
+        if (other.max > max) {
+            max = other.max;
+        }
+    }
+
+    public long getCount() { return count; }
+
+    public long getMaxMicros() { return max; }
+
+    public double getMeanMicros() {
+        long n = count;
+        return n == 0 ? 0 : (double) sum / n;
+    }
+
+    /**
+     * Get the value at a percentile (0-100), in microseconds: the top of the
+     * bucket holding it, so the true value is at most that, and within 1/64 of it
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+    }
+
+    static long highestValueOf(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+                "count=" + count +
+                ", p50=" + getValueAtPercentile(50) +
+                ", p99=" + getValueAtPercentile(99) +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,93 @@
+package com.ziprecruiter.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * LatencyHistogramTest - Bucket layout and percentile math, no browser needed
+ */
+public class LatencyHistogramTest {
+
+    @Test(groups = {"unit"})
+    public void linearBucketsHoldOneValueEach() {
+        Assert.assertEquals(LatencyHistogram.indexOf(0), 0);
+        Assert.assertEquals(LatencyHistogram.indexOf(127), 127);
+        Assert.assertEquals(LatencyHistogram.highestValueOf(127), 127);
+    }
+
+    @Test(groups = {"unit"})
+    public void firstLogBucketsSplitEachPowerOfTwoInSixtyFour() {
+        // 128..255 in buckets two values wide, 256.. four values wide
+        Assert.assertEquals(LatencyHistogram.indexOf(128), 128);
+        Assert.assertEquals(LatencyHistogram.indexOf(129), 128);
+        Assert.assertEquals(LatencyHistogram.highestValueOf(128), 129);
+        Assert.assertEquals(LatencyHistogram.indexOf(255), 191);
+        Assert.assertEquals(LatencyHistogram.highestValueOf(191), 255);
+        Assert.assertEquals(LatencyHistogram.indexOf(256), 192);
+        Assert.assertEquals(LatencyHistogram.highestValueOf(192), 259);
+    }
+
+    @Test(groups = {"unit"})
+    public void bucketTopIsWithinOneSixtyFourthOfTheValue() {
+        for (long value = 1; value < (1L << 32); value = value * 3 / 2 + 1) {
+            long top = LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(value));
+            Assert.assertTrue(top >= value, "bucket top " + top + " below " + value);
+            Assert.assertTrue(top - value <= value / 64, "bucket top " + top + " too far above " + value);
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void percentilesOfUniformDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+
+        Assert.assertEquals(histogram.getCount(), 10_000);
+        Assert.assertEquals(histogram.getMeanMicros(), 5000.5, 0.001);
+        Assert.assertEquals(histogram.getMaxMicros(), 10_000);
+        assertWithinBucket(histogram.getValueAtPercentile(50), 5000);
+        assertWithinBucket(histogram.getValueAtPercentile(90), 9000);
+        assertWithinBucket(histogram.getValueAtPercentile(99), 9900);
+        Assert.assertEquals(histogram.getValueAtPercentile(100), 10_000);
+    }
+
+    @Test(groups = {"unit"})
+    public void mergedHistogramMatchesOneRecordingEverything() {
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram even = new LatencyHistogram();
+        LatencyHistogram odd = new LatencyHistogram();
+        for (long micros = 1; micros <= 5000; micros++) {
+            all.record(micros * 7);
+            (micros % 2 == 0 ? even : odd).record(micros * 7);
+        }
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.add(even);
+        merged.add(odd);
+
+        Assert.assertEquals(merged.getCount(), all.getCount());
+        Assert.assertEquals(merged.getMaxMicros(), all.getMaxMicros());
+        for (double percentile : new double[] {1, 50, 90, 99, 99.9}) {
+            Assert.assertEquals(merged.getValueAtPercentile(percentile), all.getValueAtPercentile(percentile));
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void emptyAndOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(histogram.getValueAtPercentile(50), 0);
+
+        histogram.record(-5);
+        histogram.record(1L << 40);
+        Assert.assertEquals(histogram.getValueAtPercentile(1), 0);
+        // Beyond the top bucket (about an hour) values share it, but the maximum stays exact
+        Assert.assertEquals(histogram.getMaxMicros(), 1L << 40);
+        long topBucket = LatencyHistogram.highestValueOf(LatencyHistogram.indexOf((1L << 32) - 1));
+        Assert.assertEquals(histogram.getValueAtPercentile(100), topBucket);
+    }
+
+    private static void assertWithinBucket(long reported, long expected) {
+        Assert.assertTrue(reported >= expected && reported - expected <= expected / 64,
+            "expected about " + expected + " but got " + reported);
+    }
+}
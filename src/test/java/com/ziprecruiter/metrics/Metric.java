@@ -0,0 +1,25 @@
+package com.ziprecruiter.metrics;
+
+/**
+ * Metric - The latencies Metrics keeps a histogram for
+ */
+public enum Metric {
+    TEST_DURATION("test.duration"),
+    DRIVER_STARTUP("driver.startup"),
+    NAVIGATION("navigation"),
+    WAIT("wait"),
+    SCREENSHOT("screenshot");
+
+    private final String key;
+
+    Metric(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Get the name used in reports, e.g. "test.duration"
+     */
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,132 @@
+package com.ziprecruiter.metrics;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Metrics - Per-thread latency histograms for the whole run, merged on demand
+ *
+ * Every thread records into its own LatencyHistograms, one per test group
+ * and Metric, so recording never contends: a map lookup and a few array
+ * writes. snapshot() merges all threads' histograms into a MetricsReport;
+ * MetricsListener does that at the end of the suite.
+ *
+ * BaseTest binds the current test's TestNG groups to its thread; each value
+ * is recorded for every bound group and for "all". Values recorded outside a
+ * test (e.g. drivers warmed up in the background) count towards "all" only.
+ *
+ * Recorded by: MetricsListener (test.duration), DriverFactory
+ * (driver.startup), BaseTest from PagePerformance (navigation: the browser's
+ * load event time), WaitUtils, MutationWaitUtils and Settle (wait), and
+ * ScreenshotUtils and ScreenshotTrail (screenshot).
+ */
+public final class Metrics {
+
+    public static final String ALL = "all";
+
+    private static final String[] NO_GROUPS = new String[0];
+    private static final Queue<Recorder> RECORDERS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Recorder> RECORDER = ThreadLocal.withInitial(() -> {
+        Recorder recorder = new Recorder();
+        RECORDERS.add(recorder);
+        return recorder;
+    });
+    private static final ThreadLocal<String[]> GROUPS = ThreadLocal.withInitial(() -> NO_GROUPS);
+
+    private Metrics() {
+    }
+
+    /**
+     * Attribute this thread's recordings to a test's groups, until unbindGroups()
+     */
+    public static void bindGroups(String... groups) {
+        GROUPS.set(groups == null ? NO_GROUPS : groups.clone());
+    }
+
+    public static void unbindGroups() {
+        GROUPS.remove();
+    }
+
+    /**
+     * Record a latency, in nanoseconds, for the current thread's groups
+     */
+    public static void record(Metric metric, long nanos) {
+        record(metric, GROUPS.get(), nanos);
+    }
+
+    /**
+     * Record a latency, in nanoseconds, for the given groups
+     */
+    public static void record(Metric metric, String[] groups, long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        Recorder recorder = RECORDER.get();
+        recorder.histogram(ALL, metric).record(micros);
+        for (String group : groups) {
+            recorder.histogram(group, metric).record(micros);
+        }
+    }
+
+    /**
+     * Record a latency measured in (fractional) milliseconds, for the current thread's groups
+     */
+    public static void recordMillis(Metric metric, double millis) {
+        record(metric, (long) (millis * 1_000_000));
+    }
+
+    /**
+     * Merge every thread's histograms so far
+     */
+    public static MetricsReport snapshot() {
+        Map<String, LatencyHistogram[]> merged = new TreeMap<>();
+        for (Recorder recorder : RECORDERS) {
+            for (Map.Entry<String, AtomicReferenceArray<LatencyHistogram>> group : recorder.byGroup.entrySet()) {
+                LatencyHistogram[] target = merged.computeIfAbsent(group.getKey(), g -> new LatencyHistogram[Metric.values().length]);
+                for (Metric metric : Metric.values()) {
+                    LatencyHistogram histogram = group.getValue().get(metric.ordinal());
+                    if (histogram != null) {
+                        if (target[metric.ordinal()] == null) {
+                            target[metric.ordinal()] = new LatencyHistogram();
+                        }
+                        target[metric.ordinal()].add(histogram);
+                    }
+                }
+            }
+        }
+        return new MetricsReport(merged);
+    }
+
+    /**
+     * Drop everything recorded so far; call between runs, while no test is recording
+     */
+    public static void reset() {
+        for (Recorder recorder : RECORDERS) {
+            recorder.byGroup.clear();
+        }
+    }
+
+    /**
+     * One thread's histograms, by group then metric. Only the owning thread adds to them.
+     */
+    private static final class Recorder {
+        private final Map<String, AtomicReferenceArray<LatencyHistogram>> byGroup = new ConcurrentHashMap<>();
+
+        LatencyHistogram histogram(String group, Metric metric) {
+            AtomicReferenceArray<LatencyHistogram> histograms = byGroup.get(group);
+            if (histograms == null) {
+                histograms = new AtomicReferenceArray<>(Metric.values().length);
+                byGroup.put(group, histograms);
+            }
+            LatencyHistogram histogram = histograms.get(metric.ordinal());
+            if (histogram == null) {
+                histogram = new LatencyHistogram();
+                histograms.set(metric.ordinal(), histogram);
+            }
+            return histogram;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ziprecruiter.metrics;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MetricsListener - Records test durations and reports latency percentiles per suite
+ *
+ * Resets Metrics when the suite starts and records the duration of each
+ * test that ran (passed or failed; skips are left out) for its groups. At the end it prints p50/p90/p99/max per test
+ * group and metric, and writes them as JSON to latency-metrics.json in the
+ * Allure results directory (allure.results.directory, default
+ * allure-results); the report is also stored as the suite attribute
+ * "metrics.report".
+ *
+ * Register it before DriverPoolWarmupListener: the reset must happen before
+ * the warm-up threads start recording driver.startup.
+ */
+public class MetricsListener implements ISuiteListener, ITestListener {
+
+    public static final String REPORT_ATTRIBUTE = "metrics.report";
+
+    private static final Path REPORT_FILE = Paths.get(
+        System.getProperty("allure.results.directory", "allure-results"), "latency-metrics.json");
+
+    @Override
+    public void onStart(ISuite suite) {
+        Metrics.reset();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        MetricsReport report = Metrics.snapshot();
+        suite.setAttribute(REPORT_ATTRIBUTE, report);
+        System.out.println(report.format());
+        try {
+            report.write(REPORT_FILE, suite.getName());
+            System.out.println("Latency metrics written to " + REPORT_FILE);
+        } catch (IOException e) {
+            System.out.println("Could not write latency metrics to " + REPORT_FILE + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        recordDuration(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        recordDuration(result);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        recordDuration(result);
+    }
+
+    private static void recordDuration(ITestResult result) {
+        if (result.getEndMillis() >= result.getStartMillis()) {
+            Metrics.record(Metric.TEST_DURATION, result.getMethod().getGroups(),
+                TimeUnit.MILLISECONDS.toNanos(result.getEndMillis() - result.getStartMillis()));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.ziprecruiter.metrics;
+
+import org.openqa.selenium.json.Json;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MetricsReport - Merged latency histograms per test group, with percentiles
+ *
+ * Reports p50, p90, p99 and max (plus count and mean) per group and metric,
+ * in milliseconds, as a printable table or as JSON:
+ * {"suite": ..., "generatedAt": ..., "unit": "ms",
+ *  "groups": {"all": {"test.duration": {"count": 42, "p50": 812.0, ...}, ...}, ...}}
+ */
+public final class MetricsReport {
+
+    private static final LatencyHistogram EMPTY = new LatencyHistogram();
+
+    private final Map<String, LatencyHistogram[]> groups;
+
+    MetricsReport(Map<String, LatencyHistogram[]> groups) {
+        this.groups = Collections.unmodifiableMap(groups);
+    }
+
+    /**
+     * Get the groups with any recordings, "all" included
+     */
+    public Set<String> getGroups() {
+        return groups.keySet();
+    }
+
+    /**
+     * Get the merged histogram of a group and metric, empty if nothing was recorded
+     */
+    public LatencyHistogram get(String group, Metric metric) {
+        LatencyHistogram[] histograms = groups.get(group);
+        LatencyHistogram histogram = histograms == null ? null : histograms[metric.ordinal()];
+        return histogram == null ? EMPTY : histogram;
+    }
+
+    /**
+     * Get count, mean, p50, p90, p99 and max of one histogram, in milliseconds
+     */
+    public static Map<String, Object> statistics(LatencyHistogram histogram) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", histogram.getCount());
+        stats.put("mean", millis(Math.round(histogram.getMeanMicros())));
+        stats.put("p50", millis(histogram.getValueAtPercentile(50)));
+        stats.put("p90", millis(histogram.getValueAtPercentile(90)));
+        stats.put("p99", millis(histogram.getValueAtPercentile(99)));
+        stats.put("max", millis(histogram.getMaxMicros()));
+        return stats;
+    }
+
+    public Map<String, Object> toMap(String suite) {
+        Map<String, Object> byGroup = new LinkedHashMap<>();
+        for (String group : groupsAllFirst()) {
+            Map<String, Object> byMetric = new LinkedHashMap<>();
+            for (Metric metric : Metric.values()) {
+                LatencyHistogram histogram = get(group, metric);
+                if (histogram.getCount() > 0) {
+                    byMetric.put(metric.getKey(), statistics(histogram));
+                }
+            }
+            byGroup.put(group, byMetric);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("suite", suite);
+        report.put("generatedAt", Instant.now().toString());
+        report.put("unit", "ms");
+        report.put("groups", byGroup);
+        return report;
+    }
+
+    /**
+     * Write the report as JSON, replacing the file
+     */
+    public void write(Path file, String suite) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            new Json().newOutput(writer).write(toMap(suite));
+        }
+    }
+
+    /**
+     * Get a printable table, one line per group and metric
+     */
+    public String format() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(Locale.ROOT, "%-40s %8s %10s %10s %10s %10s",
+            "Latency (ms)", "count", "p50", "p90", "p99", "max"));
+        for (String group : groupsAllFirst()) {
+            for (Metric metric : Metric.values()) {
+                LatencyHistogram histogram = get(group, metric);
+                if (histogram.getCount() > 0) {
+                    table.append(System.lineSeparator()).append(String.format(Locale.ROOT,
+                        "%-40s %8d %10.1f %10.1f %10.1f %10.1f", group + " / " + metric.getKey(),
+                        histogram.getCount(), millis(histogram.getValueAtPercentile(50)),
+                        millis(histogram.getValueAtPercentile(90)), millis(histogram.getValueAtPercentile(99)),
+                        millis(histogram.getMaxMicros())));
+                }
+            }
+        }
+        return table.toString();
+    }
+
+    private Iterable<String> groupsAllFirst() {
+        Map<String, Boolean> ordered = new LinkedHashMap<>();
+        if (groups.containsKey(Metrics.ALL)) {
+            ordered.put(Metrics.ALL, true);
+        }
+        for (String group : groups.keySet()) {
+            ordered.put(group, true);
+        }
+        return ordered.keySet();
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 100.0) / 10.0;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsReport{" +
+                "groups=" + groups.keySet() +
+                '}';
+    }
+}
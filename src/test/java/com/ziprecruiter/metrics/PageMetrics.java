@@ -0,0 +1,168 @@
+package com.ziprecruiter.metrics;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * PageMetrics - What one document did while it was loaded, as the browser measured it
+ *
+ * Times are milliseconds from the start of the navigation (the document's
+ * time origin), so they exclude WebDriver round trips:
+ * - navigation: time to first byte, DOMContentLoaded end and load event end
+ * - paint: first paint and first contentful paint
+ * - resources: count, transfer size and the slowest resource
+ * - Web Vitals: largest contentful paint, cumulative layout shift (largest
+ *   session window, unitless) and interaction to next paint
+ *
+ * A value the browser did not report (e.g. load on a page left before it
+ * finished, or LCP in a browser without it) is 0.
+ */
+public final class PageMetrics {
+
+    private final String pageId;
+    private final String url;
+    private final long startedAt;
+    private final String navigationType;
+    private final double timeToFirstByte;
+    private final double domContentLoaded;
+    private final double load;
+    private final long transferBytes;
+    private final double firstPaint;
+    private final double firstContentfulPaint;
+    private final int resourceCount;
+    private final long resourceBytes;
+    private final double slowestResourceMillis;
+    private final String slowestResourceUrl;
+    private final double largestContentfulPaint;
+    private final double cumulativeLayoutShift;
+    private final double interactionToNextPaint;
+    private final int interactions;
+
+    private PageMetrics(Map<String, Object> values) {
+        this.pageId = string(values.get("page"));
+        this.url = string(values.get("url"));
+        this.startedAt = (long) number(values.get("startedAt"));
+        this.navigationType = string(values.get("navigationType"));
+        this.timeToFirstByte = number(values.get("timeToFirstByte"));
+        this.domContentLoaded = number(values.get("domContentLoaded"));
+        this.load = number(values.get("load"));
+        this.transferBytes = (long) number(values.get("transferBytes"));
+        this.firstPaint = number(values.get("firstPaint"));
+        this.firstContentfulPaint = number(values.get("firstContentfulPaint"));
+        this.resourceCount = (int) number(values.get("resourceCount"));
+        this.resourceBytes = (long) number(values.get("resourceBytes"));
+        this.slowestResourceMillis = number(values.get("slowestResourceMillis"));
+        this.slowestResourceUrl = string(values.get("slowestResourceUrl"));
+        this.largestContentfulPaint = number(values.get("largestContentfulPaint"));
+        this.cumulativeLayoutShift = number(values.get("cumulativeLayoutShift"));
+        this.interactionToNextPaint = number(values.get("interactionToNextPaint"));
+        this.interactions = (int) number(values.get("interactions"));
+    }
+
+    /**
+     * Read the map returned by the page's collector script
+     */
+    public static PageMetrics fromMap(Map<String, Object> values) {
+        return new PageMetrics(values);
+    }
+
+    /**
+     * Identifies the document (its time origin), so repeated readings of one page replace each other
+     */
+    public String getPageId() { return pageId; }
+
+    public String getUrl() { return url; }
+
+    /**
+     * Get the epoch milliseconds at which the navigation started
+     */
+    public long getStartedAt() { return startedAt; }
+
+    public String getNavigationType() { return navigationType; }
+
+    public double getTimeToFirstByte() { return timeToFirstByte; }
+
+    public double getDomContentLoaded() { return domContentLoaded; }
+
+    public double getLoad() { return load; }
+
+    public long getTransferBytes() { return transferBytes; }
+
+    public double getFirstPaint() { return firstPaint; }
+
+    public double getFirstContentfulPaint() { return firstContentfulPaint; }
+
+    public int getResourceCount() { return resourceCount; }
+
+    public long getResourceBytes() { return resourceBytes; }
+
+    public double getSlowestResourceMillis() { return slowestResourceMillis; }
+
+    public String getSlowestResourceUrl() { return slowestResourceUrl; }
+
+    public double getLargestContentfulPaint() { return largestContentfulPaint; }
+
+    public double getCumulativeLayoutShift() { return cumulativeLayoutShift; }
+
+    public double getInteractionToNextPaint() { return interactionToNextPaint; }
+
+    public int getInteractions() { return interactions; }
+
+    /**
+     * Get the metrics as an ordered map, for JSON export
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("page", pageId);
+        map.put("url", url);
+        map.put("startedAt", Instant.ofEpochMilli(startedAt).toString());
+        map.put("navigationType", navigationType);
+        map.put("timeToFirstByte", timeToFirstByte);
+        map.put("domContentLoaded", domContentLoaded);
+        map.put("load", load);
+        map.put("transferBytes", transferBytes);
+        map.put("firstPaint", firstPaint);
+        map.put("firstContentfulPaint", firstContentfulPaint);
+        map.put("resourceCount", resourceCount);
+        map.put("resourceBytes", resourceBytes);
+        map.put("slowestResourceMillis", slowestResourceMillis);
+        map.put("slowestResourceUrl", slowestResourceUrl);
+        map.put("largestContentfulPaint", largestContentfulPaint);
+        map.put("cumulativeLayoutShift", cumulativeLayoutShift);
+        map.put("interactionToNextPaint", interactionToNextPaint);
+        map.put("interactions", interactions);
+        return map;
+    }
+
+    /**
+     * Get a one-line summary, e.g. "https://... ttfb=84ms fcp=312ms load=905ms lcp=640ms cls=0.020 inp=0ms"
+     */
+    public String summary() {
+        return String.format(Locale.ROOT, "%s ttfb=%.0fms fcp=%.0fms load=%.0fms lcp=%.0fms cls=%.3f inp=%.0fms",
+            url, timeToFirstByte, firstContentfulPaint, load, largestContentfulPaint,
+            cumulativeLayoutShift, interactionToNextPaint);
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static String string(Object value) {
+        return value == null ? "" : String.valueOf(value);
+    }
+
+    @Override
+    public String toString() {
+        return "PageMetrics{" +
+                "url='" + url + '\'' +
+                ", load=" + load +
+                ", firstContentfulPaint=" + firstContentfulPaint +
+                ", largestContentfulPaint=" + largestContentfulPaint +
+                ", cumulativeLayoutShift=" + cumulativeLayoutShift +
+                ", interactionToNextPaint=" + interactionToNextPaint +
+                ", resourceCount=" + resourceCount +
+                '}';
+    }
+}
@@ -0,0 +1,310 @@
+package com.ziprecruiter.metrics;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PagePerformance - Collects Navigation Timing, paint, resource and Web Vitals metrics per page
+ *
+ * A collector script is registered for every new document (Chrome and Edge,
+ * at driver launch). It starts PerformanceObservers before the page's own
+ * scripts run, for largest-contentful-paint, layout-shift (CLS as the largest
+ * session window) and event timing (INP as the 98th percentile interaction),
+ * and when the document is left (pagehide) it reports the page's final
+ * metrics to the test through a DevTools binding. Every navigation - driver.get,
+ * a link click, a form post - is therefore measured by the browser itself,
+ * without WebDriver round trips and without a call at each navigation site.
+ *
+ * The page still open at the end of a test is read with one script call by
+ * finishTest(). Other browsers get the collector on first read, with
+ * buffered observers, so they report the pages read through current() and
+ * the last page of each test.
+ *
+ * BaseTest attaches each test's pages to its result ("page.metrics") and to
+ * the Allure report, and appends them to a time series (one JSON line per
+ * page) in the Allure results directory, page-metrics.jsonl.
+ * Disable with -Dpage.metrics=false.
+ */
+public final class PagePerformance {
+
+    public static final String RESULT_ATTRIBUTE = "page.metrics";
+
+    static final String BINDING = "__pagePerfReport";
+
+    // Observes the page from its first script on; read() returns the metrics so far
+    static final String HOOK_SCRIPT =
+        "(function () {" +
+        "  if (window.__pagePerf) { return; }" +
+        "  var p = window.__pagePerf = { lcp: 0, cls: 0, durations: {}, observers: [] };" +
+        "  var supported = (window.PerformanceObserver && PerformanceObserver.supportedEntryTypes) || [];" +
+        "  function observe(type, options, callback) {" +
+        "    if (supported.indexOf(type) < 0) { return; }" +
+        "    try {" +
+        "      var observer = new PerformanceObserver(function (list) { list.getEntries().forEach(callback); });" +
+        "      options.type = type;" +
+        "      options.buffered = true;" +
+        "      observer.observe(options);" +
+        "      p.observers.push({ observer: observer, callback: callback });" +
+        "    } catch (e) { }" +
+        "  }" +
+        "  observe('largest-contentful-paint', {}, function (e) { p.lcp = e.startTime; });" +
+        "  var sessionValue = 0, sessionStart = 0, sessionEnd = 0;" +
+        "  observe('layout-shift', {}, function (e) {" +
+        "    if (e.hadRecentInput) { return; }" +
+        "    if (sessionValue && e.startTime - sessionEnd < 1000 && e.startTime - sessionStart < 5000) {" +
+        "      sessionValue += e.value;" +
+        "    } else {" +
+        "      sessionValue = e.value;" +
+        "      sessionStart = e.startTime;" +
+        "    }" +
+        "    sessionEnd = e.startTime;" +
+        "    p.cls = Math.max(p.cls, sessionValue);" +
+        "  });" +
+        "  observe('event', { durationThreshold: 16 }, function (e) {" +
+        "    if (e.interactionId) {" +
+        "      p.durations[e.interactionId] = Math.max(p.durations[e.interactionId] || 0, e.duration);" +
+        "    }" +
+        "  });" +
+        "  function round(value) { return Math.round((value || 0) * 10) / 10; }" +
+        "  p.read = function () {" +
+        "    p.observers.forEach(function (o) { o.observer.takeRecords().forEach(o.callback); });" +
+        "    var nav = performance.getEntriesByType('navigation')[0] || {};" +
+        "    var paints = {};" +
+        "    performance.getEntriesByType('paint').forEach(function (e) { paints[e.name] = e.startTime; });" +
+        "    var resources = performance.getEntriesByType('resource'), bytes = 0, slowest = null;" +
+        "    resources.forEach(function (e) {" +
+        "      bytes += e.transferSize || 0;" +
+        "      if (!slowest || e.duration > slowest.duration) { slowest = e; }" +
+        "    });" +
+        "    var durations = Object.keys(p.durations).map(function (id) { return p.durations[id]; })" +
+        "      .sort(function (a, b) { return b - a; });" +
+        "    var origin = performance.timeOrigin || performance.timing.navigationStart;" +
+        "    return {" +
+        "      page: String(origin), url: location.href, startedAt: Math.round(origin)," +
+        "      navigationType: nav.type || ''," +
+        "      timeToFirstByte: round(nav.responseStart), domContentLoaded: round(nav.domContentLoadedEventEnd)," +
+        "      load: round(nav.loadEventEnd), transferBytes: nav.transferSize || 0," +
+        "      firstPaint: round(paints['first-paint']), firstContentfulPaint: round(paints['first-contentful-paint'])," +
+        "      resourceCount: resources.length, resourceBytes: bytes," +
+        "      slowestResourceMillis: round(slowest && slowest.duration), slowestResourceUrl: slowest ? slowest.name : ''," +
+        "      largestContentfulPaint: round(p.lcp), cumulativeLayoutShift: Math.round(p.cls * 10000) / 10000," +
+        "      interactionToNextPaint: round(durations[Math.min(durations.length - 1, Math.floor(durations.length / 50))])," +
+        "      interactions: durations.length" +
+        "    };" +
+        "  };" +
+        "  addEventListener('pagehide', function () {" +
+        "    if (typeof window." + BINDING + " === 'function') {" +
+        "      try { window." + BINDING + "(JSON.stringify(p.read())); } catch (e) { }" +
+        "    }" +
+        "  });" +
+        "})();";
+
+    private static final String READ_SCRIPT = HOOK_SCRIPT + "return window.__pagePerf.read();";
+
+    // readyState is "complete" before the load event runs; loadEventEnd is set once its handlers finish
+    private static final String LOAD_END_SCRIPT =
+        "var done = arguments[arguments.length - 1], deadline = Date.now() + arguments[0];" +
+        "(function check() {" +
+        "  var nav = performance.getEntriesByType('navigation')[0];" +
+        "  var loadEnd = nav ? nav.loadEventEnd : performance.timing.loadEventEnd;" +
+        "  if (loadEnd > 0 || Date.now() >= deadline) { done(loadEnd > 0); return; }" +
+        "  setTimeout(check, 20);" +
+        "})();";
+
+    // Stay below the W3C default 30 s script timeout
+    private static final long MAX_LOAD_WAIT_MILLIS = 25000;
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("page.metrics", "true"));
+    private static final Path TIME_SERIES = Paths.get(
+        System.getProperty("allure.results.directory", "allure-results"), "page-metrics.jsonl");
+
+    private static final Json JSON = new Json();
+    private static final Map<WebDriver, Pages> PAGES = new ConcurrentHashMap<>();
+    private static final AtomicLong EXPORTED = new AtomicLong();
+
+    private PagePerformance() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static Path getTimeSeriesFile() {
+        return TIME_SERIES;
+    }
+
+    /**
+     * Register the collector for every new document and listen for its reports (Chrome and Edge only)
+     */
+    public static void install(WebDriver driver) {
+        if (!ENABLED || !(driver instanceof HasCdp) || !(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            Pages pages = pages(driver);
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.addListener(new Event<>("Runtime.bindingCalled", PagePerformance::readMap), event -> {
+                if (BINDING.equals(event.get("name"))) {
+                    pages.put(PageMetrics.fromMap(JSON.toType(String.valueOf(event.get("payload")), Json.MAP_TYPE)));
+                }
+            });
+            devTools.send(new Command<Void>("Runtime.enable", Collections.emptyMap()));
+            devTools.send(new Command<Void>("Runtime.addBinding", Map.of("name", BINDING)));
+            ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", HOOK_SCRIPT));
+        } catch (RuntimeException e) {
+            System.out.println("Could not register page performance collector: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Forget pages reported before the test began (e.g. the previous lease's last page)
+     */
+    public static void startTest(WebDriver driver) {
+        if (ENABLED) {
+            pages(driver).drain();
+        }
+    }
+
+    /**
+     * Read the current page's metrics so far; the reading is kept for the test
+     */
+    @SuppressWarnings("unchecked")
+    public static PageMetrics current(WebDriver driver) {
+        PageMetrics metrics = PageMetrics.fromMap(
+            (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_SCRIPT));
+        pages(driver).put(metrics);
+        return metrics;
+    }
+
+    /**
+     * Wait until the current page's load event has finished, then read its
+     * metrics as current() does. If it does not finish in time, the reading
+     * has a load time of 0.
+     */
+    public static PageMetrics currentAfterLoad(WebDriver driver, int timeoutSeconds) {
+        ((JavascriptExecutor) driver).executeAsyncScript(LOAD_END_SCRIPT,
+            Math.min(timeoutSeconds * 1000L, MAX_LOAD_WAIT_MILLIS));
+        return current(driver);
+    }
+
+    /**
+     * Get every page the test visited, in order, the current one read last
+     */
+    public static List<PageMetrics> finishTest(WebDriver driver) {
+        if (!ENABLED) {
+            return Collections.emptyList();
+        }
+        try {
+            current(driver);
+        } catch (RuntimeException e) {
+            System.out.println("Could not read page metrics: " + e.getMessage());
+        }
+        return pages(driver).drain();
+    }
+
+    /**
+     * Attach a test's pages to the Allure report and append them to the time series
+     */
+    public static void export(String testName, List<PageMetrics> pages) {
+        List<Object> report = new ArrayList<>();
+        StringBuilder lines = new StringBuilder();
+        for (PageMetrics page : pages) {
+            report.add(page.toMap());
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("test", testName);
+            line.putAll(page.toMap());
+            JSON.newOutput(lines).setPrettyPrint(false).write(line);
+            lines.append('\n');
+        }
+        Allure.addAttachment("Page performance", "application/json", JSON.toJson(report), ".json");
+        append(lines.toString());
+        EXPORTED.addAndGet(pages.size());
+    }
+
+    /**
+     * Start a new time series file for this run
+     */
+    public static synchronized void resetTimeSeries() {
+        try {
+            Files.deleteIfExists(TIME_SERIES);
+        } catch (IOException e) {
+            System.out.println("Could not reset " + TIME_SERIES + ": " + e.getMessage());
+        }
+        EXPORTED.set(0);
+    }
+
+    /**
+     * Get number of pages exported to the time series in this run
+     */
+    public static long getExportedCount() {
+        return EXPORTED.get();
+    }
+
+    /**
+     * Forget a driver, before it quits
+     */
+    public static void detach(WebDriver driver) {
+        PAGES.remove(driver);
+    }
+
+    private static synchronized void append(String lines) {
+        try {
+            Files.createDirectories(TIME_SERIES.toAbsolutePath().getParent());
+            Files.write(TIME_SERIES, lines.getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.out.println("Could not write page metrics to " + TIME_SERIES + ": " + e.getMessage());
+        }
+    }
+
+    private static Pages pages(WebDriver driver) {
+        return PAGES.computeIfAbsent(driver, d -> new Pages());
+    }
+
+    private static Map<String, Object> readMap(JsonInput input) {
+        return input.read(Json.MAP_TYPE);
+    }
+
+    /**
+     * Pages of one driver since the test began, by document; a later reading replaces an earlier one
+     */
+    private static final class Pages {
+        private final Map<String, PageMetrics> byPage = new LinkedHashMap<>();
+
+        synchronized void put(PageMetrics metrics) {
+            String url = metrics.getUrl();
+            if (url.isEmpty() || url.startsWith("about:") || url.startsWith("data:") || url.startsWith("chrome")) {
+                return;
+            }
+            byPage.put(metrics.getPageId(), metrics);
+        }
+
+        synchronized List<PageMetrics> drain() {
+            List<PageMetrics> pages = new ArrayList<>(byPage.values());
+            byPage.clear();
+            return pages;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ziprecruiter.metrics;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * PagePerformanceListener - Starts a fresh page metrics time series per suite run
+ *
+ * Per-test pages are attached by BaseTest; at the end this prints how many
+ * pages were measured and where the time series was written.
+ */
+public class PagePerformanceListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (PagePerformance.isEnabled()) {
+            PagePerformance.resetTimeSeries();
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (PagePerformance.getExportedCount() > 0) {
+            System.out.println("Page performance: " + PagePerformance.getExportedCount() + " pages measured, time series in "
+                + PagePerformance.getTimeSeriesFile());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ziprecruiter.network;
+
+/**
+ * BlockedTraffic - Requests a NetworkPolicy blocked, and what they would have cost
+ *
+ * Blocked requests are counted exactly. Their bytes are estimated, since a
+ * blocked response is never downloaded: each blocked request counts as the
+ * mean transfer size of loaded resources of the same type in this run, or a
+ * typical size for the type before any has loaded.
+ */
+public final class BlockedTraffic {
+
+    public static final BlockedTraffic NONE = new BlockedTraffic(0, 0, 0, 0);
+
+    private final long blockedRequests;
+    private final long estimatedBytesSaved;
+    private final long loadedRequests;
+    private final long loadedBytes;
+
+    public BlockedTraffic(long blockedRequests, long estimatedBytesSaved, long loadedRequests, long loadedBytes) {
+        this.blockedRequests = blockedRequests;
+        this.estimatedBytesSaved = estimatedBytesSaved;
+        this.loadedRequests = loadedRequests;
+        this.loadedBytes = loadedBytes;
+    }
+
+    public long getBlockedRequests() { return blockedRequests; }
+
+    public long getEstimatedBytesSaved() { return estimatedBytesSaved; }
+
+    public long getLoadedRequests() { return loadedRequests; }
+
+    public long getLoadedBytes() { return loadedBytes; }
+
+    /**
+     * Get the traffic since an earlier reading of the same counters
+     */
+    public BlockedTraffic since(BlockedTraffic earlier) {
+        return new BlockedTraffic(blockedRequests - earlier.blockedRequests,
+            estimatedBytesSaved - earlier.estimatedBytesSaved,
+            loadedRequests - earlier.loadedRequests,
+            loadedBytes - earlier.loadedBytes);
+    }
+
+    public BlockedTraffic plus(BlockedTraffic other) {
+        return new BlockedTraffic(blockedRequests + other.blockedRequests,
+            estimatedBytesSaved + other.estimatedBytesSaved,
+            loadedRequests + other.loadedRequests,
+            loadedBytes + other.loadedBytes);
+    }
+
+    /**
+     * Get a one-line summary, e.g. "blocked 14 of 62 requests, saved ~412 KB of ~1630 KB"
+     */
+    public String summary() {
+        return "blocked " + blockedRequests + " of " + (blockedRequests + loadedRequests) + " requests, saved ~"
+            + estimatedBytesSaved / 1024 + " KB of ~" + (estimatedBytesSaved + loadedBytes) / 1024 + " KB";
+    }
+
+    @Override
+    public String toString() {
+        return "BlockedTraffic{" +
+                "blockedRequests=" + blockedRequests +
+                ", estimatedBytesSaved=" + estimatedBytesSaved +
+                ", loadedRequests=" + loadedRequests +
+                ", loadedBytes=" + loadedBytes +
+                '}';
+    }
+}
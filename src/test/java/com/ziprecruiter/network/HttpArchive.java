@@ -0,0 +1,344 @@
+package com.ziprecruiter.network;
+
+import org.openqa.selenium.json.Json;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * HttpArchive - Recorded HTTP responses, memory-mapped and indexed for replay
+ *
+ * An archive is a directory with two files written by HttpArchiveWriter:
+ * data.bin holds the entries back to back (normalized request key, method,
+ * URL, status, headers, body), and index.bin is an open-addressing hash
+ * table of (key hash, entry offset) slots, at most half full. Looking up a
+ * request hashes its RequestKey, probes a slot or two and compares the stored
+ * key: O(1) per request, with nothing loaded up front but two mmap calls.
+ * Readers use duplicate buffers and are thread-safe.
+ *
+ * Archives convert to and from HAR 1.2, so a recording can be inspected in
+ * any HAR viewer, and a HAR saved from browser DevTools can be replayed:
+ * HttpArchive import <file.har> <dir> | export <dir> <file.har> | stats <dir>
+ */
+public final class HttpArchive {
+
+    static final String DATA_FILE = "data.bin";
+    static final String INDEX_FILE = "index.bin";
+    static final int DATA_MAGIC = 0x5A524844; // "ZRHD"
+    static final int INDEX_MAGIC = 0x5A524849; // "ZRHI"
+    static final int VERSION = 1;
+    static final int DATA_HEADER = 8;
+    static final int INDEX_HEADER = 16;
+    static final int SLOT_SIZE = 16;
+
+    private final Path directory;
+    private final ByteBuffer index;
+    private final int slotCount;
+    private final int entryCount;
+    private final ByteBuffer data;
+
+    private HttpArchive(Path directory, ByteBuffer index, int slotCount, int entryCount, ByteBuffer data) {
+        this.directory = directory;
+        this.index = index;
+        this.slotCount = slotCount;
+        this.entryCount = entryCount;
+        this.data = data;
+    }
+
+    /**
+     * Check whether a directory holds a complete archive (the index is written last)
+     */
+    public static boolean exists(Path directory) {
+        return Files.isRegularFile(directory.resolve(INDEX_FILE)) && Files.isRegularFile(directory.resolve(DATA_FILE));
+    }
+
+    /**
+     * Map an archive read-only
+     */
+    public static HttpArchive open(Path directory) throws IOException {
+        Path indexFile = directory.resolve(INDEX_FILE);
+        Path dataFile = directory.resolve(DATA_FILE);
+        ByteBuffer index = map(indexFile);
+        ByteBuffer data = map(dataFile);
+        if (index.getInt(0) != INDEX_MAGIC || data.getInt(0) != DATA_MAGIC) {
+            throw new IOException("Not an HTTP archive: " + directory);
+        }
+        if (index.getInt(4) != VERSION || data.getInt(4) != VERSION) {
+            throw new IOException("Unsupported HTTP archive version: " + directory);
+        }
+        return new HttpArchive(directory, index, index.getInt(8), index.getInt(12), data);
+    }
+
+    public Path getDirectory() { return directory; }
+
+    /**
+     * Get number of recorded entries
+     */
+    public int size() { return entryCount; }
+
+    /**
+     * Find the entry recorded for a request key, or null
+     */
+    public Entry find(String key) {
+        long hash = RequestKey.hash(key);
+        int mask = slotCount - 1;
+        for (int slot = (int) (hash & mask), probes = 0; probes < slotCount; slot = (slot + 1) & mask, probes++) {
+            int position = INDEX_HEADER + slot * SLOT_SIZE;
+            long slotHash = index.getLong(position);
+            if (slotHash == 0) {
+                return null;
+            }
+            if (slotHash == hash) {
+                Entry entry = read(index.getLong(position + 8), key);
+                if (entry != null) {
+                    return entry;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Iterate over all entries in recording order
+     */
+    public Iterator<Entry> entries() {
+        return new Iterator<Entry>() {
+            private long offset = DATA_HEADER;
+
+            @Override
+            public boolean hasNext() {
+                return offset < data.limit();
+            }
+
+            @Override
+            public Entry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more entries in " + directory);
+                }
+                Entry entry = read(offset, null);
+                offset = entry.end;
+                return entry;
+            }
+        };
+    }
+
+    /**
+     * Write the archive as a HAR 1.2 file, bodies base64-encoded
+     */
+    public void exportHar(Path harFile) throws IOException {
+        String started = Instant.now().toString();
+        List<Object> entries = new ArrayList<>();
+        for (Iterator<Entry> it = entries(); it.hasNext(); ) {
+            Entry entry = it.next();
+            List<Object> headers = new ArrayList<>();
+            for (Map.Entry<String, String> header : entry.getHeaders()) {
+                headers.add(harPair(header.getKey(), header.getValue()));
+            }
+            Map<String, Object> content = new LinkedHashMap<>();
+            content.put("size", entry.getBodyLength());
+            content.put("mimeType", entry.getContentType());
+            content.put("text", Base64.getEncoder().encodeToString(entry.getBody()));
+            content.put("encoding", "base64");
+
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("method", entry.getMethod());
+            request.put("url", entry.getUrl());
+            request.put("httpVersion", "HTTP/1.1");
+            request.put("headers", Collections.emptyList());
+            request.put("queryString", Collections.emptyList());
+            request.put("cookies", Collections.emptyList());
+            request.put("headersSize", -1);
+            request.put("bodySize", -1);
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", entry.getStatus());
+            response.put("statusText", "");
+            response.put("httpVersion", "HTTP/1.1");
+            response.put("headers", headers);
+            response.put("cookies", Collections.emptyList());
+            response.put("content", content);
+            response.put("redirectURL", entry.getHeader("location") == null ? "" : entry.getHeader("location"));
+            response.put("headersSize", -1);
+            response.put("bodySize", entry.getBodyLength());
+
+            Map<String, Object> harEntry = new LinkedHashMap<>();
+            harEntry.put("startedDateTime", started);
+            harEntry.put("time", 0);
+            harEntry.put("request", request);
+            harEntry.put("response", response);
+            harEntry.put("cache", Collections.emptyMap());
+            harEntry.put("timings", Map.of("send", 0, "wait", 0, "receive", 0));
+            harEntry.put("_key", entry.getKey());
+            entries.add(harEntry);
+        }
+        Map<String, Object> log = new LinkedHashMap<>();
+        log.put("version", "1.2");
+        log.put("creator", Map.of("name", HttpArchive.class.getName(), "version", String.valueOf(VERSION)));
+        log.put("entries", entries);
+        try (Writer writer = Files.newBufferedWriter(harFile, StandardCharsets.UTF_8)) {
+            new Json().newOutput(writer).write(Map.of("log", log));
+        }
+    }
+
+    private static Map<String, Object> harPair(String name, String value) {
+        Map<String, Object> pair = new LinkedHashMap<>();
+        pair.put("name", name);
+        pair.put("value", value);
+        return pair;
+    }
+
+    /**
+     * Read the entry at an offset; with an expected key, null if the stored key differs
+     */
+    private Entry read(long offset, String expectedKey) {
+        ByteBuffer in = data.duplicate();
+        in.position((int) offset);
+        String key = readString(in);
+        if (expectedKey != null && !expectedKey.equals(key)) {
+            return null;
+        }
+        String method = readString(in);
+        String url = readString(in);
+        int status = in.getInt();
+        int headerCount = in.getInt();
+        List<Map.Entry<String, String>> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(new AbstractMap.SimpleImmutableEntry<>(readString(in), readString(in)));
+        }
+        int bodyLength = in.getInt();
+        ByteBuffer body = in.slice();
+        body.limit(bodyLength);
+        return new Entry(key, method, url, status, Collections.unmodifiableList(headers), body,
+            in.position() + (long) bodyLength);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("HTTP archive file exceeds 2 GB: " + file);
+            }
+            // Mappings stay valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "HttpArchive{" +
+                "directory=" + directory +
+                ", entries=" + entryCount +
+                ", bytes=" + data.limit() +
+                '}';
+    }
+
+    /**
+     * One recorded response; the body is a read-only view of the mapped archive
+     */
+    public static final class Entry {
+        private final String key;
+        private final String method;
+        private final String url;
+        private final int status;
+        private final List<Map.Entry<String, String>> headers;
+        private final ByteBuffer body;
+        private final long end;
+
+        Entry(String key, String method, String url, int status,
+              List<Map.Entry<String, String>> headers, ByteBuffer body, long end) {
+            this.key = key;
+            this.method = method;
+            this.url = url;
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.end = end;
+        }
+
+        public String getKey() { return key; }
+
+        public String getMethod() { return method; }
+
+        public String getUrl() { return url; }
+
+        public int getStatus() { return status; }
+
+        public List<Map.Entry<String, String>> getHeaders() { return headers; }
+
+        public int getBodyLength() { return body.limit(); }
+
+        /**
+         * Get the first value of a header, ignoring case, or null
+         */
+        public String getHeader(String name) {
+            for (Map.Entry<String, String> header : headers) {
+                if (header.getKey().equalsIgnoreCase(name)) {
+                    return header.getValue();
+                }
+            }
+            return null;
+        }
+
+        public String getContentType() {
+            String contentType = getHeader("content-type");
+            return contentType == null ? "application/octet-stream" : contentType;
+        }
+
+        /**
+         * Copy the body out of the archive
+         */
+        public byte[] getBody() {
+            byte[] bytes = new byte[body.limit()];
+            body.duplicate().get(bytes);
+            return bytes;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "key='" + key + '\'' +
+                    ", status=" + status +
+                    ", bodyLength=" + body.limit() +
+                    '}';
+        }
+    }
+
+    /**
+     * HttpArchive import <file.har> <dir> | export <dir> <file.har> | stats <dir>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && "import".equals(args[0])) {
+            int imported = HttpArchiveWriter.importHar(Paths.get(args[1]), Paths.get(args[2]));
+            System.out.println("Imported " + imported + " entries from " + args[1] + " to " + args[2]);
+        } else if (args.length == 3 && "export".equals(args[0])) {
+            open(Paths.get(args[1])).exportHar(Paths.get(args[2]));
+            System.out.println("Exported " + args[1] + " to " + args[2]);
+        } else if (args.length == 2 && "stats".equals(args[0])) {
+            System.out.println(open(Paths.get(args[1])));
+        } else {
+            System.err.println("Usage: HttpArchive import <file.har> <dir> | export <dir> <file.har> | stats <dir>");
+            System.exit(2);
+        }
+    }
+}
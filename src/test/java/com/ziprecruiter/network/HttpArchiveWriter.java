@@ -0,0 +1,223 @@
+package com.ziprecruiter.network;
+
+import org.openqa.selenium.json.Json;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HttpArchiveWriter - Records responses into an HttpArchive directory
+ *
+ * Entries are appended to data.bin as they arrive; only the key-to-offset map
+ * stays in memory. The first response recorded for a key wins, so replays are
+ * deterministic however often a page was loaded. close() writes index.bin
+ * through a temp file; until then the directory has no index and is not
+ * replayable, so an interrupted recording is never half-replayed.
+ *
+ * Headers that describe the transfer rather than the content
+ * (content-encoding, content-length, ...) are dropped: bodies are stored
+ * decoded, and replays let the browser frame them itself.
+ */
+public final class HttpArchiveWriter implements Closeable {
+
+    private static final Set<String> DROPPED_HEADERS = Set.of(
+        "content-encoding", "content-length", "transfer-encoding", "connection", "keep-alive");
+
+    private final Path directory;
+    private final DataOutputStream out;
+    private final Map<String, Long> offsets = new LinkedHashMap<>();
+    private long position;
+    private long bodyBytes;
+    private boolean closed;
+
+    private HttpArchiveWriter(Path directory, DataOutputStream out) {
+        this.directory = directory;
+        this.out = out;
+    }
+
+    /**
+     * Start a new archive in a directory, replacing any archive there
+     */
+    public static HttpArchiveWriter create(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(HttpArchive.INDEX_FILE));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+            Files.newOutputStream(directory.resolve(HttpArchive.DATA_FILE))));
+        out.writeInt(HttpArchive.DATA_MAGIC);
+        out.writeInt(HttpArchive.VERSION);
+        HttpArchiveWriter writer = new HttpArchiveWriter(directory, out);
+        writer.position = HttpArchive.DATA_HEADER;
+        return writer;
+    }
+
+    public Path getDirectory() { return directory; }
+
+    /**
+     * Record a response unless one is already recorded for the key; returns whether it was added
+     */
+    public synchronized boolean record(String key, String method, String url, int status,
+                                       List<Map.Entry<String, String>> headers, byte[] body) throws IOException {
+        if (closed || offsets.containsKey(key)) {
+            return false;
+        }
+        List<Map.Entry<String, String>> kept = new ArrayList<>();
+        for (Map.Entry<String, String> header : headers) {
+            if (!DROPPED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                kept.add(header);
+            }
+        }
+        long start = position;
+        writeString(key);
+        writeString(method);
+        writeString(url);
+        writeInt(status);
+        writeInt(kept.size());
+        for (Map.Entry<String, String> header : kept) {
+            writeString(header.getKey());
+            writeString(header.getValue());
+        }
+        writeInt(body.length);
+        out.write(body);
+        position += body.length;
+        bodyBytes += body.length;
+        if (position > Integer.MAX_VALUE) {
+            throw new IOException("HTTP archive exceeds 2 GB: " + directory);
+        }
+        offsets.put(key, start);
+        return true;
+    }
+
+    /**
+     * Get number of entries recorded so far
+     */
+    public synchronized int size() {
+        return offsets.size();
+    }
+
+    public synchronized long getBodyBytes() {
+        return bodyBytes;
+    }
+
+    /**
+     * Finish data.bin and write the index; the archive is replayable afterwards
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        out.close();
+
+        int slotCount = Integer.highestOneBit(Math.max(16, offsets.size() * 2 - 1)) << 1;
+        ByteBuffer index = ByteBuffer.allocate(HttpArchive.INDEX_HEADER + slotCount * HttpArchive.SLOT_SIZE);
+        index.putInt(HttpArchive.INDEX_MAGIC).putInt(HttpArchive.VERSION).putInt(slotCount).putInt(offsets.size());
+        int mask = slotCount - 1;
+        for (Map.Entry<String, Long> entry : offsets.entrySet()) {
+            long hash = RequestKey.hash(entry.getKey());
+            int slot = (int) (hash & mask);
+            while (index.getLong(HttpArchive.INDEX_HEADER + slot * HttpArchive.SLOT_SIZE) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index.putLong(HttpArchive.INDEX_HEADER + slot * HttpArchive.SLOT_SIZE, hash);
+            index.putLong(HttpArchive.INDEX_HEADER + slot * HttpArchive.SLOT_SIZE + 8, entry.getValue());
+        }
+        Path temp = Files.createTempFile(directory, "index-", ".tmp");
+        try {
+            Files.write(temp, index.array());
+            Files.move(temp, directory.resolve(HttpArchive.INDEX_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Build an archive from a HAR file, e.g. one saved from browser DevTools; returns the entry count
+     */
+    @SuppressWarnings("unchecked")
+    public static int importHar(Path harFile, Path directory) throws IOException {
+        Map<String, Object> har = new Json().toType(Files.readString(harFile, StandardCharsets.UTF_8), Json.MAP_TYPE);
+        Map<String, Object> log = (Map<String, Object>) har.get("log");
+        List<Map<String, Object>> entries = log == null ? Collections.emptyList()
+            : (List<Map<String, Object>>) log.getOrDefault("entries", Collections.emptyList());
+
+        try (HttpArchiveWriter writer = create(directory)) {
+            for (Map<String, Object> entry : entries) {
+                Map<String, Object> request = (Map<String, Object>) entry.get("request");
+                Map<String, Object> response = (Map<String, Object>) entry.get("response");
+                if (request == null || response == null) {
+                    continue;
+                }
+                String method = String.valueOf(request.getOrDefault("method", "GET"));
+                String url = String.valueOf(request.get("url"));
+                Map<String, Object> postData = (Map<String, Object>) request.get("postData");
+                byte[] requestBody = postData == null || postData.get("text") == null ? new byte[0]
+                    : String.valueOf(postData.get("text")).getBytes(StandardCharsets.UTF_8);
+                String cookie = null;
+                for (Map.Entry<String, String> header : harHeaders(request)) {
+                    if ("cookie".equalsIgnoreCase(header.getKey())) {
+                        cookie = header.getValue();
+                    }
+                }
+
+                Map<String, Object> content = (Map<String, Object>) response.getOrDefault("content", Collections.emptyMap());
+                Object text = content.get("text");
+                byte[] body = text == null ? new byte[0]
+                    : "base64".equals(content.get("encoding")) ? Base64.getDecoder().decode(String.valueOf(text))
+                    : String.valueOf(text).getBytes(StandardCharsets.UTF_8);
+                int status = ((Number) response.getOrDefault("status", 200)).intValue();
+
+                writer.record(RequestKey.of(method, url, cookie, requestBody), method, url, status,
+                    harHeaders(response), body);
+            }
+            return writer.size();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map.Entry<String, String>> harHeaders(Map<String, Object> message) {
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (Map<String, Object> header : (List<Map<String, Object>>) message.getOrDefault("headers", Collections.emptyList())) {
+            headers.add(new AbstractMap.SimpleImmutableEntry<>(
+                String.valueOf(header.get("name")), String.valueOf(header.get("value"))));
+        }
+        return headers;
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    private void writeInt(int value) throws IOException {
+        out.writeInt(value);
+        position += 4;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "HttpArchiveWriter{" +
+                "directory=" + directory +
+                ", entries=" + offsets.size() +
+                ", bodyBytes=" + bodyBytes +
+                '}';
+    }
+}
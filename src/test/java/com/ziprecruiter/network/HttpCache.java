@@ -0,0 +1,205 @@
+package com.ziprecruiter.network;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HttpCache - Records the browser's traffic into an HttpArchive, or replays it
+ *
+ * Selected with -Dhttp.cache:
+ * - off (default): the browser talks to the network as usual
+ * - record: every response is captured through DevTools Fetch interception
+ *   and appended to the archive in http.cache.dir (default http-archive);
+ *   the index is written when the suite ends
+ * - replay: requests found in the archive are answered locally with
+ *   Fetch.fulfillRequest; misses go to the network, or get a 504 with
+ *   -Dhttp.cache.miss=fail so a hermetic run shows what was never recorded
+ *
+ * Requests are matched by RequestKey. DriverFactory attaches the cache to
+ * every Chrome and Edge driver it launches; other browsers run uncached.
+ * HttpCacheListener closes the archive and prints hit/miss counts.
+ */
+public final class HttpCache {
+
+    public enum Mode {
+        OFF, RECORD, REPLAY;
+
+        public static Mode parse(String value) {
+            try {
+                return value == null ? OFF : valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                System.out.println("Unknown http.cache mode: " + value + ". Caching is off.");
+                return OFF;
+            }
+        }
+    }
+
+    private static final Mode MODE = Mode.parse(System.getProperty("http.cache", "off"));
+    private static final Path DIRECTORY = Paths.get(System.getProperty("http.cache.dir", "http-archive"));
+    private static final boolean FAIL_ON_MISS = "fail".equalsIgnoreCase(System.getProperty("http.cache.miss", "network"));
+
+    private static final Map<WebDriver, NetworkInterceptor> INTERCEPTORS = new ConcurrentHashMap<>();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong RECORDED = new AtomicLong();
+    private static final AtomicLong SERVED_BYTES = new AtomicLong();
+
+    private static HttpArchive archive;
+    private static HttpArchiveWriter writer;
+
+    private HttpCache() {
+    }
+
+    public static Mode getMode() {
+        return MODE;
+    }
+
+    public static boolean isEnabled() {
+        return MODE != Mode.OFF;
+    }
+
+    /**
+     * Start recording or replaying the driver's traffic (no-op when off or without DevTools)
+     */
+    public static void attach(WebDriver driver) {
+        if (!isEnabled() || !(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            if (MODE == Mode.REPLAY) {
+                archive();
+            } else {
+                writer();
+            }
+            INTERCEPTORS.put(driver, new NetworkInterceptor(driver, (Filter) next -> request -> handle(next, request)));
+        } catch (RuntimeException e) {
+            System.out.println("Could not attach HTTP cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop intercepting the driver's traffic, before it quits
+     */
+    public static void detach(WebDriver driver) {
+        NetworkInterceptor interceptor = INTERCEPTORS.remove(driver);
+        if (interceptor != null) {
+            try {
+                interceptor.close();
+            } catch (RuntimeException e) {
+                System.out.println("Error detaching HTTP cache: " + e.getMessage());
+            }
+        }
+    }
+
+    private static HttpResponse handle(HttpHandler next, HttpRequest request) {
+        byte[] requestBody = Contents.bytes(request.getContent());
+        String key = RequestKey.of(request.getMethod().toString(), request.getUri(), request.getHeader("Cookie"), requestBody);
+
+        if (MODE == Mode.REPLAY) {
+            HttpArchive.Entry entry = archive().find(key);
+            if (entry != null) {
+                HITS.incrementAndGet();
+                SERVED_BYTES.addAndGet(entry.getBodyLength());
+                HttpResponse response = new HttpResponse().setStatus(entry.getStatus());
+                for (Map.Entry<String, String> header : entry.getHeaders()) {
+                    response.addHeader(header.getKey(), header.getValue());
+                }
+                return response.setContent(Contents.bytes(entry.getBody()));
+            }
+            MISSES.incrementAndGet();
+            if (FAIL_ON_MISS) {
+                return new HttpResponse().setStatus(504)
+                    .addHeader("Content-Type", "text/plain; charset=utf-8")
+                    .setContent(Contents.utf8String("Not in HTTP archive: " + key));
+            }
+            return next.execute(request);
+        }
+
+        HttpResponse response = next.execute(request);
+        byte[] body = Contents.bytes(response.getContent());
+        response.setContent(Contents.bytes(body));
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (String name : response.getHeaderNames()) {
+            for (String value : response.getHeaders(name)) {
+                headers.add(new AbstractMap.SimpleImmutableEntry<>(name, value));
+            }
+        }
+        try {
+            if (writer().record(key, request.getMethod().toString(), request.getUri(), response.getStatus(), headers, body)) {
+                RECORDED.incrementAndGet();
+            }
+        } catch (IOException e) {
+            System.out.println("Could not record " + key + ": " + e.getMessage());
+        }
+        return response;
+    }
+
+    private static synchronized HttpArchive archive() {
+        if (archive == null) {
+            if (!HttpArchive.exists(DIRECTORY)) {
+                throw new IllegalStateException("No HTTP archive to replay in " + DIRECTORY.toAbsolutePath()
+                    + "; record one with -Dhttp.cache=record");
+            }
+            try {
+                archive = HttpArchive.open(DIRECTORY);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open HTTP archive " + DIRECTORY, e);
+            }
+        }
+        return archive;
+    }
+
+    private static synchronized HttpArchiveWriter writer() {
+        if (writer == null) {
+            try {
+                writer = HttpArchiveWriter.create(DIRECTORY);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not create HTTP archive " + DIRECTORY, e);
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * Detach every driver and finish the recording, if any
+     */
+    public static synchronized void close() {
+        for (WebDriver driver : new ArrayList<>(INTERCEPTORS.keySet())) {
+            detach(driver);
+        }
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.out.println("Error writing HTTP archive index: " + e.getMessage());
+            }
+        }
+    }
+
+    public static String getStatistics() {
+        if (MODE == Mode.RECORD) {
+            return "HTTP cache: recorded " + RECORDED.get() + " responses to " + DIRECTORY;
+        }
+        long hits = HITS.get();
+        long total = hits + MISSES.get();
+        return String.format(Locale.ROOT, "HTTP cache: %d of %d requests replayed from %s (%.1f%%), %d KB served locally",
+            hits, total, DIRECTORY, total == 0 ? 0.0 : 100.0 * hits / total, SERVED_BYTES.get() / 1024);
+    }
+}
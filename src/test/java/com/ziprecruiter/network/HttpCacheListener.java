@@ -0,0 +1,28 @@
+package com.ziprecruiter.network;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * HttpCacheListener - Finishes the HttpCache recording when the suite ends
+ *
+ * Writes the archive index (record mode) and prints how many requests were
+ * recorded or replayed. Nothing happens unless -Dhttp.cache is set.
+ */
+public class HttpCacheListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (HttpCache.isEnabled()) {
+            System.out.println("HTTP cache mode: " + HttpCache.getMode());
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (HttpCache.isEnabled()) {
+            HttpCache.close();
+            System.out.println(HttpCache.getStatistics());
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.ziprecruiter.network;
+
+import com.ziprecruiter.config.ConfigManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NetworkPolicy - Blocks third-party and heavy resources through DevTools
+ *
+ * The policy comes from configuration, so each suite (testng.xml parameters)
+ * or site profile can set its own:
+ * - network.policy: true (default) or false
+ * - network.block.hosts: hosts blocked with all their subdomains; the
+ *   default lists common analytics, advertising and tracking hosts
+ * - network.allow.hosts: hosts taken off the block list
+ * - network.block.types: resource types blocked everywhere: image, font, media
+ *
+ * Blocking uses Network.setBlockedURLs, so requests are stopped inside the
+ * browser without a round trip to the test per request, and without taking
+ * the Fetch domain that HttpCache intercepts with. Resource types are
+ * expressed as URL patterns by file extension.
+ *
+ * BaseTest applies the policy on every lease and reports per test what was
+ * blocked (see BlockedTraffic); NetworkPolicyListener prints the suite total.
+ * Chrome and Edge only; Firefox gets image blocking through a preference in
+ * DriverFactory.
+ */
+public final class NetworkPolicy {
+
+    private static final Map<String, List<String>> TYPE_EXTENSIONS = Map.of(
+        "image", Arrays.asList("png", "jpg", "jpeg", "gif", "webp", "avif", "svg", "ico"),
+        "font", Arrays.asList("woff", "woff2", "ttf", "otf", "eot"),
+        "media", Arrays.asList("mp4", "webm", "mp3", "ogg", "m4a"));
+
+    // Typical transfer sizes (bytes) by DevTools resource type, until this run has measured some
+    private static final Map<String, Long> TYPICAL_BYTES = Map.of(
+        "Image", 30_000L, "Font", 25_000L, "Media", 250_000L, "Script", 40_000L,
+        "Stylesheet", 15_000L, "XHR", 2_000L, "Fetch", 2_000L, "Ping", 0L);
+
+    private static final Map<WebDriver, Traffic> TRAFFIC = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong[]> LOADED_BY_TYPE = new ConcurrentHashMap<>();
+    private static final Traffic TOTAL = new Traffic();
+
+    private final boolean enabled;
+    private final List<String> blockedHosts;
+    private final Set<String> allowedHosts;
+    private final Set<String> blockedTypes;
+
+    public NetworkPolicy(boolean enabled, List<String> blockedHosts, Set<String> allowedHosts, Set<String> blockedTypes) {
+        this.enabled = enabled;
+        this.blockedHosts = Collections.unmodifiableList(new ArrayList<>(blockedHosts));
+        this.allowedHosts = Collections.unmodifiableSet(new LinkedHashSet<>(allowedHosts));
+        this.blockedTypes = Collections.unmodifiableSet(new LinkedHashSet<>(blockedTypes));
+    }
+
+    /**
+     * Get the policy of the current thread's configuration
+     */
+    public static NetworkPolicy fromConfig() {
+        return new NetworkPolicy(
+            Boolean.parseBoolean(ConfigManager.getProperty("network.policy", "true")),
+            new ArrayList<>(list(ConfigManager.getProperty("network.block.hosts", ""))),
+            list(ConfigManager.getProperty("network.allow.hosts", "")),
+            list(ConfigManager.getProperty("network.block.types", "")));
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public List<String> getBlockedHosts() { return blockedHosts; }
+
+    public Set<String> getAllowedHosts() { return allowedHosts; }
+
+    public Set<String> getBlockedTypes() { return blockedTypes; }
+
+    public boolean blocksType(String type) {
+        return enabled && blockedTypes.contains(type);
+    }
+
+    /**
+     * Get the Network.setBlockedURLs patterns of this policy
+     */
+    public List<String> getBlockedUrlPatterns() {
+        List<String> patterns = new ArrayList<>();
+        if (!enabled) {
+            return patterns;
+        }
+        for (String host : blockedHosts) {
+            if (!allowedHosts.contains(host)) {
+                patterns.add("*://" + host + "/*");
+                patterns.add("*://*." + host + "/*");
+            }
+        }
+        for (String type : blockedTypes) {
+            for (String extension : TYPE_EXTENSIONS.getOrDefault(type, Collections.emptyList())) {
+                patterns.add("*." + extension);
+                patterns.add("*." + extension + "?*");
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * Apply the current configuration's policy to a leased driver and start counting for the test
+     */
+    public static BlockedTraffic startTest(WebDriver driver) {
+        NetworkPolicy policy = fromConfig();
+        if (!(driver instanceof HasDevTools)) {
+            return BlockedTraffic.NONE;
+        }
+        Traffic traffic = TRAFFIC.get(driver);
+        if (traffic == null && !policy.isEnabled()) {
+            return BlockedTraffic.NONE;
+        }
+        try {
+            if (traffic == null) {
+                traffic = install(((HasDevTools) driver).getDevTools());
+                TRAFFIC.put(driver, traffic);
+            }
+            ((HasDevTools) driver).getDevTools().send(
+                new Command<Void>("Network.setBlockedURLs", Map.of("urls", policy.getBlockedUrlPatterns())));
+            return traffic.read();
+        } catch (RuntimeException e) {
+            System.out.println("Could not apply network policy: " + e.getMessage());
+            return BlockedTraffic.NONE;
+        }
+    }
+
+    /**
+     * Get what was blocked on a driver since startTest returned the given reading
+     */
+    public static BlockedTraffic finishTest(WebDriver driver, BlockedTraffic start) {
+        Traffic traffic = TRAFFIC.get(driver);
+        return traffic == null ? BlockedTraffic.NONE : traffic.read().since(start);
+    }
+
+    /**
+     * Forget a driver, before it quits
+     */
+    public static void detach(WebDriver driver) {
+        TRAFFIC.remove(driver);
+    }
+
+    /**
+     * Get what was blocked across all drivers in this run
+     */
+    public static BlockedTraffic getTotal() {
+        return TOTAL.read();
+    }
+
+    private static Traffic install(DevTools devTools) {
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(new Command<Void>("Network.enable", Collections.emptyMap()));
+        Traffic traffic = new Traffic();
+        devTools.addListener(new Event<>("Network.responseReceived", NetworkPolicy::readMap),
+            event -> traffic.types.put(String.valueOf(event.get("requestId")), String.valueOf(event.get("type"))));
+        devTools.addListener(new Event<>("Network.loadingFinished", NetworkPolicy::readMap), event -> {
+            String type = traffic.types.remove(String.valueOf(event.get("requestId")));
+            long bytes = event.get("encodedDataLength") instanceof Number
+                ? ((Number) event.get("encodedDataLength")).longValue() : 0;
+            AtomicLong[] loaded = LOADED_BY_TYPE.computeIfAbsent(type == null ? "Other" : type,
+                name -> new AtomicLong[] {new AtomicLong(), new AtomicLong()});
+            loaded[0].incrementAndGet();
+            loaded[1].addAndGet(bytes);
+            traffic.loaded(bytes);
+            TOTAL.loaded(bytes);
+        });
+        devTools.addListener(new Event<>("Network.loadingFailed", NetworkPolicy::readMap), event -> {
+            traffic.types.remove(String.valueOf(event.get("requestId")));
+            if ("inspector".equals(event.get("blockedReason"))) {
+                long estimate = estimatedBytes(String.valueOf(event.get("type")));
+                traffic.blocked(estimate);
+                TOTAL.blocked(estimate);
+            }
+        });
+        return traffic;
+    }
+
+    /**
+     * Mean transfer size of loaded resources of a type in this run, else a typical size
+     */
+    private static long estimatedBytes(String type) {
+        AtomicLong[] loaded = LOADED_BY_TYPE.get(type);
+        if (loaded != null && loaded[0].get() > 0) {
+            return loaded[1].get() / loaded[0].get();
+        }
+        return TYPICAL_BYTES.getOrDefault(type, 5_000L);
+    }
+
+    private static Map<String, Object> readMap(JsonInput input) {
+        return input.read(Json.MAP_TYPE);
+    }
+
+    private static Set<String> list(String value) {
+        Set<String> values = new LinkedHashSet<>();
+        for (String item : value.split(",")) {
+            if (!item.trim().isEmpty()) {
+                values.add(item.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "NetworkPolicy{" +
+                "enabled=" + enabled +
+                ", blockedHosts=" + blockedHosts.size() +
+                ", allowedHosts=" + allowedHosts +
+                ", blockedTypes=" + blockedTypes +
+                '}';
+    }
+
+    /**
+     * Running counters of one driver (or the whole run)
+     */
+    private static final class Traffic {
+        private final Map<String, String> types = new ConcurrentHashMap<>();
+        private final AtomicLong blockedRequests = new AtomicLong();
+        private final AtomicLong blockedBytes = new AtomicLong();
+        private final AtomicLong loadedRequests = new AtomicLong();
+        private final AtomicLong loadedBytes = new AtomicLong();
+
+        void blocked(long estimatedBytes) {
+            blockedRequests.incrementAndGet();
+            blockedBytes.addAndGet(estimatedBytes);
+        }
+
+        void loaded(long bytes) {
+            loadedRequests.incrementAndGet();
+            loadedBytes.addAndGet(bytes);
+        }
+
+        BlockedTraffic read() {
+            return new BlockedTraffic(blockedRequests.get(), blockedBytes.get(), loadedRequests.get(), loadedBytes.get());
+        }
+    }
+}
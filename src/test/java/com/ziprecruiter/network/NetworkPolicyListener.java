@@ -0,0 +1,21 @@
+package com.ziprecruiter.network;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * NetworkPolicyListener - Prints what the NetworkPolicy blocked over the whole suite
+ *
+ * Per-test figures are printed by BaseTest and stored on each result as the
+ * network.blocked.requests and network.bytes.saved attributes.
+ */
+public class NetworkPolicyListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        BlockedTraffic total = NetworkPolicy.getTotal();
+        if (total.getBlockedRequests() > 0 || total.getLoadedRequests() > 0) {
+            System.out.println("Network policy for suite " + suite.getName() + ": " + total.summary());
+        }
+    }
+}
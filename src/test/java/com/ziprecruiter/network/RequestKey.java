@@ -0,0 +1,134 @@
+package com.ziprecruiter.network;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * RequestKey - Normalized identity of a request, used to match replays to recordings
+ *
+ * Two requests get the same key when they differ only in ways that do not
+ * change the response: scheme and host case, default ports, fragments, the
+ * order of query parameters, cache-busting and tracking parameters
+ * (http.cache.ignoreParams), and cookies other than the ones listed in
+ * http.cache.cookies (none by default, since session and analytics cookies
+ * change every run). Request bodies are part of the key by hash, so two
+ * different form posts to one URL are recorded separately.
+ *
+ * Key format: METHOD scheme://host[:port]/path?a=1&b=2 [cookie:name=value;...] [body:hash]
+ */
+public final class RequestKey {
+
+    private static final Set<String> IGNORED_PARAMETERS = names(System.getProperty("http.cache.ignoreParams",
+        "_,cb,cachebuster,nocache,timestamp,ts,rnd,utm_source,utm_medium,utm_campaign,utm_term,utm_content,gclid,fbclid"));
+    private static final Set<String> MATCHED_COOKIES = names(System.getProperty("http.cache.cookies", ""));
+
+    private RequestKey() {
+    }
+
+    /**
+     * Build the key of a request from its parts; cookieHeader and body may be null
+     */
+    public static String of(String method, String url, String cookieHeader, byte[] body) {
+        StringBuilder key = new StringBuilder(method.toUpperCase(Locale.ROOT)).append(' ').append(normalizeUrl(url));
+        String cookies = normalizeCookies(cookieHeader);
+        if (!cookies.isEmpty()) {
+            key.append(" cookie:").append(cookies);
+        }
+        if (body != null && body.length > 0) {
+            key.append(" body:").append(Long.toHexString(hash(body)));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Normalize a URL: lower-case scheme and host, no default port or fragment, sorted and filtered query
+     */
+    public static String normalizeUrl(String url) {
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException e) {
+            return url;
+        }
+        if (uri.getScheme() == null || uri.getRawAuthority() == null) {
+            return url;
+        }
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        StringBuilder normalized = new StringBuilder(scheme).append("://")
+            .append(uri.getHost() == null ? uri.getRawAuthority() : uri.getHost().toLowerCase(Locale.ROOT));
+        int port = uri.getPort();
+        if (port != -1 && !(port == 80 && "http".equals(scheme)) && !(port == 443 && "https".equals(scheme))) {
+            normalized.append(':').append(port);
+        }
+        normalized.append(uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath());
+
+        if (uri.getRawQuery() != null) {
+            List<String> parameters = new ArrayList<>();
+            for (String parameter : uri.getRawQuery().split("&")) {
+                String name = parameter.contains("=") ? parameter.substring(0, parameter.indexOf('=')) : parameter;
+                if (!parameter.isEmpty() && !IGNORED_PARAMETERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    parameters.add(parameter);
+                }
+            }
+            Collections.sort(parameters);
+            if (!parameters.isEmpty()) {
+                normalized.append('?').append(String.join("&", parameters));
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Keep only the matched cookies of a Cookie header, sorted by name
+     */
+    static String normalizeCookies(String cookieHeader) {
+        if (cookieHeader == null || MATCHED_COOKIES.isEmpty()) {
+            return "";
+        }
+        List<String> cookies = new ArrayList<>();
+        for (String cookie : cookieHeader.split(";")) {
+            String trimmed = cookie.trim();
+            String name = trimmed.contains("=") ? trimmed.substring(0, trimmed.indexOf('=')) : trimmed;
+            if (MATCHED_COOKIES.contains(name.toLowerCase(Locale.ROOT))) {
+                cookies.add(trimmed);
+            }
+        }
+        Collections.sort(cookies);
+        return String.join(";", cookies);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of a key, never 0 (0 marks an empty index slot)
+     */
+    static long hash(String key) {
+        long hash = hash(key.getBytes(StandardCharsets.UTF_8));
+        return hash == 0 ? 1 : hash;
+    }
+
+    static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static Set<String> names(String list) {
+        Set<String> names = new HashSet<>();
+        for (String name : Arrays.asList(list.split(","))) {
+            if (!name.trim().isEmpty()) {
+                names.add(name.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+}
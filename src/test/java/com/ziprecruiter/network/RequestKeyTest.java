@@ -0,0 +1,60 @@
+package com.ziprecruiter.network;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RequestKeyTest - URL and request normalization for HTTP archive matching, no browser needed
+ */
+public class RequestKeyTest {
+
+    @Test(groups = {"unit"})
+    public void schemeAndHostAreLowerCasedAndFragmentDropped() {
+        Assert.assertEquals(RequestKey.normalizeUrl("HTTPS://Www.Example.COM/Jobs/Search#results"),
+            "https://www.example.com/Jobs/Search");
+    }
+
+    @Test(groups = {"unit"})
+    public void defaultPortsAreDroppedOthersKept() {
+        Assert.assertEquals(RequestKey.normalizeUrl("http://example.com:80/a"), "http://example.com/a");
+        Assert.assertEquals(RequestKey.normalizeUrl("https://example.com:443/a"), "https://example.com/a");
+        Assert.assertEquals(RequestKey.normalizeUrl("http://example.com:443/a"), "http://example.com:443/a");
+        Assert.assertEquals(RequestKey.normalizeUrl("http://127.0.0.1:8080"), "http://127.0.0.1:8080/");
+    }
+
+    @Test(groups = {"unit"})
+    public void queryIsSortedAndCacheBustersRemoved() {
+        String url = "https://example.com/jobs?search=qa&_=1712&location=NY&utm_source=mail&cb=9";
+        Assert.assertEquals(RequestKey.normalizeUrl(url), "https://example.com/jobs?location=NY&search=qa");
+        Assert.assertEquals(RequestKey.normalizeUrl("https://example.com/jobs?ts=1&gclid=abc"),
+            "https://example.com/jobs");
+    }
+
+    @Test(groups = {"unit"})
+    public void urlsWithoutAuthorityAreLeftAlone() {
+        Assert.assertEquals(RequestKey.normalizeUrl("about:blank"), "about:blank");
+        Assert.assertEquals(RequestKey.normalizeUrl("not a url"), "not a url");
+    }
+
+    @Test(groups = {"unit"})
+    public void keyIgnoresCookiesAndHashesBodies() {
+        String url = "https://example.com/search?b=2&a=1";
+        Assert.assertEquals(RequestKey.of("get", url, "session=abc; _ga=1", null),
+            "GET https://example.com/search?a=1&b=2");
+        Assert.assertEquals(RequestKey.of("GET", url, "session=xyz", new byte[0]),
+            RequestKey.of("get", url, null, null));
+
+        String first = RequestKey.of("POST", url, null, "q=qa".getBytes(StandardCharsets.UTF_8));
+        String second = RequestKey.of("POST", url, null, "q=dev".getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(first.startsWith("POST https://example.com/search?a=1&b=2 body:"), first);
+        Assert.assertNotEquals(first, second);
+        Assert.assertEquals(RequestKey.of("POST", url, null, "q=qa".getBytes(StandardCharsets.UTF_8)), first);
+    }
+
+    @Test(groups = {"unit"})
+    public void hashIsNeverZero() {
+        Assert.assertNotEquals(RequestKey.hash(""), 0L);
+        Assert.assertEquals(RequestKey.hash("GET https://example.com/"), RequestKey.hash("GET https://example.com/"));
+    }
+}
@@ -1,7 +1,9 @@
 package com.ziprecruiter.pages;
 
 import com.ziprecruiter.base.BasePage;
+import com.ziprecruiter.utils.BulkExtractor;
 import com.ziprecruiter.utils.ElementUtils;
+import com.ziprecruiter.utils.Settle;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -108,9 +110,9 @@ public class FiltersPage extends BasePage {
     }
     
     public void removeFilterByText(String filterText) {
-        List<WebElement> activeFiltersList = driver.findElements(activeFilters);
+        List<String> activeFiltersList = getActiveFilters();
         for (int i = 0; i < activeFiltersList.size(); i++) {
-            if (activeFiltersList.get(i).getText().contains(filterText)) {
+            if (activeFiltersList.get(i).contains(filterText)) {
                 removeFilter(i);
                 break;
             }
@@ -122,10 +124,7 @@ public class FiltersPage extends BasePage {
     }
     
     public List<String> getActiveFilters() {
-        List<WebElement> activeFiltersList = driver.findElements(activeFilters);
-        return activeFiltersList.stream()
-                .map(element -> element.getText())
-                .toList();
+        return BulkExtractor.getTexts(driver, activeFilters);
     }
     
     public boolean isFilterActive(String filterText) {
@@ -135,11 +134,7 @@ public class FiltersPage extends BasePage {
     
     public void waitForFiltersToApply() {
         // Wait for results to update after applying filters
-        try {
-            Thread.sleep(2000); // Give time for results to load
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        Settle.replacingSleep("FiltersPage.waitForFiltersToApply", 2000, () -> Settle.forContentUpdate(driver, 2));
     }
     
     public void applyAdvancedFilters(String minSalary, String maxSalary, String jobType, 
@@ -1,6 +1,7 @@
 package com.ziprecruiter.pages;
 
 import org.openqa.selenium.WebDriver;
+import com.ziprecruiter.config.ConfigManager;
 import com.ziprecruiter.utils.ElementUtils;
 
 public class HomePage {
@@ -21,9 +22,9 @@ public class HomePage {
     public void searchJobs(String jobTitle, String location) {
         // Basic implementation - navigate to search page
         if (jobTitle != null && !jobTitle.isEmpty()) {
-            driver.get("https://www.ziprecruiter.com/jobs?search=" + jobTitle);
+            driver.get(ConfigManager.getBaseUrl() + "/jobs?search=" + jobTitle);
         } else {
-            driver.get("https://www.ziprecruiter.com/jobs");
+            driver.get(ConfigManager.getBaseUrl() + "/jobs");
         }
     }
     
@@ -33,18 +34,18 @@ public class HomePage {
     }
     
     public void navigateToLogin() {
-        driver.get("https://www.ziprecruiter.com/login");
+        driver.get(ConfigManager.getBaseUrl() + "/login");
     }
     
     public void navigateToRegister() {
-        driver.get("https://www.ziprecruiter.com/register");
+        driver.get(ConfigManager.getBaseUrl() + "/register");
     }
     
     public void navigateToJobs() {
-        driver.get("https://www.ziprecruiter.com/jobs");
+        driver.get(ConfigManager.getBaseUrl() + "/jobs");
     }
     
     public void navigateToProfile() {
-        driver.get("https://www.ziprecruiter.com/profile");
+        driver.get(ConfigManager.getBaseUrl() + "/profile");
     }
 } 
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.ziprecruiter.pages;
 
 import com.ziprecruiter.base.BasePage;
+import com.ziprecruiter.utils.BulkExtractor;
 import com.ziprecruiter.utils.ElementUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -76,17 +77,11 @@ public class JobDetailsPage extends BasePage {
     }
     
     public List<String> getRequirements() {
-        List<WebElement> requirements = driver.findElements(requirementsList);
-        return requirements.stream()
-                .map(element -> element.getText())
-                .toList();
+        return BulkExtractor.getTexts(driver, requirementsList);
     }
     
     public List<String> getBenefits() {
-        List<WebElement> benefits = driver.findElements(benefitsList);
-        return benefits.stream()
-                .map(element -> element.getText())
-                .toList();
+        return BulkExtractor.getTexts(driver, benefitsList);
     }
     
     public int getSimilarJobsCount() {
@@ -2,6 +2,7 @@ package com.ziprecruiter.pages;
 
 import com.ziprecruiter.base.BasePage;
 import com.ziprecruiter.utils.ElementUtils;
+import com.ziprecruiter.utils.LocatorResolution;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -36,12 +37,12 @@ public class NotificationsPage extends BasePage {
     
     @Override
     public boolean isPageLoaded() {
-        return isElementDisplayed(notificationsList) || isElementDisplayed(emptyState);
+        LocatorResolution resolution = ElementUtils.countAllWhenVisible(driver, notificationsList, emptyState);
+        return resolution.isVisible(notificationsList) || resolution.isVisible(emptyState);
     }
     
     public int getNotificationsCount() {
-        List<WebElement> notifications = driver.findElements(notificationsList);
-        return notifications.size();
+        return ElementUtils.countAllWhenPresent(driver, notificationsList).getUniqueCount();
     }
     
     public boolean hasNotifications() {
@@ -115,8 +116,7 @@ public class NotificationsPage extends BasePage {
     }
     
     public int getUnreadCount() {
-        List<WebElement> unreadNotifications = driver.findElements(unreadIndicator);
-        return unreadNotifications.size();
+        return ElementUtils.countAllWhenPresent(driver, unreadIndicator).getUniqueCount();
     }
     
     public void filterBy(String filterOption) {
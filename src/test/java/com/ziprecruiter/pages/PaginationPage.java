@@ -1,10 +1,13 @@
 package com.ziprecruiter.pages;
 
 import com.ziprecruiter.base.BasePage;
+import com.ziprecruiter.utils.BulkExtractor;
 import com.ziprecruiter.utils.ElementUtils;
+import com.ziprecruiter.utils.ExtractedElement;
+import com.ziprecruiter.utils.LocatorResolution;
+import com.ziprecruiter.utils.Settle;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 import java.util.List;
 
 public class PaginationPage extends BasePage {
@@ -28,38 +31,42 @@ public class PaginationPage extends BasePage {
     
     @Override
     public boolean isPageLoaded() {
-        return isElementDisplayed(nextPageButton) || isElementDisplayed(loadMoreButton);
+        LocatorResolution resolution = ElementUtils.countAllWhenVisible(driver, nextPageButton, loadMoreButton);
+        return resolution.isVisible(nextPageButton) || resolution.isVisible(loadMoreButton);
     }
     
     public void clickNextPage() {
-        if (isNextPageAvailable()) {
-            clickElement(nextPageButton);
+        By next = adaptive(nextPageButton);
+        if (isAvailable(next)) {
+            clickElement(next);
         }
     }
     
     public void clickPreviousPage() {
-        if (isPreviousPageAvailable()) {
-            clickElement(previousPageButton);
+        By previous = adaptive(previousPageButton);
+        if (isAvailable(previous)) {
+            clickElement(previous);
         }
     }
     
     public void clickFirstPage() {
-        if (isElementDisplayed(firstPageButton)) {
-            clickElement(firstPageButton);
+        By first = adaptive(firstPageButton);
+        if (isElementDisplayed(first)) {
+            clickElement(first);
         }
     }
     
     public void clickLastPage() {
-        if (isElementDisplayed(lastPageButton)) {
-            clickElement(lastPageButton);
+        By last = adaptive(lastPageButton);
+        if (isElementDisplayed(last)) {
+            clickElement(last);
         }
     }
     
     public void goToPage(int pageNumber) {
-        List<WebElement> pageNumberElements = driver.findElements(pageNumbers);
-        for (WebElement pageElement : pageNumberElements) {
+        for (ExtractedElement pageElement : BulkExtractor.extractWithElements(driver, pageNumbers)) {
             if (pageElement.getText().equals(String.valueOf(pageNumber))) {
-                pageElement.click();
+                pageElement.getElement().click();
                 break;
             }
         }
@@ -102,11 +109,15 @@ public class PaginationPage extends BasePage {
     }
     
     public boolean isNextPageAvailable() {
-        return isElementDisplayed(nextPageButton) && ElementUtils.isElementEnabled(driver, nextPageButton);
+        return isAvailable(adaptive(nextPageButton));
     }
     
     public boolean isPreviousPageAvailable() {
-        return isElementDisplayed(previousPageButton) && ElementUtils.isElementEnabled(driver, previousPageButton);
+        return isAvailable(adaptive(previousPageButton));
+    }
+    
+    private boolean isAvailable(By button) {
+        return isElementDisplayed(button) && ElementUtils.isElementEnabled(driver, button);
     }
     
     public void setItemsPerPage(int itemsPerPage) {
@@ -137,10 +148,7 @@ public class PaginationPage extends BasePage {
     }
     
     public List<String> getAvailablePageNumbers() {
-        List<WebElement> pageNumberElements = driver.findElements(pageNumbers);
-        return pageNumberElements.stream()
-                .map(element -> element.getText())
-                .toList();
+        return BulkExtractor.getTexts(driver, pageNumbers);
     }
     
     public boolean isPageNumberVisible(int pageNumber) {
@@ -180,15 +188,12 @@ public class PaginationPage extends BasePage {
     
     public void waitForPageToLoad() {
         // Wait for page content to load after navigation
-        try {
-            Thread.sleep(1000); // Give time for page to load
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        Settle.replacingSleep("PaginationPage.waitForPageToLoad", 1000, () -> Settle.forPage(driver, 1));
     }
     
     public boolean hasPagination() {
-        return isElementDisplayed(nextPageButton) || isElementDisplayed(loadMoreButton);
+        LocatorResolution resolution = ElementUtils.countAllWhenVisible(driver, nextPageButton, loadMoreButton);
+        return resolution.isVisible(nextPageButton) || resolution.isVisible(loadMoreButton);
     }
     
     public boolean isInfiniteScroll() {
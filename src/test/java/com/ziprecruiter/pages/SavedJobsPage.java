@@ -1,6 +1,7 @@
 package com.ziprecruiter.pages;
 
 import com.ziprecruiter.base.BasePage;
+import com.ziprecruiter.utils.BulkExtractor;
 import com.ziprecruiter.utils.ElementUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -119,17 +120,11 @@ public class SavedJobsPage extends BasePage {
     }
     
     public List<String> getAllJobTitles() {
-        List<WebElement> jobTitles = driver.findElements(this.jobTitle);
-        return jobTitles.stream()
-                .map(element -> element.getText())
-                .toList();
+        return BulkExtractor.getTexts(driver, jobTitle);
     }
     
     public List<String> getAllCompanyNames() {
-        List<WebElement> companyNames = driver.findElements(this.companyName);
-        return companyNames.stream()
-                .map(element -> element.getText())
-                .toList();
+        return BulkExtractor.getTexts(driver, companyName);
     }
     
     public void waitForJobsToLoad() {
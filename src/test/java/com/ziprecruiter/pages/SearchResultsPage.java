@@ -2,6 +2,7 @@ package com.ziprecruiter.pages;
 
 import com.ziprecruiter.base.BasePage;
 import com.ziprecruiter.utils.ElementUtils;
+import com.ziprecruiter.utils.LocatorResolution;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -27,16 +28,14 @@ public class SearchResultsPage extends BasePage {
     
     @Override
     public boolean isPageLoaded() {
-        return isElementDisplayed(jobCardLocators.get(0)) || isElementDisplayed(noResultsMessage);
+        // One round trip per check, repeated as the page renders (up to the implicit wait)
+        LocatorResolution resolution = ElementUtils.countAllWhenVisible(driver, jobCardLocators.get(0), noResultsMessage);
+        return resolution.isVisible(jobCardLocators.get(0)) || resolution.isVisible(noResultsMessage);
     }
 
     public int getJobCount() {
-        int total = 0;
-        for (By locator : jobCardLocators) {
-            List<WebElement> jobs = driver.findElements(locator);
-            total += jobs.size();
-        }
-        return total;
+        // One round trip for all fallback locators; a card matched by several is counted once
+        return ElementUtils.countAllWhenPresent(driver, jobCardLocators).getUniqueCount();
     }
     
     public boolean isResultsPageLoaded() {
@@ -44,16 +43,14 @@ public class SearchResultsPage extends BasePage {
     }
     
     public void clickFirstJob() {
-        if (isElementDisplayed(firstJobCard)) {
-            clickElement(firstJobCard);
+        By firstCard = adaptive(firstJobCard);
+        if (isElementDisplayed(firstCard)) {
+            clickElement(firstCard);
         } else {
-            // Fallback: try to click the first job found with any locator
-            for (By locator : jobCardLocators) {
-                List<WebElement> jobs = driver.findElements(locator);
-                if (!jobs.isEmpty()) {
-                    jobs.get(0).click();
-                    break;
-                }
+            // Fallback: click the first job found by the card locator that matched last time on this page
+            List<WebElement> jobs = locatorCache.findAll(driver, jobCardLocators);
+            if (!jobs.isEmpty()) {
+                jobs.get(0).click();
             }
         }
     }
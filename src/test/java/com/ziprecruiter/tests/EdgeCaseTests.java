@@ -1,9 +1,14 @@
 package com.ziprecruiter.tests;
 
 import com.ziprecruiter.base.BaseTest;
+import com.ziprecruiter.config.ConfigManager;
+import com.ziprecruiter.metrics.PageMetrics;
+import com.ziprecruiter.metrics.PagePerformance;
 import com.ziprecruiter.pages.*;
 import com.ziprecruiter.utils.WaitUtils;
 import com.ziprecruiter.utils.ElementUtils;
+import com.ziprecruiter.utils.ScreenshotEncoder;
+import com.ziprecruiter.utils.ScreenshotProfile;
 import io.qameta.allure.*;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -11,6 +16,8 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.interactions.Actions;
+import java.util.Arrays;
+import java.util.List;
 
 @Epic("Edge Case Testing")
 @Feature("Boundary Conditions and Performance")
@@ -20,9 +27,9 @@ public class EdgeCaseTests extends BaseTest {
     @Story("Boundary value testing")
     @Description("Test search with boundary values")
     public void testSearchBoundaryValues() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Test with single character
         homePage.searchJobs("a", "NY");
@@ -42,20 +49,21 @@ public class EdgeCaseTests extends BaseTest {
     @Story("Performance testing")
     @Description("Test page load performance")
     public void testPageLoadPerformance() {
-        long startTime = System.currentTimeMillis();
-        
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Wait for page to load completely
-        WaitUtils.waitForPageLoad(driver);
+        WaitUtils.waitForPageLoad(getDriver());
         
-        long loadTime = System.currentTimeMillis() - startTime;
+        // Load time as the browser measured it, without WebDriver overhead,
+        // once the load event has finished (readyState is complete before it runs)
+        PageMetrics page = PagePerformance.currentAfterLoad(getDriver(), ConfigManager.getPageLoadTimeout());
         
         // Assert page loads within reasonable time (5 seconds)
-        Assert.assertTrue(loadTime < 5000, "Page should load within 5 seconds. Actual: " + loadTime + "ms");
+        Assert.assertTrue(page.getLoad() > 0, "Load event should have finished: " + page);
+        Assert.assertTrue(page.getLoad() < 5000, "Page should load within 5 seconds. Actual: " + page.getLoad() + "ms");
         
         // Test JavaScript execution time
-        JavascriptExecutor js = (JavascriptExecutor) driver;
+        JavascriptExecutor js = (JavascriptExecutor) getDriver();
         long jsStartTime = System.currentTimeMillis();
         js.executeScript("return document.readyState");
         long jsTime = System.currentTimeMillis() - jsStartTime;
@@ -71,9 +79,9 @@ public class EdgeCaseTests extends BaseTest {
         
         // Navigate through multiple pages
         for (int i = 0; i < 5; i++) {
-            driver.get("https://www.ziprecruiter.com/");
-            driver.get("https://www.ziprecruiter.com/jobs");
-            driver.get("https://www.ziprecruiter.com/profile");
+            getDriver().get(ConfigManager.getBaseUrl() + "/");
+            getDriver().get(ConfigManager.getBaseUrl() + "/jobs");
+            getDriver().get(ConfigManager.getBaseUrl() + "/profile");
             
             // Force garbage collection
             System.gc();
@@ -94,11 +102,11 @@ public class EdgeCaseTests extends BaseTest {
         // This is a simplified simulation
         // In real scenarios, you'd use tools like JMeter or Gatling
         
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
         // Simulate rapid interactions
         for (int i = 0; i < 10; i++) {
-            driver.get("https://www.ziprecruiter.com/");
+            getDriver().get(ConfigManager.getBaseUrl() + "/");
             homePage.searchJobs("Software Engineer", "New York");
             
             // Small delay to simulate real user behavior
@@ -117,12 +125,12 @@ public class EdgeCaseTests extends BaseTest {
     @Story("Stress testing")
     @Description("Test system under stress conditions")
     public void testStressConditions() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
         // Rapid page refreshes
         for (int i = 0; i < 20; i++) {
-            driver.navigate().refresh();
-            WaitUtils.waitForPageLoad(driver);
+            getDriver().navigate().refresh();
+            WaitUtils.waitForPageLoad(getDriver());
         }
         
         // Verify system still works
@@ -130,9 +138,9 @@ public class EdgeCaseTests extends BaseTest {
         
         // Rapid navigation
         for (int i = 0; i < 10; i++) {
-            driver.get("https://www.ziprecruiter.com/");
-            driver.get("https://www.ziprecruiter.com/jobs");
-            driver.get("https://www.ziprecruiter.com/profile");
+            getDriver().get(ConfigManager.getBaseUrl() + "/");
+            getDriver().get(ConfigManager.getBaseUrl() + "/jobs");
+            getDriver().get(ConfigManager.getBaseUrl() + "/profile");
         }
         
         Assert.assertTrue(homePage.isPageLoaded(), "System should handle rapid navigation");
@@ -142,9 +150,9 @@ public class EdgeCaseTests extends BaseTest {
     @Story("Input validation edge cases")
     @Description("Test various input validation scenarios")
     public void testInputValidationEdgeCases() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Test with SQL injection attempt
         homePage.searchJobs("'; DROP TABLE users; --", "New York");
@@ -163,9 +171,9 @@ public class EdgeCaseTests extends BaseTest {
     @Story("Keyboard navigation edge cases")
     @Description("Test keyboard navigation scenarios")
     public void testKeyboardNavigationEdgeCases() {
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
-        Actions actions = new Actions(driver);
+        Actions actions = new Actions(getDriver());
         
         // Test rapid key presses
         for (int i = 0; i < 50; i++) {
@@ -184,7 +192,7 @@ public class EdgeCaseTests extends BaseTest {
         }
         
         // Verify page is still functional
-        String title = driver.getTitle();
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, "Page should remain functional after keyboard stress");
     }
     
@@ -192,20 +200,20 @@ public class EdgeCaseTests extends BaseTest {
     @Story("Browser window edge cases")
     @Description("Test browser window manipulation")
     public void testBrowserWindowEdgeCases() {
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Test window resize
-        driver.manage().window().setSize(new org.openqa.selenium.Dimension(800, 600));
-        Assert.assertTrue(driver.getCurrentUrl().contains("ziprecruiter"), "Should work at smaller size");
+        getDriver().manage().window().setSize(new org.openqa.selenium.Dimension(800, 600));
+        Assert.assertTrue(getDriver().getCurrentUrl().contains("ziprecruiter"), "Should work at smaller size");
         
         // Test window maximize
-        driver.manage().window().maximize();
-        Assert.assertTrue(driver.getCurrentUrl().contains("ziprecruiter"), "Should work when maximized");
+        getDriver().manage().window().maximize();
+        Assert.assertTrue(getDriver().getCurrentUrl().contains("ziprecruiter"), "Should work when maximized");
         
         // Test window minimize (simulated)
-        driver.manage().window().setSize(new org.openqa.selenium.Dimension(1, 1));
-        driver.manage().window().maximize();
-        Assert.assertTrue(driver.getCurrentUrl().contains("ziprecruiter"), "Should recover from minimize");
+        getDriver().manage().window().setSize(new org.openqa.selenium.Dimension(1, 1));
+        getDriver().manage().window().maximize();
+        Assert.assertTrue(getDriver().getCurrentUrl().contains("ziprecruiter"), "Should recover from minimize");
     }
     
     @Test
@@ -217,10 +225,10 @@ public class EdgeCaseTests extends BaseTest {
         
         long startTime = System.currentTimeMillis();
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Use longer timeout to simulate slow network
-        WaitUtils.waitForPageLoad(driver);
+        WaitUtils.waitForPageLoad(getDriver());
         
         long loadTime = System.currentTimeMillis() - startTime;
         
@@ -232,27 +240,55 @@ public class EdgeCaseTests extends BaseTest {
     @Story("Resource loading edge cases")
     @Description("Test behavior when resources fail to load")
     public void testResourceLoadingEdgeCases() {
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Disable images to simulate failed image loads
-        JavascriptExecutor js = (JavascriptExecutor) driver;
+        JavascriptExecutor js = (JavascriptExecutor) getDriver();
         js.executeScript("document.querySelectorAll('img').forEach(img => img.style.display='none')");
         
         // Verify page still functions
-        String title = driver.getTitle();
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, "Page should function without images");
         
         // Re-enable images
         js.executeScript("document.querySelectorAll('img').forEach(img => img.style.display='')");
     }
     
+    @Test
+    @Story("Performance testing")
+    @Description("Compare screenshot size and encode time across encoding profiles")
+    public void testScreenshotProfileSizeVersusTime() throws Exception {
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
+        WaitUtils.waitForPageLoad(getDriver());
+        
+        byte[] capture = getScreenshotUtils().getScreenshotAsBytes();
+        Assert.assertTrue(capture.length > 0, "Screenshot should be captured");
+        
+        List<ScreenshotProfile> profiles = Arrays.asList(
+            ScreenshotProfile.ORIGINAL,
+            ScreenshotProfile.png().withScale(0.5),
+            ScreenshotProfile.jpeg(0.8f),
+            ScreenshotProfile.jpeg(0.6f).withScale(0.5).withGrayscale(),
+            ScreenshotProfile.webp(0.8f));
+        List<ScreenshotEncoder.BenchmarkResult> results = ScreenshotEncoder.benchmark(capture, profiles, 3);
+        
+        System.out.println("Screenshot encoding, original PNG " + capture.length + " bytes:");
+        results.forEach(result -> System.out.println("  " + result));
+        
+        // Lossy and downscaled profiles should never be larger than the original capture
+        for (ScreenshotEncoder.BenchmarkResult result : results.subList(1, results.size())) {
+            Assert.assertTrue(result.getEncodedBytes() <= capture.length,
+                "Profile " + result.getProfile() + " should not grow the screenshot");
+        }
+    }
+    
     @Test
     @Story("Form submission edge cases")
     @Description("Test form submission with various scenarios")
     public void testFormSubmissionEdgeCases() {
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/login");
+        getDriver().get(ConfigManager.getBaseUrl() + "/login");
         
         // Test double submission
         loginPage.login("test@example.com", "password123");
@@ -260,7 +296,7 @@ public class EdgeCaseTests extends BaseTest {
         // Should handle gracefully
         
         // Test submission with page refresh
-        driver.navigate().refresh();
+        getDriver().navigate().refresh();
         loginPage.login("test@example.com", "password123");
         // Should handle gracefully
     }
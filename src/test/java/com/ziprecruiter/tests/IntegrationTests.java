@@ -1,6 +1,7 @@
 package com.ziprecruiter.tests;
 
 import com.ziprecruiter.base.BaseTest;
+import com.ziprecruiter.config.ConfigManager;
 import com.ziprecruiter.pages.*;
 import com.ziprecruiter.data.TestDataFactory;
 import com.ziprecruiter.utils.WaitUtils;
@@ -16,13 +17,13 @@ public class IntegrationTests extends BaseTest {
     @Story("Complete job search workflow")
     @Description("Test complete job search from home page to application")
     public void testCompleteJobSearchWorkflow() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
-        JobDetailsPage jobDetailsPage = new JobDetailsPage(driver);
-        ApplicationFlowPage applicationPage = new ApplicationFlowPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
+        JobDetailsPage jobDetailsPage = new JobDetailsPage(getDriver());
+        ApplicationFlowPage applicationPage = new ApplicationFlowPage(getDriver());
         
         // Step 1: Navigate to home page and search
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         homePage.searchJobs("Software Engineer", "New York");
         
         // Step 2: Verify search results
@@ -47,19 +48,19 @@ public class IntegrationTests extends BaseTest {
     @Story("User registration and profile setup")
     @Description("Test complete user registration and profile creation workflow")
     public void testUserRegistrationAndProfileSetup() {
-        RegistrationPage registrationPage = new RegistrationPage(driver);
-        ProfilePage profilePage = new ProfilePage(driver);
+        RegistrationPage registrationPage = new RegistrationPage(getDriver());
+        ProfilePage profilePage = new ProfilePage(getDriver());
         
         // Step 1: Register new user
-        driver.get("https://www.ziprecruiter.com/register");
-        String email = "test" + System.currentTimeMillis() + "@example.com";
+        getDriver().get(ConfigManager.getBaseUrl() + "/register");
+        String email = TestDataFactory.generateValidEmail();
         registrationPage.registerUser(email, "Password123!", "John", "Doe");
         
         // Step 2: Verify registration success
         Assert.assertTrue(registrationPage.isRegistrationSuccessful(), "Registration should succeed");
         
         // Step 3: Navigate to profile page
-        driver.get("https://www.ziprecruiter.com/profile");
+        getDriver().get(ConfigManager.getBaseUrl() + "/profile");
         
         // Step 4: Update profile information
         profilePage.updateProfile("John", "Doe", "1234567890", "New York", "Experienced software engineer");
@@ -72,14 +73,14 @@ public class IntegrationTests extends BaseTest {
     @Story("Job save and notification workflow")
     @Description("Test saving jobs and setting up notifications")
     public void testJobSaveAndNotificationWorkflow() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
-        JobDetailsPage jobDetailsPage = new JobDetailsPage(driver);
-        SavedJobsPage savedJobsPage = new SavedJobsPage(driver);
-        NotificationsPage notificationsPage = new NotificationsPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
+        JobDetailsPage jobDetailsPage = new JobDetailsPage(getDriver());
+        SavedJobsPage savedJobsPage = new SavedJobsPage(getDriver());
+        NotificationsPage notificationsPage = new NotificationsPage(getDriver());
         
         // Step 1: Search for jobs
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         homePage.searchJobs("Data Scientist", "San Francisco");
         
         // Step 2: Save a job
@@ -90,13 +91,13 @@ public class IntegrationTests extends BaseTest {
         Assert.assertTrue(jobDetailsPage.isJobSaved(), "Job should be saved successfully");
         
         // Step 4: Navigate to saved jobs
-        driver.get("https://www.ziprecruiter.com/saved-jobs");
+        getDriver().get(ConfigManager.getBaseUrl() + "/saved-jobs");
         
         // Step 5: Verify saved job appears
         Assert.assertTrue(savedJobsPage.hasSavedJobs(), "Saved job should appear in list");
         
         // Step 6: Set up job alerts
-        driver.get("https://www.ziprecruiter.com/notifications");
+        getDriver().get(ConfigManager.getBaseUrl() + "/notifications");
         notificationsPage.createJobAlert("Software Engineer", "New York", "daily");
         
         // Step 7: Verify alert is created
@@ -107,13 +108,13 @@ public class IntegrationTests extends BaseTest {
     @Story("Advanced search with filters")
     @Description("Test advanced search functionality with multiple filters")
     public void testAdvancedSearchWithFilters() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
-        FiltersPage filtersPage = new FiltersPage(driver);
-        PaginationPage paginationPage = new PaginationPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
+        FiltersPage filtersPage = new FiltersPage(getDriver());
+        PaginationPage paginationPage = new PaginationPage(getDriver());
         
         // Step 1: Perform initial search
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         homePage.searchJobs("Product Manager", "Los Angeles");
         
         // Step 2: Apply salary filter
@@ -140,11 +141,11 @@ public class IntegrationTests extends BaseTest {
     @Story("Cross-browser compatibility workflow")
     @Description("Test complete workflow across different browsers")
     public void testCrossBrowserCompatibilityWorkflow() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
         
         // Step 1: Test basic functionality
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         Assert.assertTrue(homePage.isPageLoaded(), "Page should load in current browser");
         
         // Step 2: Test search functionality
@@ -152,27 +153,27 @@ public class IntegrationTests extends BaseTest {
         Assert.assertTrue(searchResultsPage.isResultsPageLoaded(), "Search should work in current browser");
         
         // Step 3: Test JavaScript functionality
-        String title = driver.getTitle();
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, "JavaScript should work in current browser");
         
         // Step 4: Test responsive design
-        driver.manage().window().setSize(new org.openqa.selenium.Dimension(768, 1024));
+        getDriver().manage().window().setSize(new org.openqa.selenium.Dimension(768, 1024));
         Assert.assertTrue(homePage.isPageLoaded(), "Page should be responsive");
         
         // Step 5: Restore window size
-        driver.manage().window().maximize();
+        getDriver().manage().window().maximize();
     }
     
     @Test
     @Story("Accessibility compliance workflow")
     @Description("Test complete workflow with accessibility requirements")
     public void testAccessibilityComplianceWorkflow() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
-        AccessibilityPage accessibilityPage = new AccessibilityPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
+        AccessibilityPage accessibilityPage = new AccessibilityPage(getDriver());
         
         // Step 1: Test keyboard navigation
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         Assert.assertTrue(accessibilityPage.canNavigateWithTab(), "Should support keyboard navigation");
         
         // Step 2: Test search with keyboard
@@ -194,14 +195,14 @@ public class IntegrationTests extends BaseTest {
     @Story("Performance and load testing workflow")
     @Description("Test complete workflow under performance conditions")
     public void testPerformanceAndLoadWorkflow() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
         
         long startTime = System.currentTimeMillis();
         
         // Step 1: Load home page
-        driver.get("https://www.ziprecruiter.com/");
-        WaitUtils.waitForPageLoad(driver);
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
+        WaitUtils.waitForPageLoad(getDriver());
         
         long homePageLoadTime = System.currentTimeMillis() - startTime;
         Assert.assertTrue(homePageLoadTime < 5000, "Home page should load within 5 seconds");
@@ -209,7 +210,7 @@ public class IntegrationTests extends BaseTest {
         // Step 2: Perform search
         long searchStartTime = System.currentTimeMillis();
         homePage.searchJobs("DevOps Engineer", "Chicago");
-        WaitUtils.waitForPageLoad(driver);
+        WaitUtils.waitForPageLoad(getDriver());
         
         long searchLoadTime = System.currentTimeMillis() - searchStartTime;
         Assert.assertTrue(searchLoadTime < 8000, "Search results should load within 8 seconds");
@@ -229,11 +230,11 @@ public class IntegrationTests extends BaseTest {
     @Story("Error handling and recovery workflow")
     @Description("Test complete workflow with error scenarios")
     public void testErrorHandlingAndRecoveryWorkflow() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
         
         // Step 1: Test with invalid search
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         homePage.searchJobs("", "New York");
         // Should handle gracefully
         
@@ -246,8 +247,8 @@ public class IntegrationTests extends BaseTest {
         Assert.assertTrue(searchResultsPage.isResultsPageLoaded(), "Should recover with valid search");
         
         // Step 4: Test page refresh recovery
-        driver.navigate().refresh();
-        WaitUtils.waitForPageLoad(driver);
+        getDriver().navigate().refresh();
+        WaitUtils.waitForPageLoad(getDriver());
         Assert.assertTrue(homePage.isPageLoaded(), "Should recover after page refresh");
     }
 } 
\ No newline at end of file
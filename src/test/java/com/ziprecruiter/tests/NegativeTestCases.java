@@ -1,6 +1,7 @@
 package com.ziprecruiter.tests;
 
 import com.ziprecruiter.base.BaseTest;
+import com.ziprecruiter.config.ConfigManager;
 import com.ziprecruiter.pages.*;
 import com.ziprecruiter.data.TestDataFactory;
 import com.ziprecruiter.utils.WaitUtils;
@@ -17,10 +18,10 @@ public class NegativeTestCases extends BaseTest {
     @Story("Invalid login attempts")
     @Description("Test various invalid login scenarios")
     public void testInvalidLoginScenarios() {
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         
         // Test with empty credentials
-        driver.get("https://www.ziprecruiter.com/login");
+        getDriver().get(ConfigManager.getBaseUrl() + "/login");
         loginPage.login("", "");
         Assert.assertTrue(loginPage.isErrorMessageDisplayed(), "Should show error for empty credentials");
         
@@ -37,9 +38,9 @@ public class NegativeTestCases extends BaseTest {
     @Story("Registration validation")
     @Description("Test registration form validation")
     public void testRegistrationValidation() {
-        RegistrationPage registrationPage = new RegistrationPage(driver);
+        RegistrationPage registrationPage = new RegistrationPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/register");
+        getDriver().get(ConfigManager.getBaseUrl() + "/register");
         
         // Test with invalid email
         registrationPage.registerUser("invalid-email", "password123", "John", "Doe");
@@ -58,9 +59,9 @@ public class NegativeTestCases extends BaseTest {
     @Story("Search with invalid inputs")
     @Description("Test search functionality with edge cases")
     public void testInvalidSearchInputs() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Test with empty search
         homePage.searchJobs("", "New York");
@@ -80,9 +81,9 @@ public class NegativeTestCases extends BaseTest {
     @Story("Profile update validation")
     @Description("Test profile update with invalid data")
     public void testProfileUpdateValidation() {
-        ProfilePage profilePage = new ProfilePage(driver);
+        ProfilePage profilePage = new ProfilePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/profile");
+        getDriver().get(ConfigManager.getBaseUrl() + "/profile");
         
         // Test with invalid phone number
         profilePage.updateProfile("John", "Doe", "invalid-phone", "New York", "Bio");
@@ -97,9 +98,9 @@ public class NegativeTestCases extends BaseTest {
     @Story("Job application edge cases")
     @Description("Test job application with invalid scenarios")
     public void testJobApplicationEdgeCases() {
-        ApplicationFlowPage applicationPage = new ApplicationFlowPage(driver);
+        ApplicationFlowPage applicationPage = new ApplicationFlowPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/jobs/apply");
+        getDriver().get(ConfigManager.getBaseUrl() + "/jobs/apply");
         
         // Test without selecting resume
         applicationPage.completeApplication("", "Cover letter", new String[]{"Answer 1"});
@@ -114,9 +115,9 @@ public class NegativeTestCases extends BaseTest {
     @Story("Filter validation")
     @Description("Test filter functionality with invalid inputs")
     public void testFilterValidation() {
-        FiltersPage filtersPage = new FiltersPage(driver);
+        FiltersPage filtersPage = new FiltersPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/jobs");
+        getDriver().get(ConfigManager.getBaseUrl() + "/jobs");
         
         // Test with invalid salary range
         filtersPage.setSalaryRange("abc", "xyz");
@@ -133,9 +134,9 @@ public class NegativeTestCases extends BaseTest {
     @Story("Pagination edge cases")
     @Description("Test pagination with boundary conditions")
     public void testPaginationEdgeCases() {
-        PaginationPage paginationPage = new PaginationPage(driver);
+        PaginationPage paginationPage = new PaginationPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/jobs");
+        getDriver().get(ConfigManager.getBaseUrl() + "/jobs");
         
         // Test navigation to invalid page
         try {
@@ -154,9 +155,9 @@ public class NegativeTestCases extends BaseTest {
     @Story("Accessibility compliance")
     @Description("Test accessibility requirements")
     public void testAccessibilityCompliance() {
-        AccessibilityPage accessibilityPage = new AccessibilityPage(driver);
+        AccessibilityPage accessibilityPage = new AccessibilityPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Test keyboard navigation
         Assert.assertTrue(accessibilityPage.canNavigateWithTab(), "Should support keyboard navigation");
@@ -178,11 +179,11 @@ public class NegativeTestCases extends BaseTest {
         // This would require network simulation tools
         // For now, test timeout scenarios
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Test with very short timeout
         try {
-            WaitUtils.waitForVisible(driver, By.cssSelector(".non-existent-element"), 1);
+            WaitUtils.waitForVisible(getDriver(), By.cssSelector(".non-existent-element"), 1);
         } catch (Exception e) {
             // Expected timeout
         }
@@ -192,15 +193,15 @@ public class NegativeTestCases extends BaseTest {
     @Story("Browser compatibility")
     @Description("Test cross-browser compatibility")
     public void testBrowserCompatibility() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Test basic functionality across browsers
         Assert.assertTrue(homePage.isPageLoaded(), "Page should load in current browser");
         
         // Test JavaScript execution
-        String title = driver.getTitle();
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, "Page title should be available");
     }
 } 
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.ziprecruiter.tests;
 
 import com.ziprecruiter.base.BaseTest;
+import com.ziprecruiter.config.ConfigManager;
 import com.ziprecruiter.pages.*;
 import com.ziprecruiter.data.TestDataFactory;
+import com.ziprecruiter.metrics.PageMetrics;
+import com.ziprecruiter.metrics.PagePerformance;
 import io.qameta.allure.*;
 import org.testng.Assert;
 import org.testng.annotations.*;
@@ -15,15 +18,15 @@ public class ParallelTestExecution extends BaseTest {
     @Story("Parallel search tests")
     @Description("Execute multiple search tests in parallel")
     public void parallelSearchTests() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
         
         String[] jobTitles = {"Software Engineer", "Data Scientist", "Product Manager"};
         String[] locations = {"New York", "San Francisco", "Los Angeles"};
         
         int index = (int) (Thread.currentThread().getId() % 3);
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         homePage.searchJobs(jobTitles[index], locations[index]);
         
         Assert.assertTrue(searchResultsPage.isResultsPageLoaded(), 
@@ -39,22 +42,22 @@ public class ParallelTestExecution extends BaseTest {
     @Description("Test page loading performance in parallel")
     public void parallelPageLoadTests() {
         String[] pages = {
-            "https://www.ziprecruiter.com/",
-            "https://www.ziprecruiter.com/jobs",
-            "https://www.ziprecruiter.com/login",
-            "https://www.ziprecruiter.com/register"
+            ConfigManager.getBaseUrl() + "/",
+            ConfigManager.getBaseUrl() + "/jobs",
+            ConfigManager.getBaseUrl() + "/login",
+            ConfigManager.getBaseUrl() + "/register"
         };
         
         int index = (int) (Thread.currentThread().getId() % pages.length);
         
-        long startTime = System.currentTimeMillis();
-        driver.get(pages[index]);
-        long loadTime = System.currentTimeMillis() - startTime;
+        getDriver().get(pages[index]);
+        PageMetrics page = PagePerformance.currentAfterLoad(getDriver(), ConfigManager.getPageLoadTimeout());
         
-        Assert.assertTrue(loadTime < 5000, 
-            "Page " + pages[index] + " should load within 5 seconds. Actual: " + loadTime + "ms");
+        Assert.assertTrue(page.getLoad() > 0, "Load event should have finished: " + page);
+        Assert.assertTrue(page.getLoad() < 5000, 
+            "Page " + pages[index] + " should load within 5 seconds. Actual: " + page.getLoad() + "ms");
         
-        String title = driver.getTitle();
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, "Page title should be available for " + pages[index]);
     }
     
@@ -62,8 +65,8 @@ public class ParallelTestExecution extends BaseTest {
     @Story("Parallel form validation tests")
     @Description("Test form validation in parallel")
     public void parallelFormValidationTests() {
-        LoginPage loginPage = new LoginPage(driver);
-        RegistrationPage registrationPage = new RegistrationPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
+        RegistrationPage registrationPage = new RegistrationPage(getDriver());
         
         String[] invalidEmails = {
             "invalid-email",
@@ -77,13 +80,13 @@ public class ParallelTestExecution extends BaseTest {
         int index = (int) (Thread.currentThread().getId() % invalidEmails.length);
         
         // Test login form validation
-        driver.get("https://www.ziprecruiter.com/login");
+        getDriver().get(ConfigManager.getBaseUrl() + "/login");
         loginPage.login(invalidEmails[index], "password123");
         Assert.assertTrue(loginPage.isErrorMessageDisplayed(), 
             "Should show error for invalid email: " + invalidEmails[index]);
         
         // Test registration form validation
-        driver.get("https://www.ziprecruiter.com/register");
+        getDriver().get(ConfigManager.getBaseUrl() + "/register");
         registrationPage.registerUser(invalidEmails[index], "password123", "John", "Doe");
         Assert.assertTrue(registrationPage.isErrorMessageDisplayed(), 
             "Should show error for invalid email: " + invalidEmails[index]);
@@ -97,9 +100,9 @@ public class ParallelTestExecution extends BaseTest {
         
         // Navigate through multiple pages
         for (int i = 0; i < 3; i++) {
-            driver.get("https://www.ziprecruiter.com/");
-            driver.get("https://www.ziprecruiter.com/jobs");
-            driver.get("https://www.ziprecruiter.com/profile");
+            getDriver().get(ConfigManager.getBaseUrl() + "/");
+            getDriver().get(ConfigManager.getBaseUrl() + "/jobs");
+            getDriver().get(ConfigManager.getBaseUrl() + "/profile");
         }
         
         // Check memory usage
@@ -111,7 +114,7 @@ public class ParallelTestExecution extends BaseTest {
         
         // Check page load performance
         long startTime = System.currentTimeMillis();
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         long loadTime = System.currentTimeMillis() - startTime;
         
         Assert.assertTrue(loadTime < 5000, 
@@ -122,17 +125,17 @@ public class ParallelTestExecution extends BaseTest {
     @Story("Parallel accessibility tests")
     @Description("Test accessibility compliance in parallel")
     public void parallelAccessibilityTests() {
-        AccessibilityPage accessibilityPage = new AccessibilityPage(driver);
+        AccessibilityPage accessibilityPage = new AccessibilityPage(getDriver());
         
         String[] pages = {
-            "https://www.ziprecruiter.com/",
-            "https://www.ziprecruiter.com/jobs",
-            "https://www.ziprecruiter.com/login"
+            ConfigManager.getBaseUrl() + "/",
+            ConfigManager.getBaseUrl() + "/jobs",
+            ConfigManager.getBaseUrl() + "/login"
         };
         
         int index = (int) (Thread.currentThread().getId() % pages.length);
         
-        driver.get(pages[index]);
+        getDriver().get(pages[index]);
         
         // Test keyboard navigation
         Assert.assertTrue(accessibilityPage.canNavigateWithTab(), 
@@ -151,7 +154,7 @@ public class ParallelTestExecution extends BaseTest {
     @Story("Parallel browser compatibility tests")
     @Description("Test browser compatibility in parallel")
     public void parallelBrowserCompatibilityTests() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
         // Test different window sizes
         int[] widths = {1920, 1366, 1024, 768};
@@ -159,27 +162,27 @@ public class ParallelTestExecution extends BaseTest {
         
         int index = (int) (Thread.currentThread().getId() % widths.length);
         
-        driver.manage().window().setSize(new org.openqa.selenium.Dimension(widths[index], heights[index]));
+        getDriver().manage().window().setSize(new org.openqa.selenium.Dimension(widths[index], heights[index]));
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         Assert.assertTrue(homePage.isPageLoaded(), 
             "Page should load at resolution " + widths[index] + "x" + heights[index]);
         
         // Test JavaScript functionality
-        String title = driver.getTitle();
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, 
             "JavaScript should work at resolution " + widths[index] + "x" + heights[index]);
         
         // Restore window size
-        driver.manage().window().maximize();
+        getDriver().manage().window().maximize();
     }
     
     @Test(threadPoolSize = 3, invocationCount = 6)
     @Story("Parallel data-driven tests")
     @Description("Execute data-driven tests in parallel")
     public void parallelDataDrivenTests() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
         
         String[][] testData = {
             {"Software Engineer", "New York"},
@@ -192,7 +195,7 @@ public class ParallelTestExecution extends BaseTest {
         
         int index = (int) (Thread.currentThread().getId() % testData.length);
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         homePage.searchJobs(testData[index][0], testData[index][1]);
         
         Assert.assertTrue(searchResultsPage.isResultsPageLoaded(), 
@@ -206,19 +209,19 @@ public class ParallelTestExecution extends BaseTest {
     @Story("Parallel stress tests")
     @Description("Test system under parallel stress conditions")
     public void parallelStressTests() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
         // Rapid page refreshes
         for (int i = 0; i < 5; i++) {
-            driver.navigate().refresh();
+            getDriver().navigate().refresh();
             Assert.assertTrue(homePage.isPageLoaded(), "Page should handle rapid refreshes in parallel");
         }
         
         // Rapid navigation
         for (int i = 0; i < 3; i++) {
-            driver.get("https://www.ziprecruiter.com/");
-            driver.get("https://www.ziprecruiter.com/jobs");
-            driver.get("https://www.ziprecruiter.com/profile");
+            getDriver().get(ConfigManager.getBaseUrl() + "/");
+            getDriver().get(ConfigManager.getBaseUrl() + "/jobs");
+            getDriver().get(ConfigManager.getBaseUrl() + "/profile");
         }
         
         Assert.assertTrue(homePage.isPageLoaded(), "System should handle rapid navigation in parallel");
@@ -236,7 +239,7 @@ public class ParallelTestExecution extends BaseTest {
     @Story("Parallel error handling tests")
     @Description("Test error handling in parallel scenarios")
     public void parallelErrorHandlingTests() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
         String[] invalidInputs = {
             "",
@@ -249,7 +252,7 @@ public class ParallelTestExecution extends BaseTest {
         
         int index = (int) (Thread.currentThread().getId() % invalidInputs.length);
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Test with invalid inputs
         homePage.searchJobs(invalidInputs[index], "New York");
@@ -259,7 +262,7 @@ public class ParallelTestExecution extends BaseTest {
         Assert.assertTrue(homePage.isPageLoaded(), 
             "Page should remain functional after invalid input: " + invalidInputs[index]);
         
-        String title = driver.getTitle();
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, 
             "Page title should be available after invalid input: " + invalidInputs[index]);
     }
@@ -278,20 +281,20 @@ public class ParallelTestExecution extends BaseTest {
         
         int index = (int) (Thread.currentThread().getId() % scenarios.length);
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         if (scenarios[index].equals("no-images")) {
             // Disable images
-            org.openqa.selenium.JavascriptExecutor js = (org.openqa.selenium.JavascriptExecutor) driver;
+            org.openqa.selenium.JavascriptExecutor js = (org.openqa.selenium.JavascriptExecutor) getDriver();
             js.executeScript("document.querySelectorAll('img').forEach(img => img.style.display='none')");
         }
         
         // Verify page still functions
-        String title = driver.getTitle();
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, 
             "Page should function in scenario: " + scenarios[index]);
         
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         Assert.assertTrue(homePage.isPageLoaded(), 
             "Page should load in scenario: " + scenarios[index]);
     }
@@ -27,15 +27,15 @@ public class TestConfiguration extends BaseTest {
     @BeforeMethod
     public void beforeMethod() {
         System.out.println("Setting up test method configuration");
-        driver.manage().window().maximize();
+        getDriver().manage().window().maximize();
     }
     
     @AfterMethod
     public void afterMethod() {
         System.out.println("Cleaning up test method configuration");
         // Clear cookies and local storage
-        driver.manage().deleteAllCookies();
-        org.openqa.selenium.JavascriptExecutor js = (org.openqa.selenium.JavascriptExecutor) driver;
+        getDriver().manage().deleteAllCookies();
+        org.openqa.selenium.JavascriptExecutor js = (org.openqa.selenium.JavascriptExecutor) getDriver();
         js.executeScript("localStorage.clear();");
         js.executeScript("sessionStorage.clear();");
     }
@@ -50,14 +50,14 @@ public class TestConfiguration extends BaseTest {
         Assert.assertTrue(baseUrl.contains("ziprecruiter"), "Base URL should contain ziprecruiter");
         
         // Test that WebDriver is properly configured
-        Assert.assertNotNull(driver, "WebDriver should be initialized");
+        Assert.assertNotNull(getDriver(), "WebDriver should be initialized");
         
         // Test that page load timeout is set
-        long pageLoadTimeout = driver.manage().timeouts().getPageLoadTimeout().toMillis();
+        long pageLoadTimeout = getDriver().manage().timeouts().getPageLoadTimeout().toMillis();
         Assert.assertTrue(pageLoadTimeout > 0, "Page load timeout should be set");
         
         // Test that implicit wait is set
-        long implicitWait = driver.manage().timeouts().getImplicitWaitTimeout().toMillis();
+        long implicitWait = getDriver().manage().timeouts().getImplicitWaitTimeout().toMillis();
         Assert.assertTrue(implicitWait > 0, "Implicit wait should be set");
     }
     
@@ -66,16 +66,16 @@ public class TestConfiguration extends BaseTest {
     @Description("Test browser-specific configuration")
     public void testBrowserConfiguration() {
         // Test browser capabilities
-        String browserName = ((org.openqa.selenium.remote.RemoteWebDriver) driver).getCapabilities().getBrowserName();
+        String browserName = ((org.openqa.selenium.remote.RemoteWebDriver) getDriver()).getCapabilities().getBrowserName();
         Assert.assertNotNull(browserName, "Browser name should be available");
         
         // Test window size
-        org.openqa.selenium.Dimension windowSize = driver.manage().window().getSize();
+        org.openqa.selenium.Dimension windowSize = getDriver().manage().window().getSize();
         Assert.assertTrue(windowSize.getWidth() > 0, "Window width should be positive");
         Assert.assertTrue(windowSize.getHeight() > 0, "Window height should be positive");
         
         // Test window position
-        org.openqa.selenium.Point windowPosition = driver.manage().window().getPosition();
+        org.openqa.selenium.Point windowPosition = getDriver().manage().window().getPosition();
         Assert.assertNotNull(windowPosition, "Window position should be available");
     }
     
@@ -84,15 +84,15 @@ public class TestConfiguration extends BaseTest {
     @Description("Test timeout configuration settings")
     public void testTimeoutConfiguration() {
         // Test page load timeout
-        long pageLoadTimeout = driver.manage().timeouts().getPageLoadTimeout().toMillis();
+        long pageLoadTimeout = getDriver().manage().timeouts().getPageLoadTimeout().toMillis();
         Assert.assertTrue(pageLoadTimeout >= 10000, "Page load timeout should be at least 10 seconds");
         
         // Test script timeout
-        long scriptTimeout = driver.manage().timeouts().getScriptTimeout().toMillis();
+        long scriptTimeout = getDriver().manage().timeouts().getScriptTimeout().toMillis();
         Assert.assertTrue(scriptTimeout >= 5000, "Script timeout should be at least 5 seconds");
         
         // Test implicit wait
-        long implicitWait = driver.manage().timeouts().getImplicitWaitTimeout().toMillis();
+        long implicitWait = getDriver().manage().timeouts().getImplicitWaitTimeout().toMillis();
         Assert.assertTrue(implicitWait >= 1000, "Implicit wait should be at least 1 second");
     }
     
@@ -141,17 +141,17 @@ public class TestConfiguration extends BaseTest {
     @Description("Test page object initialization and configuration")
     public void testPageObjectConfiguration() {
         // Test page object initialization
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         Assert.assertNotNull(homePage, "HomePage should be initialized");
         
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
         Assert.assertNotNull(searchResultsPage, "SearchResultsPage should be initialized");
         
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         Assert.assertNotNull(loginPage, "LoginPage should be initialized");
         
         // Test page object methods
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         Assert.assertTrue(homePage.isPageLoaded(), "HomePage should be properly configured");
     }
     
@@ -160,21 +160,21 @@ public class TestConfiguration extends BaseTest {
     @Description("Test utility classes configuration")
     public void testUtilityConfiguration() {
         // Test WaitUtils
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         org.openqa.selenium.By titleLocator = org.openqa.selenium.By.tagName("title");
-        boolean titlePresent = com.ziprecruiter.utils.WaitUtils.waitForVisible(driver, titleLocator, 10);
+        boolean titlePresent = com.ziprecruiter.utils.WaitUtils.waitForVisible(getDriver(), titleLocator, 10);
         Assert.assertTrue(titlePresent, "WaitUtils should be properly configured");
         
         // Test ElementUtils
-        boolean elementExists = com.ziprecruiter.utils.ElementUtils.isElementPresent(driver, titleLocator);
+        boolean elementExists = com.ziprecruiter.utils.ElementUtils.isElementPresent(getDriver(), titleLocator);
         Assert.assertTrue(elementExists, "ElementUtils should be properly configured");
         
         // Test ScreenshotUtils
-        String screenshotPath = com.ziprecruiter.utils.ScreenshotUtils.takeScreenshot(driver, "test-config");
+        String screenshotPath = com.ziprecruiter.utils.ScreenshotUtils.takeScreenshot(getDriver(), "test-config");
         Assert.assertNotNull(screenshotPath, "ScreenshotUtils should be properly configured");
         
         // Test PopupUtils
-        com.ziprecruiter.utils.PopupUtils.closePopups(driver);
+        com.ziprecruiter.utils.PopupUtils.closePopups(getDriver());
         // Should not throw exception
     }
     
@@ -190,7 +190,7 @@ public class TestConfiguration extends BaseTest {
         Assert.assertEquals(testName, "testAllureConfiguration", "Test name should be captured");
         
         // Test that environment info is available
-        String browserName = ((org.openqa.selenium.remote.RemoteWebDriver) driver).getCapabilities().getBrowserName();
+        String browserName = ((org.openqa.selenium.remote.RemoteWebDriver) getDriver()).getCapabilities().getBrowserName();
         io.qameta.allure.Allure.addAttachment("browser-info", "text/plain", "Browser: " + browserName);
         
         Assert.assertNotNull(browserName, "Browser information should be available for Allure");
@@ -205,7 +205,7 @@ public class TestConfiguration extends BaseTest {
         Assert.assertNotNull(threadName, "Thread name should be available");
         
         // Test that each thread has its own WebDriver instance
-        String sessionId = ((org.openqa.selenium.remote.RemoteWebDriver) driver).getSessionId().toString();
+        String sessionId = ((org.openqa.selenium.remote.RemoteWebDriver) getDriver()).getSessionId().toString();
         Assert.assertNotNull(sessionId, "Session ID should be available");
         
         // Test that configuration is thread-safe
@@ -213,8 +213,8 @@ public class TestConfiguration extends BaseTest {
         Assert.assertNotNull(baseUrl, "Configuration should be accessible from any thread");
         
         // Test parallel execution capability
-        driver.get("https://www.ziprecruiter.com/");
-        String title = driver.getTitle();
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, "Parallel execution should work correctly");
     }
     
@@ -223,15 +223,15 @@ public class TestConfiguration extends BaseTest {
     @Description("Test cleanup configuration and execution")
     public void testCleanupConfiguration() {
         // Test cookie cleanup
-        driver.get("https://www.ziprecruiter.com/");
-        driver.manage().addCookie(new org.openqa.selenium.Cookie("test-cookie", "test-value"));
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
+        getDriver().manage().addCookie(new org.openqa.selenium.Cookie("test-cookie", "test-value"));
         
-        driver.manage().deleteAllCookies();
-        int cookieCount = driver.manage().getCookies().size();
+        getDriver().manage().deleteAllCookies();
+        int cookieCount = getDriver().manage().getCookies().size();
         Assert.assertEquals(cookieCount, 0, "All cookies should be deleted");
         
         // Test local storage cleanup
-        org.openqa.selenium.JavascriptExecutor js = (org.openqa.selenium.JavascriptExecutor) driver;
+        org.openqa.selenium.JavascriptExecutor js = (org.openqa.selenium.JavascriptExecutor) getDriver();
         js.executeScript("localStorage.setItem('test-key', 'test-value');");
         js.executeScript("localStorage.clear();");
         
@@ -1,7 +1,9 @@
 package com.ziprecruiter.tests;
 
 import com.ziprecruiter.base.BaseTest;
+import com.ziprecruiter.config.ConfigManager;
 import com.ziprecruiter.pages.*;
+import com.ziprecruiter.data.SearchCriteria;
 import com.ziprecruiter.data.TestDataFactory;
 import io.qameta.allure.*;
 import org.testng.Assert;
@@ -15,12 +17,12 @@ public class TestRunner extends BaseTest {
     @Story("Quick smoke test")
     @Description("Fast smoke test for CI/CD pipeline")
     public void quickSmokeTest() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         Assert.assertTrue(homePage.isPageLoaded(), "Home page should load quickly");
         
-        String title = driver.getTitle();
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, "Page title should be available");
     }
     
@@ -28,12 +30,12 @@ public class TestRunner extends BaseTest {
     @Story("Full regression test")
     @Description("Complete regression test suite")
     public void fullRegressionTest() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
-        LoginPage loginPage = new LoginPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
+        LoginPage loginPage = new LoginPage(getDriver());
         
         // Test home page
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         Assert.assertTrue(homePage.isPageLoaded(), "Home page should load");
         
         // Test search functionality
@@ -41,7 +43,7 @@ public class TestRunner extends BaseTest {
         Assert.assertTrue(searchResultsPage.isResultsPageLoaded(), "Search results should load");
         
         // Test login page
-        driver.get("https://www.ziprecruiter.com/login");
+        getDriver().get(ConfigManager.getBaseUrl() + "/login");
         Assert.assertTrue(loginPage.isLoginPageLoaded(), "Login page should load");
     }
     
@@ -49,13 +51,13 @@ public class TestRunner extends BaseTest {
     @Story("Critical production test")
     @Description("Critical functionality test for production")
     public void criticalProductionTest() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         Assert.assertTrue(homePage.isPageLoaded(), "Home page must load in production");
         
         // Test essential functionality
-        String title = driver.getTitle();
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, "Page title must be available");
         Assert.assertTrue(title.contains("ZipRecruiter"), "Title must contain ZipRecruiter");
     }
@@ -66,7 +68,7 @@ public class TestRunner extends BaseTest {
     public void performanceLoadTest() {
         long startTime = System.currentTimeMillis();
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         long loadTime = System.currentTimeMillis() - startTime;
         Assert.assertTrue(loadTime < 3000, "Page must load within 3 seconds under load. Actual: " + loadTime + "ms");
@@ -83,9 +85,9 @@ public class TestRunner extends BaseTest {
     @Story("Security and penetration test")
     @Description("Test security vulnerabilities")
     public void securityPenetrationTest() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Test XSS prevention
         homePage.searchJobs("<script>alert('xss')</script>", "New York");
@@ -104,9 +106,9 @@ public class TestRunner extends BaseTest {
     @Story("Accessibility compliance test")
     @Description("Test accessibility compliance")
     public void accessibilityComplianceTest() {
-        AccessibilityPage accessibilityPage = new AccessibilityPage(driver);
+        AccessibilityPage accessibilityPage = new AccessibilityPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Test keyboard navigation
         Assert.assertTrue(accessibilityPage.canNavigateWithTab(), "Must support keyboard navigation");
@@ -125,49 +127,49 @@ public class TestRunner extends BaseTest {
     @Story("Browser compatibility test")
     @Description("Test cross-browser compatibility")
     public void browserCompatibilityTest() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         Assert.assertTrue(homePage.isPageLoaded(), "Must load in current browser");
         
         // Test JavaScript functionality
-        String title = driver.getTitle();
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, "JavaScript must work in current browser");
         
         // Test responsive design
-        driver.manage().window().setSize(new org.openqa.selenium.Dimension(768, 1024));
+        getDriver().manage().window().setSize(new org.openqa.selenium.Dimension(768, 1024));
         Assert.assertTrue(homePage.isPageLoaded(), "Must be responsive");
         
         // Restore window size
-        driver.manage().window().maximize();
+        getDriver().manage().window().maximize();
     }
     
     @Test(groups = {"mobile", "responsive"})
     @Story("Mobile responsiveness test")
     @Description("Test mobile responsiveness")
     public void mobileResponsivenessTest() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
         // Set mobile viewport
-        driver.manage().window().setSize(new org.openqa.selenium.Dimension(375, 667));
+        getDriver().manage().window().setSize(new org.openqa.selenium.Dimension(375, 667));
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         Assert.assertTrue(homePage.isPageLoaded(), "Must be responsive on mobile");
         
         // Test touch interactions (simulated)
-        String title = driver.getTitle();
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, "Must work with touch interactions");
         
         // Restore window size
-        driver.manage().window().maximize();
+        getDriver().manage().window().maximize();
     }
     
     @Test(groups = {"data", "driven"})
     @Story("Data-driven test")
     @Description("Test with multiple data sets")
     public void dataDrivenTest() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
         
         String[][] testData = {
             {"Software Engineer", "New York"},
@@ -178,20 +180,46 @@ public class TestRunner extends BaseTest {
         };
         
         for (String[] data : testData) {
-            driver.get("https://www.ziprecruiter.com/");
+            getDriver().get(ConfigManager.getBaseUrl() + "/");
             homePage.searchJobs(data[0], data[1]);
             Assert.assertTrue(searchResultsPage.isResultsPageLoaded(), 
                 "Search must work for " + data[0] + " in " + data[1]);
         }
     }
     
+    @Test(groups = {"data-driven"}, dataProvider = "searchData", dataProviderClass = TestDataFactory.class)
+    @Story("Data-driven test")
+    @Description("Search with each row of the streamed search data CSV")
+    public void csvSearchMatrixTest(SearchCriteria criteria) {
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
+        
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
+        homePage.searchJobs(criteria.getSearchTerm(), criteria.getLocation());
+        Assert.assertTrue(searchResultsPage.isResultsPageLoaded(),
+            "Search must work for " + criteria.getSearchTerm() + " in " + criteria.getLocation());
+    }
+    
+    @Test(groups = {"sharded"}, dataProvider = "searchDataShard", dataProviderClass = TestDataFactory.class)
+    @Story("Data-driven test")
+    @Description("Search with each row of this worker's shard of the compiled search data")
+    public void shardedSearchMatrixTest(SearchCriteria criteria) {
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
+        
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
+        homePage.searchJobs(criteria.getSearchTerm(), criteria.getLocation());
+        Assert.assertTrue(searchResultsPage.isResultsPageLoaded(),
+            "Search must work for " + criteria.getSearchTerm() + " in " + criteria.getLocation());
+    }
+    
     @Test(groups = {"negative", "edge"})
     @Story("Negative and edge case test")
     @Description("Test error handling and edge cases")
     public void negativeEdgeCaseTest() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Test with empty search
         homePage.searchJobs("", "");
@@ -211,18 +239,18 @@ public class TestRunner extends BaseTest {
     @Story("Integration workflow test")
     @Description("Test complete user workflow")
     public void integrationWorkflowTest() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
         
         // Complete workflow: search -> results -> job details
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         homePage.searchJobs("Software Engineer", "New York");
         Assert.assertTrue(searchResultsPage.isResultsPageLoaded(), "Search results must load");
         
         if (searchResultsPage.getJobCount() > 0) {
             searchResultsPage.clickFirstJob();
             // Should navigate to job details
-            String currentUrl = driver.getCurrentUrl();
+            String currentUrl = getDriver().getCurrentUrl();
             Assert.assertNotNull(currentUrl, "Should navigate to job details");
         }
     }
@@ -233,12 +261,12 @@ public class TestRunner extends BaseTest {
     public void apiIntegrationTest() {
         // This would test API endpoints if ZipRecruiter provides them
         // For now, test that the website loads properly
-        driver.get("https://www.ziprecruiter.com/");
-        String title = driver.getTitle();
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, "Website must be accessible");
         
         // Test that the page is functional
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         Assert.assertTrue(homePage.isPageLoaded(), "Website must be functional");
     }
     
@@ -246,19 +274,19 @@ public class TestRunner extends BaseTest {
     @Story("Stress and load test")
     @Description("Test system under stress conditions")
     public void stressLoadTest() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
         // Rapid page loads
         for (int i = 0; i < 10; i++) {
-            driver.get("https://www.ziprecruiter.com/");
+            getDriver().get(ConfigManager.getBaseUrl() + "/");
             Assert.assertTrue(homePage.isPageLoaded(), "Must handle rapid page loads");
         }
         
         // Rapid navigation
         for (int i = 0; i < 5; i++) {
-            driver.get("https://www.ziprecruiter.com/");
-            driver.get("https://www.ziprecruiter.com/jobs");
-            driver.get("https://www.ziprecruiter.com/profile");
+            getDriver().get(ConfigManager.getBaseUrl() + "/");
+            getDriver().get(ConfigManager.getBaseUrl() + "/jobs");
+            getDriver().get(ConfigManager.getBaseUrl() + "/profile");
         }
         
         Assert.assertTrue(homePage.isPageLoaded(), "Must handle rapid navigation");
@@ -270,7 +298,7 @@ public class TestRunner extends BaseTest {
     public void healthMonitoringTest() {
         long startTime = System.currentTimeMillis();
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         long loadTime = System.currentTimeMillis() - startTime;
         
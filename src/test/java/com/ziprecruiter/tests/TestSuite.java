@@ -1,6 +1,7 @@
 package com.ziprecruiter.tests;
 
 import com.ziprecruiter.base.BaseTest;
+import com.ziprecruiter.config.ConfigManager;
 import com.ziprecruiter.pages.*;
 import com.ziprecruiter.data.TestDataFactory;
 import io.qameta.allure.*;
@@ -35,12 +36,12 @@ public class TestSuite extends BaseTest {
     @Story("Smoke test - Basic functionality")
     @Description("Verify basic website functionality")
     public void smokeTest() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         Assert.assertTrue(homePage.isPageLoaded(), "Home page should load");
         
-        String title = driver.getTitle();
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, "Page title should be available");
         Assert.assertTrue(title.contains("ZipRecruiter"), "Title should contain ZipRecruiter");
     }
@@ -49,10 +50,10 @@ public class TestSuite extends BaseTest {
     @Story("Search functionality test")
     @Description("Test job search functionality")
     public void searchFunctionalityTest() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         homePage.searchJobs("Software Engineer", "New York");
         
         Assert.assertTrue(searchResultsPage.isResultsPageLoaded(), "Search results should load");
@@ -63,9 +64,9 @@ public class TestSuite extends BaseTest {
     @Story("Login functionality test")
     @Description("Test user login functionality")
     public void loginFunctionalityTest() {
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/login");
+        getDriver().get(ConfigManager.getBaseUrl() + "/login");
         Assert.assertTrue(loginPage.isLoginPageLoaded(), "Login page should load");
         
         // Test with invalid credentials
@@ -77,9 +78,9 @@ public class TestSuite extends BaseTest {
     @Story("Registration functionality test")
     @Description("Test user registration functionality")
     public void registrationFunctionalityTest() {
-        RegistrationPage registrationPage = new RegistrationPage(driver);
+        RegistrationPage registrationPage = new RegistrationPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/register");
+        getDriver().get(ConfigManager.getBaseUrl() + "/register");
         Assert.assertTrue(registrationPage.isRegistrationPageLoaded(), "Registration page should load");
         
         // Test form validation
@@ -91,9 +92,9 @@ public class TestSuite extends BaseTest {
     @Story("Profile functionality test")
     @Description("Test user profile functionality")
     public void profileFunctionalityTest() {
-        ProfilePage profilePage = new ProfilePage(driver);
+        ProfilePage profilePage = new ProfilePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/profile");
+        getDriver().get(ConfigManager.getBaseUrl() + "/profile");
         Assert.assertTrue(profilePage.isProfilePageLoaded(), "Profile page should load");
     }
     
@@ -101,10 +102,10 @@ public class TestSuite extends BaseTest {
     @Story("Job details functionality test")
     @Description("Test job details page functionality")
     public void jobDetailsFunctionalityTest() {
-        JobDetailsPage jobDetailsPage = new JobDetailsPage(driver);
+        JobDetailsPage jobDetailsPage = new JobDetailsPage(getDriver());
         
         // Navigate to a job details page
-        driver.get("https://www.ziprecruiter.com/jobs");
+        getDriver().get(ConfigManager.getBaseUrl() + "/jobs");
         // This would need to be updated with actual job URL
         Assert.assertTrue(jobDetailsPage.isJobDetailsPageLoaded(), "Job details page should load");
     }
@@ -113,9 +114,9 @@ public class TestSuite extends BaseTest {
     @Story("Application flow functionality test")
     @Description("Test job application flow functionality")
     public void applicationFlowFunctionalityTest() {
-        ApplicationFlowPage applicationPage = new ApplicationFlowPage(driver);
+        ApplicationFlowPage applicationPage = new ApplicationFlowPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/jobs/apply");
+        getDriver().get(ConfigManager.getBaseUrl() + "/jobs/apply");
         Assert.assertTrue(applicationPage.isApplicationPageLoaded(), "Application page should load");
     }
     
@@ -123,9 +124,9 @@ public class TestSuite extends BaseTest {
     @Story("Saved jobs functionality test")
     @Description("Test saved jobs functionality")
     public void savedJobsFunctionalityTest() {
-        SavedJobsPage savedJobsPage = new SavedJobsPage(driver);
+        SavedJobsPage savedJobsPage = new SavedJobsPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/saved-jobs");
+        getDriver().get(ConfigManager.getBaseUrl() + "/saved-jobs");
         Assert.assertTrue(savedJobsPage.isSavedJobsPageLoaded(), "Saved jobs page should load");
     }
     
@@ -133,9 +134,9 @@ public class TestSuite extends BaseTest {
     @Story("Notifications functionality test")
     @Description("Test notifications functionality")
     public void notificationsFunctionalityTest() {
-        NotificationsPage notificationsPage = new NotificationsPage(driver);
+        NotificationsPage notificationsPage = new NotificationsPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/notifications");
+        getDriver().get(ConfigManager.getBaseUrl() + "/notifications");
         Assert.assertTrue(notificationsPage.isNotificationsPageLoaded(), "Notifications page should load");
     }
     
@@ -143,9 +144,9 @@ public class TestSuite extends BaseTest {
     @Story("Filters functionality test")
     @Description("Test search filters functionality")
     public void filtersFunctionalityTest() {
-        FiltersPage filtersPage = new FiltersPage(driver);
+        FiltersPage filtersPage = new FiltersPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/jobs");
+        getDriver().get(ConfigManager.getBaseUrl() + "/jobs");
         Assert.assertTrue(filtersPage.isFiltersPageLoaded(), "Filters page should load");
     }
     
@@ -153,9 +154,9 @@ public class TestSuite extends BaseTest {
     @Story("Pagination functionality test")
     @Description("Test pagination functionality")
     public void paginationFunctionalityTest() {
-        PaginationPage paginationPage = new PaginationPage(driver);
+        PaginationPage paginationPage = new PaginationPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/jobs");
+        getDriver().get(ConfigManager.getBaseUrl() + "/jobs");
         Assert.assertTrue(paginationPage.isPaginationPageLoaded(), "Pagination should be available");
     }
     
@@ -163,9 +164,9 @@ public class TestSuite extends BaseTest {
     @Story("Accessibility functionality test")
     @Description("Test accessibility compliance")
     public void accessibilityFunctionalityTest() {
-        AccessibilityPage accessibilityPage = new AccessibilityPage(driver);
+        AccessibilityPage accessibilityPage = new AccessibilityPage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         Assert.assertTrue(accessibilityPage.isAccessibilityPageLoaded(), "Page should be accessible");
     }
     
@@ -175,7 +176,7 @@ public class TestSuite extends BaseTest {
     public void performanceTest() {
         long startTime = System.currentTimeMillis();
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         long loadTime = System.currentTimeMillis() - startTime;
         Assert.assertTrue(loadTime < 5000, "Page should load within 5 seconds. Actual: " + loadTime + "ms");
@@ -185,9 +186,9 @@ public class TestSuite extends BaseTest {
     @Story("Security test")
     @Description("Test basic security measures")
     public void securityTest() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Test XSS prevention
         homePage.searchJobs("<script>alert('xss')</script>", "New York");
@@ -202,13 +203,13 @@ public class TestSuite extends BaseTest {
     @Story("Browser compatibility test")
     @Description("Test cross-browser compatibility")
     public void browserCompatibilityTest() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         Assert.assertTrue(homePage.isPageLoaded(), "Page should load in current browser");
         
         // Test JavaScript functionality
-        String title = driver.getTitle();
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, "JavaScript should work in current browser");
     }
     
@@ -216,24 +217,24 @@ public class TestSuite extends BaseTest {
     @Story("Mobile responsiveness test")
     @Description("Test mobile responsiveness")
     public void mobileResponsivenessTest() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
         // Set mobile viewport
-        driver.manage().window().setSize(new org.openqa.selenium.Dimension(375, 667));
+        getDriver().manage().window().setSize(new org.openqa.selenium.Dimension(375, 667));
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         Assert.assertTrue(homePage.isPageLoaded(), "Page should be responsive on mobile");
         
         // Restore window size
-        driver.manage().window().maximize();
+        getDriver().manage().window().maximize();
     }
     
     @Test(groups = {"data-driven"}, priority = 17)
     @Story("Data-driven test")
     @Description("Test with multiple data sets")
     public void dataDrivenTest() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
         
         String[][] testData = {
             {"Software Engineer", "New York"},
@@ -243,7 +244,7 @@ public class TestSuite extends BaseTest {
         };
         
         for (String[] data : testData) {
-            driver.get("https://www.ziprecruiter.com/");
+            getDriver().get(ConfigManager.getBaseUrl() + "/");
             homePage.searchJobs(data[0], data[1]);
             Assert.assertTrue(searchResultsPage.isResultsPageLoaded(), 
                 "Search should work for " + data[0] + " in " + data[1]);
@@ -254,9 +255,9 @@ public class TestSuite extends BaseTest {
     @Story("Negative test scenarios")
     @Description("Test error handling and edge cases")
     public void negativeTestScenarios() {
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         
         // Test with empty search
         homePage.searchJobs("", "");
@@ -272,11 +273,11 @@ public class TestSuite extends BaseTest {
     @Story("Integration test")
     @Description("Test complete user workflow")
     public void integrationTest() {
-        HomePage homePage = new HomePage(driver);
-        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
+        HomePage homePage = new HomePage(getDriver());
+        SearchResultsPage searchResultsPage = new SearchResultsPage(getDriver());
         
         // Complete workflow: search -> results -> job details
-        driver.get("https://www.ziprecruiter.com/");
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
         homePage.searchJobs("Software Engineer", "New York");
         Assert.assertTrue(searchResultsPage.isResultsPageLoaded(), "Search results should load");
         
@@ -292,8 +293,8 @@ public class TestSuite extends BaseTest {
     public void apiIntegrationTest() {
         // This would test API endpoints if ZipRecruiter provides them
         // For now, test that the website loads properly
-        driver.get("https://www.ziprecruiter.com/");
-        String title = driver.getTitle();
+        getDriver().get(ConfigManager.getBaseUrl() + "/");
+        String title = getDriver().getTitle();
         Assert.assertNotNull(title, "Website should be accessible");
     }
 } 
\ No newline at end of file
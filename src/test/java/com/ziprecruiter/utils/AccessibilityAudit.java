@@ -0,0 +1,211 @@
+package com.ziprecruiter.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AccessibilityAudit - Single-pass in-browser accessibility checks
+ *
+ * Injects one script that walks the DOM once and checks:
+ * - image-alt: images without alt text (alt="" only on presentational images)
+ * - label: form controls with no label, aria-label, aria-labelledby or title
+ * - heading-order: heading levels that skip a level
+ * - color-contrast: WCAG 2.x contrast ratio of text against its effective
+ *   background, from computed styles (4.5:1, or 3:1 for large text); text on
+ *   background images is skipped since its background cannot be known
+ * - focus-order: positive tabindex, and focusable elements inside aria-hidden
+ *
+ * The script hashes the page content first. The result is kept on the page
+ * and in a JVM-wide cache keyed by that hash, so auditing an unchanged page
+ * again costs one hash and no re-walk.
+ */
+public class AccessibilityAudit {
+
+    public static final int MAX_DETAILS_PER_RULE = 50;
+    private static final int MAX_CACHED_REPORTS = 256;
+
+    private static final String AUDIT_SCRIPT =
+        "var force = arguments[0], maxDetails = arguments[1];" +
+        "var begin = performance.now();" +
+        "var html = document.documentElement ? document.documentElement.outerHTML : '';" +
+        "var h = 0x811c9dc5, source = location.href + '\\n' + html;" +
+        "for (var n = 0; n < source.length; n++) { h = Math.imul(h ^ source.charCodeAt(n), 16777619); }" +
+        "var hash = (h >>> 0).toString(16) + '-' + source.length.toString(16);" +
+        "if (!force && window.__a11yAudit === hash) { return { hash: hash, cached: true }; }" +
+        "var violations = [], counts = {};" +
+        "function report(rule, el, message) {" +
+        "  counts[rule] = (counts[rule] || 0) + 1;" +
+        "  if (counts[rule] <= maxDetails) { violations.push({ rule: rule, selector: describe(el), message: message }); }" +
+        "}" +
+        "function describe(el) {" +
+        "  var parts = [];" +
+        "  for (var e = el; e && e.nodeType === 1 && parts.length < 4; e = e.parentElement) {" +
+        "    var part = e.tagName.toLowerCase();" +
+        "    if (e.id) { parts.unshift(part + '#' + e.id); break; }" +
+        "    var index = 1;" +
+        "    for (var s = e.previousElementSibling; s; s = s.previousElementSibling) { if (s.tagName === e.tagName) { index++; } }" +
+        "    parts.unshift(part + ':nth-of-type(' + index + ')');" +
+        "  }" +
+        "  return parts.join(' > ');" +
+        "}" +
+        "function rendered(el, style) {" +
+        "  return style.display !== 'none' && style.visibility !== 'hidden' && el.getClientRects().length > 0;" +
+        "}" +
+        "function parseColor(value) {" +
+        "  var m = /rgba?\\(([^)]+)\\)/.exec(value || '');" +
+        "  if (!m) { return null; }" +
+        "  var p = m[1].split(/[\\s,\\/]+/).filter(function (x) { return x.length; }).map(parseFloat);" +
+        "  return [p[0], p[1], p[2], p.length > 3 ? p[3] : 1];" +
+        "}" +
+        "function blend(top, bottom) {" +
+        "  var a = top[3];" +
+        "  return [top[0] * a + bottom[0] * (1 - a), top[1] * a + bottom[1] * (1 - a), top[2] * a + bottom[2] * (1 - a), 1];" +
+        "}" +
+        "var backgrounds = new Map();" +
+        "function background(el) {" +
+        "  if (!el) { return [255, 255, 255, 1]; }" +
+        "  if (backgrounds.has(el)) { return backgrounds.get(el); }" +
+        "  var style = getComputedStyle(el), result;" +
+        "  if (style.backgroundImage && style.backgroundImage !== 'none') { result = null; }" +
+        "  else {" +
+        "    var under = background(el.parentElement), color = parseColor(style.backgroundColor);" +
+        "    result = under === null ? null : (!color || color[3] === 0 ? under : blend(color, under));" +
+        "  }" +
+        "  backgrounds.set(el, result);" +
+        "  return result;" +
+        "}" +
+        "function luminance(c) {" +
+        "  var rgb = c.slice(0, 3).map(function (v) {" +
+        "    v = v / 255; return v <= 0.03928 ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4);" +
+        "  });" +
+        "  return 0.2126 * rgb[0] + 0.7152 * rgb[1] + 0.0722 * rgb[2];" +
+        "}" +
+        "function ownText(el) {" +
+        "  for (var c = el.firstChild; c; c = c.nextSibling) {" +
+        "    if (c.nodeType === 3 && c.nodeValue.trim().length) { return true; }" +
+        "  }" +
+        "  return false;" +
+        "}" +
+        "function labelled(el) {" +
+        "  if ((el.getAttribute('aria-label') || '').trim() || el.getAttribute('aria-labelledby')" +
+        "      || (el.getAttribute('title') || '').trim()) { return true; }" +
+        "  if (el.labels && el.labels.length) { return true; }" +
+        "  return !!el.closest('label');" +
+        "}" +
+        "var unlabelledTypes = { hidden: 1, submit: 1, reset: 1, button: 1, image: 1 };" +
+        "var scanned = 0, focusable = 0, previousLevel = 0;" +
+        "var walker = document.createTreeWalker(document.body || document.documentElement, NodeFilter.SHOW_ELEMENT);" +
+        "for (var el = walker.currentNode; el; el = walker.nextNode()) {" +
+        "  scanned++;" +
+        "  var tag = el.tagName.toLowerCase(), style = null;" +
+        "  if (tag === 'script' || tag === 'style' || tag === 'noscript' || tag === 'template') { continue; }" +
+        "  if (tag === 'img') {" +
+        "    var alt = el.getAttribute('alt'), role = el.getAttribute('role');" +
+        "    var decorative = role === 'presentation' || role === 'none' || el.getAttribute('aria-hidden') === 'true';" +
+        "    if (alt === null) { report('image-alt', el, 'Image has no alt attribute'); }" +
+        "    else if (!alt.trim() && !decorative) { report('image-alt', el, 'Empty alt on an image not marked presentational'); }" +
+        "  }" +
+        "  if ((tag === 'input' && !unlabelledTypes[(el.type || '').toLowerCase()]) || tag === 'select' || tag === 'textarea') {" +
+        "    if (!labelled(el)) { report('label', el, 'Form control has no associated label'); }" +
+        "  }" +
+        "  if (/^h[1-6]$/.test(tag)) {" +
+        "    var level = parseInt(tag.charAt(1), 10);" +
+        "    if (level > previousLevel + 1) { report('heading-order', el, 'h' + level + ' follows ' + (previousLevel ? 'h' + previousLevel : 'no heading')); }" +
+        "    previousLevel = level;" +
+        "  }" +
+        "  if (el.tabIndex >= 0 && !el.disabled) {" +
+        "    style = style || getComputedStyle(el);" +
+        "    if (rendered(el, style)) {" +
+        "      focusable++;" +
+        "      if (el.tabIndex > 0) { report('focus-order', el, 'Positive tabindex ' + el.tabIndex + ' overrides document focus order'); }" +
+        "      if (el.closest('[aria-hidden=\"true\"]')) { report('focus-order', el, 'Focusable element inside aria-hidden content'); }" +
+        "    }" +
+        "  }" +
+        "  if (ownText(el)) {" +
+        "    style = style || getComputedStyle(el);" +
+        "    if (!rendered(el, style) || parseFloat(style.opacity) === 0) { continue; }" +
+        "    var bg = background(el), fg = parseColor(style.color);" +
+        "    if (!bg || !fg) { continue; }" +
+        "    var l1 = luminance(blend(fg, bg)), l2 = luminance(bg);" +
+        "    var ratio = (Math.max(l1, l2) + 0.05) / (Math.min(l1, l2) + 0.05);" +
+        "    var size = parseFloat(style.fontSize), bold = parseInt(style.fontWeight, 10) >= 700;" +
+        "    var required = size >= 24 || (bold && size >= 18.66) ? 3 : 4.5;" +
+        "    if (ratio < required) {" +
+        "      report('color-contrast', el, 'Contrast ' + ratio.toFixed(2) + ':1 is below ' + required + ':1');" +
+        "    }" +
+        "  }" +
+        "}" +
+        "window.__a11yAudit = hash;" +
+        "return { hash: hash, cached: false, url: location.href, millis: Math.round(performance.now() - begin)," +
+        "         scanned: scanned, focusable: focusable, violations: violations, counts: counts };";
+
+    private static final Map<String, AccessibilityReport> REPORTS = new ConcurrentHashMap<>();
+
+    private AccessibilityAudit() {
+    }
+
+    /**
+     * Audit the current page, reusing the report if the page content is unchanged
+     */
+    public static AccessibilityReport audit(WebDriver driver) {
+        Map<String, Object> result = run(driver, false);
+        if (Boolean.TRUE.equals(result.get("cached"))) {
+            AccessibilityReport cached = REPORTS.get((String) result.get("hash"));
+            if (cached != null) {
+                return cached;
+            }
+            // Page still remembers a report this JVM has evicted - audit again
+            result = run(driver, true);
+        }
+        AccessibilityReport report = toReport(result);
+        if (REPORTS.size() >= MAX_CACHED_REPORTS) {
+            REPORTS.clear();
+        }
+        REPORTS.put(report.getPageHash(), report);
+        return report;
+    }
+
+    /**
+     * Drop all cached reports
+     */
+    public static void clearCache() {
+        REPORTS.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> run(WebDriver driver, boolean force) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        return (Map<String, Object>) js.executeScript(AUDIT_SCRIPT, force, MAX_DETAILS_PER_RULE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AccessibilityReport toReport(Map<String, Object> result) {
+        List<AccessibilityReport.Violation> violations = new ArrayList<>();
+        for (Object item : (List<Object>) result.get("violations")) {
+            Map<String, Object> violation = (Map<String, Object>) item;
+            violations.add(new AccessibilityReport.Violation(
+                (String) violation.get("rule"),
+                (String) violation.get("selector"),
+                (String) violation.get("message")));
+        }
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) result.get("counts")).entrySet()) {
+            counts.put(entry.getKey(), ((Number) entry.getValue()).intValue());
+        }
+
+        return new AccessibilityReport(
+            (String) result.get("hash"),
+            (String) result.get("url"),
+            ((Number) result.get("millis")).longValue(),
+            ((Number) result.get("scanned")).intValue(),
+            ((Number) result.get("focusable")).intValue(),
+            violations,
+            counts);
+    }
+}
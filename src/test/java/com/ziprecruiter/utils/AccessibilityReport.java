@@ -0,0 +1,153 @@
+package com.ziprecruiter.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AccessibilityReport - Violations found by one AccessibilityAudit pass
+ *
+ * Holds every violation found on the page, grouped by rule, plus what the
+ * audit scanned. Per rule at most AccessibilityAudit.MAX_DETAILS_PER_RULE
+ * violations carry details; getViolationCount() always has the full count.
+ */
+public class AccessibilityReport {
+
+    public static final String IMAGE_ALT = "image-alt";
+    public static final String LABEL = "label";
+    public static final String HEADING_ORDER = "heading-order";
+    public static final String COLOR_CONTRAST = "color-contrast";
+    public static final String FOCUS_ORDER = "focus-order";
+
+    private final String pageHash;
+    private final String url;
+    private final long auditMillis;
+    private final int elementsScanned;
+    private final int focusableCount;
+    private final List<Violation> violations;
+    private final Map<String, Integer> violationCounts;
+
+    public AccessibilityReport(String pageHash, String url, long auditMillis, int elementsScanned,
+                               int focusableCount, List<Violation> violations,
+                               Map<String, Integer> violationCounts) {
+        this.pageHash = pageHash;
+        this.url = url;
+        this.auditMillis = auditMillis;
+        this.elementsScanned = elementsScanned;
+        this.focusableCount = focusableCount;
+        this.violations = Collections.unmodifiableList(violations);
+        this.violationCounts = Collections.unmodifiableMap(violationCounts);
+    }
+
+    /**
+     * Get hash of the page content the audit ran against
+     */
+    public String getPageHash() { return pageHash; }
+
+    /**
+     * Get URL of the audited page
+     */
+    public String getUrl() { return url; }
+
+    /**
+     * Get time the in-page audit took, in milliseconds
+     */
+    public long getAuditMillis() { return auditMillis; }
+
+    /**
+     * Get number of elements walked
+     */
+    public int getElementsScanned() { return elementsScanned; }
+
+    /**
+     * Get number of visible, keyboard-focusable elements
+     */
+    public int getFocusableCount() { return focusableCount; }
+
+    /**
+     * Get detailed violations for all rules
+     */
+    public List<Violation> getViolations() { return violations; }
+
+    /**
+     * Get detailed violations for one rule
+     */
+    public List<Violation> getViolations(String rule) {
+        List<Violation> matching = new ArrayList<>();
+        for (Violation violation : violations) {
+            if (violation.getRule().equals(rule)) {
+                matching.add(violation);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Get total number of violations of one rule
+     */
+    public int getViolationCount(String rule) { return violationCounts.getOrDefault(rule, 0); }
+
+    /**
+     * Check if one rule has any violations
+     */
+    public boolean hasViolations(String rule) { return getViolationCount(rule) > 0; }
+
+    /**
+     * Check if no rule has any violations
+     */
+    public boolean isClean() {
+        for (int count : violationCounts.values()) {
+            if (count > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("Accessibility audit of ").append(url)
+            .append(": ").append(elementsScanned).append(" elements in ").append(auditMillis).append("ms")
+            .append(", violations=").append(violationCounts);
+        for (Violation violation : violations) {
+            report.append(System.lineSeparator()).append("  ").append(violation);
+        }
+        return report.toString();
+    }
+
+    /**
+     * One failed check on one element
+     */
+    public static class Violation {
+        private final String rule;
+        private final String selector;
+        private final String message;
+
+        public Violation(String rule, String selector, String message) {
+            this.rule = rule;
+            this.selector = selector;
+            this.message = message;
+        }
+
+        /**
+         * Get rule id, e.g. AccessibilityReport.COLOR_CONTRAST
+         */
+        public String getRule() { return rule; }
+
+        /**
+         * Get short CSS path of the offending element
+         */
+        public String getSelector() { return selector; }
+
+        /**
+         * Get what is wrong
+         */
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "[" + rule + "] " + selector + ": " + message;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.ziprecruiter.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AdaptiveLocatorCache - Remembers which fallback selector matched on a page
+ *
+ * Page objects describe elements with fallback selectors, either comma-joined
+ * in one CSS locator (".next-page, .pagination-next, [data-testid='next']")
+ * or as a list of locators. Each cache belongs to one page class and
+ * remembers, per URL pattern, which alternative last matched. The next lookup
+ * evaluates that alternative first and only falls back to the full list, in
+ * declaration order, when it no longer matches.
+ *
+ * The URL pattern is host plus path with digit runs collapsed to "{n}", so
+ * /jobs/123 and /jobs/456 share an entry. It is computed in the page by the
+ * same script that does the lookup, so a lookup is always one round trip.
+ *
+ * narrow() runs no script: it returns a locator whose every find is that same
+ * one-round-trip lookup, so it follows the remembered alternative of whatever
+ * page it is used on. The lookup does not wait; only when no alternative
+ * matches does the locator fall back to the plain selector list under the
+ * implicit wait, exactly as the un-narrowed locator would.
+ *
+ * A hit is a lookup answered by the remembered alternative; a miss is a
+ * lookup that had to evaluate the full list (nothing remembered yet, or the
+ * remembered alternative stopped matching).
+ */
+public class AdaptiveLocatorCache {
+
+    // Tries the remembered alternative for this URL pattern, then the rest in order
+    private static final String LOOKUP_SCRIPT =
+        "var selectors = arguments[0], preferred = arguments[1], root = arguments[2] || document;" +
+        "var pattern = location.host + location.pathname.replace(/\\d+/g, '{n}');" +
+        "function query(i) {" +
+        "  try { return root.querySelectorAll(selectors[i]); } catch (e) { return []; }" +
+        "}" +
+        "var first = preferred.hasOwnProperty(pattern) ? preferred[pattern] : -1;" +
+        "if (first >= 0 && first < selectors.length) {" +
+        "  var remembered = query(first);" +
+        "  if (remembered.length > 0) {" +
+        "    return { pattern: pattern, index: first, hit: true, elements: Array.prototype.slice.call(remembered) };" +
+        "  }" +
+        "}" +
+        "for (var i = 0; i < selectors.length; i++) {" +
+        "  if (i === first) { continue; }" +
+        "  var matches = query(i);" +
+        "  if (matches.length > 0) {" +
+        "    return { pattern: pattern, index: i, hit: false, elements: Array.prototype.slice.call(matches) };" +
+        "  }" +
+        "}" +
+        "return { pattern: pattern, index: -1, hit: false, elements: [] };";
+
+    private static final Map<String, AdaptiveLocatorCache> CACHES = new ConcurrentHashMap<>();
+
+    private final String pageName;
+    // locator key -> URL pattern -> index of the alternative that matched
+    private final Map<String, Map<String, Integer>> preferred = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private AdaptiveLocatorCache(String pageName) {
+        this.pageName = pageName;
+    }
+
+    /**
+     * Get the shared cache for a page class
+     */
+    public static AdaptiveLocatorCache forPage(Class<?> pageClass) {
+        return CACHES.computeIfAbsent(pageClass.getName(), AdaptiveLocatorCache::new);
+    }
+
+    /**
+     * Find the elements matched by the first matching alternative of a
+     * comma-joined CSS locator (empty if none match)
+     */
+    public List<WebElement> findAll(WebDriver driver, By locator) {
+        return lookup(driver, splitSelectorList(ElementUtils.toCssSelector(locator)), null);
+    }
+
+    /**
+     * Find the elements matched by the first matching locator of a fallback list (empty if none match)
+     */
+    public List<WebElement> findAll(WebDriver driver, List<By> locators) {
+        List<String> selectors = new ArrayList<>(locators.size());
+        for (By locator : locators) {
+            selectors.add(ElementUtils.toCssSelector(locator));
+        }
+        return lookup(driver, selectors, null);
+    }
+
+    /**
+     * Find the first element matched by a comma-joined CSS locator, or null if none match
+     */
+    public WebElement findFirst(WebDriver driver, By locator) {
+        List<WebElement> elements = findAll(driver, locator);
+        return elements.isEmpty() ? null : elements.get(0);
+    }
+
+    /**
+     * Narrow a comma-joined CSS locator to the alternative remembered for the
+     * current URL pattern, so later waits and clicks evaluate that one first.
+     * Runs no script itself. Returns the locator unchanged if it has a single
+     * alternative or no CSS form.
+     */
+    public By narrow(WebDriver driver, By locator) {
+        List<String> alternatives;
+        try {
+            alternatives = splitSelectorList(ElementUtils.toCssSelector(locator));
+        } catch (IllegalArgumentException e) {
+            return locator;
+        }
+        if (alternatives.size() < 2) {
+            return locator;
+        }
+        return new Narrowed(driver, locator, alternatives);
+    }
+
+    /**
+     * Get number of lookups answered by the remembered alternative
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get number of lookups that evaluated the full fallback list
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get share of lookups answered by the remembered alternative (0 when unused)
+     */
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    /**
+     * Forget everything this page has learned and reset its statistics
+     */
+    public void clear() {
+        preferred.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Get a printable per-page report of cache hits and misses
+     */
+    public static String getReport() {
+        StringBuilder report = new StringBuilder("Adaptive locator cache:");
+        for (Map.Entry<String, AdaptiveLocatorCache> entry : new TreeMap<>(CACHES).entrySet()) {
+            AdaptiveLocatorCache cache = entry.getValue();
+            report.append(System.lineSeparator())
+                  .append("  ").append(entry.getKey())
+                  .append(": hits=").append(cache.getHits())
+                  .append(", misses=").append(cache.getMisses())
+                  .append(", hitRate=").append(String.format("%.1f%%", cache.getHitRate() * 100));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Split a CSS selector list on its top-level commas, leaving commas inside
+     * brackets, parentheses and quotes alone
+     */
+    public static List<String> splitSelectorList(String selectorList) {
+        List<String> alternatives = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        int start = 0;
+        for (int i = 0; i < selectorList.length(); i++) {
+            char c = selectorList.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[' || c == '(') {
+                depth++;
+            } else if (c == ']' || c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                addAlternative(alternatives, selectorList.substring(start, i));
+                start = i + 1;
+            }
+        }
+        addAlternative(alternatives, selectorList.substring(start));
+        return alternatives;
+    }
+
+    private static void addAlternative(List<String> alternatives, String alternative) {
+        String trimmed = alternative.trim();
+        if (!trimmed.isEmpty()) {
+            alternatives.add(trimmed);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WebElement> lookup(WebDriver driver, List<String> selectors, WebElement root) {
+        // Lookups inside an element learn separately from page-wide ones
+        String key = String.join("\u0000", selectors) + (root == null ? "" : "\u0000(in element)");
+        Map<String, Integer> byPattern = preferred.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Map<String, Object> result = (Map<String, Object>) js.executeScript(LOOKUP_SCRIPT, selectors, byPattern, root);
+
+        int index = ((Number) result.get("index")).intValue();
+        if (Boolean.TRUE.equals(result.get("hit"))) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            String pattern = (String) result.get("pattern");
+            if (index >= 0) {
+                byPattern.put(pattern, index);
+            } else {
+                byPattern.remove(pattern);
+            }
+        }
+
+        List<WebElement> elements = new ArrayList<>();
+        for (Object element : (List<Object>) result.get("elements")) {
+            elements.add((WebElement) element);
+        }
+        return Collections.unmodifiableList(elements);
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveLocatorCache{" +
+                "page=" + pageName +
+                ", hits=" + hits.get() +
+                ", misses=" + misses.get() +
+                '}';
+    }
+
+    /**
+     * A fallback locator narrowed to the alternative remembered for the page it
+     * is used on. Every find is one lookup script, which does not wait, so a
+     * remembered alternative that stopped matching falls back to the rest of
+     * the list at once. Only when nothing matches does it use the original
+     * locator, under the implicit wait. Not Remotable on purpose: the driver
+     * must call findElements() here.
+     */
+    private final class Narrowed extends By {
+        private final WebDriver driver;
+        private final By original;
+        private final List<String> alternatives;
+
+        Narrowed(WebDriver driver, By original, List<String> alternatives) {
+            this.driver = driver;
+            this.original = original;
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        public List<WebElement> findElements(SearchContext context) {
+            WebElement root = null;
+            if (context instanceof WebElement) {
+                root = (WebElement) context;
+            } else if (context != driver) {
+                return context.findElements(original);
+            }
+            List<WebElement> elements = lookup(driver, alternatives, root);
+            if (!elements.isEmpty()) {
+                return elements;
+            }
+            // Nothing rendered yet: wait for it the way the plain locator does
+            return context.findElements(original);
+        }
+
+        @Override
+        public String toString() {
+            return original + " (narrowed by URL pattern, " + alternatives.size() + " alternatives)";
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.ziprecruiter.utils;
+
+import com.ziprecruiter.config.ConfigManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BulkExtractor - Reads text, attributes and computed styles of every match in one call
+ *
+ * Calling getText()/getAttribute() on each element of a findElements() result
+ * costs one HTTP round trip per element and property. BulkExtractor runs a
+ * single script that locates the matches (CSS or XPath) and reads everything
+ * requested from each of them, returning one ExtractedElement per match in
+ * document order. A 50-card results page is read in one round trip instead
+ * of 50+.
+ *
+ * Like findElements() under the implicit wait, an empty result is re-read
+ * after each DOM change until something matches or the implicit wait
+ * passes, and an invalid selector throws InvalidSelectorException.
+ *
+ * Text follows WebElement.getText(): rendered text, trimmed, and empty for
+ * hidden elements. Attributes follow WebElement.getAttribute(): the property
+ * of that name when it is a plain value, otherwise the attribute.
+ */
+public class BulkExtractor {
+
+    private static final String EXTRACT_SCRIPT =
+        "var using = arguments[0], value = arguments[1], attributes = arguments[2], styles = arguments[3];" +
+        "var withElements = arguments[4];" +
+        "var matches = [];" +
+        "try {" +
+        "  if (using === 'xpath') {" +
+        "    var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+        "    for (var k = 0; k < snapshot.snapshotLength; k++) {" +
+        "      if (snapshot.snapshotItem(k).nodeType === 1) { matches.push(snapshot.snapshotItem(k)); }" +
+        "    }" +
+        "  } else {" +
+        "    matches = Array.prototype.slice.call(document.querySelectorAll(value));" +
+        "  }" +
+        "} catch (e) { return { invalidSelector: String(e && e.message || e) }; }" +
+        "function visible(el, style) {" +
+        "  if (style.display === 'none' || style.visibility === 'hidden' || style.visibility === 'collapse'" +
+        "      || parseFloat(style.opacity) === 0) { return false; }" +
+        "  return el.getClientRects().length > 0;" +
+        "}" +
+        "function attribute(el, name) {" +
+        "  var property = el[name];" +
+        "  if (name in el && (typeof property === 'string' || typeof property === 'number')) { return String(property); }" +
+        "  if (typeof property === 'boolean') { return property ? 'true' : null; }" +
+        "  return el.getAttribute(name);" +
+        "}" +
+        "return matches.map(function (el) {" +
+        "  var style = window.getComputedStyle(el);" +
+        "  var shown = visible(el, style);" +
+        "  var text = shown ? (el.innerText || el.textContent || '') : '';" +
+        "  var attrs = {}, css = {};" +
+        "  for (var i = 0; i < attributes.length; i++) {" +
+        "    var v = attribute(el, attributes[i]);" +
+        "    if (v !== null && v !== undefined) { attrs[attributes[i]] = v; }" +
+        "  }" +
+        "  for (var j = 0; j < styles.length; j++) { css[styles[j]] = style.getPropertyValue(styles[j]); }" +
+        "  return { tag: el.tagName.toLowerCase(), text: text.replace(/\\u00a0/g, ' ').trim()," +
+        "           displayed: shown, attributes: attrs, styles: css, element: withElements ? el : null };" +
+        "});";
+
+    private BulkExtractor() {
+    }
+
+    /**
+     * Read text, the given attributes and computed styles, and optionally the
+     * element handles, for every element the locator matches
+     */
+    @SuppressWarnings("unchecked")
+    public static List<ExtractedElement> extract(WebDriver driver, By locator, List<String> attributes,
+                                                 List<String> styles, boolean withElements) {
+        String[] query = toQuery(locator);
+        long deadline = System.currentTimeMillis() + ConfigManager.getImplicitWait() * 1000L;
+        List<Object> rows = readOrEmpty(driver, query, attributes, styles, withElements);
+        while (rows.isEmpty()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return Collections.emptyList();
+            }
+            Settle.forDomMutation(driver, remaining);
+            rows = readOrEmpty(driver, query, attributes, styles, withElements);
+        }
+
+        List<ExtractedElement> extracted = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> row = (Map<String, Object>) rows.get(i);
+            extracted.add(new ExtractedElement(i,
+                (String) row.get("tag"),
+                (String) row.get("text"),
+                Boolean.TRUE.equals(row.get("displayed")),
+                toStringMap((Map<String, Object>) row.get("attributes")),
+                toStringMap((Map<String, Object>) row.get("styles")),
+                (WebElement) row.get("element")));
+        }
+        return extracted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> readOrEmpty(WebDriver driver, String[] query, List<String> attributes,
+                                            List<String> styles, boolean withElements) {
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeScript(EXTRACT_SCRIPT, query[0], query[1],
+                attributes, styles, withElements);
+        } catch (NoSuchSessionException | NoSuchWindowException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            // Document replaced mid-read by a navigation - nothing rendered yet
+            return Collections.emptyList();
+        }
+        if (result instanceof Map) {
+            throw new InvalidSelectorException("Invalid selector " + query[1] + ": "
+                + ((Map<String, Object>) result).get("invalidSelector"));
+        }
+        return result == null ? Collections.emptyList() : (List<Object>) result;
+    }
+
+    /**
+     * Read text and the given attributes for every element the locator matches
+     */
+    public static List<ExtractedElement> extract(WebDriver driver, By locator, String... attributes) {
+        return extract(driver, locator, Arrays.asList(attributes), Collections.emptyList(), false);
+    }
+
+    /**
+     * Read text and element handles for every element the locator matches
+     */
+    public static List<ExtractedElement> extractWithElements(WebDriver driver, By locator) {
+        return extract(driver, locator, Collections.emptyList(), Collections.emptyList(), true);
+    }
+
+    /**
+     * Get the rendered text of every element the locator matches
+     */
+    public static List<String> getTexts(WebDriver driver, By locator) {
+        List<String> texts = new ArrayList<>();
+        for (ExtractedElement element : extract(driver, locator)) {
+            texts.add(element.getText());
+        }
+        return texts;
+    }
+
+    /**
+     * Get one attribute of every element the locator matches (null where absent)
+     */
+    public static List<String> getAttributes(WebDriver driver, By locator, String attribute) {
+        List<String> values = new ArrayList<>();
+        for (ExtractedElement element : extract(driver, locator, attribute)) {
+            values.add(element.getAttribute(attribute));
+        }
+        return values;
+    }
+
+    /**
+     * Get one computed style of every element the locator matches
+     */
+    public static List<String> getCssValues(WebDriver driver, By locator, String property) {
+        List<String> values = new ArrayList<>();
+        for (ExtractedElement element : extract(driver, locator, Collections.emptyList(),
+                Collections.singletonList(property), false)) {
+            values.add(element.getCssValue(property));
+        }
+        return values;
+    }
+
+    /**
+     * Get the in-page query for a locator as {using, value}, CSS or XPath
+     */
+    private static String[] toQuery(By locator) {
+        if (locator instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            if ("xpath".equals(parameters.using())) {
+                return new String[] {"xpath", String.valueOf(parameters.value())};
+            }
+        }
+        return new String[] {"css", ElementUtils.toCssSelector(locator)};
+    }
+
+    private static Map<String, String> toStringMap(Map<String, Object> values) {
+        Map<String, String> strings = new LinkedHashMap<>();
+        if (values != null) {
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                strings.put(entry.getKey(), String.valueOf(entry.getValue()));
+            }
+        }
+        return strings;
+    }
+}
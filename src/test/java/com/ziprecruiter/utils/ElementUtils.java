@@ -1,5 +1,6 @@
 package com.ziprecruiter.utils;
 
+import com.ziprecruiter.config.ConfigManager;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -8,7 +9,15 @@ import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriverException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * ElementUtils - Utility class for element interactions
@@ -18,6 +27,33 @@ import java.util.List;
  */
 public class ElementUtils {
     
+    // Runs every selector, dedupes matches and counts hits per selector in one round trip
+    private static final String RESOLVE_SCRIPT =
+        "var selectors = arguments[0], withElements = arguments[1];" +
+        "function visible(el) {" +
+        "  var style = window.getComputedStyle(el);" +
+        "  if (style.display === 'none' || style.visibility === 'hidden' || style.visibility === 'collapse'" +
+        "      || parseFloat(style.opacity) === 0) { return false; }" +
+        "  return el.getClientRects().length > 0;" +
+        "}" +
+        "var seen = new Set(), elements = [], hits = [], visibleHits = [];" +
+        "for (var i = 0; i < selectors.length; i++) {" +
+        "  var matches;" +
+        "  try { matches = document.querySelectorAll(selectors[i]); }" +
+        "  catch (e) { hits.push(0); visibleHits.push(0); continue; }" +
+        "  var shown = 0;" +
+        "  for (var j = 0; j < matches.length; j++) {" +
+        "    if (visible(matches[j])) { shown++; }" +
+        "    if (!seen.has(matches[j])) { seen.add(matches[j]); elements.push(matches[j]); }" +
+        "  }" +
+        "  hits.push(matches.length);" +
+        "  visibleHits.push(shown);" +
+        "}" +
+        "elements.sort(function (a, b) {" +
+        "  return a.compareDocumentPosition(b) & Node.DOCUMENT_POSITION_FOLLOWING ? -1 : 1;" +
+        "});" +
+        "return { elements: withElements ? elements : [], hits: hits, visibleHits: visibleHits, unique: seen.size };";
+    
     /**
      * Find element by locator
      */
@@ -352,6 +388,129 @@ public class ElementUtils {
         }
     }
     
+    /**
+     * Resolve several CSS locators in a single round trip and return the
+     * deduplicated matching elements plus per-locator hit counts
+     */
+    public static LocatorResolution resolveAll(WebDriver driver, List<By> locators) {
+        return resolve(driver, locators, true);
+    }
+    
+    /**
+     * Resolve several CSS locators in a single round trip
+     */
+    public static LocatorResolution resolveAll(WebDriver driver, By... locators) {
+        return resolve(driver, Arrays.asList(locators), true);
+    }
+    
+    /**
+     * Count matches of several CSS locators in a single round trip without
+     * transferring element handles
+     */
+    public static LocatorResolution countAll(WebDriver driver, List<By> locators) {
+        return resolve(driver, locators, false);
+    }
+    
+    /**
+     * Count matches of several CSS locators in a single round trip
+     */
+    public static LocatorResolution countAll(WebDriver driver, By... locators) {
+        return resolve(driver, Arrays.asList(locators), false);
+    }
+    
+    /**
+     * Count matches of several CSS locators, re-counting whenever the DOM changes
+     * until the condition holds or the implicit-wait timeout passes. Returns the
+     * last count, so callers see the same result a single countAll would give
+     * once the page has had the time an implicit wait allows.
+     */
+    public static LocatorResolution countAllWhen(WebDriver driver, Predicate<LocatorResolution> condition,
+                                                 List<By> locators) {
+        long deadline = System.currentTimeMillis() + ConfigManager.getImplicitWait() * 1000L;
+        LocatorResolution resolution = countAllOrEmpty(driver, locators);
+        while (!condition.test(resolution)) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return resolution;
+            }
+            Settle.forDomMutation(driver, remaining);
+            resolution = countAllOrEmpty(driver, locators);
+        }
+        return resolution;
+    }
+    
+    /**
+     * Count matches until at least one of the locators matches a visible element
+     */
+    public static LocatorResolution countAllWhenVisible(WebDriver driver, By... locators) {
+        List<By> list = Arrays.asList(locators);
+        return countAllWhen(driver, resolution -> list.stream().anyMatch(resolution::isVisible), list);
+    }
+    
+    /**
+     * Count matches until any of the locators matches at least one element
+     */
+    public static LocatorResolution countAllWhenPresent(WebDriver driver, List<By> locators) {
+        return countAllWhen(driver, resolution -> !resolution.isEmpty(), locators);
+    }
+    
+    /**
+     * Count matches until any of the locators matches at least one element
+     */
+    public static LocatorResolution countAllWhenPresent(WebDriver driver, By... locators) {
+        return countAllWhenPresent(driver, Arrays.asList(locators));
+    }
+    
+    private static LocatorResolution countAllOrEmpty(WebDriver driver, List<By> locators) {
+        try {
+            return countAll(driver, locators);
+        } catch (NoSuchSessionException | NoSuchWindowException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            // Document replaced mid-count by a navigation - nothing rendered yet
+            return new LocatorResolution(new ArrayList<>(), new LinkedHashMap<>(), new LinkedHashMap<>(), 0);
+        }
+    }
+    
+    /**
+     * Get the CSS selector behind a locator, for evaluation inside the page
+     */
+    public static String toCssSelector(By locator) {
+        if (locator instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            if ("css selector".equals(parameters.using()) || "tag name".equals(parameters.using())) {
+                return String.valueOf(parameters.value());
+            }
+        }
+        throw new IllegalArgumentException("Locator has no CSS form: " + locator);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static LocatorResolution resolve(WebDriver driver, List<By> locators, boolean withElements) {
+        List<String> selectors = new ArrayList<>(locators.size());
+        for (By locator : locators) {
+            selectors.add(toCssSelector(locator));
+        }
+        
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Map<String, Object> result = (Map<String, Object>) js.executeScript(RESOLVE_SCRIPT, selectors, withElements);
+        
+        List<Object> hits = (List<Object>) result.get("hits");
+        List<Object> visibleHits = (List<Object>) result.get("visibleHits");
+        Map<By, Integer> hitCounts = new LinkedHashMap<>();
+        Map<By, Integer> visibleCounts = new LinkedHashMap<>();
+        for (int i = 0; i < locators.size(); i++) {
+            hitCounts.merge(locators.get(i), ((Number) hits.get(i)).intValue(), Math::max);
+            visibleCounts.merge(locators.get(i), ((Number) visibleHits.get(i)).intValue(), Math::max);
+        }
+        
+        List<WebElement> elements = new ArrayList<>();
+        for (Object element : (List<Object>) result.get("elements")) {
+            elements.add((WebElement) element);
+        }
+        return new LocatorResolution(elements, hitCounts, visibleCounts, ((Number) result.get("unique")).intValue());
+    }
+    
     /**
      * Wait for element to be present and return it
      */
@@ -0,0 +1,91 @@
+package com.ziprecruiter.utils;
+
+import org.openqa.selenium.WebElement;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * ExtractedElement - Snapshot of one element read by BulkExtractor
+ *
+ * Holds the element's rendered text, tag name, visibility and whichever
+ * attributes and computed styles were requested, all read in the same
+ * script call. The element handle is only present when it was requested.
+ */
+public class ExtractedElement {
+
+    private final int index;
+    private final String tagName;
+    private final String text;
+    private final boolean displayed;
+    private final Map<String, String> attributes;
+    private final Map<String, String> styles;
+    private final WebElement element;
+
+    public ExtractedElement(int index, String tagName, String text, boolean displayed,
+                            Map<String, String> attributes, Map<String, String> styles, WebElement element) {
+        this.index = index;
+        this.tagName = tagName;
+        this.text = text;
+        this.displayed = displayed;
+        this.attributes = Collections.unmodifiableMap(attributes);
+        this.styles = Collections.unmodifiableMap(styles);
+        this.element = element;
+    }
+
+    /**
+     * Get position of the element among the locator's matches
+     */
+    public int getIndex() { return index; }
+
+    /**
+     * Get lower-case tag name
+     */
+    public String getTagName() { return tagName; }
+
+    /**
+     * Get rendered text, trimmed; empty for hidden elements, like WebElement.getText()
+     */
+    public String getText() { return text; }
+
+    /**
+     * Check if the element was rendered and visible
+     */
+    public boolean isDisplayed() { return displayed; }
+
+    /**
+     * Get a requested attribute (or property of the same name), or null if absent
+     */
+    public String getAttribute(String name) { return attributes.get(name); }
+
+    /**
+     * Get all requested attributes that were present
+     */
+    public Map<String, String> getAttributes() { return attributes; }
+
+    /**
+     * Get a requested computed style value, or null if it was not requested
+     */
+    public String getCssValue(String property) { return styles.get(property); }
+
+    /**
+     * Get all requested computed style values
+     */
+    public Map<String, String> getStyles() { return styles; }
+
+    /**
+     * Get the element handle, or null if handles were not requested
+     */
+    public WebElement getElement() { return element; }
+
+    @Override
+    public String toString() {
+        return "ExtractedElement{" +
+                "index=" + index +
+                ", tagName='" + tagName + '\'' +
+                ", text='" + text + '\'' +
+                ", displayed=" + displayed +
+                ", attributes=" + attributes +
+                ", styles=" + styles +
+                '}';
+    }
+}
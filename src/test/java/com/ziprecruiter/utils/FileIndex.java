@@ -0,0 +1,369 @@
+package com.ziprecruiter.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FileIndex - Incrementally maintained listing of a directory tree
+ *
+ * Keeps size and modification time of every file under a root without
+ * listing the tree each time. The index is saved to root/.file-index
+ * together with each directory's modification time; when it is opened again
+ * only directories whose modification time changed are listed. While open,
+ * a WatchService applies creations and deletions as they happen, and
+ * refresh() drains those events without touching the disk otherwise.
+ *
+ * Not thread-safe for concurrent refresh()/save() calls; HousekeepingService
+ * drives each index from its single thread.
+ */
+public class FileIndex implements AutoCloseable {
+
+    public static final String INDEX_FILE = ".file-index";
+
+    private final Path root;
+    private final Map<Path, Entry> files = new ConcurrentHashMap<>();
+    private final Map<Path, Long> directories = new ConcurrentHashMap<>();
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    private final WatchService watcher;
+    private int listedDirectories;
+
+    private FileIndex(Path root, WatchService watcher) {
+        this.root = root;
+        this.watcher = watcher;
+    }
+
+    /**
+     * Open the index of a directory, creating the directory if needed.
+     * Lists only directories that changed since the index was last saved.
+     */
+    public static FileIndex open(Path root) throws IOException {
+        Path normalized = root.toAbsolutePath().normalize();
+        Files.createDirectories(normalized);
+        WatchService watcher;
+        try {
+            watcher = normalized.getFileSystem().newWatchService();
+        } catch (UnsupportedOperationException | IOException e) {
+            // Without a watcher, refresh() falls back to checking directory times
+            watcher = null;
+        }
+        FileIndex index = new FileIndex(normalized, watcher);
+        index.load();
+        return index;
+    }
+
+    /**
+     * Get the indexed root directory
+     */
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Apply pending file system changes: watch events when watching,
+     * otherwise a directory-time check of every known directory
+     */
+    public void refresh() throws IOException {
+        if (watcher == null) {
+            for (Path directory : new ArrayList<>(directories.keySet())) {
+                reconcile(directory);
+            }
+            return;
+        }
+        WatchKey key;
+        while ((key = poll()) != null) {
+            Path directory = watchedDirectories.get(key);
+            if (directory != null) {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        listDirectory(directory);
+                        continue;
+                    }
+                    apply(directory.resolve((Path) event.context()));
+                }
+            }
+            if (!key.reset()) {
+                watchedDirectories.remove(key);
+                if (directory != null) {
+                    forgetDirectory(directory);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get indexed files, oldest first
+     */
+    public List<Entry> getEntries() {
+        List<Entry> entries = new ArrayList<>(files.values());
+        entries.sort(Comparator.comparingLong(Entry::getModifiedMillis).thenComparing(entry -> entry.getPath().toString()));
+        return entries;
+    }
+
+    /**
+     * Get total size of indexed files in bytes
+     */
+    public long getTotalBytes() {
+        long total = 0;
+        for (Entry entry : files.values()) {
+            total += entry.getSize();
+        }
+        return total;
+    }
+
+    /**
+     * Get number of indexed files
+     */
+    public int getFileCount() {
+        return files.size();
+    }
+
+    /**
+     * Get number of directories listed since the index was opened (a full scan lists all of them)
+     */
+    public int getListedDirectoryCount() {
+        return listedDirectories;
+    }
+
+    /**
+     * Delete an indexed file and drop it from the index. Returns false if it was already gone.
+     */
+    public boolean delete(Path file) throws IOException {
+        files.remove(file);
+        return Files.deleteIfExists(file);
+    }
+
+    /**
+     * Re-read one file's size and modification time from disk, dropping it if it
+     * is gone. Returns the current entry, or null if the file no longer exists.
+     */
+    public Entry update(Path file) throws IOException {
+        apply(file);
+        return files.get(file);
+    }
+
+    /**
+     * Save the index so the next open only lists changed directories
+     */
+    public void save() throws IOException {
+        // Record directory times before the last drain, so a file created in between is not lost
+        Map<Path, Long> times = new ConcurrentHashMap<>();
+        for (Path directory : directories.keySet()) {
+            try {
+                times.put(directory, Files.getLastModifiedTime(directory).toMillis());
+            } catch (NoSuchFileException e) {
+                // Removed; refresh() drops it
+            }
+        }
+        refresh();
+
+        Path indexFile = root.resolve(INDEX_FILE);
+        boolean created = !Files.exists(indexFile);
+        writeIndex(indexFile, times);
+        if (created) {
+            // Creating the index file touched the root; record that so the next open trusts it
+            times.put(root, Files.getLastModifiedTime(root).toMillis());
+            writeIndex(indexFile, times);
+        }
+    }
+
+    /**
+     * Rewrite the index file in place; replacing it would change the root's modification time
+     */
+    private void writeIndex(Path indexFile, Map<Path, Long> times) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+            for (Map.Entry<Path, Long> directory : times.entrySet()) {
+                if (directories.containsKey(directory.getKey())) {
+                    writer.write("D\t" + directory.getValue() + "\t\t" + relative(directory.getKey()));
+                    writer.newLine();
+                }
+            }
+            for (Entry entry : files.values()) {
+                writer.write("F\t" + entry.getModifiedMillis() + "\t" + entry.getSize() + "\t" + relative(entry.getPath()));
+                writer.newLine();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    private void load() throws IOException {
+        Path indexFile = root.resolve(INDEX_FILE);
+        if (!Files.exists(indexFile)) {
+            listDirectory(root);
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t", 4);
+                if (fields.length < 4) {
+                    continue;
+                }
+                Path path = root.resolve(fields[3]).normalize();
+                if ("D".equals(fields[0])) {
+                    directories.put(path, Long.parseLong(fields[1]));
+                } else if ("F".equals(fields[0])) {
+                    files.put(path, new Entry(path, Long.parseLong(fields[2]), Long.parseLong(fields[1])));
+                }
+            }
+        } catch (NumberFormatException | IOException e) {
+            // A torn or unreadable index is rebuilt from a full listing
+            directories.clear();
+            files.clear();
+        }
+        if (!directories.containsKey(root)) {
+            listDirectory(root);
+            return;
+        }
+        for (Path directory : new ArrayList<>(directories.keySet())) {
+            reconcile(directory);
+            watch(directory);
+        }
+    }
+
+    /**
+     * List a directory again only if its modification time moved
+     */
+    private void reconcile(Path directory) throws IOException {
+        Long known = directories.get(directory);
+        long current;
+        try {
+            current = Files.getLastModifiedTime(directory).toMillis();
+        } catch (NoSuchFileException e) {
+            forgetDirectory(directory);
+            return;
+        }
+        if (known == null || current != known) {
+            listDirectory(directory);
+        }
+    }
+
+    /**
+     * List one directory, replacing its entries; new subdirectories are listed recursively
+     */
+    private void listDirectory(Path directory) throws IOException {
+        listedDirectories++;
+        files.keySet().removeIf(path -> directory.equals(path.getParent()));
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            directories.put(directory, Files.getLastModifiedTime(directory).toMillis());
+            watch(directory);
+            for (Path child : stream) {
+                BasicFileAttributes attributes = Files.readAttributes(child, BasicFileAttributes.class);
+                if (attributes.isDirectory()) {
+                    if (!directories.containsKey(child)) {
+                        listDirectory(child);
+                    }
+                } else if (isIndexed(child)) {
+                    files.put(child, new Entry(child, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            forgetDirectory(directory);
+        }
+    }
+
+    private void apply(Path path) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (attributes.isDirectory()) {
+                if (!directories.containsKey(path)) {
+                    listDirectory(path);
+                }
+            } else if (isIndexed(path)) {
+                files.put(path, new Entry(path, attributes.size(), attributes.lastModifiedTime().toMillis()));
+            }
+        } catch (NoSuchFileException e) {
+            files.remove(path);
+            if (directories.containsKey(path)) {
+                forgetDirectory(path);
+            }
+        }
+    }
+
+    private void watch(Path directory) throws IOException {
+        if (watcher == null || watchedDirectories.containsValue(directory)) {
+            return;
+        }
+        try {
+            WatchKey key = directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchedDirectories.put(key, directory);
+        } catch (NoSuchFileException e) {
+            forgetDirectory(directory);
+        }
+    }
+
+    private WatchKey poll() {
+        try {
+            return watcher.poll();
+        } catch (ClosedWatchServiceException e) {
+            return null;
+        }
+    }
+
+    private void forgetDirectory(Path directory) {
+        directories.keySet().removeIf(path -> path.startsWith(directory));
+        files.keySet().removeIf(path -> path.startsWith(directory));
+        watchedDirectories.values().removeIf(path -> path.startsWith(directory));
+    }
+
+    private boolean isIndexed(Path file) {
+        String name = file.getFileName().toString();
+        return !name.equals(INDEX_FILE);
+    }
+
+    private String relative(Path path) {
+        return root.relativize(path).toString().replace('\\', '/');
+    }
+
+    @Override
+    public String toString() {
+        return "FileIndex{" +
+                "root=" + root +
+                ", files=" + files.size() +
+                ", directories=" + directories.size() +
+                ", listedDirectories=" + listedDirectories +
+                '}';
+    }
+
+    /**
+     * One indexed file
+     */
+    public static class Entry {
+        private final Path path;
+        private final long size;
+        private final long modifiedMillis;
+
+        public Entry(Path path, long size, long modifiedMillis) {
+            this.path = path;
+            this.size = size;
+            this.modifiedMillis = modifiedMillis;
+        }
+
+        public Path getPath() { return path; }
+
+        public long getSize() { return size; }
+
+        public long getModifiedMillis() { return modifiedMillis; }
+    }
+}
@@ -0,0 +1,30 @@
+package com.ziprecruiter.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HousekeepingListener - Runs HousekeepingService alongside the suite
+ *
+ * Starts background retention and compaction when the suite starts, and at
+ * the end stops it, saves the file indexes and prints what was cleaned up.
+ * Disable with -Dhousekeeping=false.
+ */
+public class HousekeepingListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (HousekeepingService.isEnabled()) {
+            HousekeepingService.getInstance().start();
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        HousekeepingService.getInstance().stop(30, TimeUnit.SECONDS);
+        if (HousekeepingService.isEnabled()) {
+            System.out.println(HousekeepingService.getInstance().getStatistics());
+        }
+    }
+}
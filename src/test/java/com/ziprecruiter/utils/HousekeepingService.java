@@ -0,0 +1,346 @@
+package com.ziprecruiter.utils;
+
+import com.ziprecruiter.config.ConfigManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * HousekeepingService - Background retention and compaction of test output
+ *
+ * Runs on one daemon thread, never on a test thread:
+ * - screenshots: files older than housekeeping.screenshots.maxAgeDays (default 7)
+ *   are deleted, then the oldest files until the directory is under
+ *   housekeeping.screenshots.maxSizeMb (default 512)
+ * - allure-results: *-result.json, *-container.json and attachments older than
+ *   housekeeping.allure.compactAfterHours (default 24) are merged into one zip
+ *   per pass under allure-archive/, so the report step parses only recent runs
+ * - allure-archive: archives older than housekeeping.archive.maxAgeDays
+ *   (default 30) are deleted
+ *
+ * Directories are tracked with FileIndex, so a pass works from the index
+ * instead of listing every file. The index can be stale (files rewritten
+ * while it was closed, or by another JVM), so each file is checked on disk
+ * before it is deleted and kept if it changed since it was indexed. Screenshot
+ * store objects (objects/) are only deleted once no remaining manifest
+ * (manifests/) points at them; the store touches an object on every reuse. HousekeepingListener starts the service with
+ * the suite, repeats passes every housekeeping.interval.seconds (default 60)
+ * and stops it at the end. Disable with -Dhousekeeping=false.
+ */
+public class HousekeepingService {
+
+    private static final long HOUR_MILLIS = 60L * 60 * 1000;
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+    private static final Pattern MANIFEST_PATH = Pattern.compile("\"path\":\"([^\"]*)\"");
+
+    private static final HousekeepingService INSTANCE = new HousekeepingService(
+        Paths.get(ConfigManager.getScreenshotDirectory()),
+        Paths.get(System.getProperty("allure.results.directory", "allure-results")),
+        Paths.get(System.getProperty("housekeeping.archive.directory", "allure-archive")));
+
+    private final Path screenshotDirectory;
+    private final Path allureResultsDirectory;
+    private final Path archiveDirectory;
+    private final Map<Path, FileIndex> indexes = new ConcurrentHashMap<>();
+    private final AtomicInteger deletedCount = new AtomicInteger();
+    private final AtomicLong freedBytes = new AtomicLong();
+    private final AtomicInteger compactedCount = new AtomicInteger();
+    private final AtomicInteger archiveCount = new AtomicInteger();
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> schedule;
+
+    public HousekeepingService(Path screenshotDirectory, Path allureResultsDirectory, Path archiveDirectory) {
+        this.screenshotDirectory = screenshotDirectory;
+        this.allureResultsDirectory = allureResultsDirectory;
+        this.archiveDirectory = archiveDirectory;
+    }
+
+    public static HousekeepingService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Check if housekeeping should run with the suite
+     */
+    public static boolean isEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("housekeeping", "true"));
+    }
+
+    /**
+     * Start periodic passes in the background; the first one runs right away
+     */
+    public synchronized void start() {
+        if (schedule != null) {
+            return;
+        }
+        long interval = Long.getLong("housekeeping.interval.seconds", 60);
+        schedule = executor().scheduleWithFixedDelay(this::runPass, 0, Math.max(1, interval), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Queue one pass now, without starting periodic passes. Returns
+     * immediately; the future completes when the pass is done.
+     */
+    public synchronized Future<?> runNow() {
+        return executor().submit(this::runPass);
+    }
+
+    /**
+     * Queue deletion of files older than the given age under a directory,
+     * without starting periodic passes
+     */
+    public synchronized Future<?> deleteOlderThan(Path directory, long maxAgeMillis) {
+        return executor().submit(() -> {
+            try {
+                applyRetention(index(directory), maxAgeMillis, Long.MAX_VALUE);
+            } catch (IOException e) {
+                System.err.println("Failed to clean " + directory + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Stop periodic passes and queued work, and save the indexes for the next run
+     */
+    public void stop(long timeout, TimeUnit unit) {
+        ScheduledExecutorService stopping;
+        synchronized (this) {
+            if (executor == null) {
+                return;
+            }
+            stopping = executor;
+            executor = null;
+            if (schedule != null) {
+                schedule.cancel(false);
+                schedule = null;
+            }
+        }
+        stopping.submit(this::closeIndexes);
+        stopping.shutdown();
+        try {
+            if (!stopping.awaitTermination(timeout, unit)) {
+                System.out.println("Housekeeping did not finish within " + timeout + " " + unit);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // The housekeeping thread, created on first use; periodic passes are only scheduled by start()
+    private ScheduledExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "housekeeping");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    private void runPass() {
+        try {
+            applyRetention(index(screenshotDirectory),
+                Long.getLong("housekeeping.screenshots.maxAgeDays", 7) * DAY_MILLIS,
+                Long.getLong("housekeeping.screenshots.maxSizeMb", 512) * 1024 * 1024);
+            compactAllureResults(index(allureResultsDirectory),
+                Long.getLong("housekeeping.allure.compactAfterHours", 24) * HOUR_MILLIS);
+            applyRetention(index(archiveDirectory),
+                Long.getLong("housekeeping.archive.maxAgeDays", 30) * DAY_MILLIS, Long.MAX_VALUE);
+        } catch (Exception e) {
+            // Never let one failed pass cancel the schedule
+            System.err.println("Housekeeping pass failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Delete files past the age limit, then the oldest ones while over the size limit.
+     * Files changed since they were indexed and store objects still referenced by a
+     * manifest are kept; deleting a manifest can release objects, so passes repeat
+     * until nothing more can go.
+     */
+    void applyRetention(FileIndex index, long maxAgeMillis, long maxBytes) throws IOException {
+        long cutoff = System.currentTimeMillis() - maxAgeMillis;
+        Path objects = index.getRoot().resolve("objects");
+        Path manifests = index.getRoot().resolve("manifests");
+        Map<Path, Set<Path>> references = null;
+        boolean deleted = true;
+        while (deleted) {
+            deleted = false;
+            long total = index.getTotalBytes();
+            for (FileIndex.Entry entry : index.getEntries()) {
+                if (entry.getModifiedMillis() >= cutoff && total <= maxBytes) {
+                    break;
+                }
+                Path path = entry.getPath();
+                if (path.startsWith(objects)) {
+                    if (references == null) {
+                        references = readManifestReferences(index, manifests);
+                    }
+                    if (references.containsKey(path)) {
+                        continue;
+                    }
+                }
+                if (!isUnchanged(index, entry)) {
+                    continue;
+                }
+                if (index.delete(path)) {
+                    deletedCount.incrementAndGet();
+                    freedBytes.addAndGet(entry.getSize());
+                    deleted = true;
+                }
+                total -= entry.getSize();
+                if (references != null && path.startsWith(manifests)) {
+                    release(references, path);
+                }
+            }
+            // Without store objects, released references cannot free anything more
+            deleted = deleted && references != null;
+        }
+    }
+
+    /**
+     * Check the file on disk still has the indexed size and modification time, updating the index if not
+     */
+    private boolean isUnchanged(FileIndex index, FileIndex.Entry entry) throws IOException {
+        FileIndex.Entry current = index.update(entry.getPath());
+        return current != null
+            && current.getModifiedMillis() == entry.getModifiedMillis()
+            && current.getSize() == entry.getSize();
+    }
+
+    /**
+     * Map each store object referenced by a manifest to the manifests referencing it
+     */
+    private Map<Path, Set<Path>> readManifestReferences(FileIndex index, Path manifests) throws IOException {
+        Map<Path, Set<Path>> references = new HashMap<>();
+        for (FileIndex.Entry entry : index.getEntries()) {
+            if (!entry.getPath().startsWith(manifests)) {
+                continue;
+            }
+            List<String> lines;
+            try {
+                lines = Files.readAllLines(entry.getPath(), StandardCharsets.UTF_8);
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+            for (String line : lines) {
+                Matcher matcher = MANIFEST_PATH.matcher(line);
+                if (matcher.find()) {
+                    Path object = index.getRoot().resolve(matcher.group(1)).normalize();
+                    references.computeIfAbsent(object, path -> new HashSet<>()).add(entry.getPath());
+                }
+            }
+        }
+        return references;
+    }
+
+    private void release(Map<Path, Set<Path>> references, Path manifest) {
+        references.values().removeIf(manifestsReferencing -> manifestsReferencing.remove(manifest)
+            && manifestsReferencing.isEmpty());
+    }
+
+    /**
+     * Merge old Allure result, container and attachment files into one archive and delete them
+     */
+    void compactAllureResults(FileIndex index, long compactAfterMillis) throws IOException {
+        long cutoff = System.currentTimeMillis() - compactAfterMillis;
+        List<FileIndex.Entry> old = new ArrayList<>();
+        for (FileIndex.Entry entry : index.getEntries()) {
+            if (entry.getModifiedMillis() >= cutoff) {
+                break;
+            }
+            // Files Allure is still writing carry no known suffix yet; categories/executor files are config
+            String name = entry.getPath().getFileName().toString();
+            if (name.endsWith("-result.json") || name.endsWith("-container.json") || name.contains("-attachment")) {
+                old.add(entry);
+            }
+        }
+        if (old.isEmpty()) {
+            return;
+        }
+
+        Files.createDirectories(archiveDirectory);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS"));
+        Path archive = archiveDirectory.resolve("allure-results-" + stamp + ".zip");
+        Path temp = archiveDirectory.resolve(archive.getFileName() + ".tmp");
+        try (OutputStream output = Files.newOutputStream(temp); ZipOutputStream zip = new ZipOutputStream(output)) {
+            for (FileIndex.Entry entry : old) {
+                ZipEntry zipEntry = new ZipEntry(index.getRoot().relativize(entry.getPath()).toString().replace('\\', '/'));
+                zipEntry.setTime(entry.getModifiedMillis());
+                zip.putNextEntry(zipEntry);
+                Files.copy(entry.getPath(), zip);
+                zip.closeEntry();
+            }
+        }
+        Files.move(temp, archive, StandardCopyOption.ATOMIC_MOVE);
+
+        for (FileIndex.Entry entry : old) {
+            index.delete(entry.getPath());
+        }
+        compactedCount.addAndGet(old.size());
+        archiveCount.incrementAndGet();
+        System.out.println("Compacted " + old.size() + " old Allure files into " + archive);
+    }
+
+    private FileIndex index(Path directory) throws IOException {
+        Path root = directory.toAbsolutePath().normalize();
+        FileIndex index = indexes.get(root);
+        if (index == null) {
+            index = FileIndex.open(root);
+            indexes.put(root, index);
+        }
+        index.refresh();
+        return index;
+    }
+
+    private void closeIndexes() {
+        for (FileIndex index : indexes.values()) {
+            try {
+                index.save();
+                index.close();
+            } catch (IOException e) {
+                System.err.println("Could not save index of " + index.getRoot() + ": " + e.getMessage());
+            }
+        }
+        indexes.clear();
+    }
+
+    /**
+     * Get housekeeping statistics
+     */
+    public String getStatistics() {
+        return "HousekeepingService{" +
+                "deleted=" + deletedCount.get() +
+                ", freedBytes=" + freedBytes.get() +
+                ", compacted=" + compactedCount.get() +
+                ", archives=" + archiveCount.get() +
+                '}';
+    }
+}
@@ -0,0 +1,73 @@
+package com.ziprecruiter.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LocatorResolution - Result of resolving several locators in one script call
+ *
+ * Holds the deduplicated matching elements in document order, plus how many
+ * elements (and how many visible elements) each locator matched.
+ */
+public class LocatorResolution {
+    
+    private final List<WebElement> elements;
+    private final Map<By, Integer> hitCounts;
+    private final Map<By, Integer> visibleCounts;
+    private final int uniqueCount;
+    
+    public LocatorResolution(List<WebElement> elements, Map<By, Integer> hitCounts,
+                             Map<By, Integer> visibleCounts, int uniqueCount) {
+        this.elements = Collections.unmodifiableList(elements);
+        this.hitCounts = Collections.unmodifiableMap(hitCounts);
+        this.visibleCounts = Collections.unmodifiableMap(visibleCounts);
+        this.uniqueCount = uniqueCount;
+    }
+    
+    /**
+     * Get matched elements, deduplicated, in document order (empty for count-only resolution)
+     */
+    public List<WebElement> getElements() { return elements; }
+    
+    /**
+     * Get number of distinct elements matched by any locator
+     */
+    public int getUniqueCount() { return uniqueCount; }
+    
+    /**
+     * Get number of elements each locator matched, in locator order
+     */
+    public Map<By, Integer> getHitCounts() { return hitCounts; }
+    
+    /**
+     * Get number of elements the given locator matched
+     */
+    public int getHitCount(By locator) { return hitCounts.getOrDefault(locator, 0); }
+    
+    /**
+     * Get number of visible elements the given locator matched
+     */
+    public int getVisibleCount(By locator) { return visibleCounts.getOrDefault(locator, 0); }
+    
+    /**
+     * Check if the given locator matched at least one visible element
+     */
+    public boolean isVisible(By locator) { return getVisibleCount(locator) > 0; }
+    
+    /**
+     * Check if nothing matched
+     */
+    public boolean isEmpty() { return uniqueCount == 0; }
+    
+    @Override
+    public String toString() {
+        return "LocatorResolution{" +
+                "uniqueCount=" + uniqueCount +
+                ", hitCounts=" + hitCounts +
+                ", visibleCounts=" + visibleCounts +
+                '}';
+    }
+}
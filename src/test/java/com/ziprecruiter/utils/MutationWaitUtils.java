@@ -0,0 +1,330 @@
+package com.ziprecruiter.utils;
+
+import com.ziprecruiter.metrics.Metric;
+import com.ziprecruiter.metrics.Metrics;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * MutationWaitUtils - Event-driven element waits using a MutationObserver
+ *
+ * Instead of polling over the wire like WebDriverWait, each wait injects one
+ * async script that checks the condition, then re-checks it inside the page
+ * whenever the DOM mutates, and answers as soon as it holds. A wait costs a
+ * single round trip no matter how long it takes.
+ *
+ * Like WebDriverWait, a wait only retries while the condition does not hold
+ * yet: an invalid selector or a broken script fails at once.
+ *
+ * The method signatures mirror WaitUtils. WaitUtils and BasePage route to
+ * this engine when the system property wait.engine is set to "mutation".
+ */
+public class MutationWaitUtils {
+
+    private static final int DEFAULT_TIMEOUT = 10;
+
+    // Stay below the W3C default 30 s script timeout; longer waits are chunked
+    private static final long MAX_SCRIPT_WAIT_MILLIS = 25000;
+
+    private static final String WAIT_SCRIPT =
+        "var using = arguments[0], value = arguments[1], condition = arguments[2];" +
+        "var expected = arguments[3], timeout = arguments[4];" +
+        "var done = arguments[arguments.length - 1];" +
+        "function find() {" +
+        "  switch (using) {" +
+        "    case 'css selector': return document.querySelector(value);" +
+        "    case 'xpath': return document.evaluate(value, document, null," +
+        "        XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+        "    case 'tag name': return document.getElementsByTagName(value)[0] || null;" +
+        "    case 'link text': case 'partial link text':" +
+        "      var links = document.getElementsByTagName('a');" +
+        "      for (var i = 0; i < links.length; i++) {" +
+        "        var t = (links[i].innerText || '').trim();" +
+        "        if (using === 'link text' ? t === value : t.indexOf(value) >= 0) { return links[i]; }" +
+        "      }" +
+        "      return null;" +
+        "  }" +
+        "  return null;" +
+        "}" +
+        // Approximates WebElement.isDisplayed()
+        "function visible(el) {" +
+        "  if (!el || !el.isConnected) { return false; }" +
+        "  var style = window.getComputedStyle(el);" +
+        "  if (style.display === 'none' || style.visibility === 'hidden' || style.visibility === 'collapse'" +
+        "      || parseFloat(style.opacity) === 0) { return false; }" +
+        "  return el.getClientRects().length > 0;" +
+        "}" +
+        "function check() {" +
+        "  var el;" +
+        "  try { el = find(); } catch (e) { return null; }" +
+        "  switch (condition) {" +
+        "    case 'presence': return el ? { el: el } : null;" +
+        "    case 'visible': return visible(el) ? { el: el } : null;" +
+        "    case 'clickable': return visible(el) && !el.disabled ? { el: el } : null;" +
+        "    case 'invisible': return visible(el) ? null : { el: null };" +
+        "    case 'text': return el && (el.innerText || el.textContent || '').indexOf(expected[0]) >= 0 ? { el: el } : null;" +
+        "    case 'attribute': return el && el.getAttribute(expected[0]) === expected[1] ? { el: el } : null;" +
+        "    case 'class': return el && (el.getAttribute('class') || '').indexOf(expected[0]) >= 0 ? { el: el } : null;" +
+        "  }" +
+        "  return null;" +
+        "}" +
+        "try { find(); } catch (e) { done({ invalidSelector: String(e && e.message || e) }); return; }" +
+        "var hit = check();" +
+        "if (hit) { done({ found: true, element: hit.el }); return; }" +
+        "var finished = false, observer, timer, safety;" +
+        "function settle() {" +
+        "  if (finished) { return; }" +
+        "  var r = check();" +
+        "  if (r) { finish({ found: true, element: r.el }); }" +
+        "}" +
+        "function finish(result) {" +
+        "  finished = true;" +
+        "  observer.disconnect();" +
+        "  clearTimeout(timer);" +
+        "  clearInterval(safety);" +
+        "  window.removeEventListener('transitionend', settle, true);" +
+        "  window.removeEventListener('animationend', settle, true);" +
+        "  done(result);" +
+        "}" +
+        "observer = new MutationObserver(settle);" +
+        "observer.observe(document.documentElement || document," +
+        "    { childList: true, subtree: true, attributes: true, characterData: true });" +
+        "window.addEventListener('transitionend', settle, true);" +
+        "window.addEventListener('animationend', settle, true);" +
+        // Layout-only changes fire no mutation; an in-page re-check covers them without wire traffic
+        "safety = setInterval(settle, 100);" +
+        "timer = setTimeout(function () { finish({ found: false, element: null }); }, timeout);";
+
+    /**
+     * Check if the mutation wait engine is switched on (-Dwait.engine=mutation)
+     */
+    public static boolean isEnabled() {
+        return "mutation".equalsIgnoreCase(System.getProperty("wait.engine", "polling"));
+    }
+
+    /**
+     * Check if the locator can be evaluated inside the page
+     */
+    public static boolean supports(By locator) {
+        return locator instanceof By.Remotable;
+    }
+
+    /**
+     * Wait for element to be visible
+     */
+    public static boolean waitForVisible(WebDriver driver, By locator, int timeoutSeconds) {
+        return await(driver, locator, "visible", timeoutSeconds).found;
+    }
+
+    /**
+     * Wait for element to be visible with default timeout
+     */
+    public static boolean waitForVisible(WebDriver driver, By locator) {
+        return waitForVisible(driver, locator, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Wait for element to be clickable
+     */
+    public static boolean waitForClickable(WebDriver driver, By locator, int timeoutSeconds) {
+        return await(driver, locator, "clickable", timeoutSeconds).found;
+    }
+
+    /**
+     * Wait for element to be clickable with default timeout
+     */
+    public static boolean waitForClickable(WebDriver driver, By locator) {
+        return waitForClickable(driver, locator, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Wait for element to be present in DOM
+     */
+    public static boolean waitForPresence(WebDriver driver, By locator, int timeoutSeconds) {
+        return await(driver, locator, "presence", timeoutSeconds).found;
+    }
+
+    /**
+     * Wait for element to be present with default timeout
+     */
+    public static boolean waitForPresence(WebDriver driver, By locator) {
+        return waitForPresence(driver, locator, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Wait for element to disappear
+     */
+    public static boolean waitForInvisibility(WebDriver driver, By locator, int timeoutSeconds) {
+        return await(driver, locator, "invisible", timeoutSeconds).found;
+    }
+
+    /**
+     * Wait for element to disappear with default timeout
+     */
+    public static boolean waitForInvisibility(WebDriver driver, By locator) {
+        return waitForInvisibility(driver, locator, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Wait for text to be present in element
+     */
+    public static boolean waitForTextToBePresent(WebDriver driver, By locator, String text, int timeoutSeconds) {
+        return await(driver, locator, "text", timeoutSeconds, text).found;
+    }
+
+    /**
+     * Wait for text to be present with default timeout
+     */
+    public static boolean waitForTextToBePresent(WebDriver driver, By locator, String text) {
+        return waitForTextToBePresent(driver, locator, text, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Wait for element to have specific attribute value
+     */
+    public static boolean waitForAttributeToBe(WebDriver driver, By locator, String attribute, String value, int timeoutSeconds) {
+        return await(driver, locator, "attribute", timeoutSeconds, attribute, value).found;
+    }
+
+    /**
+     * Wait for attribute to be with default timeout
+     */
+    public static boolean waitForAttributeToBe(WebDriver driver, By locator, String attribute, String value) {
+        return waitForAttributeToBe(driver, locator, attribute, value, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Wait for element to have specific CSS class
+     */
+    public static boolean waitForElementToHaveClass(WebDriver driver, By locator, String className, int timeoutSeconds) {
+        return await(driver, locator, "class", timeoutSeconds, className).found;
+    }
+
+    /**
+     * Wait for element to have class with default timeout
+     */
+    public static boolean waitForElementToHaveClass(WebDriver driver, By locator, String className) {
+        return waitForElementToHaveClass(driver, locator, className, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Wait for element to be visible and return it, throwing TimeoutException like WebDriverWait
+     */
+    public static WebElement visibleElement(WebDriver driver, By locator, int timeoutSeconds) {
+        return requireElement(await(driver, locator, "visible", timeoutSeconds), locator, "visibility");
+    }
+
+    /**
+     * Wait for element to be clickable and return it, throwing TimeoutException like WebDriverWait
+     */
+    public static WebElement clickableElement(WebDriver driver, By locator, int timeoutSeconds) {
+        return requireElement(await(driver, locator, "clickable", timeoutSeconds), locator, "clickability");
+    }
+
+    /**
+     * Wait for element to be present and return it, throwing TimeoutException like WebDriverWait
+     */
+    public static WebElement presentElement(WebDriver driver, By locator, int timeoutSeconds) {
+        return requireElement(await(driver, locator, "presence", timeoutSeconds), locator, "presence");
+    }
+
+    private static WebElement requireElement(WaitResult result, By locator, String condition) {
+        if (!result.found) {
+            throw new TimeoutException("Timed out waiting for " + condition + " of element located by " + locator);
+        }
+        return result.element;
+    }
+
+    /**
+     * Run the wait script, recording the time spent as a wait latency
+     */
+    private static WaitResult await(WebDriver driver, By locator, String condition, int timeoutSeconds, String... expected) {
+        long start = System.nanoTime();
+        try {
+            return poll(driver, locator, condition, timeoutSeconds, expected);
+        } finally {
+            Metrics.record(Metric.WAIT, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Run the wait script, re-arming it if a chunk expires or the page navigates
+     */
+    @SuppressWarnings("unchecked")
+    private static WaitResult poll(WebDriver driver, By locator, String condition, int timeoutSeconds, String... expected) {
+        if (!supports(locator)) {
+            throw new IllegalArgumentException("Locator cannot be evaluated in the page: " + locator);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
+
+        while (true) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return WaitResult.TIMED_OUT;
+            }
+            long chunk = Math.min(remaining, MAX_SCRIPT_WAIT_MILLIS);
+            try {
+                Object result = js.executeAsyncScript(WAIT_SCRIPT, parameters.using(), parameters.value(),
+                    condition, Arrays.asList(expected), chunk);
+                if (result instanceof Map) {
+                    Map<String, Object> map = (Map<String, Object>) result;
+                    if (map.containsKey("invalidSelector")) {
+                        throw new InvalidSelectorException("Invalid selector " + locator + ": " + map.get("invalidSelector"));
+                    }
+                    if (Boolean.TRUE.equals(map.get("found"))) {
+                        return new WaitResult(true, (WebElement) map.get("element"));
+                    }
+                }
+            } catch (ScriptTimeoutException | StaleElementReferenceException e) {
+                // Chunk expired, or the match was detached before it was returned - re-arm
+            } catch (WebDriverException e) {
+                if (!isNavigation(e)) {
+                    throw e;
+                }
+                // Document unloaded mid-wait by a navigation - re-inject into the new page
+            }
+        }
+    }
+
+    /**
+     * Check if a script failed only because the page navigated while it ran
+     */
+    private static boolean isNavigation(WebDriverException e) {
+        if (e instanceof NoSuchSessionException || e instanceof NoSuchWindowException) {
+            return false;
+        }
+        String message = e.getMessage() == null ? "" : e.getMessage().toLowerCase(Locale.ROOT);
+        // Chrome: "document unloaded while waiting for result", "target navigated or closed";
+        // Firefox: "Document was unloaded"
+        return message.contains("unloaded") || message.contains("navigated");
+    }
+
+    /**
+     * Outcome of a single wait
+     */
+    private static final class WaitResult {
+        private static final WaitResult TIMED_OUT = new WaitResult(false, null);
+
+        private final boolean found;
+        private final WebElement element;
+
+        WaitResult(boolean found, WebElement element) {
+            this.found = found;
+            this.element = element;
+        }
+    }
+}
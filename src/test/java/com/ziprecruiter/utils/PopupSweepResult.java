@@ -0,0 +1,57 @@
+package com.ziprecruiter.utils;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PopupSweepResult - What one PopupUtils.sweepPopups() call dismissed
+ *
+ * Each closed entry names the overlay and how it went away: "close button",
+ * "escape", "outside click" or "hidden" (forced, only when requested).
+ */
+public class PopupSweepResult {
+
+    private final List<String> closed;
+    private final int remaining;
+    private final long durationMillis;
+
+    public PopupSweepResult(List<String> closed, int remaining, long durationMillis) {
+        this.closed = Collections.unmodifiableList(closed);
+        this.remaining = remaining;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Get overlays that were dismissed, as "description via method"
+     */
+    public List<String> getClosed() { return closed; }
+
+    /**
+     * Get number of overlays that were dismissed
+     */
+    public int getClosedCount() { return closed.size(); }
+
+    /**
+     * Get number of overlays still visible after the sweep
+     */
+    public int getRemaining() { return remaining; }
+
+    /**
+     * Check if no overlay is visible after the sweep
+     */
+    public boolean isClear() { return remaining == 0; }
+
+    /**
+     * Get time the sweep took in the page, in milliseconds
+     */
+    public long getDurationMillis() { return durationMillis; }
+
+    @Override
+    public String toString() {
+        return "PopupSweepResult{" +
+                "closed=" + closed +
+                ", remaining=" + remaining +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
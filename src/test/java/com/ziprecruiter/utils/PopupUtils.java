@@ -6,13 +6,29 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.chromium.HasCdp;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * PopupUtils - Utility class for handling popups and modals
  * 
  * This class provides methods for detecting and handling various types
  * of popups, modals, and overlays that commonly appear on websites.
+ *
+ * Detection and sweepPopups() each run as a single injected script rather
+ * than a findElements/isDisplayed round trip per selector and match. A sweep
+ * clicks each visible overlay's close button, then falls back to Escape and
+ * an outside click for whatever is left, waiting for dismiss animations
+ * in the page between steps.
+ *
+ * enableAutoDismiss() installs a MutationObserver that dismisses overlays
+ * as soon as they appear. On Chrome and Edge it is registered for every new
+ * document, so it lasts for the whole session until disableAutoDismiss();
+ * elsewhere it covers the current document only. Enable it for every test
+ * with -Dpopup.autodismiss=true.
  */
 public class PopupUtils {
     
@@ -57,6 +73,142 @@ public class PopupUtils {
         "✖"
     };
     
+    // Shared by the sweep and auto-dismiss scripts: selector lists and overlay helpers
+    private static final String SWEEP_HELPERS =
+        "var popupSelectors = " + toJsArray(POPUP_SELECTORS, false) + ";" +
+        "var closeSelectors = " + toJsArray(CLOSE_BUTTON_SELECTORS, false) + ";" +
+        "var closeTexts = " + toJsArray(CLOSE_BUTTON_SELECTORS, true) + ";" +
+        "function visible(el) {" +
+        "  var style = window.getComputedStyle(el);" +
+        "  if (style.display === 'none' || style.visibility === 'hidden' || style.visibility === 'collapse'" +
+        "      || parseFloat(style.opacity) === 0) { return false; }" +
+        "  return el.getClientRects().length > 0;" +
+        "}" +
+        "function findPopups() {" +
+        "  var found = [];" +
+        "  popupSelectors.forEach(function (selector) {" +
+        "    var matches;" +
+        "    try { matches = document.querySelectorAll(selector); } catch (e) { return; }" +
+        "    for (var i = 0; i < matches.length; i++) {" +
+        "      if (found.indexOf(matches[i]) < 0 && visible(matches[i])) { found.push(matches[i]); }" +
+        "    }" +
+        "  });" +
+        "  return found;" +
+        "}" +
+        "function outermost(popups) {" +
+        "  return popups.filter(function (el) {" +
+        "    return !popups.some(function (other) { return other !== el && other.contains(el); });" +
+        "  });" +
+        "}" +
+        "function closeButton(popup) {" +
+        "  for (var i = 0; i < closeSelectors.length; i++) {" +
+        "    var buttons;" +
+        "    try { buttons = popup.querySelectorAll(closeSelectors[i]); } catch (e) { continue; }" +
+        "    for (var j = 0; j < buttons.length; j++) { if (visible(buttons[j])) { return buttons[j]; } }" +
+        "  }" +
+        "  var candidates = popup.querySelectorAll('button, a, span, [role=\"button\"]');" +
+        "  for (var k = 0; k < candidates.length; k++) {" +
+        "    if (closeTexts.indexOf(candidates[k].textContent.trim()) >= 0 && visible(candidates[k])) { return candidates[k]; }" +
+        "  }" +
+        "  return null;" +
+        "}" +
+        "function describe(el) {" +
+        "  var name = el.tagName.toLowerCase();" +
+        "  if (el.id) { return name + '#' + el.id; }" +
+        "  var classes = typeof el.className === 'string' ? el.className.trim().split(/\\s+/).slice(0, 2).join('.') : '';" +
+        "  return classes ? name + '.' + classes : name;" +
+        "}";
+    
+    // Dismisses every visible overlay in one call, step by step, and reports how each went away
+    private static final String SWEEP_SCRIPT =
+        SWEEP_HELPERS +
+        "var forceHide = arguments[0], done = arguments[arguments.length - 1];" +
+        "var begin = Date.now(), closed = [], recorded = [];" +
+        "var targets = outermost(findPopups());" +
+        "function record(method) {" +
+        "  targets.forEach(function (popup) {" +
+        "    if (recorded.indexOf(popup) < 0 && (!popup.isConnected || !visible(popup))) {" +
+        "      recorded.push(popup);" +
+        "      closed.push(describe(popup) + ' via ' + method);" +
+        "    }" +
+        "  });" +
+        "  return findPopups().length;" +
+        "}" +
+        // Let dismiss animations run (capped at 1 s), then two frames so the result is painted
+        "function settle(next) {" +
+        "  var start = Date.now();" +
+        "  (function check() {" +
+        "    var running = document.getAnimations ? document.getAnimations().filter(function (a) {" +
+        "      var timing = a.effect && a.effect.getTiming ? a.effect.getTiming() : null;" +
+        "      return a.playState === 'running' && !(timing && timing.iterations === Infinity);" +
+        "    }).length : 0;" +
+        "    if (running > 0 && Date.now() - start < 1000) { setTimeout(check, 50); return; }" +
+        "    var called = false;" +
+        "    function once() { if (!called) { called = true; next(); } }" +
+        "    requestAnimationFrame(function () { requestAnimationFrame(once); });" +
+        "    setTimeout(once, 100);" +
+        "  })();" +
+        "}" +
+        "function finish() {" +
+        "  done({ closed: closed, remaining: findPopups().length, millis: Date.now() - begin });" +
+        "}" +
+        "if (!targets.length) { finish(); }" +
+        "else {" +
+        "  targets.forEach(function (popup) { var button = closeButton(popup); if (button) { button.click(); } });" +
+        "  settle(function () {" +
+        "    if (!record('close button')) { finish(); return; }" +
+        "    var escape = { key: 'Escape', code: 'Escape', keyCode: 27, which: 27, bubbles: true, cancelable: true };" +
+        "    (document.activeElement || document.body).dispatchEvent(new KeyboardEvent('keydown', escape));" +
+        "    (document.activeElement || document.body).dispatchEvent(new KeyboardEvent('keyup', escape));" +
+        "    settle(function () {" +
+        "      if (!record('escape')) { finish(); return; }" +
+        "      document.body.click();" +
+        "      settle(function () {" +
+        "        if (record('outside click') && forceHide) {" +
+        "          findPopups().forEach(function (popup) { popup.style.setProperty('display', 'none', 'important'); });" +
+        "          record('hidden');" +
+        "        }" +
+        "        finish();" +
+        "      });" +
+        "    });" +
+        "  });" +
+        "}";
+    
+    // Persistent observer: dismisses overlays the moment they appear (close button, else hide)
+    private static final String AUTO_DISMISS_SCRIPT =
+        "(function () {" +
+        "  if (window.__popupSweeper) { window.__popupSweeper.enabled = true; return; }" +
+        SWEEP_HELPERS +
+        "  var state = window.__popupSweeper = { enabled: true, closed: [] }, attempted = new WeakSet(), scheduled = false;" +
+        "  function sweep() {" +
+        "    scheduled = false;" +
+        "    if (!state.enabled) { return; }" +
+        "    outermost(findPopups()).forEach(function (popup) {" +
+        "      var button = attempted.has(popup) ? null : closeButton(popup);" +
+        "      attempted.add(popup);" +
+        "      if (button) { button.click(); } else { popup.style.setProperty('display', 'none', 'important'); }" +
+        "      if (state.closed.length < 100) { state.closed.push(describe(popup) + (button ? ' via close button' : ' via hidden')); }" +
+        "    });" +
+        "  }" +
+        "  function schedule() {" +
+        "    if (!scheduled && state.enabled) { scheduled = true; requestAnimationFrame(sweep); setTimeout(sweep, 100); }" +
+        "  }" +
+        "  function observe() {" +
+        "    new MutationObserver(schedule).observe(document.documentElement, { childList: true, subtree: true," +
+        "      attributes: true, attributeFilter: ['class', 'style', 'hidden', 'open'] });" +
+        "    schedule();" +
+        "  }" +
+        "  if (document.documentElement) { observe(); }" +
+        "  else { document.addEventListener('DOMContentLoaded', observe); }" +
+        "})();";
+    
+    private static final String COUNT_POPUPS_SCRIPT =
+        SWEEP_HELPERS +
+        "return findPopups().length;";
+    
+    // DevTools script identifiers of drivers with auto-dismiss registered for new documents
+    private static final Map<WebDriver, String> AUTO_DISMISS_IDS = new WeakHashMap<>();
+    
     public PopupUtils(WebDriver driver) {
         this.driver = driver;
         this.js = (JavascriptExecutor) driver;
@@ -66,27 +218,45 @@ public class PopupUtils {
      * Check if any popup is visible
      */
     public boolean isPopupVisible() {
-        for (String selector : POPUP_SELECTORS) {
-            try {
-                List<WebElement> elements = driver.findElements(By.cssSelector(selector));
-                for (WebElement element : elements) {
-                    if (element.isDisplayed()) {
-                        return true;
-                    }
-                }
-            } catch (Exception e) {
-                // Continue to next selector
-            }
+        return getPopupCount() > 0;
+    }
+    
+    /**
+     * Dismiss every visible popup in one injected script: close buttons first,
+     * then Escape, then an outside click, optionally hiding whatever is left
+     */
+    @SuppressWarnings("unchecked")
+    public PopupSweepResult sweepPopups(boolean forceHide) {
+        Map<String, Object> result = (Map<String, Object>) js.executeAsyncScript(SWEEP_SCRIPT, forceHide);
+        List<String> closed = new ArrayList<>();
+        for (Object item : (List<Object>) result.get("closed")) {
+            closed.add(String.valueOf(item));
         }
-        return false;
+        PopupSweepResult sweep = new PopupSweepResult(closed,
+            ((Number) result.get("remaining")).intValue(), ((Number) result.get("millis")).longValue());
+        if (sweep.getClosedCount() > 0) {
+            System.out.println("Popups swept: " + sweep.getClosed());
+        }
+        return sweep;
+    }
+    
+    /**
+     * Dismiss every visible popup without force-hiding any
+     */
+    public PopupSweepResult sweepPopups() {
+        return sweepPopups(false);
     }
     
     /**
      * Close popup if visible
      */
     public boolean closePopup() {
-        if (!isPopupVisible()) {
-            return true; // No popup to close
+        try {
+            if (sweepPopups().isClear()) {
+                return true;
+            }
+        } catch (Exception e) {
+            // Fall back to clicking close buttons over WebDriver
         }
         
         // Try to find and click close button
@@ -97,7 +267,7 @@ public class PopupUtils {
                     if (button.isDisplayed()) {
                         try {
                             button.click();
-                            WaitUtils.waitForSeconds(1);
+                            settleAfterDismiss("PopupUtils.closePopup");
                             if (!isPopupVisible()) {
                                 System.out.println("Popup closed successfully using selector: " + selector);
                                 return true;
@@ -106,7 +276,7 @@ public class PopupUtils {
                             // Try JavaScript click
                             try {
                                 js.executeScript("arguments[0].click();", button);
-                                WaitUtils.waitForSeconds(1);
+                                settleAfterDismiss("PopupUtils.closePopup");
                                 if (!isPopupVisible()) {
                                     System.out.println("Popup closed successfully using JavaScript click: " + selector);
                                     return true;
@@ -125,7 +295,7 @@ public class PopupUtils {
         // Try pressing Escape key
         try {
             driver.findElement(By.tagName("body")).sendKeys(org.openqa.selenium.Keys.ESCAPE);
-            WaitUtils.waitForSeconds(1);
+            settleAfterDismiss("PopupUtils.closePopup");
             if (!isPopupVisible()) {
                 System.out.println("Popup closed successfully using Escape key");
                 return true;
@@ -137,7 +307,7 @@ public class PopupUtils {
         // Try clicking outside popup
         try {
             js.executeScript("document.body.click();");
-            WaitUtils.waitForSeconds(1);
+            settleAfterDismiss("PopupUtils.closePopup");
             if (!isPopupVisible()) {
                 System.out.println("Popup closed successfully by clicking outside");
                 return true;
@@ -159,7 +329,7 @@ public class PopupUtils {
             if (popup.isDisplayed()) {
                 WebElement closeButton = popup.findElement(By.cssSelector(closeButtonSelector));
                 closeButton.click();
-                WaitUtils.waitForSeconds(1);
+                settleAfterDismiss("PopupUtils.closePopup(selector)");
                 return true;
             }
         } catch (Exception e) {
@@ -176,7 +346,7 @@ public class PopupUtils {
             WebElement element = driver.findElement(locator);
             if (element.isDisplayed()) {
                 element.click();
-                WaitUtils.waitForSeconds(1);
+                settleAfterDismiss("PopupUtils.closePopupByClicking");
                 return !isPopupVisible();
             }
         } catch (Exception e) {
@@ -193,7 +363,7 @@ public class PopupUtils {
             String script = "var popup = document.querySelector('" + popupSelector + "'); " +
                            "if (popup) { popup.style.display = 'none'; popup.remove(); }";
             js.executeScript(script);
-            WaitUtils.waitForSeconds(1);
+            settleAfterDismiss("PopupUtils.closePopupWithJavaScript");
             return !isPopupVisible();
         } catch (Exception e) {
             System.err.println("Failed to close popup with JavaScript: " + e.getMessage());
@@ -201,6 +371,13 @@ public class PopupUtils {
         return false;
     }
     
+    /**
+     * Wait for a dismiss animation to finish instead of sleeping a fixed second
+     */
+    private void settleAfterDismiss(String site) {
+        Settle.replacingSleep(site, 1000, () -> Settle.forAnimationFrames(driver, 1));
+    }
+    
     /**
      * Accept alert if present
      */
@@ -291,11 +468,17 @@ public class PopupUtils {
      */
     public boolean waitForPopup(int timeoutSeconds) {
         try {
-            for (int i = 0; i < timeoutSeconds; i++) {
+            long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
+            while (true) {
                 if (isPopupVisible()) {
                     return true;
                 }
-                WaitUtils.waitForSeconds(1);
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                // Re-check as soon as the DOM changes instead of sleeping a fixed second
+                Settle.forDomMutation(driver, remaining);
             }
         } catch (Exception e) {
             // Ignore exceptions
@@ -308,11 +491,17 @@ public class PopupUtils {
      */
     public boolean waitForPopupToDisappear(int timeoutSeconds) {
         try {
-            for (int i = 0; i < timeoutSeconds; i++) {
+            long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
+            while (true) {
                 if (!isPopupVisible()) {
                     return true;
                 }
-                WaitUtils.waitForSeconds(1);
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                // Re-check as soon as the DOM changes instead of sleeping a fixed second
+                Settle.forDomMutation(driver, remaining);
             }
         } catch (Exception e) {
             // Ignore exceptions
@@ -324,20 +513,11 @@ public class PopupUtils {
      * Get popup count
      */
     public int getPopupCount() {
-        int count = 0;
-        for (String selector : POPUP_SELECTORS) {
-            try {
-                List<WebElement> elements = driver.findElements(By.cssSelector(selector));
-                for (WebElement element : elements) {
-                    if (element.isDisplayed()) {
-                        count++;
-                    }
-                }
-            } catch (Exception e) {
-                // Continue to next selector
-            }
+        try {
+            return ((Number) js.executeScript(COUNT_POPUPS_SCRIPT)).intValue();
+        } catch (Exception e) {
+            return 0;
         }
-        return count;
     }
     
     /**
@@ -369,7 +549,110 @@ public class PopupUtils {
         // This would typically close any modal dialogs, cookie banners, etc.
     }
     
+    /**
+     * Sweep all visible popups, hiding any that cannot be dismissed
+     */
     public static void closePopups(WebDriver driver) {
-        closePopups();
+        new PopupUtils(driver).sweepPopups(true);
+    }
+    
+    /**
+     * Dismiss popups automatically as they appear, for the rest of the session
+     */
+    public void enableAutoDismiss() {
+        enableAutoDismiss(driver);
+    }
+    
+    /**
+     * Stop dismissing popups automatically
+     */
+    public void disableAutoDismiss() {
+        disableAutoDismiss(driver);
+    }
+    
+    /**
+     * Get popups auto-dismissed on the current document, as "description via method"
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getAutoDismissed() {
+        Object closed = js.executeScript("return window.__popupSweeper ? window.__popupSweeper.closed : [];");
+        List<String> dismissed = new ArrayList<>();
+        if (closed instanceof List) {
+            for (Object item : (List<Object>) closed) {
+                dismissed.add(String.valueOf(item));
+            }
+        }
+        return dismissed;
+    }
+    
+    /**
+     * Dismiss popups automatically as they appear, for the rest of the session
+     */
+    public static void enableAutoDismiss(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            synchronized (AUTO_DISMISS_IDS) {
+                if (!AUTO_DISMISS_IDS.containsKey(driver)) {
+                    try {
+                        Map<String, Object> response = ((HasCdp) driver).executeCdpCommand(
+                            "Page.addScriptToEvaluateOnNewDocument", Map.of("source", AUTO_DISMISS_SCRIPT));
+                        AUTO_DISMISS_IDS.put(driver, String.valueOf(response.get("identifier")));
+                    } catch (Exception e) {
+                        System.out.println("Could not register popup auto-dismiss: " + e.getMessage());
+                    }
+                }
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(AUTO_DISMISS_SCRIPT);
+    }
+    
+    /**
+     * Check if auto-dismiss is registered for new documents of this driver
+     */
+    public static boolean isAutoDismissEnabled(WebDriver driver) {
+        synchronized (AUTO_DISMISS_IDS) {
+            return AUTO_DISMISS_IDS.containsKey(driver);
+        }
+    }
+    
+    /**
+     * Stop dismissing popups automatically, on this document and future ones
+     */
+    public static void disableAutoDismiss(WebDriver driver) {
+        String identifier;
+        synchronized (AUTO_DISMISS_IDS) {
+            identifier = AUTO_DISMISS_IDS.remove(driver);
+        }
+        if (identifier != null) {
+            try {
+                ((HasCdp) driver).executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument",
+                    Map.of("identifier", identifier));
+            } catch (Exception e) {
+                System.out.println("Could not remove popup auto-dismiss: " + e.getMessage());
+            }
+        }
+        try {
+            ((JavascriptExecutor) driver).executeScript(
+                "if (window.__popupSweeper) { window.__popupSweeper.enabled = false; }");
+        } catch (Exception e) {
+            // No document to update
+        }
+    }
+    
+    /**
+     * Render selectors as a JS array literal: CSS selectors, or the glyph-only close texts
+     */
+    private static String toJsArray(String[] selectors, boolean texts) {
+        StringBuilder array = new StringBuilder("[");
+        for (String selector : selectors) {
+            boolean text = selector.length() == 1;
+            if (text != texts) {
+                continue;
+            }
+            if (array.length() > 1) {
+                array.append(", ");
+            }
+            array.append('"').append(selector.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        return array.append(']').toString();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.ziprecruiter.utils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * ScreenshotEncoder - Re-encodes captured PNG bytes according to a ScreenshotProfile
+ *
+ * Crops to a region (in screenshot pixels), downscales, converts to grayscale
+ * and writes PNG, JPEG or WebP. This is CPU work meant for the ScreenshotWriter
+ * threads, not the test thread. benchmark() compares profiles on one capture.
+ */
+public class ScreenshotEncoder {
+
+    private ScreenshotEncoder() {
+    }
+
+    /**
+     * Encode a PNG capture with the given profile, cropped to a region if one is given
+     */
+    public static byte[] encode(byte[] png, ScreenshotProfile profile, Rectangle crop) throws IOException {
+        if (profile.isPassthrough() && crop == null) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Screenshot is not a decodable image");
+        }
+
+        if (crop != null) {
+            Rectangle bounds = crop.intersection(new Rectangle(0, 0, image.getWidth(), image.getHeight()));
+            if (!bounds.isEmpty()) {
+                image = image.getSubimage(bounds.x, bounds.y, bounds.width, bounds.height);
+            }
+        }
+
+        boolean lossy = profile.getFormat() != ScreenshotProfile.Format.PNG;
+        int width = Math.max(1, (int) Math.round(image.getWidth() * profile.getScale()));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * profile.getScale()));
+        // JPEG has no alpha channel; grayscale drops color entirely
+        int type = profile.isGrayscale() ? BufferedImage.TYPE_BYTE_GRAY
+            : lossy ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+
+        BufferedImage output = new BufferedImage(width, height, type);
+        Graphics2D graphics = output.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+
+        return write(output, profile);
+    }
+
+    /**
+     * Get the file extension an encoded image actually has (WebP falls back to JPEG)
+     */
+    public static String getExtension(ScreenshotProfile profile) {
+        if (profile.getFormat() == ScreenshotProfile.Format.WEBP && !isWebpSupported()) {
+            return ScreenshotProfile.Format.JPEG.getExtension();
+        }
+        return profile.getFormat().getExtension();
+    }
+
+    /**
+     * Check if an ImageIO WebP writer is on the classpath
+     */
+    public static boolean isWebpSupported() {
+        return ImageIO.getImageWritersByFormatName("webp").hasNext();
+    }
+
+    /**
+     * Encode one capture with each profile and report size and encode time
+     */
+    public static List<BenchmarkResult> benchmark(byte[] png, List<ScreenshotProfile> profiles, int iterations)
+            throws IOException {
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (ScreenshotProfile profile : profiles) {
+            // One warm-up run so class loading and JIT do not count against the first profile
+            byte[] encoded = encode(png, profile, null);
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                encoded = encode(png, profile, null);
+            }
+            long micros = (System.nanoTime() - start) / 1000 / Math.max(1, iterations);
+            results.add(new BenchmarkResult(profile, png.length, encoded.length, micros));
+        }
+        return results;
+    }
+
+    private static byte[] write(BufferedImage image, ScreenshotProfile profile) throws IOException {
+        String format;
+        switch (profile.getFormat()) {
+            case WEBP:
+                format = isWebpSupported() ? "webp" : "jpeg";
+                break;
+            case JPEG:
+                format = "jpeg";
+                break;
+            default:
+                format = "png";
+        }
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No ImageIO writer for " + format);
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (!"png".equals(format) && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (types != null && types.length > 0 && param.getCompressionType() == null) {
+                    // WebP writers expose "Lossy"/"Lossless"; pick lossy
+                    param.setCompressionType(types[0]);
+                }
+                param.setCompressionQuality(profile.getQuality());
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Size and encode time of one profile in a benchmark
+     */
+    public static class BenchmarkResult {
+        private final ScreenshotProfile profile;
+        private final int originalBytes;
+        private final int encodedBytes;
+        private final long encodeMicros;
+
+        public BenchmarkResult(ScreenshotProfile profile, int originalBytes, int encodedBytes, long encodeMicros) {
+            this.profile = profile;
+            this.originalBytes = originalBytes;
+            this.encodedBytes = encodedBytes;
+            this.encodeMicros = encodeMicros;
+        }
+
+        public ScreenshotProfile getProfile() { return profile; }
+
+        public int getEncodedBytes() { return encodedBytes; }
+
+        public long getEncodeMicros() { return encodeMicros; }
+
+        /**
+         * Get encoded size as a fraction of the original PNG
+         */
+        public double getSizeRatio() { return originalBytes == 0 ? 0 : (double) encodedBytes / originalBytes; }
+
+        @Override
+        public String toString() {
+            String label = profile + (getExtension(profile).equals(profile.getFormat().getExtension())
+                ? "" : " (as " + getExtension(profile) + ")");
+            return String.format("%-44s %9d bytes (%5.1f%%) %8.1f ms",
+                label, encodedBytes, getSizeRatio() * 100, encodeMicros / 1000.0);
+        }
+    }
+}
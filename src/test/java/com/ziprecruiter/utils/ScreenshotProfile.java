@@ -0,0 +1,172 @@
+package com.ziprecruiter.utils;
+
+import java.util.Locale;
+
+/**
+ * ScreenshotProfile - How a captured screenshot is encoded before it is stored
+ *
+ * A profile picks the output format (PNG, JPEG or WebP), lossy quality,
+ * a downscale factor and grayscale conversion. The original PNG profile
+ * passes the driver's bytes through untouched. Profiles are immutable; the
+ * with* methods return a modified copy.
+ *
+ * The default profile comes from -Dscreenshot.profile, written as the format
+ * followed by options, e.g. "jpeg:quality=0.7,scale=0.5,gray" or "webp:quality=0.8".
+ * WebP needs an ImageIO WebP writer on the classpath; without one it is
+ * encoded as JPEG at the same quality.
+ */
+public class ScreenshotProfile {
+
+    public enum Format {
+        PNG("png"), JPEG("jpg"), WEBP("webp");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    public static final ScreenshotProfile ORIGINAL = new ScreenshotProfile(Format.PNG, 1.0f, 1.0, false);
+
+    private final Format format;
+    private final float quality;
+    private final double scale;
+    private final boolean grayscale;
+
+    public ScreenshotProfile(Format format, float quality, double scale, boolean grayscale) {
+        if (quality <= 0 || quality > 1) {
+            throw new IllegalArgumentException("Quality must be in (0, 1]: " + quality);
+        }
+        if (scale <= 0 || scale > 1) {
+            throw new IllegalArgumentException("Scale must be in (0, 1]: " + scale);
+        }
+        this.format = format;
+        this.quality = quality;
+        this.scale = scale;
+        this.grayscale = grayscale;
+    }
+
+    /**
+     * Lossless PNG, optionally scaled or grayscale
+     */
+    public static ScreenshotProfile png() {
+        return ORIGINAL;
+    }
+
+    /**
+     * Lossy JPEG at the given quality (0-1]
+     */
+    public static ScreenshotProfile jpeg(float quality) {
+        return new ScreenshotProfile(Format.JPEG, quality, 1.0, false);
+    }
+
+    /**
+     * Lossy WebP at the given quality (0-1]
+     */
+    public static ScreenshotProfile webp(float quality) {
+        return new ScreenshotProfile(Format.WEBP, quality, 1.0, false);
+    }
+
+    /**
+     * Get the profile selected by -Dscreenshot.profile, or ORIGINAL
+     */
+    public static ScreenshotProfile getDefault() {
+        String spec = System.getProperty("screenshot.profile");
+        return spec == null || spec.trim().isEmpty() ? ORIGINAL : parse(spec);
+    }
+
+    /**
+     * Parse "format[:option,option...]", options being quality=0.7, scale=0.5 and gray
+     */
+    public static ScreenshotProfile parse(String spec) {
+        String[] parts = spec.trim().split(":", 2);
+        Format format;
+        switch (parts[0].trim().toLowerCase(Locale.ROOT)) {
+            case "png":
+                format = Format.PNG;
+                break;
+            case "jpg":
+            case "jpeg":
+                format = Format.JPEG;
+                break;
+            case "webp":
+                format = Format.WEBP;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown screenshot format: " + parts[0]);
+        }
+
+        float quality = format == Format.PNG ? 1.0f : 0.8f;
+        double scale = 1.0;
+        boolean grayscale = false;
+        if (parts.length > 1) {
+            for (String option : parts[1].split(",")) {
+                String[] keyValue = option.trim().split("=", 2);
+                switch (keyValue[0].trim().toLowerCase(Locale.ROOT)) {
+                    case "quality":
+                    case "q":
+                        quality = Float.parseFloat(keyValue[1].trim());
+                        break;
+                    case "scale":
+                        scale = Double.parseDouble(keyValue[1].trim());
+                        break;
+                    case "gray":
+                    case "grayscale":
+                        grayscale = true;
+                        break;
+                    case "":
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown screenshot profile option: " + option);
+                }
+            }
+        }
+        return new ScreenshotProfile(format, quality, scale, grayscale);
+    }
+
+    public ScreenshotProfile withQuality(float quality) {
+        return new ScreenshotProfile(format, quality, scale, grayscale);
+    }
+
+    public ScreenshotProfile withScale(double scale) {
+        return new ScreenshotProfile(format, quality, scale, grayscale);
+    }
+
+    public ScreenshotProfile withGrayscale() {
+        return new ScreenshotProfile(format, quality, scale, true);
+    }
+
+    public Format getFormat() { return format; }
+
+    public float getQuality() { return quality; }
+
+    public double getScale() { return scale; }
+
+    public boolean isGrayscale() { return grayscale; }
+
+    /**
+     * Check if the driver's PNG bytes can be stored as they are
+     */
+    public boolean isPassthrough() {
+        return format == Format.PNG && scale == 1.0 && !grayscale;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder spec = new StringBuilder(format.name().toLowerCase(Locale.ROOT));
+        spec.append(":");
+        if (format != Format.PNG) {
+            spec.append("quality=").append(quality).append(",");
+        }
+        spec.append("scale=").append(scale);
+        if (grayscale) {
+            spec.append(",gray");
+        }
+        return spec.toString();
+    }
+}
@@ -0,0 +1,415 @@
+package com.ziprecruiter.utils;
+
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ScreenshotStore - Content-addressed screenshot storage with per-test manifests
+ *
+ * Enabled with -Dscreenshot.storage=content. Each image is stored once under
+ * objects/ab/abcdef...png (or .jpg/.webp), named by the SHA-256 of its bytes;
+ * a repeat of the same bytes only adds a manifest entry. Every capture is appended as one
+ * JSON line to manifests/Class.method.jsonl, pointing at the object hash.
+ *
+ * With -Dscreenshot.dedupe=perceptual, a 64-bit difference hash (dHash) of
+ * each image is compared against the last images stored for the same test,
+ * and a frame within screenshot.phash.threshold bits (default 2) of one of
+ * them is collapsed onto it, so visually identical frames with different
+ * bytes (cursor blink, timestamp pixel noise) are kept once. A dHash match
+ * only nominates a candidate: the two images must also have the same size
+ * and differ in at most screenshot.dedupe.tolerance of their pixels
+ * (default 0.0001, about 200 pixels of a 1920x1080 frame), so a small real
+ * change such as a validation message is never collapsed away. The index
+ * holds the last 32 images of the 256 most recent tests.
+ *
+ * Hashing, decoding and writing all run on the ScreenshotWriter threads.
+ * Objects are written to a temp file and moved into place, so parallel
+ * writers of the same image never see a partial file. Captures are encoded
+ * with their ScreenshotProfile before hashing, so the hash names the bytes
+ * actually stored.
+ */
+public class ScreenshotStore {
+
+    public enum Mode { EXACT, PERCEPTUAL }
+
+    private static final Map<Path, ScreenshotStore> STORES = new ConcurrentHashMap<>();
+    private static final int INDEXED_IMAGES_PER_TEST = 32;
+    private static final int INDEXED_TESTS = 256;
+    // Channel difference below which two pixels count as equal (encoder noise)
+    private static final int PIXEL_NOISE = 8;
+
+    private final Path root;
+    private final Mode mode;
+    private final int perceptualThreshold;
+    private final double pixelTolerance;
+    // Last images stored per test, newest first, least recently used test evicted (perceptual mode)
+    private final Map<String, Deque<IndexedImage>> perceptualIndex =
+        new LinkedHashMap<String, Deque<IndexedImage>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Deque<IndexedImage>> eldest) {
+                return size() > INDEXED_TESTS;
+            }
+        };
+    private final Map<Path, Object> manifestLocks = new ConcurrentHashMap<>();
+    private final AtomicInteger storedCount = new AtomicInteger();
+    private final AtomicInteger duplicateCount = new AtomicInteger();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    public ScreenshotStore(Path root, Mode mode, int perceptualThreshold) {
+        this(root, mode, perceptualThreshold, 0.0001);
+    }
+
+    public ScreenshotStore(Path root, Mode mode, int perceptualThreshold, double pixelTolerance) {
+        this.root = root;
+        this.mode = mode;
+        this.perceptualThreshold = perceptualThreshold;
+        this.pixelTolerance = pixelTolerance;
+    }
+
+    /**
+     * Check if screenshots should go to content-addressed storage
+     */
+    public static boolean isEnabled() {
+        return "content".equalsIgnoreCase(System.getProperty("screenshot.storage", "files"));
+    }
+
+    /**
+     * Get the shared store rooted at a screenshot directory
+     */
+    public static ScreenshotStore forDirectory(String directory) {
+        Path root = Paths.get(directory).toAbsolutePath().normalize();
+        return STORES.computeIfAbsent(root, path -> new ScreenshotStore(path,
+            "perceptual".equalsIgnoreCase(System.getProperty("screenshot.dedupe", "exact")) ? Mode.PERCEPTUAL : Mode.EXACT,
+            Integer.getInteger("screenshot.phash.threshold", 2),
+            Double.parseDouble(System.getProperty("screenshot.dedupe.tolerance", "0.0001"))));
+    }
+
+    /**
+     * Store a capture for the currently running test in the background.
+     * The future completes with the object path the manifest points to.
+     */
+    public CompletableFuture<Path> store(String name, byte[] bytes) {
+        return store(name, bytes, ScreenshotProfile.ORIGINAL, null);
+    }
+    
+    /**
+     * Encode a capture with a profile (and optional crop) and store it, all in the background
+     */
+    public CompletableFuture<Path> store(String name, byte[] bytes, ScreenshotProfile profile, Rectangle crop) {
+        String testId = currentTestId();
+        long capturedAt = System.currentTimeMillis();
+        return ScreenshotWriter.getInstance().submit(() -> storeNow(testId, name, capturedAt,
+            ScreenshotEncoder.encode(bytes, profile, crop), ScreenshotEncoder.getExtension(profile)));
+    }
+
+    /**
+     * Get number of distinct images written
+     */
+    public int getStoredCount() {
+        return storedCount.get();
+    }
+
+    /**
+     * Get number of captures that reused an existing image
+     */
+    public int getDuplicateCount() {
+        return duplicateCount.get();
+    }
+
+    /**
+     * Get bytes not written thanks to deduplication
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    /**
+     * Get the manifest file of a test
+     */
+    public Path getManifestPath(String testId) {
+        return root.resolve("manifests").resolve(testId.replaceAll("[^A-Za-z0-9._-]", "_") + ".jsonl");
+    }
+
+    /**
+     * Get the object file of an image hash
+     */
+    public Path getObjectPath(String hash, String extension) {
+        return root.resolve("objects").resolve(hash.substring(0, 2)).resolve(hash + "." + extension);
+    }
+
+    private Path storeNow(String testId, String name, long capturedAt, byte[] bytes, String extension)
+            throws IOException {
+        String sha256 = sha256Hex(bytes);
+        IndexedImage stored = new IndexedImage(0, sha256, extension);
+        String perceptual = null;
+
+        if (mode == Mode.PERCEPTUAL) {
+            BufferedImage image = decode(bytes);
+            long dHash = differenceHash(image);
+            perceptual = String.format("%016x", dHash);
+            stored = collapse(testId, new IndexedImage(dHash, sha256, extension), image);
+        }
+
+        String objectHash = stored.hash;
+        Path object = getObjectPath(objectHash, stored.extension);
+        if (!objectHash.equals(sha256) && !touch(object)) {
+            // Collapsed onto an object housekeeping has removed since - keep this frame instead
+            objectHash = sha256;
+            object = getObjectPath(sha256, extension);
+        }
+        boolean written = objectHash.equals(sha256) && writeObject(object, bytes);
+        if (written) {
+            storedCount.incrementAndGet();
+        } else {
+            duplicateCount.incrementAndGet();
+            bytesSaved.addAndGet(bytes.length);
+        }
+
+        StringBuilder entry = new StringBuilder("{")
+            .append("\"name\":").append(quote(name))
+            .append(",\"capturedAt\":").append(quote(Instant.ofEpochMilli(capturedAt).toString()))
+            .append(",\"hash\":").append(quote(objectHash))
+            .append(",\"path\":").append(quote(root.relativize(object).toString().replace('\\', '/')))
+            .append(",\"bytes\":").append(bytes.length)
+            .append(",\"duplicate\":").append(!written);
+        if (perceptual != null) {
+            entry.append(",\"dHash\":").append(quote(perceptual));
+            if (!objectHash.equals(sha256)) {
+                entry.append(",\"collapsedFrom\":").append(quote(sha256));
+            }
+        }
+        appendManifest(getManifestPath(testId), entry.append('}').toString());
+        return object;
+    }
+
+    /**
+     * Write an object unless it already exists. Returns true if this call wrote it.
+     */
+    private boolean writeObject(Path object, byte[] bytes) throws IOException {
+        if (touch(object)) {
+            return false;
+        }
+        Files.createDirectories(object.getParent());
+        Path temp = Files.createTempFile(object.getParent(), "tmp-", ".part");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, object, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Mark a reused object as fresh for housekeeping's age-based retention. Returns false if it does not exist.
+     */
+    private boolean touch(Path object) throws IOException {
+        try {
+            Files.setLastModifiedTime(object, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private void appendManifest(Path manifest, String line) throws IOException {
+        synchronized (manifestLocks.computeIfAbsent(manifest, path -> new Object())) {
+            Files.createDirectories(manifest.getParent());
+            Files.write(manifest, (line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * Get an image stored earlier for the same test that looks the same as this
+     * one, pixel for pixel within the tolerance, or register this one
+     */
+    private IndexedImage collapse(String testId, IndexedImage candidate, BufferedImage image) {
+        List<IndexedImage> nominated = new ArrayList<>();
+        synchronized (perceptualIndex) {
+            for (IndexedImage indexed : perceptualIndex.getOrDefault(testId, new ArrayDeque<>())) {
+                if (Long.bitCount(indexed.dHash ^ candidate.dHash) <= perceptualThreshold) {
+                    nominated.add(indexed);
+                }
+            }
+        }
+        // Decoding the stored images is slow, so it runs outside the index lock
+        for (IndexedImage indexed : nominated) {
+            if (isPixelMatch(image, getObjectPath(indexed.hash, indexed.extension))) {
+                return indexed;
+            }
+        }
+        synchronized (perceptualIndex) {
+            Deque<IndexedImage> images = perceptualIndex.computeIfAbsent(testId, id -> new ArrayDeque<>());
+            images.addFirst(candidate);
+            if (images.size() > INDEXED_IMAGES_PER_TEST) {
+                images.removeLast();
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Check that a stored image has the same size and at most the tolerated share of differing pixels
+     */
+    private boolean isPixelMatch(BufferedImage image, Path stored) {
+        BufferedImage other;
+        try {
+            other = decode(Files.readAllBytes(stored));
+        } catch (IOException e) {
+            // Removed by housekeeping or unreadable - store this frame instead
+            return false;
+        }
+        if (other.getWidth() != image.getWidth() || other.getHeight() != image.getHeight()) {
+            return false;
+        }
+        long allowed = (long) Math.floor((double) image.getWidth() * image.getHeight() * pixelTolerance);
+        long different = 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if (channelDistance(image.getRGB(x, y), other.getRGB(x, y)) > PIXEL_NOISE && ++different > allowed) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int channelDistance(int rgb, int otherRgb) {
+        int distance = 0;
+        for (int shift = 0; shift <= 16; shift += 8) {
+            distance = Math.max(distance, Math.abs(((rgb >> shift) & 0xFF) - ((otherRgb >> shift) & 0xFF)));
+        }
+        return distance;
+    }
+
+    private static BufferedImage decode(byte[] bytes) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+        if (image == null) {
+            throw new IOException("Not a decodable image");
+        }
+        return image;
+    }
+
+    /**
+     * 64-bit difference hash: downscale to 9x8 grayscale and compare horizontal neighbours
+     */
+    static long differenceHash(BufferedImage image) {
+        BufferedImage small = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = small.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, 9, 8, null);
+        graphics.dispose();
+
+        long hash = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                int left = small.getRaster().getSample(x, y, 0);
+                int right = small.getRaster().getSample(x + 1, y, 0);
+                hash = (hash << 1) | (left > right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    private static String sha256Hex(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Get "Class.method" of the test running on this thread, or "unattributed"
+     */
+    private static String currentTestId() {
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result == null || result.getMethod() == null) {
+            return "unattributed";
+        }
+        return result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"': quoted.append("\\\""); break;
+                case '\\': quoted.append("\\\\"); break;
+                case '\n': quoted.append("\\n"); break;
+                case '\r': quoted.append("\\r"); break;
+                case '\t': quoted.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * A stored image in the perceptual index: its dHash, object hash and file extension
+     */
+    private static final class IndexedImage {
+        private final long dHash;
+        private final String hash;
+        private final String extension;
+
+        IndexedImage(long dHash, String hash, String extension) {
+            this.dHash = dHash;
+            this.hash = hash;
+            this.extension = extension;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ScreenshotStore{" +
+                "root=" + root +
+                ", mode=" + mode +
+                ", stored=" + storedCount.get() +
+                ", duplicates=" + duplicateCount.get() +
+                ", bytesSaved=" + bytesSaved.get() +
+                '}';
+    }
+}
@@ -0,0 +1,199 @@
+package com.ziprecruiter.utils;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * ScreenshotTrail - Per-thread ring buffer of the last frames before a failure
+ *
+ * BasePage records a low-resolution frame at each action boundary (click,
+ * type, navigate). Frames live in memory only: on success the trail is
+ * discarded, on failure BaseTest flushes it to disk and to the Allure report,
+ * oldest frame first, so the report shows what led up to the failure.
+ *
+ * Enabled with -Dscreenshot.trail.frames=N (default 0, off). Each thread keeps
+ * at most N frames and at most screenshot.trail.maxBytes bytes (default 4 MB);
+ * the oldest frames are evicted first. Frames are encoded with
+ * screenshot.trail.profile (default "jpeg:quality=0.5,scale=0.5").
+ */
+public class ScreenshotTrail {
+
+    private static final int MAX_FRAMES = Integer.getInteger("screenshot.trail.frames", 0);
+    private static final long MAX_BYTES = Long.getLong("screenshot.trail.maxBytes", 4L * 1024 * 1024);
+    private static final ScreenshotProfile PROFILE = ScreenshotProfile.parse(
+        System.getProperty("screenshot.trail.profile", "jpeg:quality=0.5,scale=0.5"));
+
+    private static final ThreadLocal<ScreenshotTrail> TRAIL =
+        ThreadLocal.withInitial(() -> new ScreenshotTrail(MAX_FRAMES, MAX_BYTES));
+
+    private final int maxFrames;
+    private final long maxBytes;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private long bytes;
+    private int evicted;
+
+    public ScreenshotTrail(int maxFrames, long maxBytes) {
+        this.maxFrames = maxFrames;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Check if action frames should be recorded
+     */
+    public static boolean isEnabled() {
+        return MAX_FRAMES > 0 && MAX_BYTES > 0;
+    }
+
+    /**
+     * Get the trail of the current thread
+     */
+    public static ScreenshotTrail current() {
+        return TRAIL.get();
+    }
+
+    /**
+     * Record a frame for an action on the current thread's trail, if enabled.
+     * Never fails the action: a frame that cannot be captured is skipped.
+     */
+    public static void record(WebDriver driver, String action) {
+        if (!isEnabled() || !(driver instanceof TakesScreenshot)) {
+            return;
+        }
+        try {
+            byte[] png = ScreenshotUtils.capture((TakesScreenshot) driver);
+            current().add(action, ScreenshotEncoder.encode(png, PROFILE, null));
+        } catch (Exception e) {
+            System.out.println("Could not record trail frame for " + action + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Add an encoded frame, evicting the oldest ones beyond the frame and byte caps
+     */
+    public void add(String action, byte[] image) {
+        if (image.length > maxBytes) {
+            evicted++;
+            return;
+        }
+        frames.addLast(new Frame(action, System.currentTimeMillis(), image));
+        bytes += image.length;
+        while (frames.size() > maxFrames || bytes > maxBytes) {
+            bytes -= frames.removeFirst().getImage().length;
+            evicted++;
+        }
+    }
+
+    /**
+     * Get buffered frames, oldest first
+     */
+    public List<Frame> getFrames() {
+        return Collections.unmodifiableList(new ArrayList<>(frames));
+    }
+
+    /**
+     * Get bytes held by buffered frames
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get number of frames dropped to stay within the caps
+     */
+    public int getEvictedCount() {
+        return evicted;
+    }
+
+    /**
+     * Discard all frames (a passing test, or the start of a new one)
+     */
+    public void clear() {
+        frames.clear();
+        bytes = 0;
+        evicted = 0;
+    }
+
+    /**
+     * Write the frames to directory/trail/testName and attach them to the Allure report,
+     * then clear the trail. Disk writes go through the background ScreenshotWriter.
+     * Returns the number of frames flushed.
+     */
+    public int flush(String directory, String testName) {
+        if (frames.isEmpty()) {
+            return 0;
+        }
+        String safeName = testName.replaceAll("[^A-Za-z0-9._-]", "_");
+        Path trailDirectory = Paths.get(directory, "trail", safeName);
+        String extension = ScreenshotEncoder.getExtension(PROFILE);
+        String mimeType = "png".equals(extension) ? "image/png" : "webp".equals(extension) ? "image/webp" : "image/jpeg";
+
+        int index = 0;
+        int flushed = frames.size();
+        for (Frame frame : frames) {
+            index++;
+            String label = String.format("%02d_%s", index, frame.getAction().replaceAll("[^A-Za-z0-9._-]+", "_"));
+            if (label.length() > 80) {
+                label = label.substring(0, 80);
+            }
+            ScreenshotWriter.getInstance().write(trailDirectory.resolve(label + "." + extension), frame.getImage());
+            Allure.addAttachment("trail " + index + ": " + frame.getAction(), mimeType,
+                new ByteArrayInputStream(frame.getImage()), extension);
+        }
+        if (evicted > 0) {
+            System.out.println("Screenshot trail for " + testName + " dropped " + evicted + " older frames");
+        }
+        clear();
+        return flushed;
+    }
+
+    @Override
+    public String toString() {
+        return "ScreenshotTrail{" +
+                "frames=" + frames.size() +
+                ", bytes=" + bytes +
+                ", evicted=" + evicted +
+                ", maxFrames=" + maxFrames +
+                ", maxBytes=" + maxBytes +
+                '}';
+    }
+
+    /**
+     * One buffered frame: the action it was taken before or after, and the encoded image
+     */
+    public static class Frame {
+        private final String action;
+        private final long capturedAt;
+        private final byte[] image;
+
+        public Frame(String action, long capturedAt, byte[] image) {
+            this.action = action;
+            this.capturedAt = capturedAt;
+            this.image = image;
+        }
+
+        public String getAction() { return action; }
+
+        public long getCapturedAt() { return capturedAt; }
+
+        public byte[] getImage() { return image; }
+
+        @Override
+        public String toString() {
+            return "Frame{" +
+                    "action='" + action + '\'' +
+                    ", capturedAt=" + Instant.ofEpochMilli(capturedAt) +
+                    ", bytes=" + image.length +
+                    '}';
+        }
+    }
+}
@@ -1,27 +1,55 @@
 package com.ziprecruiter.utils;
 
+import com.ziprecruiter.metrics.Metric;
+import com.ziprecruiter.metrics.Metrics;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebElement;
+import java.awt.Rectangle;
 import java.io.File;
-import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * ScreenshotUtils - Utility class for taking screenshots
  * 
  * This class provides methods for capturing screenshots of the entire page,
  * specific elements, and managing screenshot files.
+ *
+ * Screenshots are captured as bytes on the calling thread and written to
+ * disk by the shared ScreenshotWriter, so the test thread does not wait on
+ * file I/O. The *Async methods return a future that completes once the file
+ * is written; the plain methods return the path it will be written to.
+ *
+ * With -Dscreenshot.storage=content, captures go to the content-addressed
+ * ScreenshotStore instead of one timestamped file each. The plain methods
+ * then wait for the store, since the final path depends on the content hash.
+ *
+ * Captures are encoded with a ScreenshotProfile (-Dscreenshot.profile, e.g.
+ * "jpeg:quality=0.7,scale=0.5") on the writer threads. Failure screenshots
+ * can be cropped to the failing element plus a margin.
  */
 public class ScreenshotUtils {
     
+    // Keeps file names unique when parallel threads capture within the same second
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    
+    // Element box in viewport CSS pixels plus the device pixel ratio, to map it onto the screenshot
+    private static final String ELEMENT_BOUNDS_SCRIPT =
+        "var r = arguments[0].getBoundingClientRect();" +
+        "return [r.left, r.top, r.width, r.height, window.devicePixelRatio || 1];";
+    
     private WebDriver driver;
     private String screenshotDirectory;
+    private ScreenshotProfile profile = ScreenshotProfile.getDefault();
     
     public ScreenshotUtils(WebDriver driver) {
         this.driver = driver;
@@ -46,29 +74,34 @@ public class ScreenshotUtils {
     }
     
     /**
-     * Take screenshot of entire page
+     * Take screenshot of entire page; the file is written in the background
      */
     public String takeScreenshot(String name) {
         try {
-            TakesScreenshot ts = (TakesScreenshot) driver;
-            File source = ts.getScreenshotAs(OutputType.FILE);
-            
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String fileName = name + "_" + timestamp + ".png";
-            String filePath = screenshotDirectory + File.separator + fileName;
-            
-            Path destination = Paths.get(filePath);
-            Files.copy(source.toPath(), destination);
-            
-            System.out.println("Screenshot saved: " + filePath);
-            return filePath;
-            
-        } catch (IOException e) {
+            byte[] bytes = capture((TakesScreenshot) driver);
+            String path = saveAndGetPath(name, bytes);
+            System.out.println("Screenshot queued: " + path);
+            return path;
+        } catch (Exception e) {
             System.err.println("Failed to take screenshot: " + e.getMessage());
             return null;
         }
     }
     
+    /**
+     * Take screenshot of entire page; the future completes with the path once it is on disk
+     */
+    public CompletableFuture<Path> takeScreenshotAsync(String name) {
+        try {
+            byte[] bytes = capture((TakesScreenshot) driver);
+            return save(name, bytes);
+        } catch (Exception e) {
+            CompletableFuture<Path> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+    
     /**
      * Take screenshot with default name
      */
@@ -86,24 +119,116 @@ public class ScreenshotUtils {
      */
     public String takeElementScreenshot(WebElement element, String name) {
         try {
-            File source = element.getScreenshotAs(OutputType.FILE);
-            
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String fileName = name + "_" + timestamp + ".png";
-            String filePath = screenshotDirectory + File.separator + fileName;
-            
-            Path destination = Paths.get(filePath);
-            Files.copy(source.toPath(), destination);
-            
-            System.out.println("Element screenshot saved: " + filePath);
-            return filePath;
-            
-        } catch (IOException e) {
+            byte[] bytes = capture(element);
+            String path = saveAndGetPath(name, bytes);
+            System.out.println("Element screenshot queued: " + path);
+            return path;
+        } catch (Exception e) {
             System.err.println("Failed to take element screenshot: " + e.getMessage());
             return null;
         }
     }
     
+    /**
+     * Take screenshot of specific element; the future completes with the path once it is on disk
+     */
+    public CompletableFuture<Path> takeElementScreenshotAsync(WebElement element, String name) {
+        try {
+            byte[] bytes = capture(element);
+            return save(name, bytes);
+        } catch (Exception e) {
+            CompletableFuture<Path> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+    
+    /**
+     * Take a page screenshot cropped to an element's bounding box plus a margin
+     * (in CSS pixels), keeping the context around the element
+     */
+    public CompletableFuture<Path> takeElementContextScreenshotAsync(WebElement element, String name, int margin) {
+        try {
+            Rectangle crop = getCropRegion(element, margin);
+            byte[] bytes = capture((TakesScreenshot) driver);
+            return save(name, bytes, crop);
+        } catch (Exception e) {
+            CompletableFuture<Path> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+    
+    /**
+     * Get the screenshot-pixel region covering an element plus a margin in CSS pixels
+     */
+    @SuppressWarnings("unchecked")
+    private Rectangle getCropRegion(WebElement element, int margin) {
+        List<Object> box = (List<Object>) ((JavascriptExecutor) driver).executeScript(ELEMENT_BOUNDS_SCRIPT, element);
+        double ratio = ((Number) box.get(4)).doubleValue();
+        double left = ((Number) box.get(0)).doubleValue() - margin;
+        double top = ((Number) box.get(1)).doubleValue() - margin;
+        double width = ((Number) box.get(2)).doubleValue() + 2.0 * margin;
+        double height = ((Number) box.get(3)).doubleValue() + 2.0 * margin;
+        return new Rectangle((int) Math.floor(Math.max(0, left) * ratio), (int) Math.floor(Math.max(0, top) * ratio),
+            (int) Math.ceil((width + Math.min(0, left)) * ratio), (int) Math.ceil((height + Math.min(0, top)) * ratio));
+    }
+    
+    /**
+     * Hand captured bytes to the content store or the background file writer
+     */
+    private CompletableFuture<Path> save(String name, byte[] bytes) {
+        return save(name, bytes, null);
+    }
+    
+    /**
+     * Hand captured bytes to the content store or the background file writer,
+     * encoding them with this instance's profile on the writer thread
+     */
+    private CompletableFuture<Path> save(String name, byte[] bytes, Rectangle crop) {
+        ScreenshotProfile encoding = profile;
+        if (ScreenshotStore.isEnabled()) {
+            return ScreenshotStore.forDirectory(screenshotDirectory).store(name, bytes, encoding, crop);
+        }
+        return writeFile(newScreenshotPath(name, ScreenshotEncoder.getExtension(encoding)), bytes, encoding, crop);
+    }
+    
+    /**
+     * Queue a plain file write, encoding first unless the bytes can be stored as they are
+     */
+    private CompletableFuture<Path> writeFile(Path destination, byte[] bytes, ScreenshotProfile encoding, Rectangle crop) {
+        if (encoding.isPassthrough() && crop == null) {
+            return ScreenshotWriter.getInstance().write(destination, bytes);
+        }
+        return ScreenshotWriter.getInstance().submit(() -> {
+            Files.createDirectories(destination.toAbsolutePath().getParent());
+            Files.write(destination, ScreenshotEncoder.encode(bytes, encoding, crop));
+            return destination;
+        });
+    }
+    
+    /**
+     * Save captured bytes and get the path: known up front for plain files,
+     * only after hashing for the content store
+     */
+    private String saveAndGetPath(String name, byte[] bytes) {
+        if (ScreenshotStore.isEnabled()) {
+            return save(name, bytes).join().toString();
+        }
+        Path destination = newScreenshotPath(name, ScreenshotEncoder.getExtension(profile));
+        writeFile(destination, bytes, profile, null);
+        return destination.toString();
+    }
+    
+    /**
+     * Build the file path for a new screenshot
+     */
+    private Path newScreenshotPath(String name, String extension) {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS"));
+        String fileName = name + "_" + timestamp + "_" + SEQUENCE.incrementAndGet() + "." + extension;
+        return Paths.get(screenshotDirectory + File.separator + fileName);
+    }
+    
     /**
      * Take screenshot of element with default name
      */
@@ -118,6 +243,20 @@ public class ScreenshotUtils {
         return takeScreenshot("FAILURE_" + testName);
     }
     
+    /**
+     * Take screenshot on test failure without waiting for the write
+     */
+    public CompletableFuture<Path> takeFailureScreenshotAsync(String testName) {
+        return takeScreenshotAsync("FAILURE_" + testName);
+    }
+    
+    /**
+     * Take screenshot on test failure, cropped to the failing element plus a margin
+     */
+    public CompletableFuture<Path> takeFailureScreenshotAsync(String testName, WebElement failingElement, int margin) {
+        return takeElementContextScreenshotAsync(failingElement, "FAILURE_" + testName, margin);
+    }
+    
     /**
      * Take screenshot on test success
      */
@@ -125,6 +264,20 @@ public class ScreenshotUtils {
         return takeScreenshot("SUCCESS_" + testName);
     }
     
+    /**
+     * Get the encoding profile used for new screenshots
+     */
+    public ScreenshotProfile getProfile() {
+        return profile;
+    }
+    
+    /**
+     * Set the encoding profile used for new screenshots
+     */
+    public void setProfile(ScreenshotProfile profile) {
+        this.profile = profile;
+    }
+    
     /**
      * Get screenshot directory
      */
@@ -140,13 +293,24 @@ public class ScreenshotUtils {
         createScreenshotDirectory();
     }
     
+    /**
+     * Capture a page or element screenshot as PNG bytes, recording the time it took
+     */
+    static byte[] capture(TakesScreenshot target) {
+        long start = System.nanoTime();
+        try {
+            return target.getScreenshotAs(OutputType.BYTES);
+        } finally {
+            Metrics.record(Metric.SCREENSHOT, System.nanoTime() - start);
+        }
+    }
+    
     /**
      * Get screenshot as byte array
      */
     public byte[] getScreenshotAsBytes() {
         try {
-            TakesScreenshot ts = (TakesScreenshot) driver;
-            return ts.getScreenshotAs(OutputType.BYTES);
+            return capture((TakesScreenshot) driver);
         } catch (Exception e) {
             System.err.println("Failed to get screenshot as bytes: " + e.getMessage());
             return new byte[0];
@@ -158,7 +322,7 @@ public class ScreenshotUtils {
      */
     public byte[] getElementScreenshotAsBytes(WebElement element) {
         try {
-            return element.getScreenshotAs(OutputType.BYTES);
+            return capture(element);
         } catch (Exception e) {
             System.err.println("Failed to get element screenshot as bytes: " + e.getMessage());
             return new byte[0];
@@ -169,23 +333,8 @@ public class ScreenshotUtils {
      * Clean old screenshots (older than specified days)
      */
     public void cleanOldScreenshots(int daysOld) {
-        try {
-            File dir = new File(screenshotDirectory);
-            File[] files = dir.listFiles();
-            
-            if (files != null) {
-                long cutoffTime = System.currentTimeMillis() - (daysOld * 24 * 60 * 60 * 1000L);
-                
-                for (File file : files) {
-                    if (file.lastModified() < cutoffTime) {
-                        file.delete();
-                        System.out.println("Deleted old screenshot: " + file.getName());
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to clean old screenshots: " + e.getMessage());
-        }
+        // Runs on the housekeeping thread from its file index instead of listing the directory here
+        HousekeepingService.getInstance().deleteOlderThan(Paths.get(screenshotDirectory), daysOld * 24 * 60 * 60 * 1000L);
     }
     
     /**
@@ -194,7 +343,7 @@ public class ScreenshotUtils {
     public int getScreenshotCount() {
         try {
             File dir = new File(screenshotDirectory);
-            File[] files = dir.listFiles((dir1, name) -> name.toLowerCase().endsWith(".png"));
+            File[] files = dir.listFiles((dir1, name) -> name.toLowerCase().matches(".*\\.(png|jpg|webp)$"));
             return files != null ? files.length : 0;
         } catch (Exception e) {
             return 0;
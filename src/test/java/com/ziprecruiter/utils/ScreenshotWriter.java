@@ -0,0 +1,154 @@
+package com.ziprecruiter.utils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ScreenshotWriter - Bounded background writer for captured screenshot bytes
+ *
+ * Test threads hand over the PNG bytes and get a future path back right away;
+ * writer threads put them on disk. At most screenshot.writer.queue writes
+ * (default 32) may be pending: a test thread that captures more than that
+ * blocks until the writers catch up, so a burst of failures cannot pile up
+ * unbounded screenshot bytes on the heap.
+ *
+ * flush() is the barrier that makes sure every queued write has reached disk;
+ * BaseTest calls it in @AfterSuite and the writer also flushes on JVM exit.
+ */
+public class ScreenshotWriter {
+
+    private static final ScreenshotWriter INSTANCE = new ScreenshotWriter(
+        Integer.getInteger("screenshot.writer.queue", 32),
+        Integer.getInteger("screenshot.writer.threads", 2));
+
+    private final ExecutorService writers;
+    private final Semaphore slots;
+    private final Set<CompletableFuture<Path>> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger writtenCount = new AtomicInteger();
+    private final AtomicInteger failedCount = new AtomicInteger();
+    private final AtomicLong blockedNanos = new AtomicLong();
+
+    public ScreenshotWriter(int queueCapacity, int threads) {
+        this.slots = new Semaphore(Math.max(1, queueCapacity));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "screenshot-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(10, TimeUnit.SECONDS)));
+    }
+
+    public static ScreenshotWriter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queue bytes to be written to the given file, blocking only while the queue is full.
+     * The future completes with the path once the file is on disk.
+     */
+    public CompletableFuture<Path> write(Path destination, byte[] bytes) {
+        return submit(() -> {
+            Path parent = destination.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(destination, bytes);
+            return destination;
+        });
+    }
+
+    /**
+     * Queue any screenshot storage task under the same backpressure and flush barrier.
+     * The future completes with the path the task returns.
+     */
+    public CompletableFuture<Path> submit(Callable<Path> task) {
+        long start = System.nanoTime();
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            CompletableFuture<Path> interrupted = new CompletableFuture<>();
+            interrupted.completeExceptionally(e);
+            return interrupted;
+        }
+        blockedNanos.addAndGet(System.nanoTime() - start);
+
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        pending.add(future);
+        try {
+            writers.execute(() -> {
+                try {
+                    Path written = task.call();
+                    writtenCount.incrementAndGet();
+                    future.complete(written);
+                } catch (Exception e) {
+                    failedCount.incrementAndGet();
+                    System.err.println("Failed to write screenshot: " + e.getMessage());
+                    future.completeExceptionally(e);
+                } finally {
+                    slots.release();
+                    pending.remove(future);
+                }
+            });
+        } catch (RuntimeException e) {
+            slots.release();
+            pending.remove(future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Wait until every write queued so far has finished. Returns false on timeout.
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        CompletableFuture<?>[] snapshot = pending.toArray(new CompletableFuture<?>[0]);
+        if (snapshot.length == 0) {
+            return true;
+        }
+        try {
+            // Failed writes are already reported; only completion matters here
+            CompletableFuture.allOf(snapshot).exceptionally(e -> null).get(timeout, unit);
+            return true;
+        } catch (TimeoutException e) {
+            System.err.println("Screenshot flush timed out with " + pending.size() + " writes pending");
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    /**
+     * Get number of writes queued or in progress
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Get writer statistics
+     */
+    public String getStatistics() {
+        return "ScreenshotWriter{" +
+                "written=" + writtenCount.get() +
+                ", failed=" + failedCount.get() +
+                ", pending=" + pending.size() +
+                ", blockedMillis=" + TimeUnit.NANOSECONDS.toMillis(blockedNanos.get()) +
+                '}';
+    }
+}
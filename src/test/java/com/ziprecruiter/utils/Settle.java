@@ -0,0 +1,353 @@
+package com.ziprecruiter.utils;
+
+import com.ziprecruiter.metrics.Metric;
+import com.ziprecruiter.metrics.Metrics;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Settle - Condition-based replacements for fixed sleeps
+ *
+ * Instead of sleeping a fixed time after a navigation or click, wait until
+ * the page has actually settled:
+ * - network idle: no fetch/XHR in flight (counted by an injected hook) for a quiet period
+ * - DOM quiescence: no DOM mutations for a quiet period
+ * - animation settling: no finite CSS/Web animations running, then two animation frames
+ *
+ * Each check runs as one async script that watches the page from the inside,
+ * so a settle costs a single round trip. On Chrome and Edge the network hook
+ * is registered for every new document at driver launch so requests issued
+ * during page load are counted too; elsewhere it is installed on first use.
+ *
+ * Call sites that used to sleep go through replacingSleep(), which records
+ * the fixed sleep that was removed against the time actually spent settling,
+ * and how often the condition timed out. Those call sites cap the settle at
+ * the sleep it replaces, so a page that never goes quiet (live sites with
+ * polling, tickers or ads) costs no more than before.
+ * SettleReportListener prints the totals at the end of the suite.
+ */
+public class Settle {
+
+    public static final int DEFAULT_QUIET_MILLIS = 500;
+    private static final int DEFAULT_TIMEOUT = 10;
+
+    // Stay below the W3C default 30 s script timeout; longer settles are chunked
+    private static final long MAX_SCRIPT_WAIT_MILLIS = 25000;
+
+    // Counts in-flight fetch/XHR and records the last network and DOM activity
+    static final String HOOK_SCRIPT =
+        "(function () {" +
+        "  if (window.__settle) { return; }" +
+        "  var s = window.__settle = { pending: 0, lastNetwork: Date.now(), lastMutation: Date.now() };" +
+        "  function start() { s.pending++; s.lastNetwork = Date.now(); }" +
+        "  function end() { s.pending = Math.max(0, s.pending - 1); s.lastNetwork = Date.now(); }" +
+        "  if (window.fetch) {" +
+        "    var originalFetch = window.fetch;" +
+        "    window.fetch = function () {" +
+        "      start();" +
+        "      try {" +
+        "        return originalFetch.apply(this, arguments).then(" +
+        "          function (r) { end(); return r; }, function (e) { end(); throw e; });" +
+        "      } catch (e) { end(); throw e; }" +
+        "    };" +
+        "  }" +
+        "  if (window.XMLHttpRequest) {" +
+        "    var originalSend = XMLHttpRequest.prototype.send;" +
+        "    XMLHttpRequest.prototype.send = function () {" +
+        "      start();" +
+        "      this.addEventListener('loadend', end);" +
+        "      try { return originalSend.apply(this, arguments); } catch (e) { end(); throw e; }" +
+        "    };" +
+        "  }" +
+        "  function observe() {" +
+        "    new MutationObserver(function () { s.lastMutation = Date.now(); }).observe(document.documentElement," +
+        "      { childList: true, subtree: true, attributes: true, characterData: true });" +
+        "  }" +
+        "  if (document.documentElement) { observe(); }" +
+        "  else { document.addEventListener('DOMContentLoaded', observe); }" +
+        "})();";
+
+    private static final String SETTLE_SCRIPT =
+        HOOK_SCRIPT +
+        "var load = arguments[0], network = arguments[1], dom = arguments[2], animations = arguments[3];" +
+        "var quiet = arguments[4], timeout = arguments[5];" +
+        "var done = arguments[arguments.length - 1];" +
+        "var s = window.__settle, begin = Date.now();" +
+        "function runningAnimations() {" +
+        "  if (!document.getAnimations) { return 0; }" +
+        "  return document.getAnimations().filter(function (a) {" +
+        "    var timing = a.effect && a.effect.getTiming ? a.effect.getTiming() : null;" +
+        "    return a.playState === 'running' && !(timing && timing.iterations === Infinity);" +
+        "  }).length;" +
+        "}" +
+        "function settled() {" +
+        "  var now = Date.now();" +
+        "  if (load && document.readyState !== 'complete') { return false; }" +
+        "  if (network && (s.pending > 0 || now - s.lastNetwork < quiet)) { return false; }" +
+        "  if (dom && now - s.lastMutation < quiet) { return false; }" +
+        "  if (animations && runningAnimations() > 0) { return false; }" +
+        "  return true;" +
+        "}" +
+        // Two frames so style and layout changes have been painted; the timer covers hidden tabs
+        "function afterFrames(callback) {" +
+        "  var called = false;" +
+        "  function once() { if (!called) { called = true; callback(); } }" +
+        "  requestAnimationFrame(function () { requestAnimationFrame(once); });" +
+        "  setTimeout(once, 100);" +
+        "}" +
+        "function tick() {" +
+        "  if (settled()) {" +
+        "    if (animations) { afterFrames(function () { done(true); }); } else { done(true); }" +
+        "    return;" +
+        "  }" +
+        "  if (Date.now() - begin >= timeout) { done(false); return; }" +
+        "  setTimeout(tick, 50);" +
+        "}" +
+        "tick();";
+
+    // Resolves on the next DOM mutation, or after the timeout
+    private static final String MUTATION_SCRIPT =
+        "var timeout = arguments[0], done = arguments[arguments.length - 1];" +
+        "var timer, observer = new MutationObserver(function () { finish(true); });" +
+        "function finish(changed) { observer.disconnect(); clearTimeout(timer); done(changed); }" +
+        "observer.observe(document.documentElement || document," +
+        "  { childList: true, subtree: true, attributes: true, characterData: true });" +
+        "timer = setTimeout(function () { finish(false); }, timeout);";
+
+    private static final Map<String, SiteStats> REPORT = new ConcurrentHashMap<>();
+
+    /**
+     * Register the network/DOM hook for every new document (Chrome and Edge only)
+     */
+    public static void install(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            try {
+                ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                    Map.of("source", HOOK_SCRIPT));
+            } catch (Exception e) {
+                System.out.println("Could not register settle hook: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Wait for page load, network idle and DOM quiescence
+     */
+    public static boolean forPage(WebDriver driver) {
+        return forPage(driver, DEFAULT_QUIET_MILLIS, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Wait for page load, network idle and DOM quiescence, up to the given time
+     */
+    public static boolean forPage(WebDriver driver, int timeoutSeconds) {
+        return forPage(driver, DEFAULT_QUIET_MILLIS, timeoutSeconds);
+    }
+
+    /**
+     * Wait for page load, network idle and DOM quiescence
+     */
+    public static boolean forPage(WebDriver driver, int quietMillis, int timeoutSeconds) {
+        return settle(driver, true, true, true, false, quietMillis, timeoutSeconds);
+    }
+
+    /**
+     * Wait for in-page updates (e.g. AJAX results) to finish: network idle and DOM quiescence
+     */
+    public static boolean forContentUpdate(WebDriver driver) {
+        return forContentUpdate(driver, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Wait for in-page updates to finish, up to the given time
+     */
+    public static boolean forContentUpdate(WebDriver driver, int timeoutSeconds) {
+        return settle(driver, false, true, true, false, DEFAULT_QUIET_MILLIS, timeoutSeconds);
+    }
+
+    /**
+     * Wait for no fetch/XHR to be in flight for the default quiet period
+     */
+    public static boolean forNetworkIdle(WebDriver driver) {
+        return forNetworkIdle(driver, DEFAULT_QUIET_MILLIS, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Wait for no fetch/XHR to be in flight for the given quiet period
+     */
+    public static boolean forNetworkIdle(WebDriver driver, int quietMillis, int timeoutSeconds) {
+        return settle(driver, false, true, false, false, quietMillis, timeoutSeconds);
+    }
+
+    /**
+     * Wait for no DOM mutations for the default quiet period
+     */
+    public static boolean forDomQuiet(WebDriver driver) {
+        return forDomQuiet(driver, DEFAULT_QUIET_MILLIS, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Wait for no DOM mutations for the given quiet period
+     */
+    public static boolean forDomQuiet(WebDriver driver, int quietMillis, int timeoutSeconds) {
+        return settle(driver, false, false, true, false, quietMillis, timeoutSeconds);
+    }
+
+    /**
+     * Wait for running animations and transitions to finish and the next frames to paint
+     */
+    public static boolean forAnimationFrames(WebDriver driver) {
+        return forAnimationFrames(driver, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Wait for running animations and transitions to finish and the next frames to paint
+     */
+    public static boolean forAnimationFrames(WebDriver driver, int timeoutSeconds) {
+        return settle(driver, false, false, false, true, 0, timeoutSeconds);
+    }
+
+    /**
+     * Wait for the next DOM mutation, up to the given time. Returns true if the DOM changed.
+     * Used by polling loops to re-check as soon as something happens instead of sleeping.
+     */
+    public static boolean forDomMutation(WebDriver driver, long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            return false;
+        }
+        try {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(MUTATION_SCRIPT,
+                Math.min(timeoutMillis, MAX_SCRIPT_WAIT_MILLIS));
+            return Boolean.TRUE.equals(result);
+        } catch (NoSuchSessionException | NoSuchWindowException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            // Navigation replaced the document - that is a change too
+            return true;
+        }
+    }
+
+    /**
+     * Run a settle condition in place of a fixed sleep and record the time saved,
+     * or the timeout if the condition never held
+     */
+    public static boolean replacingSleep(String site, long replacedSleepMillis, BooleanSupplier condition) {
+        long start = System.currentTimeMillis();
+        boolean settled = condition.getAsBoolean();
+        long elapsed = System.currentTimeMillis() - start;
+        REPORT.computeIfAbsent(site, k -> new SiteStats()).record(replacedSleepMillis, elapsed, settled);
+        return settled;
+    }
+
+    /**
+     * Get total fixed sleep time replaced so far, in milliseconds
+     */
+    public static long getReplacedSleepMillis() {
+        return REPORT.values().stream().mapToLong(stats -> stats.replacedMillis.get()).sum();
+    }
+
+    /**
+     * Get total time spent settling in place of fixed sleeps, in milliseconds
+     */
+    public static long getSettleMillis() {
+        return REPORT.values().stream().mapToLong(stats -> stats.settledMillis.get()).sum();
+    }
+
+    /**
+     * Get number of settles in place of fixed sleeps that timed out
+     */
+    public static long getTimeoutCount() {
+        return REPORT.values().stream().mapToLong(stats -> stats.timeouts.get()).sum();
+    }
+
+    /**
+     * Get a printable per-site report of sleep time removed
+     */
+    public static String getReport() {
+        StringBuilder report = new StringBuilder();
+        long replaced = getReplacedSleepMillis();
+        long settled = getSettleMillis();
+        report.append("Settle report: replaced ").append(replaced).append("ms of fixed sleeps with ")
+              .append(settled).append("ms of settling (saved ").append(replaced - settled).append("ms, ")
+              .append(getTimeoutCount()).append(" timed out)");
+        for (Map.Entry<String, SiteStats> entry : new TreeMap<>(REPORT).entrySet()) {
+            SiteStats stats = entry.getValue();
+            report.append(System.lineSeparator())
+                  .append("  ").append(entry.getKey())
+                  .append(": calls=").append(stats.calls.get())
+                  .append(", replaced=").append(stats.replacedMillis.get()).append("ms")
+                  .append(", settled=").append(stats.settledMillis.get()).append("ms")
+                  .append(", timeouts=").append(stats.timeouts.get());
+        }
+        return report.toString();
+    }
+
+    /**
+     * Clear the sleep report
+     */
+    public static void resetReport() {
+        REPORT.clear();
+    }
+
+    private static boolean settle(WebDriver driver, boolean load, boolean network, boolean dom,
+                                  boolean animations, int quietMillis, int timeoutSeconds) {
+        long start = System.nanoTime();
+        try {
+            return poll(driver, load, network, dom, animations, quietMillis, timeoutSeconds);
+        } finally {
+            Metrics.record(Metric.WAIT, System.nanoTime() - start);
+        }
+    }
+
+    private static boolean poll(WebDriver driver, boolean load, boolean network, boolean dom,
+                                boolean animations, int quietMillis, int timeoutSeconds) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
+
+        while (true) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                Object result = js.executeAsyncScript(SETTLE_SCRIPT, load, network, dom, animations,
+                    quietMillis, Math.min(remaining, MAX_SCRIPT_WAIT_MILLIS));
+                if (Boolean.TRUE.equals(result)) {
+                    return true;
+                }
+            } catch (NoSuchSessionException | NoSuchWindowException e) {
+                throw e;
+            } catch (WebDriverException e) {
+                // Document unloaded mid-settle (navigation) - start over on the new page
+            }
+        }
+    }
+
+    /**
+     * Per call-site totals for the sleep report
+     */
+    private static final class SiteStats {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong replacedMillis = new AtomicLong();
+        private final AtomicLong settledMillis = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+
+        void record(long replaced, long settled, boolean completed) {
+            calls.incrementAndGet();
+            replacedMillis.addAndGet(replaced);
+            settledMillis.addAndGet(settled);
+            if (!completed) {
+                timeouts.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ziprecruiter.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * SettleReportListener - Reports fixed sleep time removed per suite run
+ *
+ * Resets the Settle report when the suite starts, and at the end prints how
+ * much fixed sleep time was replaced by settle conditions and stores the
+ * saving as the suite attribute "settle.savedMillis".
+ */
+public class SettleReportListener implements ISuiteListener {
+
+    public static final String SAVED_MILLIS_ATTRIBUTE = "settle.savedMillis";
+
+    @Override
+    public void onStart(ISuite suite) {
+        Settle.resetReport();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        suite.setAttribute(SAVED_MILLIS_ATTRIBUTE, Settle.getReplacedSleepMillis() - Settle.getSettleMillis());
+        System.out.println(Settle.getReport());
+    }
+}
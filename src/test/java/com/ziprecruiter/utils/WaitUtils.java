@@ -7,13 +7,18 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.JavascriptExecutor;
+import com.ziprecruiter.metrics.Metric;
+import com.ziprecruiter.metrics.Metrics;
 import java.time.Duration;
+import java.util.function.Function;
 
 /**
  * WaitUtils - Utility class for various wait operations
  * 
  * This class provides static methods for different types of waits
  * including explicit waits, fluent waits, and custom wait conditions.
+ * Element waits switch to MutationWaitUtils when -Dwait.engine=mutation.
+ * Time spent waiting is recorded in Metrics (by MutationWaitUtils for its waits).
  */
 public class WaitUtils {
     
@@ -22,16 +27,35 @@ public class WaitUtils {
     private static final int LONG_TIMEOUT = 20;
     
     /**
-     * Wait for element to be visible
+     * Wait for a condition, recording the time spent as a wait latency
      */
-    public static boolean waitForVisible(WebDriver driver, By locator, int timeoutSeconds) {
+    private static boolean until(WebDriver driver, int timeoutSeconds, Function<WebDriver, ?> condition) {
+        long start = System.nanoTime();
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds)).until(condition);
             return true;
         } catch (TimeoutException e) {
             return false;
+        } finally {
+            Metrics.record(Metric.WAIT, System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Check if waits on this locator should go through the MutationObserver engine
+     */
+    private static boolean useMutationEngine(By locator) {
+        return MutationWaitUtils.isEnabled() && MutationWaitUtils.supports(locator);
+    }
+    
+    /**
+     * Wait for element to be visible
+     */
+    public static boolean waitForVisible(WebDriver driver, By locator, int timeoutSeconds) {
+        if (useMutationEngine(locator)) {
+            return MutationWaitUtils.waitForVisible(driver, locator, timeoutSeconds);
         }
+        return until(driver, timeoutSeconds, ExpectedConditions.visibilityOfElementLocated(locator));
     }
     
     /**
@@ -45,13 +69,10 @@ public class WaitUtils {
      * Wait for element to be clickable
      */
     public static boolean waitForClickable(WebDriver driver, By locator, int timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(ExpectedConditions.elementToBeClickable(locator));
-            return true;
-        } catch (TimeoutException e) {
-            return false;
+        if (useMutationEngine(locator)) {
+            return MutationWaitUtils.waitForClickable(driver, locator, timeoutSeconds);
         }
+        return until(driver, timeoutSeconds, ExpectedConditions.elementToBeClickable(locator));
     }
     
     /**
@@ -65,13 +86,10 @@ public class WaitUtils {
      * Wait for element to be present in DOM
      */
     public static boolean waitForPresence(WebDriver driver, By locator, int timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(ExpectedConditions.presenceOfElementLocated(locator));
-            return true;
-        } catch (TimeoutException e) {
-            return false;
+        if (useMutationEngine(locator)) {
+            return MutationWaitUtils.waitForPresence(driver, locator, timeoutSeconds);
         }
+        return until(driver, timeoutSeconds, ExpectedConditions.presenceOfElementLocated(locator));
     }
     
     /**
@@ -85,13 +103,10 @@ public class WaitUtils {
      * Wait for element to disappear
      */
     public static boolean waitForInvisibility(WebDriver driver, By locator, int timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
-            return true;
-        } catch (TimeoutException e) {
-            return false;
+        if (useMutationEngine(locator)) {
+            return MutationWaitUtils.waitForInvisibility(driver, locator, timeoutSeconds);
         }
+        return until(driver, timeoutSeconds, ExpectedConditions.invisibilityOfElementLocated(locator));
     }
     
     /**
@@ -105,13 +120,10 @@ public class WaitUtils {
      * Wait for text to be present in element
      */
     public static boolean waitForTextToBePresent(WebDriver driver, By locator, String text, int timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
-            return true;
-        } catch (TimeoutException e) {
-            return false;
+        if (useMutationEngine(locator)) {
+            return MutationWaitUtils.waitForTextToBePresent(driver, locator, text, timeoutSeconds);
         }
+        return until(driver, timeoutSeconds, ExpectedConditions.textToBePresentInElementLocated(locator, text));
     }
     
     /**
@@ -125,13 +137,7 @@ public class WaitUtils {
      * Wait for URL to contain specific text
      */
     public static boolean waitForUrlToContain(WebDriver driver, String text, int timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(ExpectedConditions.urlContains(text));
-            return true;
-        } catch (TimeoutException e) {
-            return false;
-        }
+        return until(driver, timeoutSeconds, ExpectedConditions.urlContains(text));
     }
     
     /**
@@ -145,13 +151,7 @@ public class WaitUtils {
      * Wait for title to contain specific text
      */
     public static boolean waitForTitleToContain(WebDriver driver, String text, int timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(ExpectedConditions.titleContains(text));
-            return true;
-        } catch (TimeoutException e) {
-            return false;
-        }
+        return until(driver, timeoutSeconds, ExpectedConditions.titleContains(text));
     }
     
     /**
@@ -165,16 +165,10 @@ public class WaitUtils {
      * Wait for page to load completely
      */
     public static boolean waitForPageLoad(WebDriver driver, int timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(webDriver -> {
-                JavascriptExecutor js = (JavascriptExecutor) webDriver;
-                return js.executeScript("return document.readyState").equals("complete");
-            });
-            return true;
-        } catch (TimeoutException e) {
-            return false;
-        }
+        return until(driver, timeoutSeconds, webDriver -> {
+            JavascriptExecutor js = (JavascriptExecutor) webDriver;
+            return js.executeScript("return document.readyState").equals("complete");
+        });
     }
     
     /**
@@ -188,16 +182,10 @@ public class WaitUtils {
      * Wait for jQuery to finish loading
      */
     public static boolean waitForJQueryToLoad(WebDriver driver, int timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(webDriver -> {
-                JavascriptExecutor js = (JavascriptExecutor) webDriver;
-                return (Boolean) js.executeScript("return jQuery.active == 0");
-            });
-            return true;
-        } catch (TimeoutException e) {
-            return false;
-        }
+        return until(driver, timeoutSeconds, webDriver -> {
+            JavascriptExecutor js = (JavascriptExecutor) webDriver;
+            return (Boolean) js.executeScript("return jQuery.active == 0");
+        });
     }
     
     /**
@@ -211,16 +199,10 @@ public class WaitUtils {
      * Wait for Angular to finish loading
      */
     public static boolean waitForAngularToLoad(WebDriver driver, int timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(webDriver -> {
-                JavascriptExecutor js = (JavascriptExecutor) webDriver;
-                return (Boolean) js.executeScript("return angular.element(document).injector().get('$http').pendingRequests.length === 0");
-            });
-            return true;
-        } catch (TimeoutException e) {
-            return false;
-        }
+        return until(driver, timeoutSeconds, webDriver -> {
+            JavascriptExecutor js = (JavascriptExecutor) webDriver;
+            return (Boolean) js.executeScript("return angular.element(document).injector().get('$http').pendingRequests.length === 0");
+        });
     }
     
     /**
@@ -245,13 +227,7 @@ public class WaitUtils {
      * Wait for element to be stale (removed from DOM)
      */
     public static boolean waitForElementToBeStale(WebDriver driver, WebElement element, int timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(ExpectedConditions.stalenessOf(element));
-            return true;
-        } catch (TimeoutException e) {
-            return false;
-        }
+        return until(driver, timeoutSeconds, ExpectedConditions.stalenessOf(element));
     }
     
     /**
@@ -265,13 +241,7 @@ public class WaitUtils {
      * Wait for frame to be available and switch to it
      */
     public static boolean waitForFrameAndSwitch(WebDriver driver, By frameLocator, int timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(frameLocator));
-            return true;
-        } catch (TimeoutException e) {
-            return false;
-        }
+        return until(driver, timeoutSeconds, ExpectedConditions.frameToBeAvailableAndSwitchToIt(frameLocator));
     }
     
     /**
@@ -285,13 +255,7 @@ public class WaitUtils {
      * Wait for alert to be present
      */
     public static boolean waitForAlert(WebDriver driver, int timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(ExpectedConditions.alertIsPresent());
-            return true;
-        } catch (TimeoutException e) {
-            return false;
-        }
+        return until(driver, timeoutSeconds, ExpectedConditions.alertIsPresent());
     }
     
     /**
@@ -305,13 +269,10 @@ public class WaitUtils {
      * Wait for element to have specific attribute value
      */
     public static boolean waitForAttributeToBe(WebDriver driver, By locator, String attribute, String value, int timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(ExpectedConditions.attributeToBe(locator, attribute, value));
-            return true;
-        } catch (TimeoutException e) {
-            return false;
+        if (useMutationEngine(locator)) {
+            return MutationWaitUtils.waitForAttributeToBe(driver, locator, attribute, value, timeoutSeconds);
         }
+        return until(driver, timeoutSeconds, ExpectedConditions.attributeToBe(locator, attribute, value));
     }
     
     /**
@@ -325,13 +286,10 @@ public class WaitUtils {
      * Wait for element to have specific CSS class
      */
     public static boolean waitForElementToHaveClass(WebDriver driver, By locator, String className, int timeoutSeconds) {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            wait.until(ExpectedConditions.attributeContains(locator, "class", className));
-            return true;
-        } catch (TimeoutException e) {
-            return false;
+        if (useMutationEngine(locator)) {
+            return MutationWaitUtils.waitForElementToHaveClass(driver, locator, className, timeoutSeconds);
         }
+        return until(driver, timeoutSeconds, ExpectedConditions.attributeContains(locator, "class", className));
     }
     
     /**